@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.ColumnBatch;
+import com.netflix.iceberg.ColumnVector;
+import com.netflix.iceberg.StructLike;
+import com.netflix.iceberg.types.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+/**
+ * Compares {@link BatchEvaluator} over column vectors with row-at-a-time {@link Evaluator}.
+ * <p>
+ * Run with: {@code gradlew :iceberg-api:jmh -PjmhIncludeRegex=BatchEvaluatorBenchmark}
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class BatchEvaluatorBenchmark {
+  private static final int NUM_ROWS = 10000;
+  private static final Types.StructType STRUCT = Types.StructType.of(
+      required(1, "id", Types.LongType.get()),
+      required(2, "count", Types.IntegerType.get()),
+      optional(3, "score", Types.DoubleType.get()),
+      optional(4, "category", Types.StringType.get())
+  );
+
+  private Evaluator evaluator;
+  private BatchEvaluator batchEvaluator;
+  private Row[] rows;
+  private ColumnBatch batch;
+  private int[] selection;
+
+  @Setup
+  public void setup() {
+    Expression expr = and(
+        and(greaterThanOrEqual("id", 1000L), lessThan("count", 50)),
+        or(equal("category", "c3"), and(notNull("score"), lessThan("score", 0.25D))));
+    this.evaluator = new Evaluator(STRUCT, expr);
+    this.batchEvaluator = new BatchEvaluator(STRUCT, expr);
+
+    long[] ids = new long[NUM_ROWS];
+    int[] counts = new int[NUM_ROWS];
+    double[] scores = new double[NUM_ROWS];
+    long[] scoreNulls = ColumnVector.newBitmap(NUM_ROWS);
+    byte[] categories = new byte[NUM_ROWS * 2];
+    int[] offsets = new int[NUM_ROWS + 1];
+
+    Random random = new Random(472);
+    this.rows = new Row[NUM_ROWS];
+    for (int i = 0; i < NUM_ROWS; i += 1) {
+      ids[i] = random.nextInt(2000);
+      counts[i] = random.nextInt(100);
+      Double score = random.nextInt(10) == 0 ? null : random.nextDouble();
+      if (score != null) {
+        scores[i] = score;
+      } else {
+        ColumnVector.set(scoreNulls, i);
+      }
+      String category = "c" + random.nextInt(10);
+      System.arraycopy(category.getBytes(StandardCharsets.UTF_8), 0, categories, i * 2, 2);
+      offsets[i + 1] = (i + 1) * 2;
+
+      rows[i] = new Row(ids[i], counts[i], score, category);
+    }
+
+    this.batch = new ColumnBatch(NUM_ROWS,
+        ColumnVector.ofLongs(ids, null),
+        ColumnVector.ofInts(counts, null),
+        ColumnVector.ofDoubles(scores, scoreNulls),
+        ColumnVector.ofBytes(categories, offsets, null));
+    this.selection = new int[NUM_ROWS];
+  }
+
+  @Benchmark
+  public void evalRows(Blackhole blackhole) {
+    for (Row row : rows) {
+      blackhole.consume(evaluator.eval(row));
+    }
+  }
+
+  @Benchmark
+  public int evalBatch() {
+    return batchEvaluator.eval(batch, selection);
+  }
+
+  private static class Row implements StructLike {
+    private final Object[] values;
+
+    private Row(Object... values) {
+      this.values = values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(int pos, Class<T> javaClass) {
+      return (T) values[pos];
+    }
+
+    @Override
+    public <T> void set(int pos, T value) {
+      throw new UnsupportedOperationException("Setting values is not supported");
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.transforms;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.netflix.iceberg.types.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+/**
+ * Compares {@link TransformKernels} with boxed transforms and with the Guava and java.time
+ * implementations that the transforms used before the kernels were added.
+ * <p>
+ * Run with: {@code gradlew :iceberg-api:jmh -PjmhIncludeRegex=TransformBenchmark}
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class TransformBenchmark {
+  private static final int NUM_VALUES = 10000;
+  private static final int NUM_BUCKETS = 128;
+  private static final HashFunction MURMUR3 = Hashing.murmur3_32();
+  private static final OffsetDateTime EPOCH = Instant.ofEpochSecond(0).atOffset(ZoneOffset.UTC);
+
+  private final Transform<Long, Integer> bucket =
+      Transforms.bucket(Types.LongType.get(), NUM_BUCKETS);
+  private final Transform<Long, Integer> day = Transforms.day(Types.TimestampType.withZone());
+  private final Transform<CharSequence, Integer> bucketString =
+      Transforms.bucket(Types.StringType.get(), NUM_BUCKETS);
+
+  private long[] ids;
+  private long[] timestamps;
+  private String[] strings;
+  private int[] out;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(8675);
+    this.ids = new long[NUM_VALUES];
+    this.timestamps = new long[NUM_VALUES];
+    this.strings = new String[NUM_VALUES];
+    this.out = new int[NUM_VALUES];
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      ids[i] = random.nextLong();
+      // timestamps in 2000 through 2030
+      timestamps[i] = 946_684_800_000_000L + (long) (random.nextDouble() * 946_080_000_000_000L);
+      strings[i] = "category-" + random.nextInt(100000);
+    }
+  }
+
+  @Benchmark
+  public void bucketLongGuava(Blackhole blackhole) {
+    for (long id : ids) {
+      blackhole.consume((MURMUR3.hashLong(id).asInt() & Integer.MAX_VALUE) % NUM_BUCKETS);
+    }
+  }
+
+  @Benchmark
+  public void bucketLongTransform(Blackhole blackhole) {
+    for (long id : ids) {
+      blackhole.consume(bucket.apply(id));
+    }
+  }
+
+  @Benchmark
+  public void bucketLongKernel(Blackhole blackhole) {
+    TransformKernels.bucketLongs(ids, NUM_VALUES, NUM_BUCKETS, out);
+    blackhole.consume(out);
+  }
+
+  @Benchmark
+  public void bucketStringGuava(Blackhole blackhole) {
+    for (String str : strings) {
+      blackhole.consume(
+          (MURMUR3.hashString(str, Charsets.UTF_8).asInt() & Integer.MAX_VALUE) % NUM_BUCKETS);
+    }
+  }
+
+  @Benchmark
+  public void bucketStringTransform(Blackhole blackhole) {
+    for (String str : strings) {
+      blackhole.consume(bucketString.apply(str));
+    }
+  }
+
+  @Benchmark
+  public void dayJavaTime(Blackhole blackhole) {
+    for (long micros : timestamps) {
+      OffsetDateTime timestamp = Instant.ofEpochSecond(micros / 1_000_000).atOffset(ZoneOffset.UTC);
+      blackhole.consume((int) ChronoUnit.DAYS.between(EPOCH, timestamp));
+    }
+  }
+
+  @Benchmark
+  public void dayTransform(Blackhole blackhole) {
+    for (long micros : timestamps) {
+      blackhole.consume(day.apply(micros));
+    }
+  }
+
+  @Benchmark
+  public void dayKernel(Blackhole blackhole) {
+    TransformKernels.timestampsToDays(timestamps, NUM_VALUES, out);
+    blackhole.consume(out);
+  }
+
+  @Benchmark
+  public void monthJavaTime(Blackhole blackhole) {
+    for (long micros : timestamps) {
+      OffsetDateTime timestamp = Instant.ofEpochSecond(micros / 1_000_000).atOffset(ZoneOffset.UTC);
+      blackhole.consume((int) ChronoUnit.MONTHS.between(EPOCH, timestamp));
+    }
+  }
+
+  @Benchmark
+  public void monthKernel(Blackhole blackhole) {
+    TransformKernels.timestampsToMonths(timestamps, NUM_VALUES, out);
+    blackhole.consume(out);
+  }
+}
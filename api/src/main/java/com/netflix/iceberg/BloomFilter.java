@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.netflix.iceberg.types.Conversions;
+import com.netflix.iceberg.types.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A Bloom filter for the values of one column in a data file.
+ * <p>
+ * Values are hashed with 64-bit murmur3 and each value sets {@link #numHashes()} bits, using
+ * double hashing of the two 32-bit halves of the hash. Integers, dates, times, and timestamps are
+ * hashed as 8-byte longs so that filters remain valid when a column is promoted from int to long.
+ * Other values are hashed using their {@link Conversions#toByteBuffer serialized form}.
+ * <p>
+ * A filter is created with a maximum size and is folded in half when it is serialized, as long as
+ * the estimated false-positive rate stays below the target. The number of bits is always a power
+ * of two, so folding keeps every set bit addressable by the same hash.
+ * <p>
+ * The serialized form is one byte for the number of hash functions, followed by the bits as
+ * little-endian longs.
+ */
+public class BloomFilter {
+  private static final HashFunction HASH = Hashing.murmur3_128();
+  private static final int MIN_BITS = 64;
+
+  /**
+   * Returns whether values of the given type can be added to a Bloom filter.
+   *
+   * @param type a type
+   * @return true if values of the type can be hashed by {@link #hash(Type, Object)}
+   */
+  public static boolean isSupported(Type type) {
+    switch (type.typeId()) {
+      case INTEGER:
+      case LONG:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+      case STRING:
+      case UUID:
+      case FIXED:
+      case BINARY:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Hashes a value for adding to or probing a Bloom filter.
+   *
+   * @param type the value's type
+   * @param value a value
+   * @return the value's hash
+   */
+  public static long hash(Type type, Object value) {
+    switch (type.typeId()) {
+      case INTEGER:
+      case LONG:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+        return hashLong(((Number) value).longValue());
+      case STRING:
+        return hashBytes(value.toString().getBytes(Charsets.UTF_8));
+      case UUID:
+      case FIXED:
+      case BINARY:
+        ByteBuffer buffer = Conversions.toByteBuffer(type, value);
+        if (buffer.hasArray()) {
+          return HASH.hashBytes(buffer.array(),
+              buffer.arrayOffset() + buffer.position(), buffer.remaining()).asLong();
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return hashBytes(bytes);
+      default:
+        throw new UnsupportedOperationException("Cannot hash values of type: " + type);
+    }
+  }
+
+  /**
+   * Hashes an integer, date, time, or timestamp value.
+   *
+   * @param value a value
+   * @return the value's hash
+   */
+  public static long hashLong(long value) {
+    return HASH.hashLong(value).asLong();
+  }
+
+  /**
+   * Hashes the serialized bytes of a string, UUID, fixed, or binary value.
+   *
+   * @param bytes a serialized value
+   * @return the value's hash
+   */
+  public static long hashBytes(byte[] bytes) {
+    return HASH.hashBytes(bytes).asLong();
+  }
+
+  /**
+   * Creates an empty Bloom filter.
+   *
+   * @param fpp the target false-positive probability
+   * @param maxBytes the maximum size of the filter's bits in bytes
+   * @return an empty Bloom filter
+   */
+  public static BloomFilter create(double fpp, int maxBytes) {
+    Preconditions.checkArgument(fpp > 0.0 && fpp < 1.0,
+        "Invalid false-positive probability: %s (must be between 0 and 1)", fpp);
+    Preconditions.checkArgument(maxBytes >= MIN_BITS / 8,
+        "Invalid max size: %s (must be at least %s bytes)", maxBytes, MIN_BITS / 8);
+
+    // the number of hashes that is optimal when the filter is sized for the target fpp
+    int numHashes = Math.max(1, (int) Math.ceil(-Math.log(fpp) / Math.log(2)));
+    long numBits = Long.highestOneBit(maxBytes * 8L);
+
+    return new BloomFilter(numHashes, new long[(int) (numBits / 64)], fpp);
+  }
+
+  /**
+   * Tests whether a value may have been added to a serialized filter, without copying its bits.
+   *
+   * @param serialized a buffer created by {@link #toByteBuffer()}
+   * @param hash a value's hash, produced by {@link #hash(Type, Object)}
+   * @return false if the value was definitely not added, true otherwise
+   */
+  public static boolean mightContain(ByteBuffer serialized, long hash) {
+    ByteBuffer buffer = serialized.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int start = buffer.position();
+    int numHashes = buffer.get(start);
+    long numBits = (buffer.remaining() - 1) * 8L;
+    Preconditions.checkArgument(numHashes > 0 && Long.bitCount(numBits) == 1,
+        "Invalid serialized Bloom filter");
+
+    long mask = numBits - 1;
+    long hash1 = (int) hash;
+    long hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashes; i += 1) {
+      long bit = (hash1 + i * hash2) & mask;
+      long word = buffer.getLong(start + 1 + (int) (bit >>> 6) * 8);
+      if ((word & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private final int numHashes;
+  private final double fpp;
+  private long[] words;
+
+  private BloomFilter(int numHashes, long[] words, double fpp) {
+    this.numHashes = numHashes;
+    this.words = words;
+    this.fpp = fpp;
+  }
+
+  public int numHashes() {
+    return numHashes;
+  }
+
+  public long numBits() {
+    return words.length * 64L;
+  }
+
+  /**
+   * Adds a hash produced by {@link #hash(Type, Object)} to this filter.
+   *
+   * @param hash a value's hash
+   */
+  public void add(long hash) {
+    long mask = numBits() - 1;
+    long hash1 = (int) hash;
+    long hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashes; i += 1) {
+      long bit = (hash1 + i * hash2) & mask;
+      words[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  /**
+   * Tests whether a value may have been added to this filter.
+   *
+   * @param hash a value's hash, produced by {@link #hash(Type, Object)}
+   * @return false if the value was definitely not added, true otherwise
+   */
+  public boolean mightContain(long hash) {
+    long mask = numBits() - 1;
+    long hash1 = (int) hash;
+    long hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashes; i += 1) {
+      long bit = (hash1 + i * hash2) & mask;
+      if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Serializes this filter, after folding it to the smallest size that meets the target
+   * false-positive probability.
+   *
+   * @return a buffer with the serialized filter
+   */
+  public ByteBuffer toByteBuffer() {
+    fold();
+
+    ByteBuffer buffer = ByteBuffer.allocate(1 + words.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put((byte) numHashes);
+    for (long word : words) {
+      buffer.putLong(word);
+    }
+    buffer.flip();
+
+    return buffer;
+  }
+
+  private void fold() {
+    while (words.length * 64 > MIN_BITS) {
+      int half = words.length / 2;
+      long[] folded = new long[half];
+      long setBits = 0;
+      for (int i = 0; i < half; i += 1) {
+        folded[i] = words[i] | words[i + half];
+        setBits += Long.bitCount(folded[i]);
+      }
+
+      double estimatedFpp = Math.pow((double) setBits / (half * 64L), numHashes);
+      if (estimatedFpp > fpp) {
+        return;
+      }
+
+      this.words = folded;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A batch of rows stored as {@link ColumnVector column vectors}.
+ * <p>
+ * Like {@link StructLike}, columns are accessed by position in a schema and only top-level fields
+ * are supported. A column may be null if it is not needed by the consumer of the batch.
+ */
+public class ColumnBatch {
+  private final int numRows;
+  private final ColumnVector[] columns;
+
+  public ColumnBatch(int numRows, ColumnVector... columns) {
+    Preconditions.checkArgument(numRows >= 0, "Invalid number of rows: %s", numRows);
+    this.numRows = numRows;
+    this.columns = columns;
+  }
+
+  public int numRows() {
+    return numRows;
+  }
+
+  public int numColumns() {
+    return columns.length;
+  }
+
+  public ColumnVector column(int pos) {
+    ColumnVector column = columns[pos];
+    Preconditions.checkArgument(column != null, "Column %s is not present in the batch", pos);
+    return column;
+  }
+}
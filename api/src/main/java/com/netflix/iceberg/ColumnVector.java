@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A column of values for a batch of rows, stored in a primitive array.
+ * <p>
+ * Null values are tracked in a bitmap where bit {@code row % 64} of word {@code row / 64} is set
+ * when the value for {@code row} is null. A null bitmap means that no values are null. The
+ * primitive value stored for a null row is ignored.
+ * <p>
+ * Variable-length values, like strings and binary, are stored in a single byte array. The value
+ * for {@code row} is stored in bytes {@code offsets[row]} to {@code offsets[row + 1]}, and strings
+ * are encoded in UTF-8.
+ */
+public class ColumnVector {
+  private final Class<?> valueType;
+  private final Object values;
+  private final int[] offsets;
+  private final long[] nulls;
+
+  private ColumnVector(Class<?> valueType, Object values, int[] offsets, long[] nulls) {
+    this.valueType = valueType;
+    this.values = values;
+    this.offsets = offsets;
+    this.nulls = nulls;
+  }
+
+  public static ColumnVector ofBooleans(boolean[] values, long[] nulls) {
+    return new ColumnVector(boolean.class, values, null, nulls);
+  }
+
+  public static ColumnVector ofInts(int[] values, long[] nulls) {
+    return new ColumnVector(int.class, values, null, nulls);
+  }
+
+  public static ColumnVector ofLongs(long[] values, long[] nulls) {
+    return new ColumnVector(long.class, values, null, nulls);
+  }
+
+  public static ColumnVector ofFloats(float[] values, long[] nulls) {
+    return new ColumnVector(float.class, values, null, nulls);
+  }
+
+  public static ColumnVector ofDoubles(double[] values, long[] nulls) {
+    return new ColumnVector(double.class, values, null, nulls);
+  }
+
+  public static ColumnVector ofBytes(byte[] data, int[] offsets, long[] nulls) {
+    Preconditions.checkNotNull(offsets, "Cannot create a byte vector without offsets");
+    return new ColumnVector(byte.class, data, offsets, nulls);
+  }
+
+  /**
+   * Returns a bitmap for the given number of rows with no bits set.
+   *
+   * @param numRows a number of rows
+   * @return an array with enough bits for numRows
+   */
+  public static long[] newBitmap(int numRows) {
+    return new long[(numRows + 63) >>> 6];
+  }
+
+  public static void set(long[] bitmap, int row) {
+    bitmap[row >>> 6] |= 1L << row;
+  }
+
+  public static boolean isSet(long[] bitmap, int row) {
+    return bitmap != null && (bitmap[row >>> 6] & (1L << row)) != 0;
+  }
+
+  public boolean isNull(int row) {
+    return isSet(nulls, row);
+  }
+
+  public long[] nulls() {
+    return nulls;
+  }
+
+  public boolean[] booleans() {
+    return cast(boolean.class, boolean[].class);
+  }
+
+  public int[] ints() {
+    return cast(int.class, int[].class);
+  }
+
+  public long[] longs() {
+    return cast(long.class, long[].class);
+  }
+
+  public float[] floats() {
+    return cast(float.class, float[].class);
+  }
+
+  public double[] doubles() {
+    return cast(double.class, double[].class);
+  }
+
+  public byte[] bytes() {
+    return cast(byte.class, byte[].class);
+  }
+
+  public int[] offsets() {
+    Preconditions.checkState(offsets != null, "Not a byte vector: values are %s", valueType);
+    return offsets;
+  }
+
+  private <A> A cast(Class<?> expected, Class<A> arrayClass) {
+    Preconditions.checkState(valueType == expected,
+        "Cannot read %s values: vector values are %s", expected, valueType);
+    return arrayClass.cast(values);
+  }
+}
@@ -16,11 +16,13 @@
 
 package com.netflix.iceberg;
 
+import com.netflix.iceberg.types.Types.BinaryType;
 import com.netflix.iceberg.types.Types.IntegerType;
 import com.netflix.iceberg.types.Types.ListType;
 import com.netflix.iceberg.types.Types.LongType;
 import com.netflix.iceberg.types.Types.StringType;
 import com.netflix.iceberg.types.Types.StructType;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -57,6 +59,18 @@ public interface DataFile {
         optional(111, "distinct_counts", ListType.ofRequired(116, StructType.of(
             required(123, "column_id", IntegerType.get()),
             required(124, "distinct_count", LongType.get())
+        ))),
+        optional(125, "lower_bounds", ListType.ofRequired(126, StructType.of(
+            required(127, "column_id", IntegerType.get()),
+            required(128, "lower_bound", BinaryType.get())
+        ))),
+        optional(129, "upper_bounds", ListType.ofRequired(130, StructType.of(
+            required(131, "column_id", IntegerType.get()),
+            required(132, "upper_bound", BinaryType.get())
+        ))),
+        optional(133, "bloom_filters", ListType.ofRequired(134, StructType.of(
+            required(135, "column_id", IntegerType.get()),
+            required(136, "bloom_filter", BinaryType.get())
         )))
     );
   }
@@ -121,6 +135,27 @@ public interface DataFile {
    */
   Map<Integer, Long> distinctCounts();
 
+  /**
+   * Bounds are serialized using {@link com.netflix.iceberg.types.Conversions#toByteBuffer}.
+   *
+   * @return if collected, map from column ID to its lower bound, null otherwise
+   */
+  Map<Integer, ByteBuffer> lowerBounds();
+
+  /**
+   * Bounds are serialized using {@link com.netflix.iceberg.types.Conversions#toByteBuffer}.
+   *
+   * @return if collected, map from column ID to its upper bound, null otherwise
+   */
+  Map<Integer, ByteBuffer> upperBounds();
+
+  /**
+   * Bloom filters are serialized using {@link BloomFilter#toByteBuffer()}.
+   *
+   * @return if collected, map from column ID to its Bloom filter, null otherwise
+   */
+  Map<Integer, ByteBuffer> bloomFilters();
+
   /**
    * Copies this {@link DataFile data file}. Manifest readers can reuse data file instances; use
    * this method to copy data when collecting files from tasks.
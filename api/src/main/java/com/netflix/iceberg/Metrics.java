@@ -17,6 +17,7 @@
 package com.netflix.iceberg;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import static com.google.common.collect.ImmutableMap.copyOf;
@@ -28,6 +29,8 @@ public class Metrics implements Serializable {
   private Map<Integer, Long> valueCounts = null;
   private Map<Integer, Long> nullValueCounts = null;
   private Map<Integer, Long> distinctCounts = null;
+  private Map<Integer, ByteBuffer> lowerBounds = null;
+  private Map<Integer, ByteBuffer> upperBounds = null;
 
   public Metrics() {
   }
@@ -44,6 +47,18 @@ public class Metrics implements Serializable {
     this.distinctCounts = distinctCounts;
   }
 
+  public Metrics(Long rowCount,
+                 Map<Integer, Long> columnSizes,
+                 Map<Integer, Long> valueCounts,
+                 Map<Integer, Long> nullValueCounts,
+                 Map<Integer, Long> distinctCounts,
+                 Map<Integer, ByteBuffer> lowerBounds,
+                 Map<Integer, ByteBuffer> upperBounds) {
+    this(rowCount, columnSizes, valueCounts, nullValueCounts, distinctCounts);
+    this.lowerBounds = lowerBounds;
+    this.upperBounds = upperBounds;
+  }
+
   public Long recordCount() {
     return rowCount;
   }
@@ -64,4 +79,12 @@ public class Metrics implements Serializable {
     return distinctCounts;
   }
 
+  public Map<Integer, ByteBuffer> lowerBounds() {
+    return lowerBounds;
+  }
+
+  public Map<Integer, ByteBuffer> upperBounds() {
+    return upperBounds;
+  }
+
 }
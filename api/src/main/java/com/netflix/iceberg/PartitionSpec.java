@@ -122,13 +122,15 @@ public class PartitionSpec implements Serializable {
 
   public Class<?>[] javaClasses() {
     if (javaClasses == null) {
-      this.javaClasses = new Class<?>[fields.size()];
+      // fill a local array so that other threads never see a partially initialized array
+      Class<?>[] classes = new Class<?>[fields.size()];
       for (int i = 0; i < fields.size(); i += 1) {
         PartitionField field = fields.get(i);
         Type sourceType = schema.findType(field.sourceId());
         Type result = field.transform().getResultType(sourceType);
-        javaClasses[i] = result.typeId().javaClass();
+        classes[i] = result.typeId().javaClass();
       }
+      this.javaClasses = classes;
     }
 
     return javaClasses;
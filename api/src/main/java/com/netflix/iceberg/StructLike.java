@@ -19,7 +19,8 @@ package com.netflix.iceberg;
 /**
  * Interface for accessing data by position in a schema.
  * <p>
- * This interface supports accessing data in top-level fields, not in nested fields.
+ * This interface supports accessing data in top-level fields. Values of struct fields are also
+ * accessed as StructLike, so nested fields are accessed by position through their parents.
  */
 public interface StructLike {
   <T> T get(int pos, Class<T> javaClass);
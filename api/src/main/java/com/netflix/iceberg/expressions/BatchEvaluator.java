@@ -0,0 +1,830 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.expressions;
+
+import com.google.common.base.Preconditions;
+import com.netflix.iceberg.ColumnBatch;
+import com.netflix.iceberg.ColumnVector;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.types.Comparators;
+import com.netflix.iceberg.types.Type;
+import com.netflix.iceberg.types.Types;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
+
+/**
+ * Evaluates an {@link Expression} for batches of rows stored in {@link ColumnVector columns}.
+ * <p>
+ * Results are returned as a selection vector, the positions of matching rows in increasing order,
+ * or as a bitmap. Each predicate in the expression filters the selection produced by the previous
+ * predicate using a loop specialized for the column's primitive array, so {@code and} is
+ * evaluated only for rows that matched its left side.
+ * <p>
+ * Results match {@link Evaluator}: null values sort before all non-null values. Floating point
+ * values are compared like {@link Double#compare(double, double)}. Strings are compared in the
+ * order of their UTF-16 code units, like {@link Comparators#charSequences()}, and fixed and binary
+ * values are compared as unsigned bytes.
+ * <p>
+ * Columns must be top-level and boolean, int, date, long, time, timestamp, float, double, string,
+ * fixed, or binary.
+ * <p>
+ * This class is thread-safe.
+ */
+public class BatchEvaluator implements Serializable {
+  private final Expression expr;
+  private transient BatchFilter filter = null;
+
+  public BatchEvaluator(Types.StructType struct, Expression unbound) {
+    this.expr = Binder.bind(struct, Optimizer.optimize(unbound));
+    this.filter = compile(expr);
+  }
+
+  private BatchFilter filter() {
+    if (filter == null) {
+      // filters are stateless, so a race results in equivalent copies
+      this.filter = compile(expr);
+    }
+    return filter;
+  }
+
+  /**
+   * Evaluates the expression for all rows in a batch.
+   *
+   * @param batch a batch of rows
+   * @param selection an array with at least batch.numRows() elements that will be filled with the
+   *                  positions of matching rows, in increasing order
+   * @return the number of matching rows
+   */
+  public int eval(ColumnBatch batch, int[] selection) {
+    int numRows = batch.numRows();
+    Preconditions.checkArgument(selection.length >= numRows,
+        "Selection vector is too small for %s rows: %s", numRows, selection.length);
+    for (int row = 0; row < numRows; row += 1) {
+      selection[row] = row;
+    }
+    return filter().filter(batch, selection, numRows);
+  }
+
+  /**
+   * Evaluates the expression for all rows in a batch.
+   *
+   * @param batch a batch of rows
+   * @return a bitmap with bits set for matching rows, see {@link ColumnVector#isSet(long[], int)}
+   */
+  public long[] evalBitmap(ColumnBatch batch) {
+    int[] selection = new int[batch.numRows()];
+    int count = eval(batch, selection);
+    long[] bitmap = ColumnVector.newBitmap(batch.numRows());
+    for (int i = 0; i < count; i += 1) {
+      ColumnVector.set(bitmap, selection[i]);
+    }
+    return bitmap;
+  }
+
+  /**
+   * Filters a selection of rows in place.
+   */
+  private interface BatchFilter extends Serializable {
+    /**
+     * Removes rows that do not match from the first count positions of a selection vector.
+     *
+     * @param batch a batch of rows
+     * @param sel a selection vector of row positions in increasing order
+     * @param count the number of rows selected
+     * @return the number of matching rows, which are moved to the start of sel
+     */
+    int filter(ColumnBatch batch, int[] sel, int count);
+  }
+
+  private static final BatchFilter ALWAYS_TRUE = (batch, sel, count) -> count;
+  private static final BatchFilter ALWAYS_FALSE = (batch, sel, count) -> 0;
+
+  private static BatchFilter compile(Expression expr) {
+    return ExpressionVisitors.visit(expr, new CompileVisitor());
+  }
+
+  private static class CompileVisitor extends BoundExpressionVisitor<BatchFilter> {
+    @Override
+    public BatchFilter alwaysTrue() {
+      return ALWAYS_TRUE;
+    }
+
+    @Override
+    public BatchFilter alwaysFalse() {
+      return ALWAYS_FALSE;
+    }
+
+    @Override
+    public BatchFilter not(BatchFilter child) {
+      return (batch, sel, count) -> {
+        int[] matches = Arrays.copyOf(sel, count);
+        int numMatches = child.filter(batch, matches, count);
+        return difference(sel, count, matches, numMatches);
+      };
+    }
+
+    @Override
+    public BatchFilter and(BatchFilter left, BatchFilter right) {
+      return (batch, sel, count) -> right.filter(batch, sel, left.filter(batch, sel, count));
+    }
+
+    @Override
+    public BatchFilter or(BatchFilter left, BatchFilter right) {
+      return (batch, sel, count) -> {
+        int[] leftMatches = Arrays.copyOf(sel, count);
+        int numLeft = left.filter(batch, leftMatches, count);
+        if (numLeft == count) {
+          return count;
+        }
+
+        // evaluate the right side only for rows that did not match the left
+        int[] rest = Arrays.copyOf(sel, count);
+        int numRest = difference(rest, count, leftMatches, numLeft);
+        int numRight = right.filter(batch, rest, numRest);
+
+        return merge(leftMatches, numLeft, rest, numRight, sel);
+      };
+    }
+
+    @Override
+    public <T> BatchFilter predicate(BoundPredicate<T> pred) {
+      Preconditions.checkArgument(!pred.ref().isNested(),
+          "Cannot evaluate a nested field in a batch: %s", pred);
+      return super.predicate(pred);
+    }
+
+    @Override
+    public <T> BatchFilter isNull(BoundReference<T> ref) {
+      int pos = ref.pos();
+      return (batch, sel, count) -> nulls(batch.column(pos).nulls(), false, sel, count);
+    }
+
+    @Override
+    public <T> BatchFilter notNull(BoundReference<T> ref) {
+      int pos = ref.pos();
+      return (batch, sel, count) -> nulls(batch.column(pos).nulls(), true, sel, count);
+    }
+
+    @Override
+    public <T> BatchFilter lt(BoundReference<T> ref, Literal<T> lit) {
+      return compare(ref, Cmp.LT, false, lit.value());
+    }
+
+    @Override
+    public <T> BatchFilter ltEq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(ref, Cmp.LT_EQ, false, lit.value());
+    }
+
+    @Override
+    public <T> BatchFilter gt(BoundReference<T> ref, Literal<T> lit) {
+      // gt is true for non-null values where ltEq is false, and false for null like ltEq is true
+      return compare(ref, Cmp.LT_EQ, true, lit.value());
+    }
+
+    @Override
+    public <T> BatchFilter gtEq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(ref, Cmp.LT, true, lit.value());
+    }
+
+    @Override
+    public <T> BatchFilter eq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(ref, Cmp.EQ, false, lit.value());
+    }
+
+    @Override
+    public <T> BatchFilter notEq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(ref, Cmp.EQ, true, lit.value());
+    }
+
+    @Override
+    public <T> BatchFilter in(BoundReference<T> ref, Set<T> literalSet) {
+      return contains(ref, literalSet, false);
+    }
+
+    @Override
+    public <T> BatchFilter notIn(BoundReference<T> ref, Set<T> literalSet) {
+      return contains(ref, literalSet, true);
+    }
+
+    @Override
+    public <T> BatchFilter startsWith(BoundReference<T> ref, Literal<T> lit) {
+      return prefix(ref, lit.value(), false);
+    }
+
+    @Override
+    public <T> BatchFilter notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      return prefix(ref, lit.value(), true);
+    }
+  }
+
+  private enum Cmp {
+    LT,
+    LT_EQ,
+    EQ
+  }
+
+  private static BatchFilter compare(BoundReference<?> ref, Cmp cmp, boolean negate,
+                                     Object value) {
+    int pos = ref.pos();
+    switch (ref.type().typeId()) {
+      case BOOLEAN:
+        boolean boolLit = (Boolean) value;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return booleans(col.booleans(), col.nulls(), cmp, boolLit, negate, sel, count);
+        };
+      case INTEGER:
+      case DATE:
+        int intLit = (Integer) value;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return ints(col.ints(), col.nulls(), cmp, intLit, negate, sel, count);
+        };
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        long longLit = (Long) value;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return longs(col.longs(), col.nulls(), cmp, longLit, negate, sel, count);
+        };
+      case FLOAT:
+        float floatLit = (Float) value;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return floats(col.floats(), col.nulls(), cmp, floatLit, negate, sel, count);
+        };
+      case DOUBLE:
+        double doubleLit = (Double) value;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return doubles(col.doubles(), col.nulls(), cmp, doubleLit, negate, sel, count);
+        };
+      case STRING:
+      case FIXED:
+      case BINARY:
+        byte[] bytesLit = toBytes(value);
+        boolean isString = ref.type().typeId() == Type.TypeID.STRING;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return bytes(col.bytes(), col.offsets(), col.nulls(), cmp, bytesLit, isString,
+              negate, sel, count);
+        };
+      default:
+        throw new UnsupportedOperationException(
+            "Cannot evaluate batches for type: " + ref.type());
+    }
+  }
+
+  private static <T> BatchFilter contains(BoundReference<T> ref, Set<T> literalSet,
+                                          boolean negate) {
+    int pos = ref.pos();
+    switch (ref.type().typeId()) {
+      case INTEGER:
+      case DATE:
+        LiteralSets.IntSet ints = (LiteralSets.IntSet) literalSet;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return intsIn(col.ints(), col.nulls(), ints, negate, sel, count);
+        };
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        LiteralSets.LongSet longs = (LiteralSets.LongSet) literalSet;
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return longsIn(col.longs(), col.nulls(), longs, negate, sel, count);
+        };
+      case FLOAT:
+        // float equality matches Float.equals, which compares the canonical bits of the value
+        List<Integer> floatBits = newArrayListWithExpectedSize(literalSet.size());
+        for (T value : literalSet) {
+          floatBits.add(Float.floatToIntBits((Float) value));
+        }
+        LiteralSets.IntSet floats = (LiteralSets.IntSet) LiteralSets.of(
+            Types.IntegerType.get(), floatBits);
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return floatsIn(col.floats(), col.nulls(), floats, negate, sel, count);
+        };
+      case DOUBLE:
+        List<Long> doubleBits = newArrayListWithExpectedSize(literalSet.size());
+        for (T value : literalSet) {
+          doubleBits.add(Double.doubleToLongBits((Double) value));
+        }
+        LiteralSets.LongSet doubles = (LiteralSets.LongSet) LiteralSets.of(
+            Types.LongType.get(), doubleBits);
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return doublesIn(col.doubles(), col.nulls(), doubles, negate, sel, count);
+        };
+      case BOOLEAN:
+        boolean containsTrue = literalSet.contains(true);
+        boolean containsFalse = literalSet.contains(false);
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return booleansIn(col.booleans(), col.nulls(), containsTrue, containsFalse, negate,
+              sel, count);
+        };
+      case STRING:
+      case FIXED:
+      case BINARY:
+        BytesSet bytes = new BytesSet(literalSet);
+        return (batch, sel, count) -> {
+          ColumnVector col = batch.column(pos);
+          return bytesIn(col.bytes(), col.offsets(), col.nulls(), bytes, negate, sel, count);
+        };
+      default:
+        throw new UnsupportedOperationException(
+            "Cannot evaluate batches for type: " + ref.type());
+    }
+  }
+
+  /**
+   * A hash set of byte arrays that tests membership for a range of a larger array.
+   */
+  private static class BytesSet implements Serializable {
+    private final byte[][] table;
+    private final int mask;
+
+    private BytesSet(Set<?> values) {
+      int size = 2;
+      while (size < values.size() * 2) {
+        size <<= 1;
+      }
+      this.table = new byte[size][];
+      this.mask = size - 1;
+
+      for (Object value : values) {
+        byte[] bytes = toBytes(value);
+        int pos = hash(bytes, 0, bytes.length) & mask;
+        while (table[pos] != null) {
+          pos = (pos + 1) & mask;
+        }
+        table[pos] = bytes;
+      }
+    }
+
+    private static int hash(byte[] data, int start, int end) {
+      int hash = 1;
+      for (int i = start; i < end; i += 1) {
+        hash = 31 * hash + data[i];
+      }
+      return hash ^ (hash >>> 16);
+    }
+
+    boolean contains(byte[] data, int start, int end) {
+      int pos = hash(data, start, end) & mask;
+      while (table[pos] != null) {
+        if (equalBytes(data, start, end, table[pos])) {
+          return true;
+        }
+        pos = (pos + 1) & mask;
+      }
+      return false;
+    }
+  }
+
+  private static byte[] toBytes(Object value) {
+    if (value instanceof CharSequence) {
+      ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap((CharSequence) value));
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      return bytes;
+    }
+    ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static boolean isNull(long[] nulls, int row) {
+    return nulls != null && (nulls[row >>> 6] & (1L << row)) != 0;
+  }
+
+  // The loops below write each row back into the selection vector and advance the output
+  // position only for matches. Because the output position never passes the input position, this
+  // filters in place without branching on the result.
+
+  private static int nulls(long[] nulls, boolean negate, int[] sel, int count) {
+    if (nulls == null) {
+      return negate ? count : 0;
+    }
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      n += (isNull(nulls, row) != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int booleans(boolean[] values, long[] nulls, Cmp cmp, boolean lit,
+                              boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      boolean isNull = isNull(nulls, row);
+      int c = Boolean.compare(values[row], lit);
+      boolean match;
+      switch (cmp) {
+        case LT:
+          match = isNull || c < 0;
+          break;
+        case LT_EQ:
+          match = isNull || c <= 0;
+          break;
+        default:
+          match = !isNull && c == 0;
+      }
+      sel[n] = row;
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int ints(int[] values, long[] nulls, Cmp cmp, int lit,
+                          boolean negate, int[] sel, int count) {
+    int n = 0;
+    switch (cmp) {
+      case LT:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((values[row] < lit || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      case LT_EQ:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((values[row] <= lit || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      default:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((values[row] == lit && !isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+    }
+  }
+
+  private static int longs(long[] values, long[] nulls, Cmp cmp, long lit,
+                           boolean negate, int[] sel, int count) {
+    int n = 0;
+    switch (cmp) {
+      case LT:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((values[row] < lit || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      case LT_EQ:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((values[row] <= lit || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      default:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((values[row] == lit && !isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+    }
+  }
+
+  private static int floats(float[] values, long[] nulls, Cmp cmp, float lit,
+                            boolean negate, int[] sel, int count) {
+    int n = 0;
+    switch (cmp) {
+      case LT:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((Float.compare(values[row], lit) < 0 || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      case LT_EQ:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((Float.compare(values[row], lit) <= 0 || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      default:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((Float.compare(values[row], lit) == 0 && !isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+    }
+  }
+
+  private static int doubles(double[] values, long[] nulls, Cmp cmp, double lit,
+                             boolean negate, int[] sel, int count) {
+    int n = 0;
+    switch (cmp) {
+      case LT:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((Double.compare(values[row], lit) < 0 || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      case LT_EQ:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((Double.compare(values[row], lit) <= 0 || isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+      default:
+        for (int i = 0; i < count; i += 1) {
+          int row = sel[i];
+          sel[n] = row;
+          n += ((Double.compare(values[row], lit) == 0 && !isNull(nulls, row)) != negate) ? 1 : 0;
+        }
+        return n;
+    }
+  }
+
+  private static int bytes(byte[] data, int[] offsets, long[] nulls, Cmp cmp, byte[] lit,
+                           boolean isString, boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      boolean isNull = isNull(nulls, row);
+      boolean match;
+      switch (cmp) {
+        case LT:
+          match = isNull || compare(data, offsets[row], offsets[row + 1], lit, isString) < 0;
+          break;
+        case LT_EQ:
+          match = isNull || compare(data, offsets[row], offsets[row + 1], lit, isString) <= 0;
+          break;
+        default:
+          match = !isNull && equalBytes(data, offsets[row], offsets[row + 1], lit);
+      }
+      sel[n] = row;
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int intsIn(int[] values, long[] nulls, LiteralSets.IntSet set,
+                            boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      n += ((set.containsInt(values[row]) && !isNull(nulls, row)) != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int longsIn(long[] values, long[] nulls, LiteralSets.LongSet set,
+                             boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      n += ((set.containsLong(values[row]) && !isNull(nulls, row)) != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int floatsIn(float[] values, long[] nulls, LiteralSets.IntSet set,
+                              boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      boolean match = set.containsInt(Float.floatToIntBits(values[row])) && !isNull(nulls, row);
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int doublesIn(double[] values, long[] nulls, LiteralSets.LongSet set,
+                               boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      boolean match = set.containsLong(Double.doubleToLongBits(values[row])) &&
+          !isNull(nulls, row);
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int booleansIn(boolean[] values, long[] nulls, boolean containsTrue,
+                                boolean containsFalse, boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      boolean match = (values[row] ? containsTrue : containsFalse) && !isNull(nulls, row);
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int bytesIn(byte[] data, int[] offsets, long[] nulls, BytesSet set,
+                             boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      boolean match = !isNull(nulls, row) && set.contains(data, offsets[row], offsets[row + 1]);
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  // a UTF-8 encoded value starts with the encoded prefix iff the string starts with the prefix
+  private static BatchFilter prefix(BoundReference<?> ref, Object value, boolean negate) {
+    int pos = ref.pos();
+    byte[] prefix = toBytes(value);
+    return (batch, sel, count) -> {
+      ColumnVector col = batch.column(pos);
+      return bytesStartWith(col.bytes(), col.offsets(), col.nulls(), prefix, negate, sel, count);
+    };
+  }
+
+  private static int bytesStartWith(byte[] data, int[] offsets, long[] nulls, byte[] prefix,
+                                    boolean negate, int[] sel, int count) {
+    int n = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      sel[n] = row;
+      int start = offsets[row];
+      boolean match = !isNull(nulls, row) && offsets[row + 1] - start >= prefix.length &&
+          equalBytes(data, start, start + prefix.length, prefix);
+      n += (match != negate) ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static int compare(byte[] data, int start, int end, byte[] lit, boolean isString) {
+    return isString ? compareUtf8(data, start, end, lit) : compareBytes(data, start, end, lit);
+  }
+
+  /**
+   * Compares UTF-8 encoded strings in the order of their UTF-16 code units.
+   * <p>
+   * Unsigned byte order is code point order, which differs from UTF-16 order when a supplementary
+   * character, encoded as a surrogate pair in UTF-16, is compared to a character from U+E000 to
+   * U+FFFF. The first differing byte is in the same code point of both strings, so only that code
+   * point is decoded.
+   */
+  private static int compareUtf8(byte[] data, int start, int end, byte[] lit) {
+    int len = end - start;
+    int minLen = Math.min(len, lit.length);
+    for (int i = 0; i < minLen; i += 1) {
+      if (data[start + i] != lit[i]) {
+        int cpStart = i;
+        while (cpStart > 0 && (lit[cpStart] & 0xC0) == 0x80) {
+          cpStart -= 1;
+        }
+        return Long.compare(
+            utf16Units(data, start + cpStart, end), utf16Units(lit, cpStart, lit.length));
+      }
+    }
+    return Integer.compare(len, lit.length);
+  }
+
+  /**
+   * Returns the UTF-16 code units of the code point at pos, the first unit in the upper 16 bits.
+   */
+  private static long utf16Units(byte[] bytes, int pos, int end) {
+    int lead = bytes[pos] & 0xFF;
+    int codePoint;
+    if (lead < 0x80) {
+      return ((long) lead) << 16;
+    } else if (lead < 0xE0) {
+      codePoint = ((lead & 0x1F) << 6) | continuation(bytes, pos + 1, end);
+    } else if (lead < 0xF0) {
+      codePoint = ((lead & 0x0F) << 12) | (continuation(bytes, pos + 1, end) << 6) |
+          continuation(bytes, pos + 2, end);
+    } else {
+      codePoint = ((lead & 0x07) << 18) | (continuation(bytes, pos + 1, end) << 12) |
+          (continuation(bytes, pos + 2, end) << 6) | continuation(bytes, pos + 3, end);
+    }
+
+    if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      return ((long) codePoint) << 16;
+    }
+
+    return (((long) Character.highSurrogate(codePoint)) << 16) | Character.lowSurrogate(codePoint);
+  }
+
+  private static int continuation(byte[] bytes, int pos, int end) {
+    return pos < end ? bytes[pos] & 0x3F : 0;
+  }
+
+  private static int compareBytes(byte[] data, int start, int end, byte[] lit) {
+    int len = end - start;
+    int minLen = Math.min(len, lit.length);
+    for (int i = 0; i < minLen; i += 1) {
+      int cmp = Integer.compare(data[start + i] & 0xFF, lit[i] & 0xFF);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return Integer.compare(len, lit.length);
+  }
+
+  private static boolean equalBytes(byte[] data, int start, int end, byte[] lit) {
+    if (end - start != lit.length) {
+      return false;
+    }
+    for (int i = 0; i < lit.length; i += 1) {
+      if (data[start + i] != lit[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes rows in matches from the first count rows of sel, in place.
+   *
+   * @return the number of rows in sel that are not in matches
+   */
+  private static int difference(int[] sel, int count, int[] matches, int numMatches) {
+    int n = 0;
+    int m = 0;
+    for (int i = 0; i < count; i += 1) {
+      int row = sel[i];
+      if (m < numMatches && matches[m] == row) {
+        m += 1;
+      } else {
+        sel[n] = row;
+        n += 1;
+      }
+    }
+    return n;
+  }
+
+  /**
+   * Merges two sorted, disjoint selections into out.
+   *
+   * @return the number of rows in out
+   */
+  private static int merge(int[] left, int numLeft, int[] right, int numRight, int[] out) {
+    int l = 0;
+    int r = 0;
+    int n = 0;
+    while (l < numLeft && r < numRight) {
+      if (left[l] < right[r]) {
+        out[n] = left[l];
+        l += 1;
+      } else {
+        out[n] = right[r];
+        r += 1;
+      }
+      n += 1;
+    }
+    while (l < numLeft) {
+      out[n] = left[l];
+      l += 1;
+      n += 1;
+    }
+    while (r < numRight) {
+      out[n] = right[r];
+      r += 1;
+      n += 1;
+    }
+    return n;
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.BloomFilter;
+import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates an {@link Expression} on a {@link DataFile} using the file's Bloom filters.
+ * <p>
+ * This evaluation is inclusive: it returns true if a file may match and false if it cannot match.
+ * Only {@code eq} and {@code in} predicates are tested against a column's Bloom filter; all other
+ * predicates, and columns without a filter, are treated as unknown.
+ * <p>
+ * This class is thread-safe.
+ */
+public class BloomFilterEvaluator {
+  private static final boolean ROWS_MIGHT_MATCH = true;
+  private static final boolean ROWS_CANNOT_MATCH = false;
+
+  private final Expression expr;
+  private final boolean usesBloomFilters;
+  private final ThreadLocal<BloomFilterEvalVisitor> visitors =
+      ThreadLocal.withInitial(BloomFilterEvalVisitor::new);
+
+  public BloomFilterEvaluator(Schema schema, Expression unbound) {
+    this.expr = Binder.bind(schema.asStruct(), Optimizer.optimize(unbound));
+    this.usesBloomFilters = ExpressionVisitors.visit(expr, new UsesBloomFilters());
+  }
+
+  /**
+   * Returns whether the expression has predicates that can be tested against Bloom filters.
+   * <p>
+   * When this returns false, {@link #eval(DataFile)} returns true for every file, so Bloom
+   * filters do not need to be read.
+   *
+   * @return true if the expression has an eq or in predicate on a column type with Bloom filters
+   */
+  public boolean usesBloomFilters() {
+    return usesBloomFilters;
+  }
+
+  /**
+   * Test whether the file may contain records that match the expression.
+   *
+   * @param file a data file
+   * @return false if the file cannot contain rows that match the expression, true otherwise.
+   */
+  public boolean eval(DataFile file) {
+    return visitors.get().eval(file);
+  }
+
+  private class BloomFilterEvalVisitor extends BoundExpressionVisitor<Boolean> {
+    private Map<Integer, ByteBuffer> bloomFilters = null;
+
+    private boolean eval(DataFile file) {
+      this.bloomFilters = file.bloomFilters();
+      if (bloomFilters == null || bloomFilters.isEmpty()) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      return ExpressionVisitors.visit(expr, this);
+    }
+
+    @Override
+    public Boolean alwaysTrue() {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public Boolean alwaysFalse() {
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public Boolean not(Boolean result) {
+      throw new UnsupportedOperationException("Not should be rewritten: " + expr);
+    }
+
+    @Override
+    public Boolean and(Boolean leftResult, Boolean rightResult) {
+      return leftResult && rightResult;
+    }
+
+    @Override
+    public Boolean or(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public <T> Boolean isNull(BoundReference<T> ref) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notNull(BoundReference<T> ref) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean lt(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean ltEq(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gt(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gtEq(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean eq(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer filter = bloomFilters.get(ref.fieldId());
+      if (filter == null || !BloomFilter.isSupported(ref.type())) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      return mightContain(filter, ref, lit.value()) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notEq(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean in(BoundReference<T> ref, Set<T> literalSet) {
+      ByteBuffer filter = bloomFilters.get(ref.fieldId());
+      if (filter == null || !BloomFilter.isSupported(ref.type())) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      for (T value : literalSet) {
+        if (mightContain(filter, ref, value)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notIn(BoundReference<T> ref, Set<T> literalSet) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean startsWith(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    private boolean mightContain(ByteBuffer filter, BoundReference<?> ref, Object value) {
+      return BloomFilter.mightContain(filter, BloomFilter.hash(ref.type(), value));
+    }
+  }
+
+  private static class UsesBloomFilters extends BoundExpressionVisitor<Boolean> {
+    @Override
+    public Boolean alwaysTrue() {
+      return false;
+    }
+
+    @Override
+    public Boolean alwaysFalse() {
+      return false;
+    }
+
+    @Override
+    public Boolean not(Boolean result) {
+      return false;
+    }
+
+    @Override
+    public Boolean and(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public Boolean or(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public <T> Boolean predicate(BoundPredicate<T> pred) {
+      switch (pred.op()) {
+        case EQ:
+        case IN:
+          return BloomFilter.isSupported(pred.ref().type());
+        default:
+          return false;
+      }
+    }
+  }
+}
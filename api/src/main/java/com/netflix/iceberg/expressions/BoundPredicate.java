@@ -16,17 +16,49 @@
 
 package com.netflix.iceberg.expressions;
 
+import java.util.Collection;
+import java.util.Set;
+
 public class BoundPredicate<T> extends Predicate<T, BoundReference<T>> {
+  private final Set<T> literalSet;
+
   BoundPredicate(Operation op, BoundReference<T> ref, Literal<T> lit) {
     super(op, ref, lit);
+    this.literalSet = null;
   }
 
   BoundPredicate(Operation op, BoundReference<T> ref) {
     super(op, ref, null);
+    this.literalSet = null;
+  }
+
+  BoundPredicate(Operation op, BoundReference<T> ref, Set<T> literalSet) {
+    super(op, ref, null);
+    this.literalSet = literalSet;
+  }
+
+  /**
+   * Returns the set of values for an IN or NOT_IN predicate.
+   * <p>
+   * Values have been converted to the reference's type. For int, long, and string types, the set
+   * is specialized to test membership without boxing or, for strings, for any CharSequence.
+   *
+   * @return an immutable set of values, or null if this is not an IN or NOT_IN predicate
+   */
+  public Set<T> literalSet() {
+    return literalSet;
+  }
+
+  @Override
+  Collection<?> setValues() {
+    return literalSet;
   }
 
   @Override
   public Expression negate() {
+    if (literalSet != null) {
+      return new BoundPredicate<T>(negateOp(), ref(), literalSet);
+    }
     return new BoundPredicate<>(negateOp(), ref(), literal());
   }
 }
@@ -20,28 +20,71 @@ import com.netflix.iceberg.StructLike;
 import com.netflix.iceberg.exceptions.ValidationException;
 import com.netflix.iceberg.types.Type;
 import com.netflix.iceberg.types.Types;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * A reference to a field bound to a struct type.
+ * <p>
+ * The field may be a top-level field or a field nested in structs. Nested fields are accessed
+ * through the positions of their enclosing structs; if any enclosing struct is null, the value is
+ * null.
+ */
 public class BoundReference<T> implements Reference {
   private final int fieldId;
   private final Type type;
   private final int pos;
+  private final int[] parents; // positions of enclosing structs, outermost first
+  private final boolean required;
 
   BoundReference(Types.StructType struct, int fieldId) {
+    int[] path = find(fieldId, struct);
+    ValidationException.check(path != null,
+        "Cannot find field id %d in struct, or it is in a list or map: %s", fieldId, struct);
+
     this.fieldId = fieldId;
-    this.pos = find(fieldId, struct);
-    this.type = struct.fields().get(pos).type();
+    this.parents = Arrays.copyOf(path, path.length - 1);
+    this.pos = path[path.length - 1];
+
+    Types.StructType parent = struct;
+    boolean isRequired = true;
+    for (int p : parents) {
+      Types.NestedField field = parent.fields().get(p);
+      isRequired &= field.isRequired();
+      parent = field.type().asNestedType().asStructType();
+    }
+
+    Types.NestedField field = parent.fields().get(pos);
+    this.type = field.type();
+    this.required = isRequired && field.isRequired();
   }
 
-  private int find(int fieldId, Types.StructType struct) {
+  /**
+   * Returns the positions of a field and its enclosing structs, or null if the field cannot be
+   * reached through struct fields.
+   */
+  private static int[] find(int fieldId, Types.StructType struct) {
     List<Types.NestedField> fields = struct.fields();
     for (int i = 0; i < fields.size(); i += 1) {
       if (fields.get(i).fieldId() == fieldId) {
-        return i;
+        return new int[] { i };
       }
     }
-    throw new ValidationException(
-        "Cannot find top-level field id %d in struct: %s", fieldId, struct);
+
+    for (int i = 0; i < fields.size(); i += 1) {
+      Type fieldType = fields.get(i).type();
+      if (fieldType.isNestedType() && fieldType.asNestedType().isStructType()) {
+        int[] path = find(fieldId, fieldType.asNestedType().asStructType());
+        if (path != null) {
+          int[] withParent = new int[path.length + 1];
+          withParent[0] = i;
+          System.arraycopy(path, 0, withParent, 1, path.length);
+          return withParent;
+        }
+      }
+    }
+
+    return null;
   }
 
   public Type type() {
@@ -52,12 +95,47 @@ public class BoundReference<T> implements Reference {
     return fieldId;
   }
 
+  /**
+   * Returns the field's position in the struct that contains it.
+   */
+  int pos() {
+    return pos;
+  }
+
+  boolean isNested() {
+    return parents.length > 0;
+  }
+
+  /**
+   * Returns whether the field and all of its enclosing structs are required.
+   */
+  boolean isRequired() {
+    return required;
+  }
+
+  /**
+   * Returns the struct that contains the field, or null if an enclosing struct is null.
+   */
+  StructLike parent(StructLike struct) {
+    StructLike current = struct;
+    for (int i = 0; i < parents.length && current != null; i += 1) {
+      current = current.get(parents[i], StructLike.class);
+    }
+    return current;
+  }
+
   public T get(StructLike struct) {
-    return struct.get(pos, javaType());
+    StructLike parent = parent(struct);
+    return parent != null ? parent.get(pos, javaType()) : null;
   }
 
   @Override
   public String toString() {
+    if (isNested()) {
+      int[] path = Arrays.copyOf(parents, parents.length + 1);
+      path[parents.length] = pos;
+      return String.format("ref(id=%d, path=%s, type=%s)", fieldId, Arrays.toString(path), type);
+    }
     return String.format("ref(id=%d, pos=%d, type=%s)", fieldId, pos, type);
   }
 
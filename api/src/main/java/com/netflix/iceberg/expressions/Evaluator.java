@@ -18,20 +18,28 @@ package com.netflix.iceberg.expressions;
 
 import com.netflix.iceberg.StructLike;
 import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.expressions.RowPredicates.RowPredicate;
 import com.netflix.iceberg.types.Types;
 import java.io.Serializable;
 import java.util.Comparator;
+import java.util.Set;
 
 /**
  * Evaluates an {@link Expression} for data described by a {@link Types.StructType}.
  * <p>
  * Data rows must implement {@link StructLike} and are passed to {@link #eval(StructLike)}.
  * <p>
+ * By default, the bound expression is compiled to a tree of predicates that are specialized for
+ * each operation and column type. Compilation can be disabled to evaluate rows by traversing the
+ * expression with a visitor.
+ * <p>
  * This class is thread-safe.
  */
 public class Evaluator implements Serializable {
   private final Expression expr;
+  private final boolean compile;
   private transient ThreadLocal<EvalVisitor> visitors = null;
+  private transient RowPredicate compiled = null;
 
   private EvalVisitor visitor() {
     if (visitors == null) {
@@ -40,11 +48,27 @@ public class Evaluator implements Serializable {
     return visitors.get();
   }
 
+  private RowPredicate compiled() {
+    if (compiled == null) {
+      // compiled predicates are stateless, so a race results in equivalent copies
+      this.compiled = RowPredicates.compile(expr);
+    }
+    return compiled;
+  }
+
   public Evaluator(Types.StructType struct, Expression unbound) {
-    this.expr = Binder.bind(struct, unbound);
+    this(struct, unbound, true);
+  }
+
+  public Evaluator(Types.StructType struct, Expression unbound, boolean compile) {
+    this.expr = Binder.bind(struct, Optimizer.optimize(unbound));
+    this.compile = compile;
   }
 
   public boolean eval(StructLike data) {
+    if (compile) {
+      return compiled().test(data);
+    }
     return visitor().eval(data);
   }
 
@@ -127,13 +151,24 @@ public class Evaluator implements Serializable {
     }
 
     @Override
-    public <T> Boolean in(BoundReference<T> ref, Literal<T> lit) {
-      throw new UnsupportedOperationException("In is not supported yet");
+    public <T> Boolean in(BoundReference<T> ref, Set<T> literalSet) {
+      T value = ref.get(struct);
+      return value != null && literalSet.contains(value);
+    }
+
+    @Override
+    public <T> Boolean notIn(BoundReference<T> ref, Set<T> literalSet) {
+      return !in(ref, literalSet);
+    }
+
+    @Override
+    public <T> Boolean startsWith(BoundReference<T> ref, Literal<T> lit) {
+      return RowPredicates.startsWith((CharSequence) ref.get(struct), (CharSequence) lit.value());
     }
 
     @Override
-    public <T> Boolean notIn(BoundReference<T> ref, Literal<T> lit) {
-      return !in(ref, lit);
+    public <T> Boolean notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      return !startsWith(ref, lit);
     }
   }
 }
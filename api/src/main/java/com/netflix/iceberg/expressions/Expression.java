@@ -35,6 +35,8 @@ public interface Expression extends Serializable {
     NOT_EQ,
     IN,
     NOT_IN,
+    STARTS_WITH,
+    NOT_STARTS_WITH,
     NOT,
     AND,
     OR
@@ -16,6 +16,8 @@
 
 package com.netflix.iceberg.expressions;
 
+import java.util.Set;
+
 /**
  * Utils for traversing {@link Expression expressions}.
  */
@@ -83,11 +85,19 @@ public class ExpressionVisitors {
       return null;
     }
 
-    public <T> R in(BoundReference<T> ref, Literal<T> lit) {
+    public <T> R in(BoundReference<T> ref, Set<T> literalSet) {
+      return null;
+    }
+
+    public <T> R notIn(BoundReference<T> ref, Set<T> literalSet) {
+      return null;
+    }
+
+    public <T> R startsWith(BoundReference<T> ref, Literal<T> lit) {
       return null;
     }
 
-    public <T> R notIn(BoundReference<T> ref, Literal<T> lit) {
+    public <T> R notStartsWith(BoundReference<T> ref, Literal<T> lit) {
       return null;
     }
 
@@ -110,9 +120,13 @@ public class ExpressionVisitors {
         case NOT_EQ:
           return notEq(pred.ref(), pred.literal());
         case IN:
-          return in(pred.ref(), pred.literal());
+          return in(pred.ref(), pred.literalSet());
         case NOT_IN:
-          return notIn(pred.ref(), pred.literal());
+          return notIn(pred.ref(), pred.literalSet());
+        case STARTS_WITH:
+          return startsWith(pred.ref(), pred.literal());
+        case NOT_STARTS_WITH:
+          return notStartsWith(pred.ref(), pred.literal());
         default:
           throw new UnsupportedOperationException(
               "Unknown operation for predicate: " + pred.op());
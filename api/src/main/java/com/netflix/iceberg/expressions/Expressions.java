@@ -18,6 +18,8 @@ package com.netflix.iceberg.expressions;
 
 import com.google.common.base.Preconditions;
 import com.netflix.iceberg.expressions.Expression.Operation;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * Factory methods for creating {@link Expression expressions}.
@@ -88,12 +90,47 @@ public class Expressions {
     return new UnboundPredicate<>(Expression.Operation.NOT_EQ, ref(name), value);
   }
 
+  public static UnboundPredicate<String> startsWith(String name, String prefix) {
+    return new UnboundPredicate<>(Expression.Operation.STARTS_WITH, ref(name), prefix);
+  }
+
+  public static UnboundPredicate<String> notStartsWith(String name, String prefix) {
+    return new UnboundPredicate<>(Expression.Operation.NOT_STARTS_WITH, ref(name), prefix);
+  }
+
+  @SafeVarargs
+  public static <T> UnboundPredicate<T> in(String name, T... values) {
+    return in(name, Arrays.asList(values));
+  }
+
+  public static <T> UnboundPredicate<T> in(String name, Collection<T> values) {
+    return new UnboundPredicate<T>(Expression.Operation.IN, ref(name), values);
+  }
+
+  @SafeVarargs
+  public static <T> UnboundPredicate<T> notIn(String name, T... values) {
+    return notIn(name, Arrays.asList(values));
+  }
+
+  public static <T> UnboundPredicate<T> notIn(String name, Collection<T> values) {
+    return new UnboundPredicate<T>(Expression.Operation.NOT_IN, ref(name), values);
+  }
+
   public static <T> UnboundPredicate<T> predicate(Operation op, String name, T value) {
     Preconditions.checkArgument(op != Operation.IS_NULL && op != Operation.NOT_NULL,
         "Cannot create %s predicate inclusive a value", op);
+    Preconditions.checkArgument(op != Operation.IN && op != Operation.NOT_IN,
+        "Cannot create %s predicate with a single value", op);
     return new UnboundPredicate<>(op, ref(name), value);
   }
 
+  public static <T> UnboundPredicate<T> predicate(Operation op, String name,
+                                                  Collection<T> values) {
+    Preconditions.checkArgument(op == Operation.IN || op == Operation.NOT_IN,
+        "Cannot create %s predicate with a set of values", op);
+    return new UnboundPredicate<T>(op, ref(name), values);
+  }
+
   public static <T> UnboundPredicate<T> predicate(Operation op, String name) {
     Preconditions.checkArgument(op == Operation.IS_NULL || op == Operation.NOT_NULL,
         "Cannot create %s predicate without a value", op);
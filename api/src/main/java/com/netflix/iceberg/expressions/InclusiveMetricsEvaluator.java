@@ -0,0 +1,274 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.types.Conversions;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates an {@link Expression} on a {@link DataFile} to test whether rows in the file may match.
+ * <p>
+ * This evaluation is inclusive: it returns true if a file may match and false if it cannot match.
+ * It uses the file's value counts, null value counts, and column bounds; missing metrics are
+ * treated as unknown.
+ * <p>
+ * Like {@link Evaluator}, null values sort before all other values, so a file with nulls may
+ * match {@code lt}, {@code ltEq}, {@code notEq}, {@code notIn}, and {@code notStartsWith}.
+ * <p>
+ * This class is thread-safe.
+ */
+public class InclusiveMetricsEvaluator {
+  private static final boolean ROWS_MIGHT_MATCH = true;
+  private static final boolean ROWS_CANNOT_MATCH = false;
+
+  private final Expression expr;
+  private final ThreadLocal<MetricsEvalVisitor> visitors =
+      ThreadLocal.withInitial(MetricsEvalVisitor::new);
+
+  public InclusiveMetricsEvaluator(Schema schema, Expression unbound) {
+    this.expr = Binder.bind(schema.asStruct(), Optimizer.optimize(unbound));
+  }
+
+  /**
+   * Test whether the file may contain records that match the expression.
+   *
+   * @param file a data file
+   * @return false if the file cannot contain rows that match the expression, true otherwise.
+   */
+  public boolean eval(DataFile file) {
+    return visitors.get().eval(file);
+  }
+
+  private class MetricsEvalVisitor extends BoundExpressionVisitor<Boolean> {
+    private Map<Integer, Long> valueCounts = null;
+    private Map<Integer, Long> nullCounts = null;
+    private Map<Integer, ByteBuffer> lowerBounds = null;
+    private Map<Integer, ByteBuffer> upperBounds = null;
+
+    private boolean eval(DataFile file) {
+      if (file.recordCount() <= 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      this.valueCounts = file.valueCounts();
+      this.nullCounts = file.nullValueCounts();
+      this.lowerBounds = file.lowerBounds();
+      this.upperBounds = file.upperBounds();
+
+      return ExpressionVisitors.visit(expr, this);
+    }
+
+    @Override
+    public Boolean alwaysTrue() {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public Boolean alwaysFalse() {
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public Boolean not(Boolean result) {
+      throw new UnsupportedOperationException("Not should be rewritten: " + expr);
+    }
+
+    @Override
+    public Boolean and(Boolean leftResult, Boolean rightResult) {
+      return leftResult && rightResult;
+    }
+
+    @Override
+    public Boolean or(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public <T> Boolean isNull(BoundReference<T> ref) {
+      if (nullCounts != null && Long.valueOf(0).equals(nullCounts.get(ref.fieldId()))) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notNull(BoundReference<T> ref) {
+      return allNulls(ref.fieldId()) ? ROWS_CANNOT_MATCH : ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean lt(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer lower = rangeBound(lowerBounds, ref, lit);
+      if (lower != null && MetricsBounds.compare(ref.type(), lower, lit.value()) >= 0) {
+        return mayHaveNulls(ref.fieldId()) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean ltEq(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer lower = rangeBound(lowerBounds, ref, lit);
+      if (lower != null && MetricsBounds.compare(ref.type(), lower, lit.value()) > 0) {
+        return mayHaveNulls(ref.fieldId()) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gt(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer upper = rangeBound(upperBounds, ref, lit);
+      if (upper != null && MetricsBounds.compare(ref.type(), upper, lit.value()) <= 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gtEq(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer upper = rangeBound(upperBounds, ref, lit);
+      if (upper != null && MetricsBounds.compare(ref.type(), upper, lit.value()) < 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean eq(BoundReference<T> ref, Literal<T> lit) {
+      return inBounds(ref, lit.value()) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notEq(BoundReference<T> ref, Literal<T> lit) {
+      if (mayHaveNulls(ref.fieldId())) {
+        return ROWS_MIGHT_MATCH;
+      }
+      return allEqual(ref, lit.value()) ? ROWS_CANNOT_MATCH : ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean in(BoundReference<T> ref, Set<T> literalSet) {
+      for (T value : literalSet) {
+        if (inBounds(ref, value)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notIn(BoundReference<T> ref, Set<T> literalSet) {
+      if (mayHaveNulls(ref.fieldId())) {
+        return ROWS_MIGHT_MATCH;
+      }
+      for (T value : literalSet) {
+        if (allEqual(ref, value)) {
+          return ROWS_CANNOT_MATCH;
+        }
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean startsWith(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer prefix = Conversions.toByteBuffer(ref.type(), lit.value());
+      ByteBuffer lower = bound(lowerBounds, ref);
+      if (lower != null && MetricsBounds.comparePrefix(lower, prefix) > 0) {
+        // all values sort after every string that starts with the prefix
+        return ROWS_CANNOT_MATCH;
+      }
+
+      ByteBuffer upper = bound(upperBounds, ref);
+      if (upper != null && MetricsBounds.comparePrefix(upper, prefix) < 0) {
+        // all values sort before every string that starts with the prefix
+        return ROWS_CANNOT_MATCH;
+      }
+
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      if (mayHaveNulls(ref.fieldId())) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      // if both bounds start with the prefix, every value in between does
+      ByteBuffer prefix = Conversions.toByteBuffer(ref.type(), lit.value());
+      ByteBuffer lower = bound(lowerBounds, ref);
+      ByteBuffer upper = bound(upperBounds, ref);
+      if (lower != null && upper != null &&
+          MetricsBounds.startsWith(lower, prefix) && MetricsBounds.startsWith(upper, prefix)) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      return ROWS_MIGHT_MATCH;
+    }
+
+    private boolean inBounds(BoundReference<?> ref, Object value) {
+      ByteBuffer lower = bound(lowerBounds, ref);
+      if (lower != null && MetricsBounds.compare(ref.type(), lower, value) > 0) {
+        return false;
+      }
+
+      ByteBuffer upper = bound(upperBounds, ref);
+      if (upper != null && MetricsBounds.compare(ref.type(), upper, value) < 0) {
+        return false;
+      }
+
+      return true;
+    }
+
+    private boolean allEqual(BoundReference<?> ref, Object value) {
+      ByteBuffer lower = bound(lowerBounds, ref);
+      ByteBuffer upper = bound(upperBounds, ref);
+      return lower != null && upper != null &&
+          MetricsBounds.compare(ref.type(), lower, value) == 0 &&
+          MetricsBounds.compare(ref.type(), upper, value) == 0;
+    }
+
+    private boolean allNulls(int id) {
+      if (valueCounts != null && nullCounts != null) {
+        Long valueCount = valueCounts.get(id);
+        Long nullCount = nullCounts.get(id);
+        return valueCount != null && nullCount != null && valueCount - nullCount == 0;
+      }
+      return false;
+    }
+
+    private boolean mayHaveNulls(int id) {
+      return nullCounts == null || !Long.valueOf(0).equals(nullCounts.get(id));
+    }
+
+    private ByteBuffer bound(Map<Integer, ByteBuffer> bounds, BoundReference<?> ref) {
+      return bounds != null ? bounds.get(ref.fieldId()) : null;
+    }
+
+    /**
+     * Returns the bound to compare with a range predicate's literal, or null if the bounds cannot
+     * decide the predicate.
+     */
+    private ByteBuffer rangeBound(Map<Integer, ByteBuffer> bounds, BoundReference<?> ref,
+                                  Literal<?> lit) {
+      return MetricsBounds.isOrderable(ref.type(), lit.value()) ? bound(bounds, ref) : null;
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.types.Type;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable sets of literal values used by IN and NOT IN predicates.
+ * <p>
+ * Sets of int and long values use open addressing over primitive arrays so that membership tests
+ * do not allocate or follow pointers. Sets of strings compare values by their characters so that
+ * any {@link CharSequence} implementation, like Avro's Utf8, can be tested for membership.
+ */
+class LiteralSets {
+  private LiteralSets() {
+  }
+
+  /**
+   * Creates an immutable set of the given values, specialized for the type.
+   *
+   * @param type a primitive type
+   * @param values values of the type's Java class
+   * @param <T> the Java class of values
+   * @return an immutable set of the values
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Set<T> of(Type type, Collection<T> values) {
+    switch (type.typeId()) {
+      case INTEGER:
+      case DATE:
+        return (Set<T>) new IntSet((Collection<Integer>) values);
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        return (Set<T>) new LongSet((Collection<Long>) values);
+      case STRING:
+        return (Set<T>) new CharSequenceSet((Collection<CharSequence>) values);
+      default:
+        return Collections.unmodifiableSet(new HashSet<>(values));
+    }
+  }
+
+  // multiplicative hashing spreads sequential ids across the table
+  private static int mix(long value) {
+    long hash = value * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  private static int tableSize(int numValues) {
+    // keep the load factor at or below 0.5 so that probe sequences are short
+    int size = 2;
+    while (size < numValues * 2) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  static class IntSet extends AbstractSet<Integer> implements Serializable {
+    private final int[] values;
+    private final int[] table;
+    private final boolean[] used;
+    private final int mask;
+
+    private IntSet(Collection<Integer> values) {
+      int[] distinct = new int[values.size()];
+      int size = tableSize(values.size());
+      this.table = new int[size];
+      this.used = new boolean[size];
+      this.mask = size - 1;
+
+      int count = 0;
+      for (Integer value : values) {
+        if (insert(value)) {
+          distinct[count] = value;
+          count += 1;
+        }
+      }
+      this.values = Arrays.copyOf(distinct, count);
+    }
+
+    private boolean insert(int value) {
+      int pos = mix(value) & mask;
+      while (used[pos]) {
+        if (table[pos] == value) {
+          return false;
+        }
+        pos = (pos + 1) & mask;
+      }
+      table[pos] = value;
+      used[pos] = true;
+      return true;
+    }
+
+    boolean containsInt(int value) {
+      int pos = mix(value) & mask;
+      while (used[pos]) {
+        if (table[pos] == value) {
+          return true;
+        }
+        pos = (pos + 1) & mask;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer && containsInt((Integer) o);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < values.length;
+        }
+
+        @Override
+        public Integer next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          int value = values[next];
+          next += 1;
+          return value;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+  }
+
+  static class LongSet extends AbstractSet<Long> implements Serializable {
+    private final long[] values;
+    private final long[] table;
+    private final boolean[] used;
+    private final int mask;
+
+    private LongSet(Collection<Long> values) {
+      long[] distinct = new long[values.size()];
+      int size = tableSize(values.size());
+      this.table = new long[size];
+      this.used = new boolean[size];
+      this.mask = size - 1;
+
+      int count = 0;
+      for (Long value : values) {
+        if (insert(value)) {
+          distinct[count] = value;
+          count += 1;
+        }
+      }
+      this.values = Arrays.copyOf(distinct, count);
+    }
+
+    private boolean insert(long value) {
+      int pos = mix(value) & mask;
+      while (used[pos]) {
+        if (table[pos] == value) {
+          return false;
+        }
+        pos = (pos + 1) & mask;
+      }
+      table[pos] = value;
+      used[pos] = true;
+      return true;
+    }
+
+    boolean containsLong(long value) {
+      int pos = mix(value) & mask;
+      while (used[pos]) {
+        if (table[pos] == value) {
+          return true;
+        }
+        pos = (pos + 1) & mask;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Long && containsLong((Long) o);
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+      return new Iterator<Long>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < values.length;
+        }
+
+        @Override
+        public Long next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          long value = values[next];
+          next += 1;
+          return value;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+  }
+
+  static class CharSequenceSet extends AbstractSet<CharSequence> implements Serializable {
+    private final Set<String> values;
+
+    private CharSequenceSet(Collection<CharSequence> values) {
+      this.values = new HashSet<>();
+      for (CharSequence value : values) {
+        this.values.add(value.toString());
+      }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof CharSequence && values.contains(o.toString());
+    }
+
+    @Override
+    public Iterator<CharSequence> iterator() {
+      return Collections.<CharSequence>unmodifiableSet(values).iterator();
+    }
+
+    @Override
+    public int size() {
+      return values.size();
+    }
+  }
+}
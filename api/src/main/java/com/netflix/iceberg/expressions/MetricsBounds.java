@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.types.Comparators;
+import com.netflix.iceberg.types.Conversions;
+import com.netflix.iceberg.types.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Comparator;
+
+/**
+ * Compares column bounds from data file metrics with literal values.
+ * <p>
+ * Strings are compared by their UTF-8 bytes, which is the order of unicode code points and the
+ * order used by file formats to select bounds. Binary and fixed values are compared as unsigned
+ * bytes.
+ * <p>
+ * Rows compare strings by UTF-16 code units, which only differs from code point order for
+ * characters from U+E000 up. Range predicates with those characters cannot be decided from
+ * bounds; see {@link #isOrderable(Type, Object)}.
+ */
+class MetricsBounds {
+  private MetricsBounds() {
+  }
+
+  private static final Comparator<ByteBuffer> UNSIGNED = Comparators.unsignedBytes();
+
+  /**
+   * Returns the value of a serialized bound, widening int and float bounds for columns that were
+   * promoted to long and double.
+   */
+  static Object value(Type type, ByteBuffer bound) {
+    switch (type.typeId()) {
+      case LONG:
+        if (bound.remaining() == 4) {
+          return (long) bound.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt();
+        }
+        break;
+      case DOUBLE:
+        if (bound.remaining() == 4) {
+          return (double) bound.duplicate().order(ByteOrder.LITTLE_ENDIAN).getFloat();
+        }
+        break;
+    }
+    return Conversions.fromByteBuffer(type, bound);
+  }
+
+  /**
+   * Compares a serialized bound with a value.
+   *
+   * @return a negative number, zero, or a positive number if the bound is less than, equal to, or
+   *         greater than the value
+   */
+  @SuppressWarnings("unchecked")
+  static int compare(Type type, ByteBuffer bound, Object value) {
+    switch (type.typeId()) {
+      case STRING:
+        return UNSIGNED.compare(bound, Conversions.toByteBuffer(type, value));
+      case FIXED:
+      case BINARY:
+        return UNSIGNED.compare(bound, (ByteBuffer) value);
+      default:
+        return ((Comparable<Object>) value(type, bound)).compareTo(value);
+    }
+  }
+
+  /**
+   * Returns whether bounds can decide a range predicate on a value.
+   * <p>
+   * Code point order and UTF-16 order agree when one of the strings has no characters from U+E000
+   * up, so bounds are used for a string literal only if it has none. Equality and prefix
+   * predicates do not depend on the order and can always use bounds.
+   */
+  static boolean isOrderable(Type type, Object value) {
+    if (type.typeId() != Type.TypeID.STRING) {
+      return true;
+    }
+
+    CharSequence chars = (CharSequence) value;
+    for (int i = 0; i < chars.length(); i += 1) {
+      // surrogates (U+D800 to U+DFFF) encode supplementary characters
+      if (chars.charAt(i) >= '\uD800') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Compares the first bytes of a bound with a prefix, as though the bound was truncated to the
+   * prefix's length.
+   */
+  static int comparePrefix(ByteBuffer bound, ByteBuffer prefix) {
+    int length = Math.min(bound.remaining(), prefix.remaining());
+    ByteBuffer truncated = bound.duplicate();
+    truncated.limit(truncated.position() + length);
+    return UNSIGNED.compare(truncated, prefix);
+  }
+
+  static boolean startsWith(ByteBuffer bound, ByteBuffer prefix) {
+    return bound.remaining() >= prefix.remaining() && comparePrefix(bound, prefix) == 0;
+  }
+}
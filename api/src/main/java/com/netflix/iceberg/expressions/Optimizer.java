@@ -0,0 +1,575 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.expressions;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.expressions.Expression.Operation;
+import com.netflix.iceberg.types.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simplifies {@link Expression expressions} before they are bound, projected, or converted.
+ * <p>
+ * The optimizer pushes {@code not} nodes into predicates, folds constants, removes duplicate
+ * terms, merges comparisons of the same reference into the tightest bounds, and replaces
+ * contradictions, like {@code x > 7 and x < 5}, with {@link Expressions#alwaysFalse()}. In an
+ * {@code or}, equality and IN predicates for a reference are combined into one IN predicate.
+ * <p>
+ * The terms of each {@code and} and {@code or} are put in a canonical order: null checks first,
+ * then comparisons, set predicates, and nested expressions, each ordered by reference.
+ * <p>
+ * Literals in unbound predicates are compared only when the order does not depend on the type the
+ * predicate will be bound to, which is the case for integer, long, and decimal values. Literals in
+ * bound predicates are always compared.
+ */
+public class Optimizer {
+  private Optimizer() {
+  }
+
+  /**
+   * Returns an expression equivalent to the given expression that is simpler to evaluate.
+   *
+   * @param expr an unbound or bound expression
+   * @return an equivalent, simplified expression
+   */
+  public static Expression optimize(Expression expr) {
+    return simplify(ExpressionVisitors.visit(expr, RewriteNot.get()));
+  }
+
+  private static Expression simplify(Expression expr) {
+    switch (expr.op()) {
+      case AND:
+        return simplifyAnd(expr);
+      case OR:
+        return simplifyOr(expr);
+      default:
+        // not was removed by RewriteNot, so this is a predicate or a constant
+        return expr;
+    }
+  }
+
+  private static Expression simplifyAnd(Expression expr) {
+    Map<String, Expression> terms = Maps.newLinkedHashMap();
+    for (Expression child : flatten(expr, Operation.AND)) {
+      Expression simplified = simplify(child);
+      if (simplified == Expressions.alwaysFalse()) {
+        return Expressions.alwaysFalse();
+      }
+      for (Expression term : flatten(simplified, Operation.AND)) {
+        if (term != Expressions.alwaysTrue()) {
+          terms.putIfAbsent(key(term), term);
+        }
+      }
+    }
+
+    List<Expression> result = Lists.newArrayList();
+    Map<String, List<Predicate<?, ?>>> groups = group(terms.values(), result, Optimizer::isRange);
+    for (List<Predicate<?, ?>> group : groups.values()) {
+      List<Predicate<?, ?>> merged = intersect(group);
+      if (merged == null) {
+        return Expressions.alwaysFalse();
+      }
+      result.addAll(merged);
+    }
+
+    Expression and = Expressions.alwaysTrue();
+    for (Expression term : canonicalOrder(result)) {
+      and = Expressions.and(and, term);
+    }
+    return and;
+  }
+
+  private static Expression simplifyOr(Expression expr) {
+    Map<String, Expression> terms = Maps.newLinkedHashMap();
+    for (Expression child : flatten(expr, Operation.OR)) {
+      Expression simplified = simplify(child);
+      if (simplified == Expressions.alwaysTrue()) {
+        return Expressions.alwaysTrue();
+      }
+      for (Expression term : flatten(simplified, Operation.OR)) {
+        if (term != Expressions.alwaysFalse()) {
+          terms.putIfAbsent(key(term), term);
+        }
+      }
+    }
+
+    List<Expression> result = Lists.newArrayList();
+    Map<String, List<Predicate<?, ?>>> groups = group(terms.values(), result, Optimizer::isUnion);
+    for (List<Predicate<?, ?>> group : groups.values()) {
+      List<Predicate<?, ?>> merged = union(group);
+      if (merged == null) {
+        return Expressions.alwaysTrue();
+      }
+      result.addAll(merged);
+    }
+
+    Expression or = Expressions.alwaysFalse();
+    for (Expression term : canonicalOrder(result)) {
+      or = Expressions.or(or, term);
+    }
+    return or;
+  }
+
+  private static List<Expression> flatten(Expression expr, Operation op) {
+    if (expr.op() != op) {
+      return Collections.singletonList(expr);
+    }
+
+    List<Expression> terms = Lists.newArrayList();
+    if (op == Operation.AND) {
+      terms.addAll(flatten(((And) expr).getLeft(), op));
+      terms.addAll(flatten(((And) expr).getRight(), op));
+    } else {
+      terms.addAll(flatten(((Or) expr).getLeft(), op));
+      terms.addAll(flatten(((Or) expr).getRight(), op));
+    }
+    return terms;
+  }
+
+  private interface Mergeable {
+    boolean test(Predicate<?, ?> pred);
+  }
+
+  /**
+   * Groups predicates that can be merged by reference and adds all other terms to the rest list.
+   */
+  private static Map<String, List<Predicate<?, ?>>> group(Collection<Expression> terms,
+                                                          List<Expression> rest,
+                                                          Mergeable mergeable) {
+    Map<String, List<Predicate<?, ?>>> groups = Maps.newLinkedHashMap();
+    for (Expression term : terms) {
+      if (term instanceof Predicate && mergeable.test((Predicate<?, ?>) term)) {
+        Predicate<?, ?> pred = (Predicate<?, ?>) term;
+        groups.computeIfAbsent(refKey(pred.ref()), k -> Lists.newArrayList()).add(pred);
+      } else {
+        rest.add(term);
+      }
+    }
+    return groups;
+  }
+
+  private static boolean isRange(Predicate<?, ?> pred) {
+    switch (pred.op()) {
+      case LT:
+      case LT_EQ:
+      case GT:
+      case GT_EQ:
+      case EQ:
+      case NOT_EQ:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isUnion(Predicate<?, ?> pred) {
+    switch (pred.op()) {
+      case LT:
+      case LT_EQ:
+      case GT:
+      case GT_EQ:
+      case EQ:
+      case IN:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Merges comparisons of one reference that are combined with and.
+   *
+   * @return the merged predicates, or null if the predicates cannot all be true
+   */
+  private static List<Predicate<?, ?>> intersect(List<Predicate<?, ?>> preds) {
+    Comparator<Object> cmp = comparator(preds);
+    if (cmp == null || preds.size() < 2) {
+      return preds;
+    }
+
+    Predicate<?, ?> lower = null;
+    Predicate<?, ?> upper = null;
+    Predicate<?, ?> eq = null;
+    List<Predicate<?, ?>> notEqs = Lists.newArrayList();
+    for (Predicate<?, ?> pred : preds) {
+      switch (pred.op()) {
+        case GT:
+        case GT_EQ:
+          lower = preferredBound(lower, pred, cmp, Operation.GT, 1);
+          break;
+        case LT:
+        case LT_EQ:
+          upper = preferredBound(upper, pred, cmp, Operation.LT, -1);
+          break;
+        case EQ:
+          if (eq == null) {
+            eq = pred;
+          } else if (cmp.compare(eq.literal().value(), pred.literal().value()) != 0) {
+            return null; // x == a and x == b
+          }
+          break;
+        case NOT_EQ:
+          notEqs.add(pred);
+          break;
+      }
+    }
+
+    if (lower != null && upper != null && eq == null) {
+      int c = cmp.compare(lower.literal().value(), upper.literal().value());
+      if (c > 0) {
+        return null; // x > b and x < a, where a < b
+      } else if (c == 0) {
+        if (lower.op() == Operation.GT_EQ && upper.op() == Operation.LT_EQ) {
+          eq = withOp(lower, Operation.EQ);
+        } else {
+          return null; // x > a and x <= a
+        }
+      }
+    }
+
+    List<Predicate<?, ?>> result = Lists.newArrayList();
+    if (eq != null) {
+      // an equality predicate implies all other predicates, or contradicts one
+      if (!inRange(eq.literal().value(), lower, upper, cmp)) {
+        return null;
+      }
+      for (Predicate<?, ?> notEq : notEqs) {
+        if (cmp.compare(eq.literal().value(), notEq.literal().value()) == 0) {
+          return null;
+        }
+      }
+      result.add(eq);
+      return result;
+    }
+
+    if (lower != null) {
+      result.add(lower);
+    }
+    if (upper != null) {
+      result.add(upper);
+    }
+    for (Predicate<?, ?> notEq : notEqs) {
+      // a value outside of the bounds is already excluded
+      if (inRange(notEq.literal().value(), lower, upper, cmp)) {
+        result.add(notEq);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Merges comparisons and set predicates of one reference that are combined with or.
+   *
+   * @return the merged predicates, or null if one of the predicates is always true
+   */
+  private static List<Predicate<?, ?>> union(List<Predicate<?, ?>> preds) {
+    if (preds.size() < 2) {
+      return preds;
+    }
+
+    Comparator<Object> cmp = comparator(preds);
+    Predicate<?, ?> lower = null;
+    Predicate<?, ?> upper = null;
+    List<Predicate<?, ?>> result = Lists.newArrayList();
+    List<Object> values = Lists.newArrayList();
+    for (Predicate<?, ?> pred : preds) {
+      switch (pred.op()) {
+        case GT:
+        case GT_EQ:
+          if (cmp != null) {
+            lower = preferredBound(lower, pred, cmp, Operation.GT_EQ, -1);
+          } else {
+            result.add(pred);
+          }
+          break;
+        case LT:
+        case LT_EQ:
+          if (cmp != null) {
+            upper = preferredBound(upper, pred, cmp, Operation.LT_EQ, 1);
+          } else {
+            result.add(pred);
+          }
+          break;
+        case EQ:
+          values.add(pred.literal().value());
+          break;
+        case IN:
+          values.addAll(setValues(pred));
+          break;
+      }
+    }
+
+    if (lower != null && upper != null) {
+      // null values are below all bounds, so an upper bound is always true for null
+      int c = cmp.compare(lower.literal().value(), upper.literal().value());
+      if (c < 0 || (c == 0 && (lower.op() == Operation.GT_EQ || upper.op() == Operation.LT_EQ))) {
+        return null; // x > a or x < b, where a < b
+      }
+    }
+
+    if (lower != null) {
+      result.add(lower);
+    }
+    if (upper != null) {
+      result.add(upper);
+    }
+
+    Map<String, Object> remaining = Maps.newLinkedHashMap();
+    for (Object value : values) {
+      // values that match a bound are already included
+      boolean covered = cmp != null && (
+          (lower != null && inRange(value, lower, null, cmp)) ||
+          (upper != null && inRange(value, null, upper, cmp)));
+      if (!covered) {
+        remaining.putIfAbsent(valueKey(value), value);
+      }
+    }
+
+    if (!remaining.isEmpty()) {
+      result.add(withValues(preds.get(0), Lists.newArrayList(remaining.values())));
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the bound with the greater value when direction is 1, or the smaller value when
+   * direction is -1. When the values are equal, the bound with operation preferOnTie is returned.
+   */
+  private static Predicate<?, ?> preferredBound(Predicate<?, ?> current, Predicate<?, ?> pred,
+                                                Comparator<Object> cmp, Operation preferOnTie,
+                                                int direction) {
+    if (current == null) {
+      return pred;
+    }
+    int c = cmp.compare(pred.literal().value(), current.literal().value()) * direction;
+    if (c > 0) {
+      return pred;
+    } else if (c == 0 && pred.op() == preferOnTie) {
+      return pred;
+    }
+    return current;
+  }
+
+  private static boolean inRange(Object value, Predicate<?, ?> lower, Predicate<?, ?> upper,
+                                 Comparator<Object> cmp) {
+    if (lower != null) {
+      int c = cmp.compare(value, lower.literal().value());
+      if (c < 0 || (c == 0 && lower.op() == Operation.GT)) {
+        return false;
+      }
+    }
+    if (upper != null) {
+      int c = cmp.compare(value, upper.literal().value());
+      if (c > 0 || (c == 0 && upper.op() == Operation.LT)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a comparator for the values of predicates on the same reference, or null if the order
+   * of the values depends on the type they will be bound to.
+   */
+  @SuppressWarnings("unchecked")
+  private static Comparator<Object> comparator(List<Predicate<?, ?>> preds) {
+    if (preds.get(0) instanceof BoundPredicate) {
+      for (Predicate<?, ?> pred : preds) {
+        if (pred.literal() != null) {
+          return (Comparator<Object>) pred.literal().comparator();
+        }
+      }
+      return null;
+    }
+
+    boolean allIntegral = true;
+    Integer decimalScale = null;
+    boolean allDecimal = true;
+    for (Predicate<?, ?> pred : preds) {
+      Collection<?> values = pred.literal() != null ?
+          Collections.singletonList(pred.literal().value()) : setValues(pred);
+      for (Object value : values) {
+        allIntegral &= value instanceof Integer || value instanceof Long;
+        if (value instanceof BigDecimal) {
+          int scale = ((BigDecimal) value).scale();
+          allDecimal &= decimalScale == null || decimalScale == scale;
+          decimalScale = scale;
+        } else {
+          allDecimal = false;
+        }
+      }
+    }
+
+    if (allIntegral) {
+      return Comparator.comparingLong(value -> ((Number) value).longValue());
+    } else if (allDecimal) {
+      return (left, right) -> ((BigDecimal) left).compareTo((BigDecimal) right);
+    }
+
+    return null;
+  }
+
+  private static Collection<?> setValues(Predicate<?, ?> pred) {
+    if (pred instanceof BoundPredicate) {
+      return ((BoundPredicate<?>) pred).literalSet();
+    }
+
+    List<Object> values = Lists.newArrayList();
+    for (Literal<?> lit : ((UnboundPredicate<?>) pred).literals()) {
+      values.add(lit.value());
+    }
+    return values;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Predicate<?, ?> withOp(Predicate<T, ?> pred, Operation op) {
+    if (pred instanceof BoundPredicate) {
+      return new BoundPredicate<T>(op, ((BoundPredicate<T>) pred).ref(), pred.literal());
+    }
+    return new UnboundPredicate<T>(op, ((UnboundPredicate<T>) pred).ref(), pred.literal());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Predicate<?, ?> withValues(Predicate<T, ?> pred, List<Object> values) {
+    if (pred instanceof BoundPredicate) {
+      BoundReference<T> ref = ((BoundPredicate<T>) pred).ref();
+      if (values.size() == 1) {
+        // bound predicates must use literals of the reference's type
+        Literal<T> lit = boundLiteral(values.get(0), ref.type());
+        if (lit != null) {
+          return new BoundPredicate<>(Operation.EQ, ref, lit);
+        }
+      }
+      return new BoundPredicate<T>(Operation.IN, ref,
+          LiteralSets.of(ref.type(), (List<T>) values));
+    }
+
+    NamedReference ref = ((UnboundPredicate<T>) pred).ref();
+    if (values.size() == 1) {
+      return new UnboundPredicate<T>(Operation.EQ, ref, Literals.from((T) values.get(0)));
+    }
+    return new UnboundPredicate<T>(Operation.IN, ref, (Iterable<T>) values);
+  }
+
+  /**
+   * Returns a literal of the given type for a value from a bound predicate, or null if the value
+   * cannot be converted.
+   * <p>
+   * Bound date, time, and timestamp values are ints and longs, which {@link Literals#from} would
+   * not convert to those types.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> Literal<T> boundLiteral(Object value, Type type) {
+    switch (type.typeId()) {
+      case DATE:
+        return (Literal<T>) new Literals.DateLiteral((Integer) value);
+      case TIME:
+        return (Literal<T>) new Literals.TimeLiteral((Long) value);
+      case TIMESTAMP:
+        return (Literal<T>) new Literals.TimestampLiteral((Long) value);
+      default:
+        return Literals.from(value).to(type);
+    }
+  }
+
+  private static List<Expression> canonicalOrder(List<Expression> terms) {
+    List<Expression> sorted = Lists.newArrayList(terms);
+    sorted.sort(Comparator
+        .comparingInt(Optimizer::rank)
+        .thenComparing(Optimizer::key));
+    return sorted;
+  }
+
+  private static int rank(Expression expr) {
+    switch (expr.op()) {
+      case IS_NULL:
+      case NOT_NULL:
+        return 0;
+      case IN:
+      case NOT_IN:
+        return 2;
+      case AND:
+      case OR:
+        return 3;
+      default:
+        return 1;
+    }
+  }
+
+  private static String refKey(Reference ref) {
+    if (ref instanceof BoundReference) {
+      return "#" + ((BoundReference<?>) ref).fieldId();
+    }
+    return ((NamedReference) ref).name();
+  }
+
+  /**
+   * Returns a string that is equal for structurally equal expressions.
+   */
+  private static String key(Expression expr) {
+    switch (expr.op()) {
+      case TRUE:
+      case FALSE:
+        return expr.op().name();
+      case AND:
+        return "and(" + key(((And) expr).getLeft()) + ", " + key(((And) expr).getRight()) + ")";
+      case OR:
+        return "or(" + key(((Or) expr).getLeft()) + ", " + key(((Or) expr).getRight()) + ")";
+      case NOT:
+        return "not(" + key(((Not) expr).child()) + ")";
+      default:
+        Predicate<?, ?> pred = (Predicate<?, ?>) expr;
+        StringBuilder sb = new StringBuilder();
+        sb.append(refKey(pred.ref())).append(' ').append(pred.op().name());
+        if (pred.literal() != null) {
+          sb.append(' ').append(valueKey(pred.literal().value()));
+        } else if (pred.op() == Operation.IN || pred.op() == Operation.NOT_IN) {
+          List<String> valueKeys = Lists.newArrayList();
+          for (Object value : setValues(pred)) {
+            valueKeys.add(valueKey(value));
+          }
+          Collections.sort(valueKeys);
+          sb.append(' ').append(valueKeys);
+        }
+        return sb.toString();
+    }
+  }
+
+  private static String valueKey(Object value) {
+    String str;
+    if (value instanceof ByteBuffer) {
+      ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      str = Arrays.toString(bytes);
+    } else {
+      str = value.toString();
+    }
+    return value.getClass().getSimpleName() + ":" + str;
+  }
+}
@@ -16,7 +16,12 @@
 
 package com.netflix.iceberg.expressions;
 
+import com.google.common.base.Joiner;
+import java.util.Collection;
+
 public abstract class Predicate<T, R extends Reference> implements Expression {
+  private static final Joiner COMMA = Joiner.on(", ");
+
   private final Operation op;
   private final R ref;
   private final Literal<T> literal;
@@ -50,10 +55,14 @@ public abstract class Predicate<T, R extends Reference> implements Expression {
         return Operation.NOT_EQ;
       case NOT_EQ:
         return Operation.EQ;
-//      case IN:
-//      return new Predicate<>(Operation.NOT_IN, ref, literal);
-//      case NOT_IN:
-//      return new Predicate<>(Operation.IN, ref, literal);
+      case IN:
+        return Operation.NOT_IN;
+      case NOT_IN:
+        return Operation.IN;
+      case STARTS_WITH:
+        return Operation.NOT_STARTS_WITH;
+      case NOT_STARTS_WITH:
+        return Operation.STARTS_WITH;
       default:
         throw new IllegalArgumentException("Invalid predicate: operation = " + op);
     }
@@ -63,10 +72,22 @@ public abstract class Predicate<T, R extends Reference> implements Expression {
     return ref;
   }
 
+  /**
+   * Returns the literal for a comparison predicate, or null for IS_NULL, NOT_NULL, IN, and NOT_IN.
+   *
+   * @return this predicate's literal
+   */
   public Literal<T> literal() {
     return literal;
   }
 
+  /**
+   * Returns the values of an IN or NOT_IN predicate, used when converting to a string.
+   *
+   * @return this predicate's set of values, or null if it is not an IN or NOT_IN predicate
+   */
+  abstract Collection<?> setValues();
+
   @Override
   public String toString() {
     switch (op) {
@@ -86,10 +107,14 @@ public abstract class Predicate<T, R extends Reference> implements Expression {
         return String.valueOf(ref()) + " == " + literal();
       case NOT_EQ:
         return String.valueOf(ref()) + " != " + literal();
-//      case IN:
-//        break;
-//      case NOT_IN:
-//        break;
+      case IN:
+        return String.valueOf(ref()) + " in (" + COMMA.join(setValues()) + ")";
+      case NOT_IN:
+        return String.valueOf(ref()) + " not in (" + COMMA.join(setValues()) + ")";
+      case STARTS_WITH:
+        return String.valueOf(ref()) + " startsWith " + literal();
+      case NOT_STARTS_WITH:
+        return String.valueOf(ref()) + " notStartsWith " + literal();
       default:
         return "Invalid predicate: operation = " + op;
     }
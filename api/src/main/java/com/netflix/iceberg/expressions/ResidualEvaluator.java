@@ -16,12 +16,18 @@
 
 package com.netflix.iceberg.expressions;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.netflix.iceberg.StructLike;
 import com.netflix.iceberg.PartitionField;
 import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.transforms.Transform;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Set;
 
 /**
  * Finds the residuals for an {@link Expression} the partitions in the given {@link PartitionSpec}.
@@ -41,12 +47,18 @@ import java.util.Comparator;
  * Partition data is passed using {@link StructLike}. Residuals are returned by
  * {@link #residualFor(StructLike)}.
  * <p>
+ * Residuals are cached by partition values, so files in the same partition share one residual
+ * expression instance. The cache holds at most {@link #MAX_CACHED_RESIDUALS} partitions.
+ * <p>
  * This class is thread-safe.
  */
 public class ResidualEvaluator implements Serializable {
+  static final int MAX_CACHED_RESIDUALS = 1000;
+
   private final PartitionSpec spec;
   private final Expression expr;
   private transient ThreadLocal<ResidualVisitor> visitors = null;
+  private transient LoadingCache<PartitionTuple, Expression> residuals = null;
 
   private ResidualVisitor visitor() {
     if (visitors == null) {
@@ -55,6 +67,21 @@ public class ResidualEvaluator implements Serializable {
     return visitors.get();
   }
 
+  private LoadingCache<PartitionTuple, Expression> residuals() {
+    if (residuals == null) {
+      // a race may create more than one cache, which only costs recomputing some residuals
+      this.residuals = CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_RESIDUALS)
+          .build(new CacheLoader<PartitionTuple, Expression>() {
+            @Override
+            public Expression load(PartitionTuple partition) {
+              return visitor().eval(partition);
+            }
+          });
+    }
+    return residuals;
+  }
+
   public ResidualEvaluator(PartitionSpec spec, Expression expr) {
     this.spec = spec;
     this.expr = expr;
@@ -67,7 +94,64 @@ public class ResidualEvaluator implements Serializable {
    * @return the residual of this evaluator's expression from the partition values
    */
   public Expression residualFor(StructLike partitionData) {
-    return visitor().eval(partitionData);
+    return residuals().getUnchecked(PartitionTuple.copyOf(spec.javaClasses(), partitionData));
+  }
+
+  /**
+   * An immutable copy of partition values, used as a cache key and to evaluate residuals.
+   */
+  private static class PartitionTuple implements StructLike {
+    private static PartitionTuple copyOf(Class<?>[] javaClasses, StructLike partition) {
+      Object[] values = new Object[javaClasses.length];
+      for (int i = 0; i < values.length; i += 1) {
+        Object value = partition.get(i, javaClasses[i]);
+        if (value instanceof CharSequence) {
+          // CharSequence implementations like Utf8 may be mutable and reused
+          values[i] = value.toString();
+        } else if (value instanceof ByteBuffer) {
+          ByteBuffer buffer = (ByteBuffer) value;
+          byte[] bytes = new byte[buffer.remaining()];
+          buffer.duplicate().get(bytes);
+          values[i] = ByteBuffer.wrap(bytes);
+        } else {
+          values[i] = value;
+        }
+      }
+      return new PartitionTuple(values);
+    }
+
+    private final Object[] values;
+    private final int hashCode;
+
+    private PartitionTuple(Object[] values) {
+      this.values = values;
+      this.hashCode = Arrays.hashCode(values);
+    }
+
+    @Override
+    public <T> T get(int pos, Class<T> javaClass) {
+      return javaClass.cast(values[pos]);
+    }
+
+    @Override
+    public <T> void set(int pos, T value) {
+      throw new UnsupportedOperationException("Cannot modify a partition tuple");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      } else if (other == null || getClass() != other.getClass()) {
+        return false;
+      }
+      return Arrays.equals(values, ((PartitionTuple) other).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
   }
 
   private class ResidualVisitor extends ExpressionVisitors.BoundExpressionVisitor<Expression> {
@@ -149,6 +233,32 @@ public class ResidualEvaluator implements Serializable {
       return (cmp.compare(ref.get(struct), lit.value()) != 0) ? alwaysTrue() : alwaysFalse();
     }
 
+    @Override
+    public <T> Expression in(BoundReference<T> ref, Set<T> literalSet) {
+      T value = ref.get(struct);
+      return (value != null && literalSet.contains(value)) ? alwaysTrue() : alwaysFalse();
+    }
+
+    @Override
+    public <T> Expression notIn(BoundReference<T> ref, Set<T> literalSet) {
+      T value = ref.get(struct);
+      return (value == null || !literalSet.contains(value)) ? alwaysTrue() : alwaysFalse();
+    }
+
+    @Override
+    public <T> Expression startsWith(BoundReference<T> ref, Literal<T> lit) {
+      boolean matches = RowPredicates.startsWith(
+          (CharSequence) ref.get(struct), (CharSequence) lit.value());
+      return matches ? alwaysTrue() : alwaysFalse();
+    }
+
+    @Override
+    public <T> Expression notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      boolean matches = RowPredicates.startsWith(
+          (CharSequence) ref.get(struct), (CharSequence) lit.value());
+      return matches ? alwaysFalse() : alwaysTrue();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> Expression predicate(BoundPredicate<T> pred) {
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.StructLike;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.types.Comparators;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * Compiles bound {@link Expression expressions} into trees of {@link RowPredicate row predicates}.
+ * <p>
+ * Each node in the result is specialized for its operation and, for numeric columns, for the
+ * column's primitive type. Literal values are unboxed and comparators are resolved once, when the
+ * tree is built, and {@code and} and {@code or} nodes short-circuit. Evaluating a row does not
+ * traverse the expression with a visitor.
+ * <p>
+ * Comparisons match the semantics of {@link Literal#comparator()}: null values sort before all
+ * non-null values.
+ * <p>
+ * Predicates on nested fields are compiled against the struct that contains the field and
+ * evaluated after following the field's enclosing structs. If an enclosing struct is null, the
+ * predicate is evaluated as though the field is null.
+ */
+class RowPredicates {
+  private RowPredicates() {
+  }
+
+  interface RowPredicate extends Serializable {
+    boolean test(StructLike row);
+  }
+
+  private static final RowPredicate ALWAYS_TRUE = row -> true;
+  private static final RowPredicate ALWAYS_FALSE = row -> false;
+
+  private static final StructLike NULL_STRUCT = new StructLike() {
+    @Override
+    public <T> T get(int pos, Class<T> javaClass) {
+      return null;
+    }
+
+    @Override
+    public <T> void set(int pos, T value) {
+      throw new UnsupportedOperationException("Cannot set values in a null struct");
+    }
+  };
+
+  /**
+   * Compiles a bound expression to a {@link RowPredicate}.
+   *
+   * @param expr a bound expression
+   * @return a predicate that returns the expression's result for a row
+   */
+  static RowPredicate compile(Expression expr) {
+    return ExpressionVisitors.visit(expr, new CompileVisitor());
+  }
+
+  private static class CompileVisitor extends BoundExpressionVisitor<RowPredicate> {
+    @Override
+    public RowPredicate alwaysTrue() {
+      return ALWAYS_TRUE;
+    }
+
+    @Override
+    public RowPredicate alwaysFalse() {
+      return ALWAYS_FALSE;
+    }
+
+    @Override
+    public RowPredicate not(RowPredicate child) {
+      return row -> !child.test(row);
+    }
+
+    @Override
+    public RowPredicate and(RowPredicate left, RowPredicate right) {
+      return row -> left.test(row) && right.test(row);
+    }
+
+    @Override
+    public RowPredicate or(RowPredicate left, RowPredicate right) {
+      return row -> left.test(row) || right.test(row);
+    }
+
+    @Override
+    public <T> RowPredicate predicate(BoundPredicate<T> pred) {
+      RowPredicate leaf = super.predicate(pred);
+      BoundReference<T> ref = pred.ref();
+      if (ref.isNested()) {
+        return row -> {
+          StructLike parent = ref.parent(row);
+          return leaf.test(parent != null ? parent : NULL_STRUCT);
+        };
+      }
+      return leaf;
+    }
+
+    @Override
+    public <T> RowPredicate isNull(BoundReference<T> ref) {
+      int pos = ref.pos();
+      Class<?> javaClass = ref.type().typeId().javaClass();
+      return row -> row.get(pos, javaClass) == null;
+    }
+
+    @Override
+    public <T> RowPredicate notNull(BoundReference<T> ref) {
+      int pos = ref.pos();
+      Class<?> javaClass = ref.type().typeId().javaClass();
+      return row -> row.get(pos, javaClass) != null;
+    }
+
+    @Override
+    public <T> RowPredicate lt(BoundReference<T> ref, Literal<T> lit) {
+      return compare(Expression.Operation.LT, ref, lit);
+    }
+
+    @Override
+    public <T> RowPredicate ltEq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(Expression.Operation.LT_EQ, ref, lit);
+    }
+
+    @Override
+    public <T> RowPredicate gt(BoundReference<T> ref, Literal<T> lit) {
+      return compare(Expression.Operation.GT, ref, lit);
+    }
+
+    @Override
+    public <T> RowPredicate gtEq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(Expression.Operation.GT_EQ, ref, lit);
+    }
+
+    @Override
+    public <T> RowPredicate eq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(Expression.Operation.EQ, ref, lit);
+    }
+
+    @Override
+    public <T> RowPredicate notEq(BoundReference<T> ref, Literal<T> lit) {
+      return compare(Expression.Operation.NOT_EQ, ref, lit);
+    }
+
+    @Override
+    public <T> RowPredicate in(BoundReference<T> ref, Set<T> literalSet) {
+      return contains(ref.pos(), ref.type().typeId().javaClass(), literalSet);
+    }
+
+    @Override
+    public <T> RowPredicate notIn(BoundReference<T> ref, Set<T> literalSet) {
+      RowPredicate in = contains(ref.pos(), ref.type().typeId().javaClass(), literalSet);
+      return row -> !in.test(row);
+    }
+
+    @Override
+    public <T> RowPredicate startsWith(BoundReference<T> ref, Literal<T> lit) {
+      int pos = ref.pos();
+      CharSequence prefix = (CharSequence) lit.value();
+      return row -> RowPredicates.startsWith(row.get(pos, CharSequence.class), prefix);
+    }
+
+    @Override
+    public <T> RowPredicate notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      int pos = ref.pos();
+      CharSequence prefix = (CharSequence) lit.value();
+      return row -> !RowPredicates.startsWith(row.get(pos, CharSequence.class), prefix);
+    }
+  }
+
+  /**
+   * Returns whether a value starts with a prefix, comparing chars. A null value never matches.
+   *
+   * @param value a string value, or null
+   * @param prefix a non-null prefix
+   * @return true if the value is not null and starts with the prefix
+   */
+  static boolean startsWith(CharSequence value, CharSequence prefix) {
+    if (value == null || value.length() < prefix.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < prefix.length(); i += 1) {
+      if (value.charAt(i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  // sets of int and long values are tested with primitive membership checks
+  private static RowPredicate contains(int pos, Class<?> javaClass, Set<?> literalSet) {
+    if (literalSet instanceof LiteralSets.IntSet) {
+      LiteralSets.IntSet ints = (LiteralSets.IntSet) literalSet;
+      return row -> {
+        Integer value = row.get(pos, Integer.class);
+        return value != null && ints.containsInt(value);
+      };
+    } else if (literalSet instanceof LiteralSets.LongSet) {
+      LiteralSets.LongSet longs = (LiteralSets.LongSet) literalSet;
+      return row -> {
+        Long value = row.get(pos, Long.class);
+        return value != null && longs.containsLong(value);
+      };
+    }
+
+    return row -> {
+      Object value = row.get(pos, javaClass);
+      return value != null && literalSet.contains(value);
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> RowPredicate compare(Expression.Operation op,
+                                          BoundReference<T> ref, Literal<T> lit) {
+    int pos = ref.pos();
+    switch (ref.type().typeId()) {
+      case INTEGER:
+      case DATE:
+        return intCompare(op, pos, (Integer) lit.value());
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        return longCompare(op, pos, (Long) lit.value());
+      case FLOAT:
+        return floatCompare(op, pos, (Float) lit.value());
+      case DOUBLE:
+        return doubleCompare(op, pos, (Double) lit.value());
+      case STRING:
+        return objectCompare(op, pos, CharSequence.class, (CharSequence) lit.value(),
+            Comparators.charSequences());
+      default:
+        return objectCompare(op, pos, (Class<T>) ref.type().typeId().javaClass(), lit.value(),
+            lit.comparator());
+    }
+  }
+
+  private static RowPredicate intCompare(Expression.Operation op, int pos, int lit) {
+    switch (op) {
+      case LT:
+        return row -> {
+          Integer value = row.get(pos, Integer.class);
+          return value == null || value < lit;
+        };
+      case LT_EQ:
+        return row -> {
+          Integer value = row.get(pos, Integer.class);
+          return value == null || value <= lit;
+        };
+      case GT:
+        return row -> {
+          Integer value = row.get(pos, Integer.class);
+          return value != null && value > lit;
+        };
+      case GT_EQ:
+        return row -> {
+          Integer value = row.get(pos, Integer.class);
+          return value != null && value >= lit;
+        };
+      case EQ:
+        return row -> {
+          Integer value = row.get(pos, Integer.class);
+          return value != null && value == lit;
+        };
+      case NOT_EQ:
+        return row -> {
+          Integer value = row.get(pos, Integer.class);
+          return value == null || value != lit;
+        };
+      default:
+        throw new UnsupportedOperationException("Cannot compile comparison: " + op);
+    }
+  }
+
+  private static RowPredicate longCompare(Expression.Operation op, int pos, long lit) {
+    switch (op) {
+      case LT:
+        return row -> {
+          Long value = row.get(pos, Long.class);
+          return value == null || value < lit;
+        };
+      case LT_EQ:
+        return row -> {
+          Long value = row.get(pos, Long.class);
+          return value == null || value <= lit;
+        };
+      case GT:
+        return row -> {
+          Long value = row.get(pos, Long.class);
+          return value != null && value > lit;
+        };
+      case GT_EQ:
+        return row -> {
+          Long value = row.get(pos, Long.class);
+          return value != null && value >= lit;
+        };
+      case EQ:
+        return row -> {
+          Long value = row.get(pos, Long.class);
+          return value != null && value == lit;
+        };
+      case NOT_EQ:
+        return row -> {
+          Long value = row.get(pos, Long.class);
+          return value == null || value != lit;
+        };
+      default:
+        throw new UnsupportedOperationException("Cannot compile comparison: " + op);
+    }
+  }
+
+  // floating point comparisons use Float.compare to match the natural order of Float, which
+  // orders NaN above all other values and -0.0 below 0.0
+  private static RowPredicate floatCompare(Expression.Operation op, int pos, float lit) {
+    switch (op) {
+      case LT:
+        return row -> {
+          Float value = row.get(pos, Float.class);
+          return value == null || Float.compare(value, lit) < 0;
+        };
+      case LT_EQ:
+        return row -> {
+          Float value = row.get(pos, Float.class);
+          return value == null || Float.compare(value, lit) <= 0;
+        };
+      case GT:
+        return row -> {
+          Float value = row.get(pos, Float.class);
+          return value != null && Float.compare(value, lit) > 0;
+        };
+      case GT_EQ:
+        return row -> {
+          Float value = row.get(pos, Float.class);
+          return value != null && Float.compare(value, lit) >= 0;
+        };
+      case EQ:
+        return row -> {
+          Float value = row.get(pos, Float.class);
+          return value != null && Float.compare(value, lit) == 0;
+        };
+      case NOT_EQ:
+        return row -> {
+          Float value = row.get(pos, Float.class);
+          return value == null || Float.compare(value, lit) != 0;
+        };
+      default:
+        throw new UnsupportedOperationException("Cannot compile comparison: " + op);
+    }
+  }
+
+  private static RowPredicate doubleCompare(Expression.Operation op, int pos, double lit) {
+    switch (op) {
+      case LT:
+        return row -> {
+          Double value = row.get(pos, Double.class);
+          return value == null || Double.compare(value, lit) < 0;
+        };
+      case LT_EQ:
+        return row -> {
+          Double value = row.get(pos, Double.class);
+          return value == null || Double.compare(value, lit) <= 0;
+        };
+      case GT:
+        return row -> {
+          Double value = row.get(pos, Double.class);
+          return value != null && Double.compare(value, lit) > 0;
+        };
+      case GT_EQ:
+        return row -> {
+          Double value = row.get(pos, Double.class);
+          return value != null && Double.compare(value, lit) >= 0;
+        };
+      case EQ:
+        return row -> {
+          Double value = row.get(pos, Double.class);
+          return value != null && Double.compare(value, lit) == 0;
+        };
+      case NOT_EQ:
+        return row -> {
+          Double value = row.get(pos, Double.class);
+          return value == null || Double.compare(value, lit) != 0;
+        };
+      default:
+        throw new UnsupportedOperationException("Cannot compile comparison: " + op);
+    }
+  }
+
+  private static <T> RowPredicate objectCompare(Expression.Operation op, int pos,
+                                                Class<T> javaClass, T lit,
+                                                Comparator<? super T> cmp) {
+    switch (op) {
+      case LT:
+        return row -> {
+          T value = row.get(pos, javaClass);
+          return value == null || cmp.compare(value, lit) < 0;
+        };
+      case LT_EQ:
+        return row -> {
+          T value = row.get(pos, javaClass);
+          return value == null || cmp.compare(value, lit) <= 0;
+        };
+      case GT:
+        return row -> {
+          T value = row.get(pos, javaClass);
+          return value != null && cmp.compare(value, lit) > 0;
+        };
+      case GT_EQ:
+        return row -> {
+          T value = row.get(pos, javaClass);
+          return value != null && cmp.compare(value, lit) >= 0;
+        };
+      case EQ:
+        return row -> {
+          T value = row.get(pos, javaClass);
+          return value != null && cmp.compare(value, lit) == 0;
+        };
+      case NOT_EQ:
+        return row -> {
+          T value = row.get(pos, javaClass);
+          return value == null || cmp.compare(value, lit) != 0;
+        };
+      default:
+        throw new UnsupportedOperationException("Cannot compile comparison: " + op);
+    }
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.types.Conversions;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates an {@link Expression} on a {@link DataFile} to test whether all rows in the file match.
+ * <p>
+ * This evaluation is strict: it returns true only if the file's value counts, null value counts,
+ * and column bounds prove that every row matches, and false otherwise. Missing metrics are treated
+ * as unknown.
+ * <p>
+ * Comparisons and set predicates are only proven for columns that have no null values, so the
+ * result does not depend on how nulls are compared.
+ * <p>
+ * This class is thread-safe.
+ */
+public class StrictMetricsEvaluator {
+  private static final boolean ROWS_MUST_MATCH = true;
+  private static final boolean ROWS_MIGHT_NOT_MATCH = false;
+
+  private final Expression expr;
+  private final ThreadLocal<MetricsEvalVisitor> visitors =
+      ThreadLocal.withInitial(MetricsEvalVisitor::new);
+
+  public StrictMetricsEvaluator(Schema schema, Expression unbound) {
+    this.expr = Binder.bind(schema.asStruct(), Optimizer.optimize(unbound));
+  }
+
+  /**
+   * Test whether all records in the file match the expression.
+   *
+   * @param file a data file
+   * @return true if all rows in the file must match the expression, false otherwise.
+   */
+  public boolean eval(DataFile file) {
+    return visitors.get().eval(file);
+  }
+
+  private class MetricsEvalVisitor extends BoundExpressionVisitor<Boolean> {
+    private Map<Integer, Long> valueCounts = null;
+    private Map<Integer, Long> nullCounts = null;
+    private Map<Integer, ByteBuffer> lowerBounds = null;
+    private Map<Integer, ByteBuffer> upperBounds = null;
+
+    private boolean eval(DataFile file) {
+      if (file.recordCount() <= 0) {
+        // an empty file has no rows that do not match
+        return ROWS_MUST_MATCH;
+      }
+
+      this.valueCounts = file.valueCounts();
+      this.nullCounts = file.nullValueCounts();
+      this.lowerBounds = file.lowerBounds();
+      this.upperBounds = file.upperBounds();
+
+      return ExpressionVisitors.visit(expr, this);
+    }
+
+    @Override
+    public Boolean alwaysTrue() {
+      return ROWS_MUST_MATCH;
+    }
+
+    @Override
+    public Boolean alwaysFalse() {
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public Boolean not(Boolean result) {
+      throw new UnsupportedOperationException("Not should be rewritten: " + expr);
+    }
+
+    @Override
+    public Boolean and(Boolean leftResult, Boolean rightResult) {
+      return leftResult && rightResult;
+    }
+
+    @Override
+    public Boolean or(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public <T> Boolean isNull(BoundReference<T> ref) {
+      if (valueCounts != null && nullCounts != null) {
+        Long valueCount = valueCounts.get(ref.fieldId());
+        Long nullCount = nullCounts.get(ref.fieldId());
+        if (valueCount != null && nullCount != null && valueCount - nullCount == 0) {
+          return ROWS_MUST_MATCH;
+        }
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notNull(BoundReference<T> ref) {
+      return hasNoNulls(ref) ? ROWS_MUST_MATCH : ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean lt(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer upper = rangeBound(upperBounds, ref, lit);
+      if (upper != null && MetricsBounds.compare(ref.type(), upper, lit.value()) < 0) {
+        return ROWS_MUST_MATCH;
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean ltEq(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer upper = rangeBound(upperBounds, ref, lit);
+      if (upper != null && MetricsBounds.compare(ref.type(), upper, lit.value()) <= 0) {
+        return ROWS_MUST_MATCH;
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gt(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer lower = rangeBound(lowerBounds, ref, lit);
+      if (lower != null && MetricsBounds.compare(ref.type(), lower, lit.value()) > 0) {
+        return ROWS_MUST_MATCH;
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gtEq(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer lower = rangeBound(lowerBounds, ref, lit);
+      if (lower != null && MetricsBounds.compare(ref.type(), lower, lit.value()) >= 0) {
+        return ROWS_MUST_MATCH;
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean eq(BoundReference<T> ref, Literal<T> lit) {
+      return allEqual(ref, lit.value()) ? ROWS_MUST_MATCH : ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notEq(BoundReference<T> ref, Literal<T> lit) {
+      return outOfBounds(ref, lit.value()) ? ROWS_MUST_MATCH : ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean in(BoundReference<T> ref, Set<T> literalSet) {
+      for (T value : literalSet) {
+        if (allEqual(ref, value)) {
+          return ROWS_MUST_MATCH;
+        }
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notIn(BoundReference<T> ref, Set<T> literalSet) {
+      for (T value : literalSet) {
+        if (!outOfBounds(ref, value)) {
+          return ROWS_MIGHT_NOT_MATCH;
+        }
+      }
+      return ROWS_MUST_MATCH;
+    }
+
+    @Override
+    public <T> Boolean startsWith(BoundReference<T> ref, Literal<T> lit) {
+      // if both bounds start with the prefix, every value in between does
+      ByteBuffer prefix = Conversions.toByteBuffer(ref.type(), lit.value());
+      ByteBuffer lower = bound(lowerBounds, ref);
+      ByteBuffer upper = bound(upperBounds, ref);
+      if (lower != null && upper != null &&
+          MetricsBounds.startsWith(lower, prefix) && MetricsBounds.startsWith(upper, prefix)) {
+        return ROWS_MUST_MATCH;
+      }
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      ByteBuffer prefix = Conversions.toByteBuffer(ref.type(), lit.value());
+      ByteBuffer lower = bound(lowerBounds, ref);
+      if (lower != null && MetricsBounds.comparePrefix(lower, prefix) > 0) {
+        // all values sort after every string that starts with the prefix
+        return ROWS_MUST_MATCH;
+      }
+
+      ByteBuffer upper = bound(upperBounds, ref);
+      if (upper != null && MetricsBounds.comparePrefix(upper, prefix) < 0) {
+        // all values sort before every string that starts with the prefix
+        return ROWS_MUST_MATCH;
+      }
+
+      return ROWS_MIGHT_NOT_MATCH;
+    }
+
+    private boolean allEqual(BoundReference<?> ref, Object value) {
+      ByteBuffer lower = bound(lowerBounds, ref);
+      ByteBuffer upper = bound(upperBounds, ref);
+      return lower != null && upper != null &&
+          MetricsBounds.compare(ref.type(), lower, value) == 0 &&
+          MetricsBounds.compare(ref.type(), upper, value) == 0;
+    }
+
+    private boolean outOfBounds(BoundReference<?> ref, Object value) {
+      ByteBuffer lower = bound(lowerBounds, ref);
+      if (lower != null && MetricsBounds.compare(ref.type(), lower, value) > 0) {
+        return true;
+      }
+
+      ByteBuffer upper = bound(upperBounds, ref);
+      return upper != null && MetricsBounds.compare(ref.type(), upper, value) < 0;
+    }
+
+    private boolean hasNoNulls(BoundReference<?> ref) {
+      return nullCounts != null && Long.valueOf(0).equals(nullCounts.get(ref.fieldId()));
+    }
+
+    /**
+     * Returns a bound for a column that has no nulls, or null.
+     */
+    private ByteBuffer bound(Map<Integer, ByteBuffer> bounds, BoundReference<?> ref) {
+      if (bounds != null && hasNoNulls(ref)) {
+        return bounds.get(ref.fieldId());
+      }
+      return null;
+    }
+
+    /**
+     * Returns the bound to compare with a range predicate's literal, or null if the bounds cannot
+     * decide the predicate.
+     */
+    private ByteBuffer rangeBound(Map<Integer, ByteBuffer> bounds, BoundReference<?> ref,
+                                  Literal<?> lit) {
+      return MetricsBounds.isOrderable(ref.type(), lit.value()) ? bound(bounds, ref) : null;
+    }
+  }
+}
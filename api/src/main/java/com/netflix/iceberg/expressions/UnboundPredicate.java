@@ -16,53 +16,105 @@
 
 package com.netflix.iceberg.expressions;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.netflix.iceberg.exceptions.ValidationException;
+import com.netflix.iceberg.types.Type;
+import com.netflix.iceberg.types.TypeUtil;
 import com.netflix.iceberg.types.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import static com.netflix.iceberg.expressions.Expression.Operation.IS_NULL;
 import static com.netflix.iceberg.expressions.Expression.Operation.NOT_NULL;
 
 public class UnboundPredicate<T> extends Predicate<T, NamedReference> {
+  private final List<Literal<T>> literals;
 
   UnboundPredicate(Operation op, NamedReference namedRef, T value) {
     super(op, namedRef, Literals.from(value));
+    this.literals = null;
   }
 
   UnboundPredicate(Operation op, NamedReference namedRef) {
     super(op, namedRef, null);
+    this.literals = null;
   }
 
-  private UnboundPredicate(Operation op, NamedReference namedRef, Literal<T> lit) {
+  UnboundPredicate(Operation op, NamedReference namedRef, Iterable<T> values) {
+    super(op, namedRef, null);
+    ImmutableList.Builder<Literal<T>> builder = ImmutableList.builder();
+    for (T value : values) {
+      builder.add(Literals.from(value));
+    }
+    this.literals = builder.build();
+  }
+
+  UnboundPredicate(Operation op, NamedReference namedRef, Literal<T> lit) {
     super(op, namedRef, lit);
+    this.literals = null;
+  }
+
+  UnboundPredicate(Operation op, NamedReference namedRef, List<Literal<T>> literals) {
+    super(op, namedRef, null);
+    this.literals = literals;
+  }
+
+  /**
+   * Returns the literal values for an IN or NOT_IN predicate.
+   *
+   * @return a list of literals, or null if this is not an IN or NOT_IN predicate
+   */
+  public List<Literal<T>> literals() {
+    return literals;
+  }
+
+  @Override
+  Collection<?> setValues() {
+    return literals;
   }
 
   @Override
   public Expression negate() {
+    if (literals != null) {
+      return new UnboundPredicate<T>(negateOp(), ref(), literals);
+    }
     return new UnboundPredicate<>(negateOp(), ref(), literal());
   }
 
   public Expression bind(Types.StructType struct) {
-    Types.NestedField field = struct.field(ref().name());
+    Types.NestedField field = findField(struct, ref().name());
     ValidationException.check(field != null,
         "Cannot find field '%s' in struct: %s", ref().name(), struct);
 
+    BoundReference<T> ref = new BoundReference<>(struct, field.fieldId());
+    if (literals != null) {
+      return bindSet(ref);
+    }
+
     if (literal() == null) {
       switch (op()) {
         case IS_NULL:
-          if (field.isRequired()) {
+          if (ref.isRequired()) {
             return Expressions.alwaysFalse();
           }
-          return new BoundPredicate<>(IS_NULL, new BoundReference<>(struct, field.fieldId()));
+          return new BoundPredicate<>(IS_NULL, ref);
         case NOT_NULL:
-          if (field.isRequired()) {
+          if (ref.isRequired()) {
             return Expressions.alwaysTrue();
           }
-          return new BoundPredicate<>(NOT_NULL, new BoundReference<>(struct, field.fieldId()));
+          return new BoundPredicate<>(NOT_NULL, ref);
         default:
           throw new ValidationException("Operation must be IS_NULL or NOT_NULL");
       }
     }
 
+    if (op() == Operation.STARTS_WITH || op() == Operation.NOT_STARTS_WITH) {
+      ValidationException.check(field.type().typeId() == Type.TypeID.STRING,
+          "Cannot bind %s to non-string field '%s': %s", op(), ref().name(), field.type());
+    }
+
     Literal<T> lit = literal().to(field.type());
     if (lit == null) {
       throw new ValidationException(String.format(
@@ -79,10 +131,6 @@ public class UnboundPredicate<T> extends Predicate<T, NamedReference> {
         case GT_EQ:
         case EQ:
           return Expressions.alwaysFalse();
-//        case IN:
-//          break;
-//        case NOT_IN:
-//          break;
       }
     } else if (lit == Literals.belowMin()) {
       switch (op()) {
@@ -94,12 +142,55 @@ public class UnboundPredicate<T> extends Predicate<T, NamedReference> {
         case LT_EQ:
         case EQ:
           return Expressions.alwaysFalse();
-//        case IN:
-//          break;
-//        case NOT_IN:
-//          break;
       }
     }
-    return new BoundPredicate<>(op(), new BoundReference<>(struct, field.fieldId()), lit);
+    return new BoundPredicate<>(op(), ref, lit);
+  }
+
+  /**
+   * Finds a top-level field by name, or a field nested in structs by its full name, like "a.b".
+   */
+  private static Types.NestedField findField(Types.StructType struct, String name) {
+    Types.NestedField field = struct.field(name);
+    if (field == null && name.indexOf('.') >= 0) {
+      Integer id = TypeUtil.indexByName(struct).get(name);
+      if (id != null) {
+        return TypeUtil.indexById(struct).get(id);
+      }
+    }
+    return field;
+  }
+
+  private Expression bindSet(BoundReference<T> ref) {
+    List<T> values = Lists.newArrayListWithExpectedSize(literals.size());
+    Literal<T> firstLit = null;
+    for (Literal<T> literal : literals) {
+      Literal<T> lit = literal.to(ref.type());
+      if (lit == null) {
+        throw new ValidationException(String.format(
+            "Invalid value for comparison inclusive type %s: %s (%s)",
+            ref.type(), literal.value(), literal.value().getClass().getName()));
+      } else if (lit != Literals.aboveMax() && lit != Literals.belowMin()) {
+        // values outside the type's range cannot match any value, so they are dropped
+        values.add(lit.value());
+        if (firstLit == null) {
+          firstLit = lit;
+        }
+      }
+    }
+
+    if (values.isEmpty()) {
+      return op() == Operation.IN ? Expressions.alwaysFalse() : Expressions.alwaysTrue();
+    }
+
+    Set<T> literalSet = LiteralSets.of(ref.type(), values);
+    if (literalSet.size() == 1) {
+      // a single value is simpler to evaluate, project, and push down as equality. the converted
+      // literal is used because set values, like days for dates, cannot be converted again
+      Operation op = op() == Operation.IN ? Operation.EQ : Operation.NOT_EQ;
+      return new BoundPredicate<>(op, ref, firstLit);
+    }
+
+    return new BoundPredicate<>(op(), ref, literalSet);
   }
 }
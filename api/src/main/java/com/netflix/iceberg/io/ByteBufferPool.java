@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.io;
+
+import com.google.common.collect.Maps;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct {@link ByteBuffer buffers} of one size.
+ * <p>
+ * Direct buffers are expensive to allocate and are only freed when collected, so buffers used to
+ * prefetch data are returned to a pool that is shared by all streams that use the same size.
+ */
+class ByteBufferPool {
+  private static final int MAX_POOLED_BUFFERS = 64;
+  private static final ConcurrentMap<Integer, ByteBufferPool> POOLS = Maps.newConcurrentMap();
+
+  static ByteBufferPool forSize(int bufferSize) {
+    ByteBufferPool pool = POOLS.get(bufferSize);
+    if (pool == null) {
+      POOLS.putIfAbsent(bufferSize, new ByteBufferPool(bufferSize));
+      pool = POOLS.get(bufferSize);
+    }
+    return pool;
+  }
+
+  private final int bufferSize;
+  private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger numPooled = new AtomicInteger(0);
+
+  private ByteBufferPool(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  int bufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Returns a cleared buffer from the pool, or a newly allocated buffer if the pool is empty.
+   */
+  ByteBuffer acquire() {
+    ByteBuffer buffer = buffers.poll();
+    if (buffer != null) {
+      numPooled.decrementAndGet();
+      return buffer;
+    }
+    return ByteBuffer.allocateDirect(bufferSize);
+  }
+
+  /**
+   * Returns a buffer to the pool. Buffers beyond the pool's limit are left for collection.
+   */
+  void release(ByteBuffer buffer) {
+    if (buffer.capacity() != bufferSize) {
+      return;
+    }
+
+    if (numPooled.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+      buffer.clear();
+      buffers.offer(buffer);
+    } else {
+      numPooled.decrementAndGet();
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.netflix.iceberg.io;
 
+import com.netflix.iceberg.Metrics;
 import java.io.Closeable;
 import java.util.Iterator;
 
@@ -31,4 +32,31 @@ public interface FileAppender<D> extends Closeable {
   default void addAll(Iterable<D> values) {
     addAll(values.iterator());
   }
+
+  /**
+   * Returns metrics for the data written by this appender.
+   * <p>
+   * Metrics are only available after the appender is closed.
+   *
+   * @return {@link Metrics} for the written file
+   * @throws UnsupportedOperationException if the appender does not collect metrics
+   */
+  default Metrics metrics() {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support metrics");
+  }
+
+  /**
+   * Returns the length of the file written by this appender.
+   * <p>
+   * The length is exact after the appender is closed. While the appender is open, this returns an
+   * estimate of the bytes written so far that may not include buffered data.
+   *
+   * @return the length of the written file in bytes
+   * @throws UnsupportedOperationException if the appender does not track the file length
+   */
+  default long length() {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support length");
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.io;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An {@link InputFile} that opens {@link PrefetchingInputStream prefetching streams}.
+ * <p>
+ * This can wrap any input file. Each stream fetches up to {@code numBlocks} blocks of
+ * {@code blockSize} bytes ahead of the reader, so the memory used by an open stream is bounded by
+ * their product.
+ */
+public class PrefetchingInputFile implements InputFile {
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+  public static final int DEFAULT_NUM_BLOCKS = 8;
+
+  private final InputFile file;
+  private final int blockSize;
+  private final int numBlocks;
+
+  public PrefetchingInputFile(InputFile file) {
+    this(file, DEFAULT_BLOCK_SIZE, DEFAULT_NUM_BLOCKS);
+  }
+
+  public PrefetchingInputFile(InputFile file, int blockSize, int numBlocks) {
+    Preconditions.checkNotNull(file, "Cannot prefetch a null file");
+    Preconditions.checkArgument(blockSize > 0, "Invalid block size: %s", blockSize);
+    Preconditions.checkArgument(numBlocks > 0, "Invalid number of blocks: %s", numBlocks);
+    this.file = file;
+    this.blockSize = blockSize;
+    this.numBlocks = numBlocks;
+  }
+
+  /**
+   * Returns the wrapped file.
+   */
+  public InputFile file() {
+    return file;
+  }
+
+  @Override
+  public long getLength() {
+    return file.getLength();
+  }
+
+  @Override
+  public PrefetchingInputStream newStream() {
+    return new PrefetchingInputStream(file, blockSize, numBlocks);
+  }
+
+  @Override
+  public String location() {
+    return file.location();
+  }
+
+  @Override
+  public String toString() {
+    return file.toString();
+  }
+}
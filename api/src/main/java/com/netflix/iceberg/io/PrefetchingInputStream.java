@@ -0,0 +1,515 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.io;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link SeekableInputStream} that reads ranges of a file ahead of the reader.
+ * <p>
+ * Ranges are read into pooled direct buffers by a background task, using a second stream opened
+ * from the same {@link InputFile}. At most a fixed number of blocks are held at once; a block is
+ * released when the reader moves past its end, making room for the next block.
+ * <p>
+ * Ranges to read are either passed by the caller using {@link #prefetch(long, long)}, or, if no
+ * hints have been passed and read-ahead is enabled, the blocks that follow the last read. Reads
+ * and seeks within fetched blocks are served from memory; all other reads are passed to the file
+ * directly. Hits and misses are counted to tune the block size and number of blocks.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class PrefetchingInputStream extends SeekableInputStream {
+  private static volatile ExecutorService sharedPool = null;
+
+  /**
+   * Returns a shared pool of daemon threads used to fetch blocks.
+   * <p>
+   * Fetching blocks waits on IO, so the pool has two threads for each available processor.
+   */
+  static ExecutorService sharedPool() {
+    if (sharedPool == null) {
+      synchronized (PrefetchingInputStream.class) {
+        if (sharedPool == null) {
+          sharedPool = Executors.newFixedThreadPool(
+              2 * Runtime.getRuntime().availableProcessors(),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("iceberg-prefetch-%d")
+                  .build());
+        }
+      }
+    }
+    return sharedPool;
+  }
+
+  private final InputFile file;
+  private final long length;
+  private final int numBlocks;
+  private final ByteBufferPool buffers;
+  private final byte[] single = new byte[1];
+
+  // state shared with the fetch task, guarded by this
+  private final Deque<Segment> window = new ArrayDeque<>();
+  private final Deque<long[]> pending = new ArrayDeque<>();
+  private long nextReadAhead = -1L;
+  private boolean fetching = false;
+  private boolean closed = false;
+
+  // only used by the fetch task
+  private SeekableInputStream fetchStream = null;
+
+  private SeekableInputStream directStream = null;
+  private boolean readAhead = true;
+  private long pos = 0L;
+  private long hits = 0L;
+  private long misses = 0L;
+
+  PrefetchingInputStream(InputFile file, int blockSize, int numBlocks) {
+    Preconditions.checkArgument(blockSize > 0, "Invalid block size: %s", blockSize);
+    Preconditions.checkArgument(numBlocks > 0, "Invalid number of blocks: %s", numBlocks);
+    this.file = file;
+    this.length = file.getLength();
+    this.numBlocks = numBlocks;
+    this.buffers = ByteBufferPool.forSize(blockSize);
+  }
+
+  /**
+   * Requests that a range of the file is read ahead.
+   * <p>
+   * Ranges are fetched in the order they are requested, and a range that starts where the last
+   * pending range ends is merged with it. Passing a hint disables sequential read-ahead.
+   *
+   * @param offset the starting position of the range
+   * @param rangeLength the length of the range in bytes
+   */
+  public void prefetch(long offset, long rangeLength) {
+    Preconditions.checkArgument(offset >= 0 && rangeLength >= 0,
+        "Invalid range: offset=%s, length=%s", offset, rangeLength);
+
+    long end = Math.min(offset + rangeLength, length);
+    synchronized (this) {
+      Preconditions.checkState(!closed, "Cannot prefetch: stream is closed");
+      this.readAhead = false;
+      this.nextReadAhead = -1L;
+      if (end > offset) {
+        long[] last = pending.peekLast();
+        if (last != null && last[1] == offset) {
+          // coalesce adjacent ranges so that small ranges share blocks
+          last[1] = end;
+        } else {
+          pending.addLast(new long[] { offset, end });
+        }
+        fill();
+      }
+    }
+  }
+
+  /**
+   * Sets whether blocks following a read are fetched when no hints have been passed.
+   *
+   * @param enabled whether to read ahead
+   */
+  public void setReadAhead(boolean enabled) {
+    this.readAhead = enabled;
+    if (!enabled) {
+      synchronized (this) {
+        this.nextReadAhead = -1L;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of reads served from fetched blocks.
+   */
+  public long hits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of reads passed to the file because the data had not been fetched.
+   */
+  public long misses() {
+    return misses;
+  }
+
+  /**
+   * Returns the fraction of reads served from fetched blocks, or 0 if there have been no reads.
+   */
+  public double hitRate() {
+    long total = hits + misses;
+    return total > 0 ? ((double) hits) / total : 0.0;
+  }
+
+  @Override
+  public long getPos() {
+    return pos;
+  }
+
+  @Override
+  public void seek(long newPos) {
+    Preconditions.checkArgument(newPos >= 0, "Invalid position: %s", newPos);
+    this.pos = newPos;
+  }
+
+  @Override
+  public long skip(long n) {
+    if (n <= 0) {
+      return 0;
+    }
+
+    long skipped = Math.min(n, Math.max(length - pos, 0));
+    this.pos += skipped;
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(Math.max(length - pos, 0), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int read() throws IOException {
+    int bytesRead = read(single, 0, 1);
+    return bytesRead > 0 ? single[0] & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] bytes, int off, int len) throws IOException {
+    Preconditions.checkState(!closed, "Cannot read: stream is closed");
+    if (len == 0) {
+      return 0;
+    } else if (pos >= length) {
+      return -1;
+    }
+
+    Segment segment = find(pos);
+    ByteBuffer data = segment != null ? await(segment) : null;
+    if (data != null) {
+      this.hits += 1;
+      ByteBuffer view = data.duplicate();
+      view.position((int) (pos - segment.offset));
+      int bytesRead = Math.min(len, view.remaining());
+      view.get(bytes, off, bytesRead);
+      this.pos += bytesRead;
+      if (pos >= segment.end()) {
+        consumed(segment);
+      }
+      return bytesRead;
+    }
+
+    this.misses += 1;
+    int bytesRead = readDirect(bytes, off, len);
+    if (bytesRead > 0) {
+      this.pos += bytesRead;
+      if (readAhead) {
+        restartReadAhead(pos);
+      }
+    }
+
+    return bytesRead;
+  }
+
+  @Override
+  public void close() throws IOException {
+    SeekableInputStream toClose = null;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      this.closed = true;
+      pending.clear();
+      while (!window.isEmpty()) {
+        release(window.removeFirst());
+      }
+
+      // if a fetch task is running, it closes its stream when it exits
+      if (!fetching) {
+        toClose = fetchStream;
+        this.fetchStream = null;
+      }
+    }
+
+    try {
+      if (directStream != null) {
+        directStream.close();
+      }
+    } finally {
+      if (toClose != null) {
+        toClose.close();
+      }
+    }
+  }
+
+  private int readDirect(byte[] bytes, int off, int len) throws IOException {
+    if (directStream == null) {
+      this.directStream = file.newStream();
+    }
+
+    if (directStream.getPos() != pos) {
+      directStream.seek(pos);
+    }
+
+    return directStream.read(bytes, off, len);
+  }
+
+  private synchronized Segment find(long position) {
+    for (Segment segment : window) {
+      if (segment.contains(position)) {
+        return segment;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Waits for a segment to be fetched and returns its data, or null if the fetch failed.
+   */
+  private ByteBuffer await(Segment segment) throws IOException {
+    try {
+      return segment.data.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for prefetched data");
+    } catch (ExecutionException e) {
+      // drop the failed segment and read from the file, which will report the failure if it
+      // was not transient
+      synchronized (this) {
+        if (window.remove(segment)) {
+          fill();
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Releases a segment that has been read to its end and all segments before it.
+   */
+  private synchronized void consumed(Segment segment) {
+    if (!window.contains(segment)) {
+      return;
+    }
+
+    Segment removed;
+    do {
+      removed = window.removeFirst();
+      release(removed);
+    } while (removed != segment);
+
+    fill();
+  }
+
+  private synchronized void restartReadAhead(long position) {
+    // a miss means the blocks read ahead are not being used
+    while (!window.isEmpty()) {
+      release(window.removeFirst());
+    }
+
+    this.nextReadAhead = position;
+    fill();
+  }
+
+  /**
+   * Adds segments to the window from pending hints or read-ahead, and starts a fetch task if
+   * segments were added. Must be called while holding the lock.
+   */
+  private void fill() {
+    boolean added = false;
+    int blockSize = buffers.bufferSize();
+    while (!closed && window.size() < numBlocks) {
+      Segment segment;
+      if (!pending.isEmpty()) {
+        long[] range = pending.peekFirst();
+        segment = new Segment(range[0], (int) Math.min(blockSize, range[1] - range[0]));
+        range[0] += segment.length;
+        if (range[0] >= range[1]) {
+          pending.removeFirst();
+        }
+      } else if (nextReadAhead >= 0 && nextReadAhead < length) {
+        segment = new Segment(nextReadAhead, (int) Math.min(blockSize, length - nextReadAhead));
+        this.nextReadAhead += segment.length;
+      } else {
+        break;
+      }
+
+      window.addLast(segment);
+      added = true;
+    }
+
+    if (added && !fetching) {
+      this.fetching = true;
+      sharedPool().submit(this::fetchAll);
+    }
+  }
+
+  private void fetchAll() {
+    boolean finished = false;
+    try {
+      while (true) {
+        Segment next = null;
+        SeekableInputStream toClose = null;
+        synchronized (this) {
+          if (!closed) {
+            for (Segment segment : window) {
+              if (!segment.started) {
+                segment.started = true;
+                next = segment;
+                break;
+              }
+            }
+          }
+
+          if (next == null) {
+            this.fetching = false;
+            finished = true;
+            if (closed) {
+              toClose = fetchStream;
+              this.fetchStream = null;
+            }
+          }
+        }
+
+        if (next == null) {
+          closeQuietly(toClose);
+          return;
+        }
+
+        fetch(next);
+      }
+
+    } finally {
+      if (!finished) {
+        abortFetching();
+      }
+    }
+  }
+
+  /**
+   * Fails segments that were not fetched and allows a new fetch task to start, after the fetch
+   * task exits with an error.
+   */
+  private void abortFetching() {
+    SeekableInputStream toClose = null;
+    synchronized (this) {
+      this.fetching = false;
+      for (Segment segment : window) {
+        if (!segment.started) {
+          segment.started = true;
+          segment.data.completeExceptionally(
+              new IllegalStateException("Prefetch task failed"));
+        }
+      }
+
+      if (closed) {
+        toClose = fetchStream;
+        this.fetchStream = null;
+      }
+    }
+
+    closeQuietly(toClose);
+  }
+
+  private void fetch(Segment segment) {
+    ByteBuffer buffer = null;
+    try {
+      buffer = buffers.acquire();
+      if (fetchStream == null) {
+        this.fetchStream = file.newStream();
+      }
+
+      fetchStream.seek(segment.offset);
+      buffer.limit(segment.length);
+      while (buffer.hasRemaining()) {
+        if (fetchStream.read(buffer) < 0) {
+          throw new EOFException(String.format(
+              "Reached the end of stream with %d bytes left to read", buffer.remaining()));
+        }
+      }
+      buffer.flip();
+
+    } catch (Throwable t) {
+      // complete the future for any failure, including errors, so readers do not wait forever
+      if (buffer != null) {
+        buffers.release(buffer);
+      }
+      segment.data.completeExceptionally(t);
+      return;
+    }
+
+    synchronized (this) {
+      segment.data.complete(buffer);
+      if (segment.released) {
+        buffers.release(buffer);
+      }
+    }
+  }
+
+  /**
+   * Returns a segment's buffer to the pool, or marks it so the fetch task returns the buffer when
+   * the fetch completes. Must be called while holding the lock.
+   */
+  private void release(Segment segment) {
+    segment.released = true;
+    if (segment.data.isDone() && !segment.data.isCompletedExceptionally()) {
+      buffers.release(segment.data.getNow(null));
+    }
+  }
+
+  private static void closeQuietly(SeekableInputStream stream) {
+    if (stream != null) {
+      try {
+        stream.close();
+      } catch (IOException e) {
+        // the stream was only used to prefetch data and is no longer needed
+      }
+    }
+  }
+
+  private static class Segment {
+    private final long offset;
+    private final int length;
+    private final CompletableFuture<ByteBuffer> data = new CompletableFuture<>();
+    private boolean started = false;
+    private boolean released = false;
+
+    private Segment(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+
+    private long end() {
+      return offset + length;
+    }
+
+    private boolean contains(long position) {
+      return offset <= position && position < offset + length;
+    }
+  }
+}
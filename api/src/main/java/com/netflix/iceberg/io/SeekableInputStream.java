@@ -18,6 +18,7 @@ package com.netflix.iceberg.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * {@code SeekableInputStream} is an interface with the methods needed to read data from a file or
@@ -26,6 +27,8 @@ import java.io.InputStream;
  * This class is based on Parquet's SeekableInputStream.
  */
 public abstract class SeekableInputStream extends InputStream {
+  private static final int COPY_BUFFER_SIZE = 8192;
+
   /**
    * Return the current position in the InputStream.
    *
@@ -41,4 +44,31 @@ public abstract class SeekableInputStream extends InputStream {
    * @throws IOException If the underlying stream throws IOException
    */
   public abstract void seek(long newPos) throws IOException;
+
+  /**
+   * Read bytes into a {@link ByteBuffer}, starting at the buffer's position.
+   * <p>
+   * This implementation copies through a byte array. Streams that can read directly into a
+   * buffer, including direct buffers, should override this method.
+   *
+   * @param buf a ByteBuffer to read into
+   * @return the number of bytes read, or -1 if the end of the stream was reached
+   * @throws IOException If the underlying stream throws IOException
+   */
+  public int read(ByteBuffer buf) throws IOException {
+    if (buf.hasArray()) {
+      int bytesRead = read(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+      if (bytesRead > 0) {
+        buf.position(buf.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+
+    byte[] temp = new byte[Math.min(buf.remaining(), COPY_BUFFER_SIZE)];
+    int bytesRead = read(temp, 0, temp.length);
+    if (bytesRead > 0) {
+      buf.put(temp, 0, bytesRead);
+    }
+    return bytesRead;
+  }
 }
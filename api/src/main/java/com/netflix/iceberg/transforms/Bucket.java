@@ -17,11 +17,8 @@
 package com.netflix.iceberg.transforms;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Charsets;
 import com.google.common.base.Objects;
 import com.google.common.collect.Sets;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 import com.netflix.iceberg.expressions.BoundPredicate;
 import com.netflix.iceberg.expressions.Expressions;
 import com.netflix.iceberg.expressions.UnboundPredicate;
@@ -36,8 +33,6 @@ import java.util.UUID;
 import static com.netflix.iceberg.types.Type.TypeID;
 
 abstract class Bucket<T> implements Transform<T, Integer> {
-  private static final HashFunction MURMUR3 = Hashing.murmur3_32();
-
   @SuppressWarnings("unchecked")
   static <T> Bucket<T> get(Type type, int N) {
     switch (type.typeId()) {
@@ -68,6 +63,10 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     this.N = N;
   }
 
+  int numBuckets() {
+    return N;
+  }
+
   @VisibleForTesting
   abstract int hash(T value);
 
@@ -105,8 +104,8 @@ abstract class Bucket<T> implements Transform<T, Integer> {
       case EQ:
         return Expressions.predicate(
             predicate.op(), name, apply(predicate.literal().value()));
-//      case IN:
-//        return Expressions.predicate();
+      case IN:
+        return ProjectionUtil.transformSet(name, predicate, this);
       default:
         // comparison predicates can't be projected, notEq can't be projected
         return null;
@@ -118,8 +117,8 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     switch (predicate.op()) {
       case NOT_EQ: // TODO: need to translate not(eq(...)) into notEq in expressions
         return Expressions.predicate(predicate.op(), name, apply(predicate.literal().value()));
-//      case NOT_IN:
-//        return null;
+      case NOT_IN:
+        return ProjectionUtil.transformSet(name, predicate, this);
       default:
         // no strict projection for comparison or equality
         return null;
@@ -131,13 +130,13 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     return Types.IntegerType.get();
   }
 
-  private static class BucketInteger extends Bucket<Integer> {
+  static class BucketInteger extends Bucket<Integer> {
     private BucketInteger(int N) {
       super(N);
     }
 
     public int hash(Integer value) {
-      return MURMUR3.hashLong(value.longValue()).asInt();
+      return TransformKernels.hashLong(value.longValue());
     }
 
     @Override
@@ -146,13 +145,13 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     }
   }
 
-  private static class BucketLong extends Bucket<Long> {
+  static class BucketLong extends Bucket<Long> {
     private BucketLong(int N) {
       super(N);
     }
 
     public int hash(Long value) {
-      return MURMUR3.hashLong(value).asInt();
+      return TransformKernels.hashLong(value);
     }
 
     @Override
@@ -173,7 +172,7 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     }
 
     public int hash(Float value) {
-      return MURMUR3.hashLong(Double.doubleToRawLongBits((double) value)).asInt();
+      return TransformKernels.hashLong(Double.doubleToRawLongBits((double) value));
     }
 
     @Override
@@ -190,7 +189,7 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     }
 
     public int hash(Double value) {
-      return MURMUR3.hashLong(Double.doubleToRawLongBits(value)).asInt();
+      return TransformKernels.hashLong(Double.doubleToRawLongBits(value));
     }
 
     @Override
@@ -199,13 +198,13 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     }
   }
 
-  private static class BucketString extends Bucket<CharSequence> {
+  static class BucketString extends Bucket<CharSequence> {
     private BucketString(int N) {
       super(N);
     }
 
     public int hash(CharSequence value) {
-      return MURMUR3.hashString(value, Charsets.UTF_8).asInt();
+      return TransformKernels.hashUtf8(value);
     }
 
     @Override
@@ -223,7 +222,7 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     }
 
     public int hash(byte[] value) {
-      return MURMUR3.hashBytes(value).asInt();
+      return TransformKernels.hashBytes(value, 0, value.length);
     }
 
     @Override
@@ -242,9 +241,8 @@ abstract class Bucket<T> implements Transform<T, Integer> {
 
     public int hash(ByteBuffer value) {
       if (value.hasArray()) {
-        return MURMUR3.hashBytes(value.array(),
-            value.arrayOffset() + value.position(),
-            value.arrayOffset() + value.remaining()).asInt();
+        return TransformKernels.hashBytes(value.array(),
+            value.arrayOffset() + value.position(), value.remaining());
       } else {
         int position = value.position();
         byte[] copy = new byte[value.remaining()];
@@ -254,7 +252,7 @@ abstract class Bucket<T> implements Transform<T, Integer> {
           // make sure the buffer position is unchanged
           value.position(position);
         }
-        return MURMUR3.hashBytes(copy).asInt();
+        return TransformKernels.hashBytes(copy, 0, copy.length);
       }
     }
 
@@ -280,7 +278,7 @@ abstract class Bucket<T> implements Transform<T, Integer> {
       buffer.rewind();
       buffer.putLong(value.getMostSignificantBits());
       buffer.putLong(value.getLeastSignificantBits());
-      return MURMUR3.hashBytes(buffer.array()).asInt();
+      return TransformKernels.hashBytes(buffer.array(), 0, 16);
     }
 
     @Override
@@ -295,7 +293,8 @@ abstract class Bucket<T> implements Transform<T, Integer> {
     }
 
     public int hash(BigDecimal value) {
-      return MURMUR3.hashBytes(value.unscaledValue().toByteArray()).asInt();
+      byte[] unscaled = value.unscaledValue().toByteArray();
+      return TransformKernels.hashBytes(unscaled, 0, unscaled.length);
     }
 
     @Override
@@ -20,9 +20,6 @@ import com.netflix.iceberg.expressions.BoundPredicate;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import com.netflix.iceberg.types.Type;
 import com.netflix.iceberg.types.Types;
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 
 enum Dates implements Transform<Integer, Integer> {
@@ -30,7 +27,6 @@ enum Dates implements Transform<Integer, Integer> {
   MONTH(ChronoUnit.MONTHS, "month"),
   DAY(ChronoUnit.DAYS, "day");
 
-  private static final OffsetDateTime EPOCH = Instant.ofEpochSecond(0).atOffset(ZoneOffset.UTC);
   private final ChronoUnit granularity;
   private final String name;
 
@@ -41,10 +37,16 @@ enum Dates implements Transform<Integer, Integer> {
 
   @Override
   public Integer apply(Integer days) {
-    if (granularity == ChronoUnit.DAYS) {
-      return days;
+    switch (granularity) {
+      case YEARS:
+        return TransformKernels.dateToYear(days);
+      case MONTHS:
+        return TransformKernels.dateToMonth(days);
+      case DAYS:
+        return days;
+      default:
+        throw new UnsupportedOperationException("Unsupported time unit: " + granularity);
     }
-    return (int) granularity.between(EPOCH, EPOCH.plusDays(days));
   }
 
   @Override
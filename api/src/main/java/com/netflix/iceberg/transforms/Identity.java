@@ -60,6 +60,8 @@ class Identity<T> implements Transform<T, T> {
   public UnboundPredicate<T> projectStrict(String name, BoundPredicate<T> predicate) {
     if (predicate.literal() != null) {
       return Expressions.predicate(predicate.op(), name, predicate.literal().value());
+    } else if (predicate.literalSet() != null) {
+      return Expressions.predicate(predicate.op(), name, predicate.literalSet());
     } else {
       return Expressions.predicate(predicate.op(), name);
     }
@@ -16,17 +16,23 @@
 
 package com.netflix.iceberg.transforms;
 
+import com.google.common.collect.Sets;
 import com.netflix.iceberg.expressions.BoundPredicate;
 import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Set;
 
 import static com.netflix.iceberg.expressions.Expressions.predicate;
 
 class ProjectionUtil {
   static <T> UnboundPredicate<T> truncateInteger(
       String name, BoundPredicate<Integer> pred, Transform<Integer, T> transform) {
+    if (pred.literalSet() != null) {
+      return inclusiveSet(name, pred, transform);
+    }
+
     int boundary = pred.literal().value();
     switch (pred.op()) {
       case LT:
@@ -48,6 +54,10 @@ class ProjectionUtil {
 
   static <T> UnboundPredicate<T> truncateLong(
       String name, BoundPredicate<Long> pred, Transform<Long, T> transform) {
+    if (pred.literalSet() != null) {
+      return inclusiveSet(name, pred, transform);
+    }
+
     long boundary = pred.literal().value();
     switch (pred.op()) {
       case LT:
@@ -70,6 +80,10 @@ class ProjectionUtil {
   static <T> UnboundPredicate<T> truncateDecimal(
       String name, BoundPredicate<BigDecimal> pred,
       Transform<BigDecimal, T> transform) {
+    if (pred.literalSet() != null) {
+      return inclusiveSet(name, pred, transform);
+    }
+
     BigDecimal boundary = pred.literal().value();
     switch (pred.op()) {
       case LT:
@@ -97,6 +111,10 @@ class ProjectionUtil {
 
   static <S, T> UnboundPredicate<T> truncateArray(
       String name, BoundPredicate<S> pred, Transform<S, T> transform) {
+    if (pred.literalSet() != null) {
+      return inclusiveSet(name, pred, transform);
+    }
+
     S boundary = pred.literal().value();
     switch (pred.op()) {
       case LT:
@@ -107,10 +125,26 @@ class ProjectionUtil {
         return predicate(Expression.Operation.GT_EQ, name, transform.apply(boundary));
       case EQ:
         return predicate(Expression.Operation.EQ, name, transform.apply(boundary));
-//        case IN: // TODO
-//          return Expressions.predicate(Operation.IN, name, transform.apply(boundary));
       default:
         return null;
     }
   }
+
+  static <S, T> UnboundPredicate<T> inclusiveSet(
+      String name, BoundPredicate<S> pred, Transform<S, T> transform) {
+    if (pred.op() == Expression.Operation.IN) {
+      return transformSet(name, pred, transform);
+    }
+    // like notEq, notIn can't be projected
+    return null;
+  }
+
+  static <S, T> UnboundPredicate<T> transformSet(
+      String name, BoundPredicate<S> pred, Transform<S, T> transform) {
+    Set<T> images = Sets.newHashSet();
+    for (S value : pred.literalSet()) {
+      images.add(transform.apply(value));
+    }
+    return predicate(pred.op(), name, images);
+  }
 }
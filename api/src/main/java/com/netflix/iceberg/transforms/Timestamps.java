@@ -20,9 +20,6 @@ import com.netflix.iceberg.expressions.BoundPredicate;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import com.netflix.iceberg.types.Type;
 import com.netflix.iceberg.types.Types;
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 
 enum Timestamps implements Transform<Long, Integer> {
@@ -31,7 +28,6 @@ enum Timestamps implements Transform<Long, Integer> {
   DAY(ChronoUnit.DAYS, "day"),
   HOUR(ChronoUnit.HOURS, "hour");
 
-  private static final OffsetDateTime EPOCH = Instant.ofEpochSecond(0).atOffset(ZoneOffset.UTC);
   private final ChronoUnit granularity;
   private final String name;
 
@@ -42,11 +38,18 @@ enum Timestamps implements Transform<Long, Integer> {
 
   @Override
   public Integer apply(Long timestampMicros) {
-    // discards fractional seconds, not needed for calculation
-    OffsetDateTime timestamp = Instant
-        .ofEpochSecond(timestampMicros / 1_000_000)
-        .atOffset(ZoneOffset.UTC);
-    return (int) granularity.between(EPOCH, timestamp);
+    switch (granularity) {
+      case YEARS:
+        return TransformKernels.timestampToYear(timestampMicros);
+      case MONTHS:
+        return TransformKernels.timestampToMonth(timestampMicros);
+      case DAYS:
+        return TransformKernels.timestampToDay(timestampMicros);
+      case HOURS:
+        return TransformKernels.timestampToHour(timestampMicros);
+      default:
+        throw new UnsupportedOperationException("Unsupported time unit: " + granularity);
+    }
   }
 
   @Override
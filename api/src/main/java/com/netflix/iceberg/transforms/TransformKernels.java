@@ -0,0 +1,499 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.transforms;
+
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Primitive and batch implementations of partition transforms.
+ * <p>
+ * {@link Transform#apply(Object)} accepts and returns boxed values, and the bucket and date/time
+ * transforms use Guava hash functions and {@code java.time} objects. The methods in this class
+ * operate on primitives, byte ranges, and primitive arrays without allocating, and return the
+ * same results as the corresponding transforms. Murmur3 is implemented inline, matching Guava's
+ * {@code murmur3_32} with a zero seed.
+ * <p>
+ * Timestamps are microseconds from the epoch and dates are days from the epoch. Like the
+ * transforms, timestamps are first truncated to whole seconds toward zero and year, month, day,
+ * and hour counts are the number of whole units between the epoch and a value.
+ * <p>
+ * Strings are truncated to a number of UTF-16 chars, like {@link String#substring(int, int)}. The
+ * UTF-8 methods work directly on encoded bytes so that callers with encoded strings do not need to
+ * decode them.
+ * <p>
+ * Batch methods transform the first {@code length} values of an input array into an output array
+ * and do not check for nulls; callers should ignore the results for null positions.
+ */
+public class TransformKernels {
+  private TransformKernels() {
+  }
+
+  private static final int C1 = 0xcc9e2d51;
+  private static final int C2 = 0x1b873593;
+
+  private static final long MICROS_PER_SECOND = 1_000_000L;
+  private static final long SECONDS_PER_HOUR = 3_600L;
+  private static final long SECONDS_PER_DAY = 86_400L;
+  private static final long DAYS_0000_TO_1970 = 719_528L;
+  private static final long DAYS_PER_CYCLE = 146_097L;
+  // proleptic month * 32 + day of month for 1970-01-01
+  private static final long PACKED_EPOCH = (1970L * 12) * 32 + 1;
+
+  /**
+   * Returns a primitive function for a transform of int or date values to int values.
+   *
+   * @param transform a transform
+   * @return a function equivalent to the transform, or null if there is no primitive version
+   */
+  public static IntUnaryOperator intKernel(Transform<?, ?> transform) {
+    if (transform instanceof Bucket.BucketInteger) {
+      int numBuckets = ((Bucket<?>) transform).numBuckets();
+      return value -> bucketInt(value, numBuckets);
+    } else if (transform instanceof Truncate.TruncateInteger) {
+      int width = ((Truncate.TruncateInteger) transform).width();
+      return value -> truncateInt(value, width);
+    } else if (transform == Dates.YEAR) {
+      return TransformKernels::dateToYear;
+    } else if (transform == Dates.MONTH) {
+      return TransformKernels::dateToMonth;
+    } else if (transform == Dates.DAY) {
+      return IntUnaryOperator.identity();
+    }
+    return null;
+  }
+
+  /**
+   * Returns a primitive function for a transform of long, time, or timestamp values to int values.
+   *
+   * @param transform a transform
+   * @return a function equivalent to the transform, or null if there is no primitive version
+   */
+  public static LongToIntFunction longToIntKernel(Transform<?, ?> transform) {
+    if (transform instanceof Bucket.BucketLong) {
+      int numBuckets = ((Bucket<?>) transform).numBuckets();
+      return value -> bucketLong(value, numBuckets);
+    } else if (transform == Timestamps.YEAR) {
+      return TransformKernels::timestampToYear;
+    } else if (transform == Timestamps.MONTH) {
+      return TransformKernels::timestampToMonth;
+    } else if (transform == Timestamps.DAY) {
+      return TransformKernels::timestampToDay;
+    } else if (transform == Timestamps.HOUR) {
+      return TransformKernels::timestampToHour;
+    }
+    return null;
+  }
+
+  /**
+   * A function of a UTF-8 encoded string stored in a range of a byte array.
+   */
+  public interface Utf8ToIntFunction {
+    int applyAsInt(byte[] bytes, int offset, int length);
+  }
+
+  /**
+   * Returns a function that buckets UTF-8 encoded strings.
+   *
+   * @param transform a transform
+   * @return a function that returns the bucket of a string, or null if the transform is not a
+   *         string bucket transform
+   */
+  public static Utf8ToIntFunction utf8BucketKernel(Transform<?, ?> transform) {
+    if (transform instanceof Bucket.BucketString) {
+      int numBuckets = ((Bucket<?>) transform).numBuckets();
+      return (bytes, offset, length) -> bucketBytes(bytes, offset, length, numBuckets);
+    }
+    return null;
+  }
+
+  /**
+   * Returns a function that truncates UTF-8 encoded strings.
+   * <p>
+   * The function returns the length in bytes of the truncated string, which starts at the same
+   * offset as the original, or -1 if the cut splits a surrogate pair; see
+   * {@link #truncateUtf8(byte[], int, int, int)}.
+   *
+   * @param transform a transform
+   * @return a function that returns the truncated length of a string, or null if the transform is
+   *         not a string truncate transform
+   */
+  public static Utf8ToIntFunction utf8TruncateKernel(Transform<?, ?> transform) {
+    if (transform instanceof Truncate.TruncateString) {
+      int width = ((Truncate.TruncateString) transform).width();
+      return (bytes, offset, length) -> truncateUtf8(bytes, offset, length, width);
+    }
+    return null;
+  }
+
+  /**
+   * Returns a primitive function for a transform of long values to long values.
+   *
+   * @param transform a transform
+   * @return a function equivalent to the transform, or null if there is no primitive version
+   */
+  public static LongUnaryOperator longKernel(Transform<?, ?> transform) {
+    if (transform instanceof Truncate.TruncateLong) {
+      long width = ((Truncate.TruncateLong) transform).width();
+      return value -> truncateLong(value, width);
+    }
+    return null;
+  }
+
+  public static int bucketInt(int value, int numBuckets) {
+    return bucket(hashLong(value), numBuckets);
+  }
+
+  public static int bucketLong(long value, int numBuckets) {
+    return bucket(hashLong(value), numBuckets);
+  }
+
+  /**
+   * Returns the bucket for a range of bytes, such as a UTF-8 encoded string.
+   */
+  public static int bucketBytes(byte[] bytes, int offset, int length, int numBuckets) {
+    return bucket(hashBytes(bytes, offset, length), numBuckets);
+  }
+
+  /**
+   * Returns the bucket for a string, hashing its UTF-8 encoding without an intermediate array.
+   */
+  public static int bucketString(CharSequence value, int numBuckets) {
+    return bucket(hashUtf8(value), numBuckets);
+  }
+
+  /**
+   * Truncates a string to at most {@code width} chars, like the truncate transform.
+   * <p>
+   * The width counts UTF-16 chars, so a cut may split a surrogate pair.
+   */
+  public static CharSequence truncateString(CharSequence value, int width) {
+    return value.subSequence(0, Math.min(value.length(), width));
+  }
+
+  /**
+   * Returns the length in bytes of a UTF-8 string truncated like
+   * {@link #truncateString(CharSequence, int)}.
+   * <p>
+   * Code points encoded in 4 bytes are surrogate pairs in UTF-16 and count as 2 chars. If the
+   * truncated string would end with the first char of a pair, it has no UTF-8 encoding and this
+   * returns -1; callers must truncate the decoded string instead.
+   */
+  public static int truncateUtf8(byte[] bytes, int offset, int length, int width) {
+    if (length <= width) {
+      // every char is at least one byte
+      return length;
+    }
+
+    int numChars = 0;
+    int end = offset + length;
+    for (int i = offset; i < end; i += 1) {
+      // continuation bytes are 10xxxxxx; any other byte starts a code point
+      int b = bytes[i] & 0xFF;
+      if ((b & 0xC0) != 0x80) {
+        int charCount = b >= 0xF0 ? 2 : 1;
+        if (numChars + charCount > width) {
+          return numChars < width ? -1 : i - offset;
+        }
+        numChars += charCount;
+      }
+    }
+
+    return length;
+  }
+
+  public static int truncateInt(int value, int width) {
+    return value - (((value % width) + width) % width);
+  }
+
+  public static long truncateLong(long value, long width) {
+    return value - (((value % width) + width) % width);
+  }
+
+  public static int dateToYear(int days) {
+    return monthsFromEpoch(days) / 12;
+  }
+
+  public static int dateToMonth(int days) {
+    return monthsFromEpoch(days);
+  }
+
+  public static int timestampToYear(long micros) {
+    return monthsFromEpoch(micros / MICROS_PER_SECOND / SECONDS_PER_DAY) / 12;
+  }
+
+  public static int timestampToMonth(long micros) {
+    return monthsFromEpoch(micros / MICROS_PER_SECOND / SECONDS_PER_DAY);
+  }
+
+  public static int timestampToDay(long micros) {
+    return (int) (micros / MICROS_PER_SECOND / SECONDS_PER_DAY);
+  }
+
+  public static int timestampToHour(long micros) {
+    return (int) (micros / MICROS_PER_SECOND / SECONDS_PER_HOUR);
+  }
+
+  public static void bucketInts(int[] values, int length, int numBuckets, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = bucket(hashLong(values[i]), numBuckets);
+    }
+  }
+
+  public static void bucketLongs(long[] values, int length, int numBuckets, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = bucket(hashLong(values[i]), numBuckets);
+    }
+  }
+
+  /**
+   * Buckets byte ranges, such as UTF-8 strings, stored end to end in one array.
+   *
+   * @param data an array of concatenated values
+   * @param offsets value start offsets; value i ends at offsets[i + 1]
+   * @param length the number of values
+   * @param numBuckets the number of buckets
+   * @param out an array for the bucket of each value
+   */
+  public static void bucketBytes(byte[] data, int[] offsets, int length, int numBuckets,
+                                 int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      int start = offsets[i];
+      out[i] = bucket(hashBytes(data, start, offsets[i + 1] - start), numBuckets);
+    }
+  }
+
+  /**
+   * Truncates UTF-8 strings stored end to end in one array.
+   *
+   * @param data an array of concatenated values
+   * @param offsets value start offsets; value i ends at offsets[i + 1]
+   * @param length the number of values
+   * @param width the number of UTF-16 chars to keep
+   * @param outLengths an array for the length in bytes of each truncated value
+   */
+  public static void truncateUtf8(byte[] data, int[] offsets, int length, int width,
+                                  int[] outLengths) {
+    for (int i = 0; i < length; i += 1) {
+      int start = offsets[i];
+      outLengths[i] = truncateUtf8(data, start, offsets[i + 1] - start, width);
+    }
+  }
+
+  public static void truncateInts(int[] values, int length, int width, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = truncateInt(values[i], width);
+    }
+  }
+
+  public static void truncateLongs(long[] values, int length, long width, long[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = truncateLong(values[i], width);
+    }
+  }
+
+  public static void datesToYears(int[] days, int length, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = dateToYear(days[i]);
+    }
+  }
+
+  public static void datesToMonths(int[] days, int length, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = dateToMonth(days[i]);
+    }
+  }
+
+  public static void timestampsToYears(long[] micros, int length, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = timestampToYear(micros[i]);
+    }
+  }
+
+  public static void timestampsToMonths(long[] micros, int length, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = timestampToMonth(micros[i]);
+    }
+  }
+
+  public static void timestampsToDays(long[] micros, int length, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = timestampToDay(micros[i]);
+    }
+  }
+
+  public static void timestampsToHours(long[] micros, int length, int[] out) {
+    for (int i = 0; i < length; i += 1) {
+      out[i] = timestampToHour(micros[i]);
+    }
+  }
+
+  private static int bucket(int hash, int numBuckets) {
+    return (hash & Integer.MAX_VALUE) % numBuckets;
+  }
+
+  /**
+   * Returns the number of whole months from 1970-01-01 to the given day, rounded toward zero.
+   * <p>
+   * This matches {@code ChronoUnit.MONTHS.between} and converts the day to a year, month, and day
+   * of month using the same algorithm as {@code LocalDate.ofEpochDay}.
+   */
+  private static int monthsFromEpoch(long epochDay) {
+    long zeroDay = epochDay + DAYS_0000_TO_1970;
+    // find the march-based year
+    zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+    long adjust = 0;
+    if (zeroDay < 0) {
+      // adjust negative years to positive for calculation
+      long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+      adjust = adjustCycles * 400;
+      zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+    }
+    long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+    long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+    if (doyEst < 0) {
+      // fix estimate
+      yearEst -= 1;
+      doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+    }
+    yearEst += adjust;  // reset any negative year
+    int marchDoy0 = (int) doyEst;
+
+    // convert march-based values back to january-based
+    int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+    int month0 = (marchMonth0 + 2) % 12;
+    int dayOfMonth = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+    long year = yearEst + marchMonth0 / 10;
+
+    long packed = (year * 12 + month0) * 32 + dayOfMonth;
+    return (int) ((packed - PACKED_EPOCH) / 32);
+  }
+
+  static int hashLong(long value) {
+    int h1 = mixH1(0, mixK1((int) value));
+    h1 = mixH1(h1, mixK1((int) (value >>> 32)));
+    return fmix(h1, 8);
+  }
+
+  static int hashBytes(byte[] bytes, int offset, int length) {
+    int h1 = 0;
+    int end = offset + length;
+    int i = offset;
+    for (; i + 4 <= end; i += 4) {
+      int k1 = (bytes[i] & 0xFF) |
+          ((bytes[i + 1] & 0xFF) << 8) |
+          ((bytes[i + 2] & 0xFF) << 16) |
+          ((bytes[i + 3] & 0xFF) << 24);
+      h1 = mixH1(h1, mixK1(k1));
+    }
+
+    int k1 = 0;
+    for (int shift = 0; i < end; i += 1, shift += 8) {
+      k1 ^= (bytes[i] & 0xFF) << shift;
+    }
+    h1 ^= mixK1(k1);
+
+    return fmix(h1, length);
+  }
+
+  /**
+   * Hashes the UTF-8 encoding of a string. Unpaired surrogates are encoded as '?', like
+   * {@link String#getBytes(java.nio.charset.Charset)}.
+   */
+  static int hashUtf8(CharSequence value) {
+    int h1 = 0;
+    int buffer = 0;  // pending little-endian bytes
+    int shift = 0;   // bit offset of the next pending byte
+    int length = 0;  // total encoded length
+
+    int numChars = value.length();
+    for (int i = 0; i < numChars; i += 1) {
+      char c = value.charAt(i);
+      int codePoint;
+      int numBytes;
+      if (c < 0x80) {
+        codePoint = c;
+        numBytes = 1;
+      } else if (c < 0x800) {
+        codePoint = c;
+        numBytes = 2;
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i + 1 < numChars &&
+            Character.isLowSurrogate(value.charAt(i + 1))) {
+          codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+          numBytes = 4;
+          i += 1;
+        } else {
+          codePoint = '?';
+          numBytes = 1;
+        }
+      } else {
+        codePoint = c;
+        numBytes = 3;
+      }
+
+      for (int b = 0; b < numBytes; b += 1) {
+        int next;
+        if (numBytes == 1) {
+          next = codePoint;
+        } else if (b == 0) {
+          // lead byte: 110xxxxx, 1110xxxx, or 11110xxx
+          next = ((0xF00 >> numBytes) & 0xFF) | (codePoint >>> (6 * (numBytes - 1)));
+        } else {
+          next = 0x80 | ((codePoint >>> (6 * (numBytes - 1 - b))) & 0x3F);
+        }
+
+        buffer |= (next & 0xFF) << shift;
+        shift += 8;
+        length += 1;
+        if (shift == 32) {
+          h1 = mixH1(h1, mixK1(buffer));
+          buffer = 0;
+          shift = 0;
+        }
+      }
+    }
+
+    h1 ^= mixK1(buffer);
+    return fmix(h1, length);
+  }
+
+  private static int mixK1(int k1) {
+    k1 *= C1;
+    k1 = Integer.rotateLeft(k1, 15);
+    k1 *= C2;
+    return k1;
+  }
+
+  private static int mixH1(int h1, int k1) {
+    h1 ^= k1;
+    h1 = Integer.rotateLeft(h1, 13);
+    h1 = h1 * 5 + 0xe6546b64;
+    return h1;
+  }
+
+  private static int fmix(int h1, int length) {
+    h1 ^= length;
+    h1 ^= h1 >>> 16;
+    h1 *= 0x85ebca6b;
+    h1 ^= h1 >>> 13;
+    h1 *= 0xc2b2ae35;
+    h1 ^= h1 >>> 16;
+    return h1;
+  }
+}
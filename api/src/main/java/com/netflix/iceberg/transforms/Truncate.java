@@ -18,6 +18,7 @@ package com.netflix.iceberg.transforms;
 
 import com.google.common.base.Objects;
 import com.netflix.iceberg.expressions.BoundPredicate;
+import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.expressions.Expressions;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import com.netflix.iceberg.types.Type;
@@ -56,16 +57,20 @@ abstract class Truncate<T> implements Transform<T, T> {
     return sourceType;
   }
 
-  private static class TruncateInteger extends Truncate<Integer> {
+  static class TruncateInteger extends Truncate<Integer> {
     private final int W;
 
     private TruncateInteger(int width) {
       this.W = width;
     }
 
+    int width() {
+      return W;
+    }
+
     @Override
     public Integer apply(Integer value) {
-      return value - (((value % W) + W) % W);
+      return TransformKernels.truncateInt(value, W);
     }
 
     @Override
@@ -112,10 +117,8 @@ abstract class Truncate<T> implements Transform<T, T> {
         case GT_EQ:
         case EQ:
         case NOT_EQ:
-//        case IN:
-//          break;
-//        case NOT_IN:
-//          break;
+        case IN:
+        case NOT_IN:
         default:
           return null;
       }
@@ -145,16 +148,20 @@ abstract class Truncate<T> implements Transform<T, T> {
     }
   }
 
-  private static class TruncateLong extends Truncate<Long> {
+  static class TruncateLong extends Truncate<Long> {
     private final int W;
 
     private TruncateLong(int width) {
       this.W = width;
     }
 
+    int width() {
+      return W;
+    }
+
     @Override
     public Long apply(Long value) {
-      return value - (((value % W) + W) % W);
+      return TransformKernels.truncateLong(value, W);
     }
 
     @Override
@@ -196,16 +203,20 @@ abstract class Truncate<T> implements Transform<T, T> {
     }
   }
 
-  private static class TruncateString extends Truncate<CharSequence> {
+  static class TruncateString extends Truncate<CharSequence> {
     private final int L;
 
     private TruncateString(int length) {
       this.L = length;
     }
 
+    int width() {
+      return L;
+    }
+
     @Override
     public CharSequence apply(CharSequence value) {
-      return value.subSequence(0, Math.min(value.length(), L));
+      return TransformKernels.truncateString(value, L);
     }
 
     @Override
@@ -216,13 +227,46 @@ abstract class Truncate<T> implements Transform<T, T> {
     @Override
     public UnboundPredicate<CharSequence> project(String name,
                                                   BoundPredicate<CharSequence> pred) {
-      return ProjectionUtil.truncateArray(name, pred, this);
+      switch (pred.op()) {
+        case STARTS_WITH:
+          CharSequence prefix = pred.literal().value();
+          if (prefix.length() >= L) {
+            // every matching value is truncated to the prefix's first L chars
+            return Expressions.predicate(Expression.Operation.EQ, name, apply(prefix));
+          }
+          // the prefix is shorter than the width, so truncation keeps it in matching values
+          return Expressions.predicate(Expression.Operation.STARTS_WITH, name, prefix);
+        case NOT_STARTS_WITH:
+          if (pred.literal().value().length() <= L) {
+            // whether a value starts with the prefix is determined by its truncated value
+            return Expressions.predicate(Expression.Operation.NOT_STARTS_WITH, name,
+                pred.literal().value());
+          }
+          return null;
+        default:
+          return ProjectionUtil.truncateArray(name, pred, this);
+      }
     }
 
     @Override
     public UnboundPredicate<CharSequence> projectStrict(String name,
                                                         BoundPredicate<CharSequence> predicate) {
-      return null;
+      CharSequence prefix;
+      switch (predicate.op()) {
+        case STARTS_WITH:
+          prefix = predicate.literal().value();
+          if (prefix.length() <= L) {
+            // whether a value starts with the prefix is determined by its truncated value
+            return Expressions.predicate(Expression.Operation.STARTS_WITH, name, prefix);
+          }
+          return null;
+        case NOT_STARTS_WITH:
+          prefix = predicate.literal().value();
+          // values that do not start with the truncated prefix cannot start with the prefix
+          return Expressions.predicate(Expression.Operation.NOT_STARTS_WITH, name, apply(prefix));
+        default:
+          return null;
+      }
     }
 
     @Override
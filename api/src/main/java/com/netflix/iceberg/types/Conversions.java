@@ -18,6 +18,13 @@ package com.netflix.iceberg.types;
 
 import com.google.common.base.Charsets;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
 import java.util.Arrays;
 import java.util.UUID;
 
@@ -57,4 +64,114 @@ public class Conversions {
             "Unsupported type for fromPartitionString: " + type);
     }
   }
+
+  private static final ThreadLocal<CharsetEncoder> ENCODER =
+      ThreadLocal.withInitial(Charsets.UTF_8::newEncoder);
+  private static final ThreadLocal<CharsetDecoder> DECODER =
+      ThreadLocal.withInitial(Charsets.UTF_8::newDecoder);
+
+  /**
+   * Serializes a single value to bytes, for storing values like column bounds in metadata.
+   * <p>
+   * Numbers, dates, times, and timestamps are stored little-endian, strings are UTF-8, UUIDs are
+   * 16 bytes big-endian, and decimals are the big-endian two's complement unscaled value.
+   *
+   * @param type the value's type
+   * @param value a value
+   * @return a buffer with the serialized value, positioned at its start
+   */
+  public static ByteBuffer toByteBuffer(Type type, Object value) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return ByteBuffer.allocate(1).put(0, (Boolean) value ? (byte) 0x01 : (byte) 0x00);
+      case INTEGER:
+      case DATE:
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, (int) value);
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, (long) value);
+      case FLOAT:
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(0, (float) value);
+      case DOUBLE:
+        return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(0, (double) value);
+      case STRING:
+        CharBuffer buffer = CharBuffer.wrap((CharSequence) value);
+        try {
+          return ENCODER.get().encode(buffer);
+        } catch (CharacterCodingException e) {
+          throw new IllegalArgumentException("Failed to encode value as UTF-8: " + value, e);
+        }
+      case UUID:
+        UUID uuid = (UUID) value;
+        return ByteBuffer.allocate(16).order(ByteOrder.BIG_ENDIAN)
+            .putLong(0, uuid.getMostSignificantBits())
+            .putLong(8, uuid.getLeastSignificantBits());
+      case FIXED:
+      case BINARY:
+        return ((ByteBuffer) value).duplicate();
+      case DECIMAL:
+        return ByteBuffer.wrap(((BigDecimal) value).unscaledValue().toByteArray());
+      default:
+        throw new UnsupportedOperationException("Cannot serialize type: " + type);
+    }
+  }
+
+  /**
+   * Deserializes a single value that was serialized by {@link #toByteBuffer(Type, Object)}.
+   *
+   * @param type the value's type
+   * @param buffer a buffer with a serialized value between its position and limit
+   * @param <T> the Java class of the type
+   * @return the deserialized value
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T fromByteBuffer(Type type, ByteBuffer buffer) {
+    if (buffer == null) {
+      return null;
+    }
+
+    ByteBuffer tmp = buffer.duplicate();
+    if (type.typeId() == Type.TypeID.UUID || type.typeId() == Type.TypeID.DECIMAL) {
+      tmp.order(ByteOrder.BIG_ENDIAN);
+    } else {
+      tmp.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return (T) (Boolean) (tmp.get() != 0x00);
+      case INTEGER:
+      case DATE:
+        return (T) (Integer) tmp.getInt();
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        return (T) (Long) tmp.getLong();
+      case FLOAT:
+        return (T) (Float) tmp.getFloat();
+      case DOUBLE:
+        return (T) (Double) tmp.getDouble();
+      case STRING:
+        try {
+          return (T) DECODER.get().decode(tmp).toString();
+        } catch (CharacterCodingException e) {
+          throw new IllegalArgumentException("Failed to decode value as UTF-8: " + buffer, e);
+        }
+      case UUID:
+        long mostSigBits = tmp.getLong();
+        long leastSigBits = tmp.getLong();
+        return (T) new UUID(mostSigBits, leastSigBits);
+      case FIXED:
+      case BINARY:
+        return (T) tmp;
+      case DECIMAL:
+        Types.DecimalType decimal = (Types.DecimalType) type;
+        byte[] unscaledBytes = new byte[tmp.remaining()];
+        tmp.get(unscaledBytes);
+        return (T) new BigDecimal(new BigInteger(unscaledBytes), decimal.scale());
+      default:
+        throw new UnsupportedOperationException("Cannot deserialize type: " + type);
+    }
+  }
 }
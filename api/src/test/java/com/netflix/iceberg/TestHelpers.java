@@ -26,6 +26,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 
 public class TestHelpers {
   public static <T> T assertAndUnwrap(Expression expr, Class<T> expected) {
@@ -104,4 +107,120 @@ public class TestHelpers {
       throw new UnsupportedOperationException("Setting values is not supported");
     }
   }
+
+  /**
+   * A {@link DataFile} with metrics for testing evaluators.
+   */
+  public static class TestDataFile implements DataFile {
+    private final String path;
+    private final long recordCount;
+    private final Map<Integer, Long> valueCounts;
+    private final Map<Integer, Long> nullValueCounts;
+    private final Map<Integer, ByteBuffer> lowerBounds;
+    private final Map<Integer, ByteBuffer> upperBounds;
+    private final Map<Integer, ByteBuffer> bloomFilters;
+
+    public TestDataFile(String path, long recordCount,
+                        Map<Integer, Long> valueCounts,
+                        Map<Integer, Long> nullValueCounts,
+                        Map<Integer, ByteBuffer> lowerBounds,
+                        Map<Integer, ByteBuffer> upperBounds) {
+      this(path, recordCount, valueCounts, nullValueCounts, lowerBounds, upperBounds, null);
+    }
+
+    public TestDataFile(String path, long recordCount,
+                        Map<Integer, Long> valueCounts,
+                        Map<Integer, Long> nullValueCounts,
+                        Map<Integer, ByteBuffer> lowerBounds,
+                        Map<Integer, ByteBuffer> upperBounds,
+                        Map<Integer, ByteBuffer> bloomFilters) {
+      this.path = path;
+      this.recordCount = recordCount;
+      this.valueCounts = valueCounts;
+      this.nullValueCounts = nullValueCounts;
+      this.lowerBounds = lowerBounds;
+      this.upperBounds = upperBounds;
+      this.bloomFilters = bloomFilters;
+    }
+
+    @Override
+    public CharSequence path() {
+      return path;
+    }
+
+    @Override
+    public FileFormat format() {
+      return FileFormat.fromFileName(path());
+    }
+
+    @Override
+    public StructLike partition() {
+      return null;
+    }
+
+    @Override
+    public long recordCount() {
+      return recordCount;
+    }
+
+    @Override
+    public long fileSizeInBytes() {
+      return 0;
+    }
+
+    @Override
+    public long blockSizeInBytes() {
+      return 0;
+    }
+
+    @Override
+    public Integer fileOrdinal() {
+      return null;
+    }
+
+    @Override
+    public List<Integer> sortColumns() {
+      return null;
+    }
+
+    @Override
+    public Map<Integer, Long> columnSizes() {
+      return null;
+    }
+
+    @Override
+    public Map<Integer, Long> valueCounts() {
+      return valueCounts;
+    }
+
+    @Override
+    public Map<Integer, Long> nullValueCounts() {
+      return nullValueCounts;
+    }
+
+    @Override
+    public Map<Integer, Long> distinctCounts() {
+      return null;
+    }
+
+    @Override
+    public Map<Integer, ByteBuffer> lowerBounds() {
+      return lowerBounds;
+    }
+
+    @Override
+    public Map<Integer, ByteBuffer> upperBounds() {
+      return upperBounds;
+    }
+
+    @Override
+    public Map<Integer, ByteBuffer> bloomFilters() {
+      return bloomFilters;
+    }
+
+    @Override
+    public DataFile copy() {
+      return this;
+    }
+  }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.expressions;
+
+import com.netflix.iceberg.ColumnBatch;
+import com.netflix.iceberg.ColumnVector;
+import com.netflix.iceberg.TestHelpers;
+import com.netflix.iceberg.types.Types;
+import com.netflix.iceberg.types.Types.StructType;
+import org.junit.Assert;
+import org.junit.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThan;
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.isNull;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.not;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notIn;
+import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.notStartsWith;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+
+public class TestBatchEvaluator {
+  private static final StructType STRUCT = StructType.of(
+      optional(1, "i", Types.IntegerType.get()),
+      optional(2, "l", Types.LongType.get()),
+      optional(3, "d", Types.DoubleType.get()),
+      optional(4, "s", Types.StringType.get()),
+      optional(5, "b", Types.BooleanType.get()),
+      optional(6, "f", Types.FloatType.get())
+  );
+
+  private static final int NUM_ROWS = 1000;
+  private static final String[] STRINGS = new String[] {
+      "", "a", "ab", "abc", "b", "\u00e9t\u00e9", "\uFFFD", "\uD83D\uDE00", "a\uD83D\uDE00" };
+
+  @Test
+  public void testMatchesRowEvaluator() {
+    Random random = new Random(34);
+    TestHelpers.Row[] rows = new TestHelpers.Row[NUM_ROWS];
+    ColumnBatch batch = randomBatch(random, rows);
+
+    List<Expression> exprs = Arrays.asList(
+        lessThan("i", 5), lessThanOrEqual("i", 5), greaterThan("i", 5),
+        greaterThanOrEqual("l", 5L), equal("l", 3L), notEqual("l", 3L),
+        lessThan("d", 0.5D), greaterThan("f", 0.5F), equal("b", true),
+        lessThan("s", "ab"), greaterThanOrEqual("s", "ab"), equal("s", "\u00e9t\u00e9"),
+        lessThan("s", "\uFFFD"), greaterThan("s", "\uFFFD"), lessThanOrEqual("s", "a\uFFFD"),
+        greaterThan("s", "\uD83D\uDE00"),
+        isNull("i"), notNull("s"),
+        in("i", 1, 3, 5, 7), notIn("l", 2L, 4L), in("s", "a", "abc"), notIn("s", "", "b"),
+        in("d", 0.0D, 1.0D), in("b", false),
+        startsWith("s", "ab"), notStartsWith("s", "a"), startsWith("s", "\u00e9"),
+        and(greaterThan("i", 2), lessThan("l", 8L)),
+        or(isNull("d"), equal("s", "abc")),
+        or(and(lessThan("i", 3), notNull("s")), in("l", 7L, 8L)),
+        not(and(notNull("f"), lessThanOrEqual("i", 7)))
+    );
+
+    int[] selection = new int[NUM_ROWS];
+    for (Expression expr : exprs) {
+      Evaluator rowEvaluator = new Evaluator(STRUCT, expr);
+      BatchEvaluator batchEvaluator = new BatchEvaluator(STRUCT, expr);
+
+      int count = batchEvaluator.eval(batch, selection);
+      long[] bitmap = batchEvaluator.evalBitmap(batch);
+
+      int expectedCount = 0;
+      for (int row = 0; row < NUM_ROWS; row += 1) {
+        boolean expected = rowEvaluator.eval(rows[row]);
+        if (expected) {
+          Assert.assertEquals("Selection should contain row " + row + " for " + expr,
+              row, selection[expectedCount]);
+          expectedCount += 1;
+        }
+        Assert.assertEquals("Bitmap should match for row " + row + " and " + expr,
+            expected, ColumnVector.isSet(bitmap, row));
+      }
+      Assert.assertEquals("Selection size should match for " + expr, expectedCount, count);
+    }
+  }
+
+  private static ColumnBatch randomBatch(Random random, TestHelpers.Row[] rows) {
+    int[] ints = new int[NUM_ROWS];
+    long[] longs = new long[NUM_ROWS];
+    double[] doubles = new double[NUM_ROWS];
+    boolean[] booleans = new boolean[NUM_ROWS];
+    float[] floats = new float[NUM_ROWS];
+    int[] offsets = new int[NUM_ROWS + 1];
+    byte[][] strings = new byte[NUM_ROWS][];
+    long[][] nulls = new long[6][];
+    for (int col = 0; col < nulls.length; col += 1) {
+      nulls[col] = ColumnVector.newBitmap(NUM_ROWS);
+    }
+
+    int dataLength = 0;
+    for (int row = 0; row < NUM_ROWS; row += 1) {
+      Object[] values = new Object[6];
+      ints[row] = random.nextInt(10);
+      longs[row] = random.nextInt(10);
+      doubles[row] = random.nextInt(3) / 2.0D;
+      booleans[row] = random.nextBoolean();
+      floats[row] = random.nextInt(3) / 2.0F;
+      String str = STRINGS[random.nextInt(STRINGS.length)];
+      strings[row] = str.getBytes(StandardCharsets.UTF_8);
+      values[0] = ints[row];
+      values[1] = longs[row];
+      values[2] = doubles[row];
+      values[3] = str;
+      values[4] = booleans[row];
+      values[5] = floats[row];
+
+      for (int col = 0; col < values.length; col += 1) {
+        if (random.nextInt(10) == 0) {
+          ColumnVector.set(nulls[col], row);
+          values[col] = null;
+        }
+      }
+
+      if (values[3] == null) {
+        strings[row] = new byte[0];
+      }
+      offsets[row] = dataLength;
+      dataLength += strings[row].length;
+      rows[row] = TestHelpers.Row.of(values);
+    }
+    offsets[NUM_ROWS] = dataLength;
+
+    byte[] data = new byte[dataLength];
+    for (int row = 0; row < NUM_ROWS; row += 1) {
+      System.arraycopy(strings[row], 0, data, offsets[row], strings[row].length);
+    }
+
+    return new ColumnBatch(NUM_ROWS,
+        ColumnVector.ofInts(ints, nulls[0]),
+        ColumnVector.ofLongs(longs, nulls[1]),
+        ColumnVector.ofDoubles(doubles, nulls[2]),
+        ColumnVector.ofBytes(data, offsets, nulls[3]),
+        ColumnVector.ofBooleans(booleans, nulls[4]),
+        ColumnVector.ofFloats(floats, nulls[5]));
+  }
+}
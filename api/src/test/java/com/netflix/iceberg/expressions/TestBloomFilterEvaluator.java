@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.iceberg.BloomFilter;
+import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.TestHelpers.TestDataFile;
+import com.netflix.iceberg.types.Types.IntegerType;
+import com.netflix.iceberg.types.Types.LongType;
+import com.netflix.iceberg.types.Types.StringType;
+import org.junit.Assert;
+import org.junit.Test;
+import java.nio.ByteBuffer;
+
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThan;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.not;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestBloomFilterEvaluator {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", IntegerType.get()),
+      optional(2, "name", StringType.get()),
+      optional(3, "no_filter", IntegerType.get())
+  );
+
+  private static final DataFile FILE = new TestDataFile("file.parquet", 100,
+      null, null, null, null,
+      ImmutableMap.of(
+          1, filter(IntegerType.get(), 0, 100),
+          2, filter(StringType.get(), 0, 100)));
+
+  private static ByteBuffer filter(com.netflix.iceberg.types.Type type, int start, int end) {
+    BloomFilter filter = BloomFilter.create(0.01, 4096);
+    for (int i = start; i < end; i += 1) {
+      Object value = type instanceof StringType ? "name-" + i : i;
+      filter.add(BloomFilter.hash(type, value));
+    }
+    return filter.toByteBuffer();
+  }
+
+  private static boolean eval(Expression expr) {
+    return new BloomFilterEvaluator(SCHEMA, expr).eval(FILE);
+  }
+
+  @Test
+  public void testEq() {
+    Assert.assertTrue("Should read: id 34 was added", eval(equal("id", 34)));
+    Assert.assertFalse("Should skip: id 1000 was not added", eval(equal("id", 1000)));
+    Assert.assertTrue("Should read: name-7 was added", eval(equal("name", "name-7")));
+    Assert.assertFalse("Should skip: name-x was not added", eval(equal("name", "name-x")));
+    Assert.assertTrue("Should read: no filter for column", eval(equal("no_filter", 1000)));
+  }
+
+  @Test
+  public void testUsesBloomFilters() {
+    Assert.assertTrue("Should use filters for eq",
+        new BloomFilterEvaluator(SCHEMA, equal("id", 34)).usesBloomFilters());
+    Assert.assertTrue("Should use filters for in",
+        new BloomFilterEvaluator(SCHEMA, or(greaterThan("id", 5), in("name", "a", "b")))
+            .usesBloomFilters());
+    Assert.assertFalse("Should not use filters for range predicates",
+        new BloomFilterEvaluator(SCHEMA, and(greaterThan("id", 5), notEqual("name", "a")))
+            .usesBloomFilters());
+  }
+
+  @Test
+  public void testIn() {
+    Assert.assertTrue("Should read: id 34 was added", eval(in("id", 1000, 34)));
+    Assert.assertFalse("Should skip: no id was added", eval(in("id", 1000, 2000, 3000)));
+    Assert.assertFalse("Should skip: no name was added", eval(in("name", "a", "b")));
+  }
+
+  @Test
+  public void testOtherPredicates() {
+    Assert.assertTrue("Should read: ranges are not tested", eval(greaterThan("id", 1000)));
+    Assert.assertTrue("Should read: notEq is not tested", eval(notEqual("id", 34)));
+    Assert.assertTrue("Should read: not(eq) is notEq", eval(not(equal("id", 1000))));
+  }
+
+  @Test
+  public void testAndOr() {
+    Assert.assertFalse("Should skip: one side cannot match",
+        eval(and(equal("id", 34), equal("name", "name-x"))));
+    Assert.assertTrue("Should read: one side may match",
+        eval(or(equal("id", 1000), equal("name", "name-7"))));
+    Assert.assertFalse("Should skip: neither side can match",
+        eval(or(equal("id", 1000), equal("name", "name-x"))));
+  }
+
+  @Test
+  public void testMissingFilters() {
+    DataFile noFilters = new TestDataFile("file.parquet", 100, null, null, null, null);
+    Assert.assertTrue("Should read: no Bloom filters",
+        new BloomFilterEvaluator(SCHEMA, equal("id", 1000)).eval(noFilters));
+  }
+
+  @Test
+  public void testPromotedColumn() {
+    Schema promoted = new Schema(
+        required(1, "id", LongType.get()),
+        optional(2, "name", StringType.get())
+    );
+
+    Assert.assertTrue("Should read: int filters are valid after promotion to long",
+        new BloomFilterEvaluator(promoted, equal("id", 34L)).eval(FILE));
+    Assert.assertFalse("Should skip: id 1000 was not added",
+        new BloomFilterEvaluator(promoted, equal("id", 1000L)).eval(FILE));
+  }
+
+  @Test
+  public void testFolding() {
+    ByteBuffer small = filter(IntegerType.get(), 0, 10);
+    ByteBuffer large = filter(IntegerType.get(), 0, 1000);
+    Assert.assertTrue("Should fold a filter with few values",
+        small.remaining() < large.remaining());
+    Assert.assertTrue("Should not exceed the max size", large.remaining() <= 4096 + 1);
+
+    int falsePositives = 0;
+    for (int i = 0; i < 1000; i += 1) {
+      long hash = BloomFilter.hash(IntegerType.get(), i);
+      Assert.assertTrue("Should contain added values", BloomFilter.mightContain(large, hash));
+      if (BloomFilter.mightContain(large, BloomFilter.hash(IntegerType.get(), i + 1000))) {
+        falsePositives += 1;
+      }
+    }
+
+    Assert.assertTrue("Should keep false positives near the target: " + falsePositives,
+        falsePositives < 30);
+  }
+}
@@ -22,6 +22,8 @@ import com.netflix.iceberg.types.Types.StructType;
 import org.apache.avro.util.Utf8;
 import org.junit.Assert;
 import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.netflix.iceberg.expressions.Expressions.alwaysFalse;
 import static com.netflix.iceberg.expressions.Expressions.alwaysTrue;
@@ -29,13 +31,17 @@ import static com.netflix.iceberg.expressions.Expressions.and;
 import static com.netflix.iceberg.expressions.Expressions.equal;
 import static com.netflix.iceberg.expressions.Expressions.greaterThan;
 import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
 import static com.netflix.iceberg.expressions.Expressions.isNull;
 import static com.netflix.iceberg.expressions.Expressions.lessThan;
 import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
 import static com.netflix.iceberg.expressions.Expressions.not;
 import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notIn;
 import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.notStartsWith;
 import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
 import static com.netflix.iceberg.types.Types.NestedField.optional;
 import static com.netflix.iceberg.types.Types.NestedField.required;
 
@@ -46,6 +52,31 @@ public class TestEvaluatior {
       optional(15, "z", Types.IntegerType.get())
   );
 
+  @Test
+  public void testNestedFields() {
+    StructType struct = StructType.of(
+        required(16, "id", Types.LongType.get()),
+        optional(17, "event", StructType.of(
+            optional(18, "device", StructType.of(
+                optional(19, "os", Types.StringType.get()))))));
+
+    Evaluator evaluator = new Evaluator(struct, equal("event.device.os", "ios"));
+    Assert.assertTrue("ios = ios => true", evaluator.eval(
+        TestHelpers.Row.of(1L, TestHelpers.Row.of(TestHelpers.Row.of("ios")))));
+    Assert.assertFalse("android = ios => false", evaluator.eval(
+        TestHelpers.Row.of(1L, TestHelpers.Row.of(TestHelpers.Row.of("android")))));
+    Assert.assertFalse("null struct => false", evaluator.eval(
+        TestHelpers.Row.of(1L, TestHelpers.Row.of((Object) null))));
+
+    Evaluator nullOrLess = new Evaluator(struct,
+        or(isNull("event.device.os"), lessThan("event.device.os", "b")));
+    Assert.assertTrue("null parent => os is null", nullOrLess.eval(TestHelpers.Row.of(1L, null)));
+    Assert.assertTrue("a < b => true", nullOrLess.eval(
+        TestHelpers.Row.of(1L, TestHelpers.Row.of(TestHelpers.Row.of("a")))));
+    Assert.assertFalse("c < b => false", nullOrLess.eval(
+        TestHelpers.Row.of(1L, TestHelpers.Row.of(TestHelpers.Row.of("c")))));
+  }
+
   @Test
   public void testLessThan() {
     Evaluator evaluator = new Evaluator(STRUCT, lessThan("x", 7));
@@ -151,4 +182,105 @@ public class TestEvaluatior {
     Assert.assertFalse("string(abc) == utf8(abcd) => false",
         evaluator.eval(TestHelpers.Row.of(new Utf8("abcd"))));
   }
+
+  @Test
+  public void testIn() {
+    Evaluator evaluator = new Evaluator(STRUCT, in("x", 7, 8, 9L));
+    Assert.assertTrue("7 in (7, 8, 9) => true", evaluator.eval(TestHelpers.Row.of(7, 8, null)));
+    Assert.assertTrue("9 in (7, 8, 9) => true", evaluator.eval(TestHelpers.Row.of(9, 8, null)));
+    Assert.assertFalse("6 in (7, 8, 9) => false", evaluator.eval(TestHelpers.Row.of(6, 8, null)));
+
+    Evaluator nullable = new Evaluator(STRUCT, in("z", 7, 8));
+    Assert.assertFalse("null in (7, 8) => false", nullable.eval(TestHelpers.Row.of(7, 8, null)));
+  }
+
+  @Test
+  public void testNotIn() {
+    Evaluator evaluator = new Evaluator(STRUCT, notIn("x", 7, 8, 9));
+    Assert.assertFalse("7 not in (7, 8, 9) => false",
+        evaluator.eval(TestHelpers.Row.of(7, 8, null)));
+    Assert.assertTrue("6 not in (7, 8, 9) => true",
+        evaluator.eval(TestHelpers.Row.of(6, 8, null)));
+
+    Evaluator nullable = new Evaluator(STRUCT, notIn("z", 7, 8));
+    Assert.assertTrue("null not in (7, 8) => true", nullable.eval(TestHelpers.Row.of(7, 8, null)));
+
+    Evaluator negated = new Evaluator(STRUCT, not(in("x", 7, 8, 9)));
+    Assert.assertTrue("not(6 in (7, 8, 9)) => true",
+        negated.eval(TestHelpers.Row.of(6, 8, null)));
+  }
+
+  @Test
+  public void testInCharSeqValue() {
+    StructType struct = StructType.of(required(34, "s", Types.StringType.get()));
+    Evaluator evaluator = new Evaluator(struct, in("s", "abc", "def"));
+    Assert.assertTrue("utf8(abc) in (abc, def) => true",
+        evaluator.eval(TestHelpers.Row.of(new Utf8("abc"))));
+    Assert.assertFalse("utf8(abcd) in (abc, def) => false",
+        evaluator.eval(TestHelpers.Row.of(new Utf8("abcd"))));
+  }
+
+  @Test
+  public void testStartsWith() {
+    StructType struct = StructType.of(optional(34, "s", Types.StringType.get()));
+    Evaluator evaluator = new Evaluator(struct, startsWith("s", "abc"));
+    Assert.assertTrue("abcd startsWith abc => true",
+        evaluator.eval(TestHelpers.Row.of("abcd")));
+    Assert.assertTrue("utf8(abc) startsWith abc => true",
+        evaluator.eval(TestHelpers.Row.of(new Utf8("abc"))));
+    Assert.assertFalse("ab startsWith abc => false",
+        evaluator.eval(TestHelpers.Row.of("ab")));
+    Assert.assertFalse("xabc startsWith abc => false",
+        evaluator.eval(TestHelpers.Row.of("xabc")));
+    Assert.assertFalse("null startsWith abc => false",
+        evaluator.eval(TestHelpers.Row.of((Object) null)));
+
+    Evaluator negated = new Evaluator(struct, not(startsWith("s", "abc")));
+    Assert.assertTrue("not(ab startsWith abc) => true",
+        negated.eval(TestHelpers.Row.of("ab")));
+    Assert.assertTrue("not(null startsWith abc) => true",
+        negated.eval(TestHelpers.Row.of((Object) null)));
+  }
+
+  @Test
+  public void testCompiledMatchesVisitor() {
+    StructType struct = StructType.of(
+        optional(1, "i", Types.IntegerType.get()),
+        optional(2, "l", Types.LongType.get()),
+        optional(3, "f", Types.FloatType.get()),
+        optional(4, "d", Types.DoubleType.get()),
+        optional(5, "s", Types.StringType.get()),
+        optional(6, "date", Types.DateType.get())
+    );
+
+    List<TestHelpers.Row> rows = Arrays.asList(
+        TestHelpers.Row.of(null, null, null, null, null, null),
+        TestHelpers.Row.of(6, 6L, 6.0F, 6.0D, "abc", 6),
+        TestHelpers.Row.of(7, 7L, 7.0F, 7.0D, "abd", 7),
+        TestHelpers.Row.of(8, 8L, Float.NaN, Double.NaN, new Utf8("abd"), 8),
+        TestHelpers.Row.of(-8, -8L, -0.0F, -0.0D, "", -8)
+    );
+
+    List<Expression> exprs = Arrays.asList(
+        lessThan("i", 7), lessThanOrEqual("l", 7L), greaterThan("f", 7.0F),
+        greaterThanOrEqual("d", 0.0D), equal("s", "abd"), notEqual("date", "1970-01-08"),
+        lessThan("f", 0.0F), equal("d", Double.NaN), greaterThan("s", "abc"),
+        isNull("i"), notNull("s"),
+        and(greaterThan("i", 6), lessThan("l", 8L)),
+        or(isNull("d"), equal("s", "abc")),
+        not(and(notNull("f"), lessThanOrEqual("i", 7))),
+        in("i", 6, 8, 10), notIn("l", 7L, -8L), in("s", "abc", "abd"), in("f", 7.0F, Float.NaN),
+        notIn("date", "1970-01-07", "1970-01-08"), in("d", -0.0D, 6.0D),
+        startsWith("s", "ab"), notStartsWith("s", "abd")
+    );
+
+    for (Expression expr : exprs) {
+      Evaluator compiled = new Evaluator(struct, expr);
+      Evaluator visitor = new Evaluator(struct, expr, false);
+      for (TestHelpers.Row row : rows) {
+        Assert.assertEquals("Compiled result should match visitor for " + expr,
+            visitor.eval(row), compiled.eval(row));
+      }
+    }
+  }
 }
@@ -52,6 +52,17 @@ public class TestExpressionBinding {
     }
   }
 
+  @Test
+  public void testStartsWithRequiresString() {
+    try {
+      Binder.bind(STRUCT, Expressions.startsWith("x", "7"));
+      Assert.fail("Should not successfully bind startsWith to int field 'x'");
+    } catch (ValidationException e) {
+      Assert.assertTrue("Should complain about the field type",
+          e.getMessage().contains("Cannot bind STARTS_WITH to non-string field 'x'"));
+    }
+  }
+
   @Test(expected = IllegalStateException.class)
   public void testBoundExpressionFails() {
     Expression expr = not(equal("x", 7));
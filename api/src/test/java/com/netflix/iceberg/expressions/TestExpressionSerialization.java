@@ -22,6 +22,7 @@ import com.netflix.iceberg.expressions.Expression.Operation;
 import com.netflix.iceberg.types.Types;
 import org.junit.Assert;
 import org.junit.Test;
+import java.util.List;
 
 public class TestExpressionSerialization {
   @Test
@@ -44,7 +45,11 @@ public class TestExpressionSerialization {
         Expressions.not(Expressions.greaterThan("a", 10)),
         Expressions.and(Expressions.greaterThanOrEqual("a", 0), Expressions.lessThan("a", 3)),
         Expressions.or(Expressions.lessThan("a", 0), Expressions.greaterThan("a", 10)),
-        Expressions.equal("a", 5).bind(schema.asStruct())
+        Expressions.equal("a", 5).bind(schema.asStruct()),
+        Expressions.in("b", 1, 2, 3),
+        Expressions.notIn("c", "x", "y"),
+        Expressions.in("a", 1, 2, 3).bind(schema.asStruct()),
+        Expressions.notIn("a", 4L, 5L).bind(schema.asStruct())
     };
 
     for (Expression expression : expressions) {
@@ -107,6 +112,24 @@ public class TestExpressionSerialization {
       return true;
     }
 
+    if (left instanceof BoundPredicate && left.literal() == null) {
+      return ((BoundPredicate) left).literalSet().equals(((BoundPredicate) right).literalSet());
+    } else if (left instanceof UnboundPredicate && left.literal() == null) {
+      List<Literal> leftLiterals = ((UnboundPredicate) left).literals();
+      List<Literal> rightLiterals = ((UnboundPredicate) right).literals();
+      if (leftLiterals.size() != rightLiterals.size()) {
+        return false;
+      }
+      for (int i = 0; i < leftLiterals.size(); i += 1) {
+        Literal leftLiteral = leftLiterals.get(i);
+        if (leftLiteral.comparator()
+            .compare(leftLiteral.value(), rightLiterals.get(i).value()) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
     return left.literal().comparator()
         .compare(left.literal().value(), right.literal().value()) == 0;
   }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.TestHelpers.TestDataFile;
+import com.netflix.iceberg.types.Types.IntegerType;
+import com.netflix.iceberg.types.Types.StringType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThan;
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.isNull;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notIn;
+import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.notStartsWith;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
+import static com.netflix.iceberg.types.Conversions.toByteBuffer;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestInclusiveMetricsEvaluator {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", IntegerType.get()),
+      optional(2, "no_stats", IntegerType.get()),
+      optional(3, "some_nulls", IntegerType.get()),
+      optional(4, "all_nulls", StringType.get()),
+      required(5, "name", StringType.get())
+  );
+
+  private static final DataFile FILE = new TestDataFile("file.avro", 50,
+      // value counts
+      ImmutableMap.of(1, 50L, 3, 50L, 4, 50L, 5, 50L),
+      // null value counts
+      ImmutableMap.of(1, 0L, 3, 10L, 4, 50L, 5, 0L),
+      // lower bounds
+      ImmutableMap.of(
+          1, toByteBuffer(IntegerType.get(), 30),
+          3, toByteBuffer(IntegerType.get(), 30),
+          5, toByteBuffer(StringType.get(), "abc")),
+      // upper bounds
+      ImmutableMap.of(
+          1, toByteBuffer(IntegerType.get(), 79),
+          3, toByteBuffer(IntegerType.get(), 79),
+          5, toByteBuffer(StringType.get(), "abd")));
+
+  private static final DataFile SINGLE_VALUE = new TestDataFile("file.parquet", 50,
+      ImmutableMap.of(1, 50L),
+      ImmutableMap.of(1, 0L),
+      ImmutableMap.of(1, toByteBuffer(IntegerType.get(), 42)),
+      ImmutableMap.of(1, toByteBuffer(IntegerType.get(), 42)));
+
+  private static boolean eval(Expression expr) {
+    return new InclusiveMetricsEvaluator(SCHEMA, expr).eval(FILE);
+  }
+
+  @Test
+  public void testComparisons() {
+    Assert.assertFalse("No values < 30", eval(lessThan("id", 30)));
+    Assert.assertTrue("30 < 31", eval(lessThan("id", 31)));
+    Assert.assertFalse("No values <= 29", eval(lessThanOrEqual("id", 29)));
+    Assert.assertTrue("30 <= 30", eval(lessThanOrEqual("id", 30)));
+    Assert.assertFalse("No values > 79", eval(greaterThan("id", 79)));
+    Assert.assertTrue("79 > 78", eval(greaterThan("id", 78)));
+    Assert.assertFalse("No values >= 80", eval(greaterThanOrEqual("id", 80)));
+    Assert.assertTrue("79 >= 79", eval(greaterThanOrEqual("id", 79)));
+  }
+
+  @Test
+  public void testEquality() {
+    Assert.assertFalse("5 is below the lower bound", eval(equal("id", 5)));
+    Assert.assertTrue("30 is in range", eval(equal("id", 30)));
+    Assert.assertFalse("80 is above the upper bound", eval(equal("id", 80)));
+    Assert.assertTrue("Values other than 30 may exist", eval(notEqual("id", 30)));
+    Assert.assertFalse("All values are 42",
+        new InclusiveMetricsEvaluator(SCHEMA, notEqual("id", 42)).eval(SINGLE_VALUE));
+
+    Assert.assertFalse("All values are out of range", eval(in("id", 5, 6)));
+    Assert.assertTrue("50 is in range", eval(in("id", 5, 50)));
+    Assert.assertFalse("All values are 42",
+        new InclusiveMetricsEvaluator(SCHEMA, notIn("id", 42, 43)).eval(SINGLE_VALUE));
+  }
+
+  @Test
+  public void testNulls() {
+    Assert.assertFalse("No nulls in id", eval(isNull("id")));
+    Assert.assertTrue("Some nulls", eval(isNull("some_nulls")));
+    Assert.assertFalse("All nulls", eval(notNull("all_nulls")));
+    Assert.assertTrue("Some non-null values", eval(notNull("some_nulls")));
+    Assert.assertTrue("Nulls sort before all values", eval(lessThan("some_nulls", 30)));
+    Assert.assertFalse("Nulls are not greater than any value",
+        eval(greaterThan("some_nulls", 79)));
+  }
+
+  @Test
+  public void testStartsWith() {
+    Assert.assertTrue("Values may start with ab", eval(startsWith("name", "ab")));
+    Assert.assertTrue("Values may start with abc", eval(startsWith("name", "abc")));
+    Assert.assertFalse("All values are after aa", eval(startsWith("name", "aa")));
+    Assert.assertFalse("All values are before abe", eval(startsWith("name", "abe")));
+    Assert.assertFalse("All values start with ab", eval(notStartsWith("name", "ab")));
+    Assert.assertTrue("Values may not start with abc", eval(notStartsWith("name", "abc")));
+  }
+
+  @Test
+  public void testStringOrderAboveSurrogates() {
+    // rows compare strings in UTF-16 order, where U+1F600 (a surrogate pair) sorts before U+FFFD
+    DataFile emoji = new TestDataFile("file.parquet", 50,
+        ImmutableMap.of(5, 50L),
+        ImmutableMap.of(5, 0L),
+        ImmutableMap.of(5, toByteBuffer(StringType.get(), "\ud83d\ude00")),
+        ImmutableMap.of(5, toByteBuffer(StringType.get(), "\ud83d\ude00")));
+
+    Assert.assertTrue("U+1F600 < U+FFFD in UTF-16 order",
+        new InclusiveMetricsEvaluator(SCHEMA, lessThan("name", "\uFFFD")).eval(emoji));
+    Assert.assertTrue("U+1F600 <= U+FFFD in UTF-16 order",
+        new InclusiveMetricsEvaluator(SCHEMA, lessThanOrEqual("name", "\uFFFD")).eval(emoji));
+    Assert.assertFalse("Should use bounds for literals below U+D800",
+        new InclusiveMetricsEvaluator(SCHEMA, lessThan("name", "z")).eval(emoji));
+  }
+
+  @Test
+  public void testMissingMetrics() {
+    Assert.assertTrue("No stats", eval(isNull("no_stats")));
+    Assert.assertTrue("No stats", eval(lessThan("no_stats", 5)));
+    Assert.assertFalse("Empty files have no rows",
+        new InclusiveMetricsEvaluator(SCHEMA, greaterThan("id", 5)).eval(
+            new TestDataFile("empty.avro", 0, null, null, null, null)));
+  }
+}
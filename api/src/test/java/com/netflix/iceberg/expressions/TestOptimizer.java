@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.expressions;
+
+import com.google.common.collect.Sets;
+import com.netflix.iceberg.TestHelpers;
+import com.netflix.iceberg.types.Types;
+import com.netflix.iceberg.types.Types.StructType;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.netflix.iceberg.expressions.Expressions.alwaysFalse;
+import static com.netflix.iceberg.expressions.Expressions.alwaysTrue;
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThan;
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.isNull;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.not;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+
+public class TestOptimizer {
+  private static final StructType STRUCT = StructType.of(
+      optional(1, "x", Types.IntegerType.get()),
+      optional(2, "y", Types.LongType.get()),
+      optional(3, "s", Types.StringType.get())
+  );
+
+  @Test
+  public void testFoldConstants() {
+    Assert.assertEquals("Should remove alwaysTrue from and",
+        "ref(name=\"x\") > 5",
+        Optimizer.optimize(and(and(alwaysTrue(), greaterThan("x", 5)), alwaysTrue())).toString());
+    Assert.assertEquals("Should fold alwaysFalse in and",
+        alwaysFalse(), Optimizer.optimize(and(greaterThan("x", 5), not(alwaysTrue()))));
+    Assert.assertEquals("Should fold alwaysTrue in or",
+        alwaysTrue(), Optimizer.optimize(or(greaterThan("x", 5), not(alwaysFalse()))));
+  }
+
+  @Test
+  public void testRemoveDuplicates() {
+    Expression expr = Optimizer.optimize(
+        and(equal("s", "a"), and(notNull("x"), and(equal("s", "a"), notNull("x")))));
+    Assert.assertEquals("Should remove duplicate predicates",
+        "(not_null(ref(name=\"x\")) and ref(name=\"s\") == \"a\")", expr.toString());
+  }
+
+  @Test
+  public void testMergeRanges() {
+    Assert.assertEquals("Should keep the tighter lower bound",
+        "ref(name=\"x\") > 7",
+        Optimizer.optimize(and(greaterThan("x", 5), greaterThan("x", 7L))).toString());
+    Assert.assertEquals("Should prefer the exclusive bound for equal values",
+        "ref(name=\"x\") < 5",
+        Optimizer.optimize(and(lessThanOrEqual("x", 5), lessThan("x", 5))).toString());
+    Assert.assertEquals("Should convert a closed single-value range to equality",
+        "ref(name=\"x\") == 5",
+        Optimizer.optimize(and(greaterThanOrEqual("x", 5), lessThanOrEqual("x", 5))).toString());
+    Assert.assertEquals("Should drop bounds implied by equality",
+        "ref(name=\"x\") == 6",
+        Optimizer.optimize(and(equal("x", 6), and(greaterThan("x", 5), notEqual("x", 8))))
+            .toString());
+    Assert.assertEquals("Should keep the looser bound in or",
+        "ref(name=\"y\") < 10",
+        Optimizer.optimize(or(lessThan("y", 3L), or(lessThan("y", 10L), equal("y", 7L))))
+            .toString());
+  }
+
+  @Test
+  public void testContradictions() {
+    Assert.assertEquals("Disjoint ranges should be alwaysFalse",
+        alwaysFalse(), Optimizer.optimize(and(greaterThan("x", 7), lessThan("x", 5))));
+    Assert.assertEquals("Different equality values should be alwaysFalse",
+        alwaysFalse(), Optimizer.optimize(and(equal("x", 7), equal("x", 5))));
+    Assert.assertEquals("Equality outside of a range should be alwaysFalse",
+        alwaysFalse(), Optimizer.optimize(and(equal("x", 7), lessThanOrEqual("x", 5))));
+    Assert.assertEquals("Equality and inequality of a value should be alwaysFalse",
+        alwaysFalse(), Optimizer.optimize(and(equal("x", 7), not(equal("x", 7)))));
+    Assert.assertEquals("Open range with equal bounds should be alwaysFalse",
+        alwaysFalse(), Optimizer.optimize(and(greaterThan("x", 5), lessThanOrEqual("x", 5))));
+    Assert.assertEquals("Overlapping ranges should be alwaysTrue in or",
+        alwaysTrue(), Optimizer.optimize(or(greaterThan("x", 5), lessThan("x", 7))));
+  }
+
+  @Test
+  public void testMergeEqualityIntoIn() {
+    Expression expr = Optimizer.optimize(
+        or(equal("s", "a"), or(in("s", "b", "c"), equal("s", "a"))));
+    UnboundPredicate<?> pred = TestHelpers.assertAndUnwrapUnbound(expr);
+    Assert.assertEquals("Should be IN", Expression.Operation.IN, pred.op());
+    Assert.assertEquals("Should contain all values", 3, pred.literals().size());
+  }
+
+  @Test
+  public void testCanonicalOrder() {
+    Expression left = Optimizer.optimize(
+        and(or(isNull("s"), equal("y", 3L)), and(lessThan("x", 5), isNull("y"))));
+    Expression right = Optimizer.optimize(
+        and(isNull("y"), and(lessThan("x", 5), or(equal("y", 3L), isNull("s")))));
+    Assert.assertEquals("Equivalent expressions should have the same order",
+        left.toString(), right.toString());
+    Assert.assertEquals("Should order null checks, comparisons, then nested expressions",
+        "((is_null(ref(name=\"y\")) and ref(name=\"x\") < 5) and " +
+            "(is_null(ref(name=\"s\")) or ref(name=\"y\") == 3))",
+        left.toString());
+  }
+
+  @Test
+  public void testOptimizedEvaluation() {
+    List<Expression> exprs = Arrays.asList(
+        and(greaterThan("x", 5), greaterThan("x", 7)),
+        and(lessThanOrEqual("x", 5), and(notEqual("x", 3), notEqual("x", 9))),
+        and(greaterThanOrEqual("x", 5), lessThanOrEqual("x", 5)),
+        or(lessThan("x", 3), or(equal("x", 3), in("x", 4, 8))),
+        or(greaterThan("x", 5), greaterThanOrEqual("x", 5)),
+        or(lessThan("y", 3L), greaterThan("y", 3L)),
+        not(and(greaterThan("y", 0L), lessThan("y", 10L)))
+    );
+
+    List<Object> values = Arrays.asList(null, -1, 0, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    for (Expression expr : exprs) {
+      Expression optimized = Optimizer.optimize(expr);
+      Evaluator original = new Evaluator(STRUCT, expr, false);
+      Evaluator simplified = new Evaluator(STRUCT, optimized, false);
+      for (Object value : values) {
+        Long longValue = value == null ? null : ((Integer) value).longValue();
+        TestHelpers.Row row = TestHelpers.Row.of(value, longValue, null);
+        Assert.assertEquals("Optimized " + expr + " should match for " + value,
+            original.eval(row), simplified.eval(row));
+      }
+    }
+  }
+
+  @Test
+  public void testBoundExpressions() {
+    Expression bound = Binder.bind(STRUCT,
+        and(in("s", "a", "b"), and(greaterThan("s", "abc"), lessThan("s", "b"))));
+    Expression optimized = Optimizer.optimize(
+        and(bound, Binder.bind(STRUCT, lessThanOrEqual("s", "ab"))));
+    Assert.assertEquals("Should detect contradictions in bound string ranges",
+        alwaysFalse(), optimized);
+
+    Expression union = Optimizer.optimize(Binder.bind(STRUCT, or(in("x", 1, 2), equal("x", 3))));
+    BoundPredicate<Integer> pred = TestHelpers.assertAndUnwrap(union);
+    Assert.assertEquals("Should merge bound values", Sets.newHashSet(1, 2, 3),
+        Sets.newHashSet(pred.literalSet()));
+  }
+
+  @Test
+  public void testBoundEqualityUsesReferenceType() {
+    StructType struct = StructType.of(optional(4, "d", Types.DateType.get()));
+    Expression merged = Optimizer.optimize(Binder.bind(struct,
+        or(equal("d", "2018-01-01"), greaterThan("d", "2018-02-01"))));
+
+    BoundPredicate<?> eq = null;
+    for (Expression term : Arrays.asList(((Or) merged).getLeft(), ((Or) merged).getRight())) {
+      if (term.op() == Expression.Operation.EQ) {
+        eq = (BoundPredicate<?>) term;
+      }
+    }
+
+    Assert.assertNotNull("Should keep the equality term", eq);
+    Literal<Integer> expected = Literal.of("2018-01-01").to(Types.DateType.get());
+    Assert.assertEquals("Should use a date literal", expected.getClass(), eq.literal().getClass());
+    Assert.assertEquals("Should keep the date value", expected.value(), eq.literal().value());
+  }
+}
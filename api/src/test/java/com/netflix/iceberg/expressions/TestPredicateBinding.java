@@ -16,6 +16,8 @@
 
 package com.netflix.iceberg.expressions;
 
+import com.google.common.collect.Sets;
+import com.netflix.iceberg.TestHelpers;
 import com.netflix.iceberg.exceptions.ValidationException;
 import com.netflix.iceberg.types.Types;
 import com.netflix.iceberg.types.Types.StructType;
@@ -28,6 +30,7 @@ import java.util.List;
 import static com.netflix.iceberg.expressions.Expression.Operation.EQ;
 import static com.netflix.iceberg.expressions.Expression.Operation.GT;
 import static com.netflix.iceberg.expressions.Expression.Operation.GT_EQ;
+import static com.netflix.iceberg.expressions.Expression.Operation.IN;
 import static com.netflix.iceberg.expressions.Expression.Operation.IS_NULL;
 import static com.netflix.iceberg.expressions.Expression.Operation.LT;
 import static com.netflix.iceberg.expressions.Expression.Operation.LT_EQ;
@@ -78,6 +81,41 @@ public class TestPredicateBinding {
     }
   }
 
+  @Test
+  public void testNestedFields() {
+    StructType struct = StructType.of(
+        required(30, "id", Types.LongType.get()),
+        optional(31, "event", Types.StructType.of(
+            required(32, "device", Types.StructType.of(
+                required(33, "os", Types.StringType.get()))),
+            required(34, "tags", Types.ListType.ofRequired(35, Types.StructType.of(
+                required(36, "name", Types.StringType.get())))))));
+
+    Expression expr = new UnboundPredicate<>(EQ, ref("event.device.os"), "ios").bind(struct);
+    BoundPredicate<CharSequence> bound = assertAndUnwrap(expr);
+    Assert.assertEquals("Should reference the nested field ID", 33, bound.ref().fieldId());
+    Assert.assertTrue("Should be a nested reference", bound.ref().isNested());
+    Assert.assertEquals("Should use the field's position in its struct", 0, bound.ref().pos());
+
+    Assert.assertEquals("Should get the nested value", "ios", bound.ref().get(
+        TestHelpers.Row.of(1L, TestHelpers.Row.of(TestHelpers.Row.of("ios"), null))));
+    Assert.assertNull("Should return null when a parent struct is null",
+        bound.ref().get(TestHelpers.Row.of(1L, null)));
+
+    // the field is required, but its parent is optional so the value may be null
+    Expression isNull = new UnboundPredicate<>(IS_NULL, ref("event.device.os")).bind(struct);
+    Assert.assertEquals("Should not simplify IsNull below an optional struct",
+        IS_NULL, ((BoundPredicate<?>) isNull).op());
+
+    try {
+      new UnboundPredicate<>(EQ, ref("event.tags.name"), "a").bind(struct);
+      Assert.fail("Binding a field in a list should fail");
+    } catch (ValidationException e) {
+      Assert.assertTrue("Validation should complain about the list",
+          e.getMessage().contains("Cannot find field id 36"));
+    }
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void testComparisonPredicateBinding() {
@@ -299,4 +337,59 @@ public class TestPredicateBinding {
     Assert.assertEquals("NotNull inclusive a required field should be alwaysTrue",
         Expressions.alwaysTrue(), unbound.bind(required));
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testInBinding() {
+    StructType struct = StructType.of(required(23, "i", Types.IntegerType.get()));
+
+    Expression expr = Expressions.in("i", 1L, 2L, 2L, (long) Integer.MAX_VALUE + 1L).bind(struct);
+    BoundPredicate<Integer> bound = assertAndUnwrap(expr);
+    Assert.assertEquals("Should use the same operation", IN, bound.op());
+    Assert.assertEquals("Should use the correct field", 23, bound.ref().fieldId());
+    Assert.assertNull("Should not have a single literal value", bound.literal());
+    Assert.assertEquals("Should convert values and drop duplicates and values above max",
+        Sets.newHashSet(1, 2), Sets.newHashSet(bound.literalSet()));
+
+    Expression notIn = Expressions.notIn("i", 1L, 2L).bind(struct).negate();
+    Assert.assertEquals("Should negate to IN", IN, assertAndUnwrap(notIn).op());
+  }
+
+  @Test
+  public void testInSimplification() {
+    StructType struct = StructType.of(required(24, "i", Types.IntegerType.get()));
+
+    BoundPredicate<?> eq = assertAndUnwrap(Expressions.in("i", 5, 5).bind(struct));
+    Assert.assertEquals("Single-value IN should be EQ", EQ, eq.op());
+    Assert.assertEquals("Should use the single value", 5, eq.literal().value());
+
+    BoundPredicate<?> notEq = assertAndUnwrap(Expressions.notIn("i", 5).bind(struct));
+    Assert.assertEquals("Single-value NOT_IN should be NOT_EQ", NOT_EQ, notEq.op());
+
+    Assert.assertEquals("IN with no values in range should be alwaysFalse",
+        Expressions.alwaysFalse(),
+        Expressions.in("i", (long) Integer.MAX_VALUE + 1L).bind(struct));
+    Assert.assertEquals("NOT_IN with no values in range should be alwaysTrue",
+        Expressions.alwaysTrue(),
+        Expressions.notIn("i", (long) Integer.MIN_VALUE - 1L).bind(struct));
+  }
+
+  @Test
+  public void testSingleValueInWithConvertedTypes() {
+    StructType struct = StructType.of(
+        required(25, "d", Types.DateType.get()),
+        required(26, "ts", Types.TimestampType.withZone()));
+
+    BoundPredicate<?> dateEq = assertAndUnwrap(Expressions.in("d", "2018-01-01").bind(struct));
+    Assert.assertEquals("Single-value IN should be EQ", EQ, dateEq.op());
+    Assert.assertEquals("Should use the converted date",
+        Literal.of("2018-01-01").to(Types.DateType.get()).value(), dateEq.literal().value());
+
+    BoundPredicate<?> tsNotEq = assertAndUnwrap(
+        Expressions.notIn("ts", "2018-01-01T00:00:00+00:00").bind(struct));
+    Assert.assertEquals("Single-value NOT_IN should be NOT_EQ", NOT_EQ, tsNotEq.op());
+    Assert.assertEquals("Should use the converted timestamp",
+        Literal.of("2018-01-01T00:00:00+00:00").to(Types.TimestampType.withZone()).value(),
+        tsNotEq.literal().value());
+  }
 }
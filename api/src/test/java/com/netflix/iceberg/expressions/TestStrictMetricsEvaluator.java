@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.expressions;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.TestHelpers.TestDataFile;
+import com.netflix.iceberg.types.Types;
+import com.netflix.iceberg.types.Types.IntegerType;
+import com.netflix.iceberg.types.Types.StringType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThan;
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.isNull;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.not;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notIn;
+import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.notStartsWith;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
+import static com.netflix.iceberg.types.Conversions.toByteBuffer;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestStrictMetricsEvaluator {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", IntegerType.get()),
+      optional(2, "no_stats", IntegerType.get()),
+      optional(3, "some_nulls", StringType.get()),
+      optional(4, "all_nulls", StringType.get()),
+      required(5, "name", StringType.get()),
+      optional(6, "event", Types.StructType.of(
+          required(7, "os", StringType.get())))
+  );
+
+  private static final DataFile FILE = new TestDataFile("file.avro", 50,
+      // value counts
+      ImmutableMap.of(1, 50L, 3, 50L, 4, 50L, 5, 50L, 7, 50L),
+      // null value counts
+      ImmutableMap.of(1, 0L, 3, 10L, 4, 50L, 5, 0L, 7, 0L),
+      // lower bounds
+      ImmutableMap.of(
+          1, toByteBuffer(IntegerType.get(), 30),
+          3, toByteBuffer(StringType.get(), "a"),
+          5, toByteBuffer(StringType.get(), "abc"),
+          7, toByteBuffer(StringType.get(), "ios")),
+      // upper bounds
+      ImmutableMap.of(
+          1, toByteBuffer(IntegerType.get(), 79),
+          3, toByteBuffer(StringType.get(), "z"),
+          5, toByteBuffer(StringType.get(), "abd"),
+          7, toByteBuffer(StringType.get(), "ios")));
+
+  private static final DataFile SINGLE_VALUE = new TestDataFile("file.parquet", 50,
+      ImmutableMap.of(1, 50L),
+      ImmutableMap.of(1, 0L),
+      ImmutableMap.of(1, toByteBuffer(IntegerType.get(), 42)),
+      ImmutableMap.of(1, toByteBuffer(IntegerType.get(), 42)));
+
+  private static boolean eval(Expression expr) {
+    return new StrictMetricsEvaluator(SCHEMA, expr).eval(FILE);
+  }
+
+  @Test
+  public void testComparisons() {
+    Assert.assertTrue("All values < 80", eval(lessThan("id", 80)));
+    Assert.assertFalse("79 is not < 79", eval(lessThan("id", 79)));
+    Assert.assertTrue("All values <= 79", eval(lessThanOrEqual("id", 79)));
+    Assert.assertFalse("79 is not <= 78", eval(lessThanOrEqual("id", 78)));
+    Assert.assertTrue("All values > 29", eval(greaterThan("id", 29)));
+    Assert.assertFalse("30 is not > 30", eval(greaterThan("id", 30)));
+    Assert.assertTrue("All values >= 30", eval(greaterThanOrEqual("id", 30)));
+    Assert.assertFalse("30 is not >= 31", eval(greaterThanOrEqual("id", 31)));
+  }
+
+  @Test
+  public void testEquality() {
+    Assert.assertFalse("Range does not prove id = 30", eval(equal("id", 30)));
+    Assert.assertTrue("Single value proves id = 42",
+        new StrictMetricsEvaluator(SCHEMA, equal("id", 42)).eval(SINGLE_VALUE));
+    Assert.assertTrue("Single value proves id in (42, 43)",
+        new StrictMetricsEvaluator(SCHEMA, in("id", 42, 43)).eval(SINGLE_VALUE));
+
+    Assert.assertTrue("29 is below the lower bound", eval(notEqual("id", 29)));
+    Assert.assertTrue("80 is above the upper bound", eval(notEqual("id", 80)));
+    Assert.assertFalse("50 is in range", eval(notEqual("id", 50)));
+    Assert.assertFalse("Range does not prove id in (30, 31)", eval(in("id", 30, 31)));
+    Assert.assertTrue("All values are out of range", eval(notIn("id", 10, 85)));
+    Assert.assertFalse("50 is in range", eval(notIn("id", 10, 50)));
+  }
+
+  @Test
+  public void testNulls() {
+    Assert.assertTrue("No nulls in id", eval(notNull("id")));
+    Assert.assertFalse("Some nulls", eval(notNull("some_nulls")));
+    Assert.assertFalse("Some nulls", eval(isNull("some_nulls")));
+    Assert.assertTrue("All nulls", eval(isNull("all_nulls")));
+    Assert.assertFalse("Bounds do not cover null values",
+        eval(greaterThanOrEqual("some_nulls", "a")));
+  }
+
+  @Test
+  public void testStartsWith() {
+    Assert.assertTrue("Both bounds start with ab", eval(startsWith("name", "ab")));
+    Assert.assertFalse("Upper bound does not start with abc", eval(startsWith("name", "abc")));
+    Assert.assertTrue("All values are before b", eval(notStartsWith("name", "b")));
+    Assert.assertTrue("All values are after aa", eval(notStartsWith("name", "aa")));
+    Assert.assertFalse("Values may start with abc", eval(notStartsWith("name", "abc")));
+  }
+
+  @Test
+  public void testStringOrderAboveSurrogates() {
+    // rows compare strings in UTF-16 order, where U+1F600 (a surrogate pair) sorts before U+FFFD
+    DataFile replacementChars = new TestDataFile("file.parquet", 50,
+        ImmutableMap.of(5, 50L),
+        ImmutableMap.of(5, 0L),
+        ImmutableMap.of(5, toByteBuffer(StringType.get(), "\uFFFD")),
+        ImmutableMap.of(5, toByteBuffer(StringType.get(), "\uFFFD")));
+
+    Assert.assertFalse("U+FFFD is not < U+1F600 in UTF-16 order",
+        new StrictMetricsEvaluator(SCHEMA, lessThan("name", "\ud83d\ude00"))
+            .eval(replacementChars));
+    Assert.assertFalse("U+FFFD is not <= U+1F600 in UTF-16 order",
+        new StrictMetricsEvaluator(SCHEMA, lessThanOrEqual("name", "\ud83d\ude00"))
+            .eval(replacementChars));
+    Assert.assertTrue("Should use bounds for literals below U+D800",
+        new StrictMetricsEvaluator(SCHEMA, greaterThan("name", "z")).eval(replacementChars));
+  }
+
+  @Test
+  public void testMissingMetrics() {
+    Assert.assertFalse("No stats", eval(notNull("no_stats")));
+    Assert.assertFalse("No stats", eval(lessThan("no_stats", 5)));
+    Assert.assertTrue("Empty files have no rows that do not match",
+        new StrictMetricsEvaluator(SCHEMA, lessThan("id", 5)).eval(
+            new TestDataFile("empty.avro", 0, null, null, null, null)));
+  }
+
+  @Test
+  public void testNestedAndCompound() {
+    Assert.assertTrue("All values are ios", eval(equal("event.os", "ios")));
+    Assert.assertTrue("Every row matches one side",
+        eval(or(lessThan("id", 20), greaterThanOrEqual("id", 30))));
+    Assert.assertFalse("Only one side is proven",
+        eval(and(lessThan("id", 80), greaterThan("id", 50))));
+    Assert.assertTrue("Not is rewritten", eval(not(lessThan("id", 30))));
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.io;
+
+import com.netflix.iceberg.Files;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestPrefetchingInputStream {
+  private static final int FILE_LENGTH = 10000;
+  private static final int BLOCK_SIZE = 1024;
+  private static final int NUM_BLOCKS = 4;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private byte[] expected = null;
+  private PrefetchingInputFile file = null;
+
+  @Before
+  public void writeFile() throws IOException {
+    this.expected = new byte[FILE_LENGTH];
+    for (int i = 0; i < FILE_LENGTH; i += 1) {
+      expected[i] = (byte) (i % 251);
+    }
+
+    File local = temp.newFile();
+    try (OutputStream out = new FileOutputStream(local)) {
+      out.write(expected);
+    }
+
+    this.file = new PrefetchingInputFile(Files.localInput(local), BLOCK_SIZE, NUM_BLOCKS);
+  }
+
+  @Test
+  public void testSequentialReadAhead() throws IOException {
+    try (PrefetchingInputStream stream = file.newStream()) {
+      Assert.assertArrayEquals("Should read the whole file", expected, readAll(stream, 100));
+      Assert.assertEquals("Only the first read should miss", 1L, stream.misses());
+      Assert.assertTrue("Later reads should hit", stream.hits() > 0);
+      Assert.assertEquals("Should read to the end", -1, stream.read());
+    }
+  }
+
+  @Test
+  public void testReadAheadDisabled() throws IOException {
+    try (PrefetchingInputStream stream = file.newStream()) {
+      stream.setReadAhead(false);
+      Assert.assertArrayEquals("Should read the whole file", expected, readAll(stream, 1000));
+      Assert.assertEquals("Should not read from memory", 0L, stream.hits());
+      Assert.assertEquals("Hit rate should be 0", 0.0, stream.hitRate(), 0.0);
+    }
+  }
+
+  @Test
+  public void testHintedRanges() throws IOException {
+    try (PrefetchingInputStream stream = file.newStream()) {
+      stream.prefetch(2000, 3000);
+
+      stream.seek(2500);
+      assertRead(stream, 2500, 100);
+      Assert.assertEquals("Hinted read should hit", 1L, stream.hits());
+      Assert.assertEquals("Hinted read should not miss", 0L, stream.misses());
+
+      stream.seek(9000);
+      assertRead(stream, 9000, 100);
+      Assert.assertEquals("Read outside of hints should miss", 1L, stream.misses());
+      Assert.assertEquals("Hit rate should count both reads", 0.5, stream.hitRate(), 0.0);
+    }
+  }
+
+  @Test
+  public void testHintsBeyondWindow() throws IOException {
+    try (PrefetchingInputStream stream = file.newStream()) {
+      // more than NUM_BLOCKS blocks are hinted, so later blocks are fetched as earlier ones are read
+      stream.prefetch(0, FILE_LENGTH);
+      Assert.assertArrayEquals("Should read the whole file", expected, readAll(stream, 300));
+      Assert.assertEquals("Should not miss hinted ranges", 0L, stream.misses());
+    }
+  }
+
+  @Test
+  public void testSeekWithinWindow() throws IOException {
+    try (PrefetchingInputStream stream = file.newStream()) {
+      stream.prefetch(0, NUM_BLOCKS * BLOCK_SIZE);
+
+      stream.seek(2100);
+      assertRead(stream, 2100, 100);
+      stream.seek(100);
+      assertRead(stream, 100, 100);
+      Assert.assertEquals("Seek back within the window should hit", 2L, stream.hits());
+      Assert.assertEquals("Should not miss", 0L, stream.misses());
+    }
+  }
+
+  @Test
+  public void testSingleByteReads() throws IOException {
+    try (PrefetchingInputStream stream = file.newStream()) {
+      stream.prefetch(5000, 10);
+      stream.seek(5000);
+      for (int i = 5000; i < 5010; i += 1) {
+        Assert.assertEquals("Should read the byte at " + i, expected[i] & 0xFF, stream.read());
+      }
+      Assert.assertEquals("Should be at the end of the hinted range", 5010L, stream.getPos());
+      Assert.assertEquals("Should not miss", 0L, stream.misses());
+    }
+  }
+
+  @Test
+  public void testClosedStream() throws IOException {
+    PrefetchingInputStream stream = file.newStream();
+    stream.prefetch(0, BLOCK_SIZE);
+    stream.close();
+
+    try {
+      stream.read(new byte[10], 0, 10);
+      Assert.fail("Should not read from a closed stream");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testFetchError() throws IOException {
+    InputFile local = Files.localInput(temp.getRoot().listFiles()[0]);
+    AtomicBoolean failed = new AtomicBoolean(false);
+    InputFile failOnce = new InputFile() {
+      @Override
+      public long getLength() {
+        return local.getLength();
+      }
+
+      @Override
+      public SeekableInputStream newStream() {
+        if (failed.compareAndSet(false, true)) {
+          // the first stream is opened by the fetch task because reads are hinted first
+          throw new OutOfMemoryError("Test error");
+        }
+        return local.newStream();
+      }
+
+      @Override
+      public String location() {
+        return local.location();
+      }
+    };
+
+    PrefetchingInputFile failing = new PrefetchingInputFile(failOnce, BLOCK_SIZE, NUM_BLOCKS);
+    try (PrefetchingInputStream stream = failing.newStream()) {
+      stream.prefetch(0, FILE_LENGTH);
+      Assert.assertArrayEquals("Should read the whole file after a fetch error",
+          expected, readAll(stream, 300));
+      Assert.assertTrue("Should have thrown the error", failed.get());
+    }
+  }
+
+  private void assertRead(PrefetchingInputStream stream, int pos, int len) throws IOException {
+    byte[] actual = new byte[len];
+    Assert.assertEquals("Should read all bytes", len, stream.read(actual, 0, len));
+    Assert.assertArrayEquals("Should read the file contents at " + pos,
+        Arrays.copyOfRange(expected, pos, pos + len), actual);
+  }
+
+  private static byte[] readAll(PrefetchingInputStream stream, int readSize) throws IOException {
+    byte[] bytes = new byte[FILE_LENGTH];
+    int pos = 0;
+    while (pos < FILE_LENGTH) {
+      int bytesRead = stream.read(bytes, pos, Math.min(readSize, FILE_LENGTH - pos));
+      Assert.assertTrue("Should not reach the end early", bytesRead > 0);
+      pos += bytesRead;
+    }
+    return bytes;
+  }
+}
@@ -17,10 +17,12 @@
 package com.netflix.iceberg.transforms;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.expressions.BoundPredicate;
 import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.expressions.Expressions;
+import com.netflix.iceberg.expressions.Literal;
 import com.netflix.iceberg.expressions.Projections;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import com.netflix.iceberg.PartitionSpec;
@@ -28,6 +30,7 @@ import com.netflix.iceberg.types.Types;
 import org.junit.Assert;
 import org.junit.Test;
 import java.util.List;
+import java.util.Set;
 
 import static com.netflix.iceberg.TestHelpers.assertAndUnwrap;
 import static com.netflix.iceberg.TestHelpers.assertAndUnwrapUnbound;
@@ -112,4 +115,97 @@ public class TestProjection {
       }
     }
   }
+
+  @Test
+  public void testInProjection() {
+    UnboundPredicate<Long> in = Expressions.in("id", 5L, 6L, 15L, 106L);
+
+    PartitionSpec identity = PartitionSpec.builderFor(SCHEMA).identity("id").build();
+    UnboundPredicate<?> identityProjection = assertAndUnwrapUnbound(
+        Projections.inclusive(identity).project(in));
+    Assert.assertEquals("Operation should be IN", Expression.Operation.IN,
+        identityProjection.op());
+    Assert.assertEquals("Should project all values", 4, identityProjection.literals().size());
+
+    PartitionSpec truncate = PartitionSpec.builderFor(SCHEMA).truncate("id", 10).build();
+    UnboundPredicate<?> truncateProjection = assertAndUnwrapUnbound(
+        Projections.inclusive(truncate).project(in));
+    Assert.assertEquals("Operation should be IN", Expression.Operation.IN,
+        truncateProjection.op());
+    Assert.assertEquals("Should project truncated values", Sets.newHashSet(0L, 10L, 100L),
+        values(truncateProjection));
+
+    PartitionSpec bucket = PartitionSpec.builderFor(SCHEMA).bucket("id", 16).build();
+    UnboundPredicate<?> bucketProjection = assertAndUnwrapUnbound(
+        Projections.inclusive(bucket).project(in));
+    Transform<Long, Integer> bucketFunc = Transforms.bucket(Types.LongType.get(), 16);
+    Assert.assertEquals("Operation should be IN", Expression.Operation.IN,
+        bucketProjection.op());
+    Assert.assertEquals("Should project bucket values",
+        Sets.newHashSet(bucketFunc.apply(5L), bucketFunc.apply(6L), bucketFunc.apply(15L),
+            bucketFunc.apply(106L)),
+        values(bucketProjection));
+
+    UnboundPredicate<?> strictBucket = assertAndUnwrapUnbound(
+        Projections.strict(bucket).project(Expressions.notIn("id", 5L, 6L)));
+    Assert.assertEquals("Strict projection of NOT_IN should be NOT_IN",
+        Expression.Operation.NOT_IN, strictBucket.op());
+
+    Assert.assertEquals("NOT_IN can't be projected inclusively for truncate",
+        Expressions.alwaysTrue(),
+        Projections.inclusive(truncate).project(Expressions.notIn("id", 5L, 6L)));
+  }
+
+  @Test
+  public void testStartsWithProjection() {
+    Schema schema = new Schema(Types.NestedField.optional(1, "s", Types.StringType.get()));
+    PartitionSpec truncate = PartitionSpec.builderFor(schema).truncate("s", 3).build();
+
+    UnboundPredicate<?> longPrefix = assertAndUnwrapUnbound(
+        Projections.inclusive(truncate).project(Expressions.startsWith("s", "abcde")));
+    Assert.assertEquals("Long prefix should project to EQ", Expression.Operation.EQ,
+        longPrefix.op());
+    Assert.assertEquals("Should project the truncated prefix", "abc",
+        longPrefix.literal().value().toString());
+
+    UnboundPredicate<?> shortPrefix = assertAndUnwrapUnbound(
+        Projections.inclusive(truncate).project(Expressions.startsWith("s", "ab")));
+    Assert.assertEquals("Short prefix should project to STARTS_WITH",
+        Expression.Operation.STARTS_WITH, shortPrefix.op());
+    Assert.assertEquals("Should project the prefix", "ab",
+        shortPrefix.literal().value().toString());
+
+    UnboundPredicate<?> strictShort = assertAndUnwrapUnbound(
+        Projections.strict(truncate).project(Expressions.startsWith("s", "ab")));
+    Assert.assertEquals("Short prefix should project strictly to STARTS_WITH",
+        Expression.Operation.STARTS_WITH, strictShort.op());
+    Assert.assertEquals("Long prefix has no strict projection", Expressions.alwaysFalse(),
+        Projections.strict(truncate).project(Expressions.startsWith("s", "abcde")));
+
+    UnboundPredicate<?> strictNot = assertAndUnwrapUnbound(
+        Projections.strict(truncate).project(Expressions.notStartsWith("s", "abcde")));
+    Assert.assertEquals("Should project NOT_STARTS_WITH with the truncated prefix", "abc",
+        strictNot.literal().value().toString());
+    Assert.assertEquals("Long prefix NOT_STARTS_WITH can't be projected inclusively",
+        Expressions.alwaysTrue(),
+        Projections.inclusive(truncate).project(Expressions.notStartsWith("s", "abcde")));
+
+    PartitionSpec identity = PartitionSpec.builderFor(schema).identity("s").build();
+    UnboundPredicate<?> identityProjection = assertAndUnwrapUnbound(
+        Projections.inclusive(identity).project(Expressions.startsWith("s", "ab")));
+    Assert.assertEquals("Identity should project STARTS_WITH",
+        Expression.Operation.STARTS_WITH, identityProjection.op());
+
+    PartitionSpec bucket = PartitionSpec.builderFor(schema).bucket("s", 16).build();
+    Assert.assertEquals("STARTS_WITH can't be projected by bucket", Expressions.alwaysTrue(),
+        Projections.inclusive(bucket).project(Expressions.startsWith("s", "ab")));
+  }
+
+  private static Set<Object> values(UnboundPredicate<?> pred) {
+    Set<Object> values = Sets.newHashSet();
+    for (Literal<?> lit : pred.literals()) {
+      values.add(lit.value());
+    }
+    return values;
+  }
 }
@@ -23,6 +23,7 @@ import com.netflix.iceberg.expressions.ResidualEvaluator;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.types.Types;
+import org.apache.avro.util.Utf8;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -77,4 +78,37 @@ public class TestResiduals {
     residual = resEval.residualFor(Row.of(20170817));
     Assert.assertEquals("Residual should be alwaysFalse", alwaysFalse(), residual);
   }
+
+  @Test
+  public void testResidualsSharedByPartition() {
+    Schema schema = new Schema(
+        Types.NestedField.optional(50, "dateint", Types.IntegerType.get()),
+        Types.NestedField.optional(51, "hour", Types.IntegerType.get()),
+        Types.NestedField.optional(52, "category", Types.StringType.get())
+    );
+
+    PartitionSpec spec = PartitionSpec.builderFor(schema)
+        .identity("dateint")
+        .identity("category")
+        .build();
+
+    ResidualEvaluator resEval = new ResidualEvaluator(spec, or(
+        and(equal("dateint", 20170815), lessThan("hour", 12)),
+        equal("category", "a")));
+
+    Utf8 reused = new Utf8("b");
+    Expression first = resEval.residualFor(Row.of(20170815, reused));
+    Expression second = resEval.residualFor(Row.of(20170815, new Utf8("b")));
+    Assert.assertSame("Residuals for the same partition should be shared", first, second);
+
+    UnboundPredicate<?> unbound = assertAndUnwrapUnbound(first);
+    Assert.assertEquals("Residual should be hour < 12", LT, unbound.op());
+
+    // the cache key must not change when the caller reuses a mutable partition value
+    reused.set("a");
+    Assert.assertEquals("Residual should be alwaysTrue", alwaysTrue(),
+        resEval.residualFor(Row.of(20170815, reused)));
+    Assert.assertSame("Residual for the original partition should not change", first,
+        resEval.residualFor(Row.of(20170815, "b")));
+  }
 }
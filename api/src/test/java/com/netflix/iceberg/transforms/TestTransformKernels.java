@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.transforms;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.netflix.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+public class TestTransformKernels {
+  private static final HashFunction MURMUR3 = Hashing.murmur3_32();
+  private static final OffsetDateTime EPOCH = Instant.ofEpochSecond(0).atOffset(ZoneOffset.UTC);
+  private static final int NUM_VALUES = 10000;
+
+  @Test
+  public void testHashesMatchGuava() {
+    Random random = new Random(3791);
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      long value = random.nextLong();
+      Assert.assertEquals("Long hash should match Guava for " + value,
+          MURMUR3.hashLong(value).asInt(), TransformKernels.hashLong(value));
+
+      byte[] bytes = new byte[random.nextInt(20)];
+      random.nextBytes(bytes);
+      int offset = bytes.length > 0 ? random.nextInt(bytes.length) : 0;
+      Assert.assertEquals("Bytes hash should match Guava",
+          MURMUR3.hashBytes(bytes, offset, bytes.length - offset).asInt(),
+          TransformKernels.hashBytes(bytes, offset, bytes.length - offset));
+    }
+  }
+
+  @Test
+  public void testStringHashesMatchGuava() {
+    Random random = new Random(3792);
+    char[] alphabet = new char[] {
+        'a', 'Z', '0', '\u00e9', '\u07ff', '\u0800', '\u4e2d', '\uffff', '\ud83d', '\ude00' };
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      char[] chars = new char[random.nextInt(12)];
+      for (int j = 0; j < chars.length; j += 1) {
+        chars[j] = alphabet[random.nextInt(alphabet.length)];
+      }
+      String value = new String(chars);
+      Assert.assertEquals("String hash should match Guava",
+          MURMUR3.hashString(value, Charsets.UTF_8).asInt(), TransformKernels.hashUtf8(value));
+    }
+  }
+
+  @Test
+  public void testBucketsMatchTransforms() {
+    Transform<Integer, Integer> bucketInt = Transforms.bucket(Types.IntegerType.get(), 17);
+    Transform<Long, Integer> bucketLong = Transforms.bucket(Types.LongType.get(), 17);
+    Transform<CharSequence, Integer> bucketString = Transforms.bucket(Types.StringType.get(), 17);
+
+    Random random = new Random(3793);
+    int[] ints = new int[NUM_VALUES];
+    long[] longs = new long[NUM_VALUES];
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      ints[i] = random.nextInt();
+      longs[i] = random.nextLong();
+    }
+
+    int[] intBuckets = new int[NUM_VALUES];
+    int[] longBuckets = new int[NUM_VALUES];
+    TransformKernels.bucketInts(ints, NUM_VALUES, 17, intBuckets);
+    TransformKernels.bucketLongs(longs, NUM_VALUES, 17, longBuckets);
+
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      Assert.assertEquals("Int bucket should match",
+          (int) bucketInt.apply(ints[i]), intBuckets[i]);
+      Assert.assertEquals("Int kernel should match",
+          (int) bucketInt.apply(ints[i]), TransformKernels.intKernel(bucketInt).applyAsInt(ints[i]));
+      Assert.assertEquals("Long bucket should match",
+          (int) bucketLong.apply(longs[i]), longBuckets[i]);
+      Assert.assertEquals("Long kernel should match", (int) bucketLong.apply(longs[i]),
+          TransformKernels.longToIntKernel(bucketLong).applyAsInt(longs[i]));
+    }
+
+    Assert.assertEquals("String bucket should match", (int) bucketString.apply("iceberg"),
+        TransformKernels.bucketString("iceberg", 17));
+  }
+
+  @Test
+  public void testTruncate() {
+    Transform<Integer, Integer> truncateInt = Transforms.truncate(Types.IntegerType.get(), 10);
+    Transform<Long, Long> truncateLong = Transforms.truncate(Types.LongType.get(), 10);
+    int[] ints = new int[] { 0, 1, 9, 10, 11, -1, -10, -11 };
+    int[] truncated = new int[ints.length];
+    TransformKernels.truncateInts(ints, ints.length, 10, truncated);
+    Assert.assertArrayEquals("Should truncate ints toward negative infinity",
+        new int[] { 0, 0, 0, 10, 10, -10, -10, -20 }, truncated);
+
+    for (int value : ints) {
+      Assert.assertEquals("Int kernel should match", (int) truncateInt.apply(value),
+          TransformKernels.intKernel(truncateInt).applyAsInt(value));
+      Assert.assertEquals("Long kernel should match", (long) truncateLong.apply((long) value),
+          TransformKernels.longKernel(truncateLong).applyAsLong(value));
+    }
+  }
+
+  @Test
+  public void testUtf8MatchesStrings() {
+    Transform<CharSequence, Integer> bucket = Transforms.bucket(Types.StringType.get(), 17);
+    Transform<CharSequence, CharSequence> truncate = Transforms.truncate(
+        Types.StringType.get(), 3);
+    TransformKernels.Utf8ToIntFunction bucketKernel = TransformKernels.utf8BucketKernel(bucket);
+    TransformKernels.Utf8ToIntFunction truncateKernel =
+        TransformKernels.utf8TruncateKernel(truncate);
+
+    Random random = new Random(3796);
+    String[] alphabet = new String[] { "a", "Z", "\u00e9", "\u0800", "\u4e2d", "\ud83d\ude00" };
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      StringBuilder sb = new StringBuilder();
+      int numCodePoints = random.nextInt(8);
+      for (int j = 0; j < numCodePoints; j += 1) {
+        sb.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      String value = sb.toString();
+
+      // place the encoded value in a larger array to check offsets
+      byte[] encoded = value.getBytes(Charsets.UTF_8);
+      byte[] bytes = new byte[encoded.length + 4];
+      System.arraycopy(encoded, 0, bytes, 2, encoded.length);
+
+      Assert.assertEquals("Bucket should match for " + value, (int) bucket.apply(value),
+          bucketKernel.applyAsInt(bytes, 2, encoded.length));
+
+      String truncated = truncate.apply(value).toString();
+      Assert.assertEquals("Should cut at 3 chars like substring",
+          value.substring(0, Math.min(value.length(), 3)), truncated);
+      int truncatedLength = truncateKernel.applyAsInt(bytes, 2, encoded.length);
+      if (!truncated.isEmpty() &&
+          Character.isHighSurrogate(truncated.charAt(truncated.length() - 1))) {
+        Assert.assertEquals("Should not truncate bytes in a surrogate pair for " + value,
+            -1, truncatedLength);
+      } else {
+        Assert.assertEquals("Truncated string should match for " + value, truncated,
+            new String(bytes, 2, truncatedLength, Charsets.UTF_8));
+      }
+    }
+
+    Assert.assertNull("Should not return a bucket kernel for truncate",
+        TransformKernels.utf8BucketKernel(truncate));
+    Assert.assertNull("Should not return a truncate kernel for bucket",
+        TransformKernels.utf8TruncateKernel(bucket));
+  }
+
+  @Test
+  public void testDatesMatchJavaTime() {
+    Random random = new Random(3794);
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      // about +/- 1000 years and a dense range around the epoch
+      int days = (i % 2 == 0) ? random.nextInt(730_000) - 365_000 : random.nextInt(800) - 400;
+      OffsetDateTime date = EPOCH.plusDays(days);
+      Assert.assertEquals("Months should match for day " + days,
+          ChronoUnit.MONTHS.between(EPOCH, date), TransformKernels.dateToMonth(days));
+      Assert.assertEquals("Years should match for day " + days,
+          ChronoUnit.YEARS.between(EPOCH, date), TransformKernels.dateToYear(days));
+    }
+  }
+
+  @Test
+  public void testTimestampsMatchJavaTime() {
+    Random random = new Random(3795);
+    long range = 1000L * 366 * 24 * 3600 * 1_000_000;
+    long[] micros = new long[NUM_VALUES];
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      long value = (random.nextLong() % range);
+      // include values near unit boundaries
+      micros[i] = (i % 3 == 0) ? value - (value % 3_600_000_000L) + (i % 5) - 2 : value;
+    }
+
+    int[] years = new int[NUM_VALUES];
+    int[] months = new int[NUM_VALUES];
+    int[] days = new int[NUM_VALUES];
+    int[] hours = new int[NUM_VALUES];
+    TransformKernels.timestampsToYears(micros, NUM_VALUES, years);
+    TransformKernels.timestampsToMonths(micros, NUM_VALUES, months);
+    TransformKernels.timestampsToDays(micros, NUM_VALUES, days);
+    TransformKernels.timestampsToHours(micros, NUM_VALUES, hours);
+
+    for (int i = 0; i < NUM_VALUES; i += 1) {
+      OffsetDateTime ts = Instant.ofEpochSecond(micros[i] / 1_000_000).atOffset(ZoneOffset.UTC);
+      String context = " for " + micros[i];
+      Assert.assertEquals("Years should match" + context,
+          ChronoUnit.YEARS.between(EPOCH, ts), years[i]);
+      Assert.assertEquals("Months should match" + context,
+          ChronoUnit.MONTHS.between(EPOCH, ts), months[i]);
+      Assert.assertEquals("Days should match" + context,
+          ChronoUnit.DAYS.between(EPOCH, ts), days[i]);
+      Assert.assertEquals("Hours should match" + context,
+          ChronoUnit.HOURS.between(EPOCH, ts), hours[i]);
+    }
+  }
+}
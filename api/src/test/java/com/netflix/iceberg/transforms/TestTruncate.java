@@ -73,6 +73,15 @@ public class TestTruncate {
         "abc", trunc.apply("abc"));
   }
 
+  @Test
+  public void testTruncateStringSurrogatePair() {
+    Truncate<String> trunc = Truncate.get(Types.StringType.get(), 3);
+    Assert.assertEquals("Should count each half of a surrogate pair",
+        "a\ud83d\ude00", trunc.apply("a\ud83d\ude00bc"));
+    Assert.assertEquals("Should cut at the width even if it splits a surrogate pair",
+        "ab\ud83d", trunc.apply("ab\ud83d\ude00c"));
+  }
+
   @Test
   public void testTruncateByteBuffer() throws Exception {
     Truncate<ByteBuffer> trunc = Truncate.get(Types.BinaryType.get(), 4);
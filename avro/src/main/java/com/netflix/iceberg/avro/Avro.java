@@ -28,7 +28,9 @@ import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.specific.SpecificData;
 import java.io.IOException;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 public class Avro {
@@ -41,6 +43,61 @@ public class Avro {
     DEFAULT_MODEL.addLogicalTypeConversion(new UUIDConversion());
   }
 
+  /**
+   * Returns an Avro {@link CodecFactory} for a codec name.
+   * <p>
+   * Supported names are "null" (or "uncompressed"), "snappy", "bzip2", "deflate", and "xz".
+   * Deflate and xz accept a compression level as a suffix, like "deflate-1" or "xz-6".
+   *
+   * @param codec a codec name, with an optional level
+   * @return a CodecFactory for the codec
+   * @throws IllegalArgumentException if the codec or level is not supported
+   */
+  public static CodecFactory codec(String codec) {
+    Preconditions.checkNotNull(codec, "Codec name cannot be null");
+    String name = codec.trim().toLowerCase(Locale.ROOT);
+    Integer level = null;
+
+    int dash = name.lastIndexOf('-');
+    if (dash > 0) {
+      try {
+        level = Integer.parseInt(name.substring(dash + 1));
+        name = name.substring(0, dash);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid Avro codec level: " + codec, e);
+      }
+    }
+
+    switch (name) {
+      case "null":
+      case "uncompressed":
+        Preconditions.checkArgument(level == null, "Codec does not support levels: %s", codec);
+        return CodecFactory.nullCodec();
+      case "snappy":
+        Preconditions.checkArgument(level == null, "Codec does not support levels: %s", codec);
+        return CodecFactory.snappyCodec();
+      case "bzip2":
+        Preconditions.checkArgument(level == null, "Codec does not support levels: %s", codec);
+        return CodecFactory.bzip2Codec();
+      case "deflate":
+        if (level == null) {
+          return CodecFactory.deflateCodec(CodecFactory.DEFAULT_DEFLATE_LEVEL);
+        }
+        Preconditions.checkArgument(level >= 1 && level <= 9,
+            "Invalid deflate level (must be 1-9): %s", codec);
+        return CodecFactory.deflateCodec(level);
+      case "xz":
+        if (level == null) {
+          return CodecFactory.xzCodec(CodecFactory.DEFAULT_XZ_LEVEL);
+        }
+        Preconditions.checkArgument(level >= 0 && level <= 9,
+            "Invalid xz level (must be 0-9): %s", codec);
+        return CodecFactory.xzCodec(level);
+      default:
+        throw new IllegalArgumentException("Unsupported Avro codec: " + codec);
+    }
+  }
+
   public static WriteBuilder write(OutputFile file) {
     return new WriteBuilder(file);
   }
@@ -50,6 +107,7 @@ public class Avro {
     private com.netflix.iceberg.Schema schema = null;
     private String name = "table";
     private Map<String, String> metadata = Maps.newLinkedHashMap();
+    private CodecFactory codec = CodecFactory.deflateCodec(9);
     private Function<Schema, DatumWriter<?>> createWriterFunc =
         schema -> DEFAULT_MODEL.createDatumWriter(schema);
 
@@ -72,6 +130,23 @@ public class Avro {
       return this;
     }
 
+    /**
+     * Sets the compression codec by name.
+     *
+     * @param codec a codec name, see {@link Avro#codec(String)}
+     * @return this builder for method chaining
+     */
+    public WriteBuilder codec(String codec) {
+      this.codec = Avro.codec(codec);
+      return this;
+    }
+
+    public WriteBuilder codec(CodecFactory codec) {
+      Preconditions.checkNotNull(codec, "Codec cannot be null");
+      this.codec = codec;
+      return this;
+    }
+
     public WriteBuilder set(String property, String value) {
       metadata.put(property, value);
       return this;
@@ -81,8 +156,7 @@ public class Avro {
       Preconditions.checkNotNull(schema, "Schema is required");
       Preconditions.checkNotNull(name, "Table name is required and cannot be null");
       return new AvroFileAppender<>(
-          AvroSchemaUtil.convert(schema, name), file, createWriterFunc,
-          CodecFactory.deflateCodec(9), metadata);
+          AvroSchemaUtil.convert(schema, name), file, createWriterFunc, codec, metadata);
     }
   }
 
@@ -99,6 +173,8 @@ public class Avro {
         schema -> (DatumReader<?>) DEFAULT_MODEL.createDatumReader(schema);
     private Long start = null;
     private Long length = null;
+    private ExecutorService workers = null;
+    private int readAhead = 2 * Runtime.getRuntime().availableProcessors();
 
     private ReadBuilder(InputFile file) {
       Preconditions.checkNotNull(file, "Input file cannot be null");
@@ -138,6 +214,42 @@ public class Avro {
       return this;
     }
 
+    /**
+     * Decompresses and decodes data blocks in parallel using a shared pool of daemon threads.
+     * <p>
+     * Records are returned in file order and are never reused.
+     *
+     * @return this builder for method chaining
+     */
+    public ReadBuilder decodeInParallel() {
+      return decodeWith(ParallelAvroIterator.sharedPool());
+    }
+
+    /**
+     * Decompresses and decodes data blocks in parallel using the given pool.
+     * <p>
+     * Records are returned in file order and are never reused.
+     *
+     * @param workers an executor service used to decode blocks
+     * @return this builder for method chaining
+     */
+    public ReadBuilder decodeWith(ExecutorService workers) {
+      this.workers = workers;
+      return this;
+    }
+
+    /**
+     * Sets the number of blocks that may be read ahead when decoding in parallel.
+     *
+     * @param blocks the maximum number of blocks that are read but not yet returned
+     * @return this builder for method chaining
+     */
+    public ReadBuilder readAhead(int blocks) {
+      Preconditions.checkArgument(blocks > 0, "Invalid read-ahead (must be positive): %s", blocks);
+      this.readAhead = blocks;
+      return this;
+    }
+
     public ReadBuilder rename(String fullName, String newName) {
       renames.put(fullName, newName);
       return this;
@@ -145,6 +257,12 @@ public class Avro {
 
     public <D> AvroIterable<D> build() {
       Preconditions.checkNotNull(schema, "Schema is required");
+      if (workers != null) {
+        return new AvroIterable<>(file,
+            () -> new ProjectionDatumReader<>(createReaderFunc, schema, renames),
+            start, length, workers, readAhead);
+      }
+
       return new AvroIterable<>(file,
           new ProjectionDatumReader<>(createReaderFunc, schema, renames),
           start, length, reuseContainers);
@@ -16,9 +16,12 @@
 
 package com.netflix.iceberg.avro;
 
+import com.google.common.base.Preconditions;
+import com.netflix.iceberg.Metrics;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
 import com.netflix.iceberg.io.FileAppender;
 import com.netflix.iceberg.io.OutputFile;
+import com.netflix.iceberg.io.PositionOutputStream;
 import org.apache.avro.Schema;
 import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
@@ -28,18 +31,23 @@ import java.util.Map;
 import java.util.function.Function;
 
 class AvroFileAppender<D> implements FileAppender<D> {
+  private final PositionOutputStream stream;
   private DataFileWriter<D> writer = null;
+  private long numRecords = 0L;
+  private Long length = null;
 
   AvroFileAppender(Schema schema, OutputFile file,
                    Function<Schema, DatumWriter<?>> createWriterFunc,
                    CodecFactory codec, Map<String, String> metadata) throws IOException {
-    this.writer = newAvroWriter(schema, file, createWriterFunc, codec, metadata);
+    this.stream = file.create();
+    this.writer = newAvroWriter(schema, stream, createWriterFunc, codec, metadata);
   }
 
   @Override
   public void add(D datum) {
     try {
       writer.append(datum);
+      numRecords += 1L;
     } catch (IOException e) {
       throw new RuntimeIOException(e);
     }
@@ -48,14 +56,39 @@ class AvroFileAppender<D> implements FileAppender<D> {
   @Override
   public void close() throws IOException {
     if (writer != null) {
+      // flush the last block so the stream position is the file length; some streams cannot
+      // report their position once closed
+      writer.flush();
+      this.length = stream.getPos();
       writer.close();
       this.writer = null;
     }
   }
 
+  @Override
+  public Metrics metrics() {
+    Preconditions.checkState(length != null, "Cannot return metrics: appender is not closed");
+    return new Metrics(numRecords, null, null, null, null);
+  }
+
+  @Override
+  public long length() {
+    if (length != null) {
+      return length;
+    }
+
+    try {
+      // does not include the block that is buffered in memory
+      return stream.getPos();
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to get stream position");
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static <D> DataFileWriter<D> newAvroWriter(
-      Schema schema, OutputFile file, Function<Schema, DatumWriter<?>> createWriterFunc,
+      Schema schema, PositionOutputStream stream,
+      Function<Schema, DatumWriter<?>> createWriterFunc,
       CodecFactory codec, Map<String, String> metadata) throws IOException {
     DataFileWriter<D> writer = new DataFileWriter<>(
         (DatumWriter<D>) createWriterFunc.apply(schema));
@@ -67,6 +100,6 @@ class AvroFileAppender<D> implements FileAppender<D> {
     }
 
     // TODO: support overwrite
-    return writer.create(schema, file.create());
+    return writer.create(schema, stream);
   }
 }
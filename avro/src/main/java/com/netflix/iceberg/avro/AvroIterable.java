@@ -30,6 +30,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 public class AvroIterable<D> implements Iterable<D>, Closeable {
   private final List<Closeable> closeables = Lists.newArrayList();
@@ -38,15 +40,32 @@ public class AvroIterable<D> implements Iterable<D>, Closeable {
   private final Long start;
   private final Long end;
   private final boolean reuseContainers;
+  private final Supplier<DatumReader<D>> newReader;
+  private final ExecutorService workers;
+  private final int readAhead;
   private Map<String, String> metadata = null;
 
   AvroIterable(InputFile file, DatumReader<D> reader,
                Long start, Long length, boolean reuseContainers) {
+    this(file, reader, null, start, length, reuseContainers, null, 0);
+  }
+
+  AvroIterable(InputFile file, Supplier<DatumReader<D>> newReader,
+               Long start, Long length, ExecutorService workers, int readAhead) {
+    this(file, newReader.get(), newReader, start, length, false, workers, readAhead);
+  }
+
+  private AvroIterable(InputFile file, DatumReader<D> reader, Supplier<DatumReader<D>> newReader,
+                       Long start, Long length, boolean reuseContainers,
+                       ExecutorService workers, int readAhead) {
     this.file = file;
     this.reader = reader;
+    this.newReader = newReader;
     this.start = start;
     this.end = start != null ? start + length : null;
     this.reuseContainers = reuseContainers;
+    this.workers = workers;
+    this.readAhead = readAhead;
   }
 
   private DataFileReader<D> initMetadata(DataFileReader<D> reader) {
@@ -72,6 +91,13 @@ public class AvroIterable<D> implements Iterable<D>, Closeable {
 
   @Override
   public Iterator<D> iterator() {
+    if (workers != null) {
+      ParallelAvroIterator<D> iter = new ParallelAvroIterator<>(
+          file, newReader, start, end, workers, readAhead);
+      closeables.add(iter);
+      return iter;
+    }
+
     FileReader<D> reader = initMetadata(newFileReader());
 
     if (start != null) {
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.avro;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.iceberg.common.DynMethods;
+import com.netflix.iceberg.exceptions.RuntimeIOException;
+import com.netflix.iceberg.io.InputFile;
+import com.netflix.iceberg.io.SeekableInputStream;
+import org.apache.avro.file.Codec;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Iterator that decompresses and decodes Avro data blocks on a worker pool.
+ * <p>
+ * Raw blocks are read sequentially by the calling thread, using the block record count and size
+ * and the file's sync marker. Each block is then decompressed and decoded by a worker, and records
+ * are returned in file order. At most readAhead blocks are in flight at any time.
+ * <p>
+ * Records are never reused because several blocks are decoded at the same time.
+ */
+class ParallelAvroIterator<D> implements Iterator<D>, Closeable {
+  private static final int SYNC_SIZE = DataFileConstants.SYNC_SIZE;
+
+  private static final DynMethods.UnboundMethod CREATE_CODEC = DynMethods
+      .builder("createInstance")
+      .hiddenImpl(CodecFactory.class)
+      .build();
+
+  private static volatile ExecutorService sharedPool = null;
+
+  /**
+   * Returns a shared pool of daemon threads, one for each available processor.
+   */
+  static ExecutorService sharedPool() {
+    if (sharedPool == null) {
+      synchronized (ParallelAvroIterator.class) {
+        if (sharedPool == null) {
+          sharedPool = Executors.newFixedThreadPool(
+              Runtime.getRuntime().availableProcessors(),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("iceberg-avro-decode-%d")
+                  .build());
+        }
+      }
+    }
+    return sharedPool;
+  }
+
+  private final InputFile file;
+  private final SeekableInputStream stream;
+  private final BinaryDecoder blockHeader;
+  private final Long end;
+  private final long length;
+  private final byte[] sync = new byte[SYNC_SIZE];
+  private final byte[] blockSync = new byte[SYNC_SIZE];
+  private final ExecutorService workers;
+  private final int readAhead;
+  private final Deque<Future<List<D>>> pending = new ArrayDeque<>();
+  private final ThreadLocal<DatumReader<D>> readers;
+  private final ThreadLocal<Codec> codecs;
+  private long blockStart;
+  private Iterator<D> current = Collections.emptyIterator();
+
+  ParallelAvroIterator(InputFile file, Supplier<DatumReader<D>> newReader,
+                       Long start, Long end, ExecutorService workers, int readAhead) {
+    this.file = file;
+    this.end = end;
+    this.length = file.getLength();
+    this.workers = workers;
+    this.readAhead = readAhead;
+    this.stream = file.newStream();
+
+    try {
+      // use Avro's reader to parse the header and find the first block in the range
+      DataFileReader<D> headerReader = new DataFileReader<>(
+          AvroIO.stream(stream, length), newReader.get());
+      headerReader.sync(start != null ? start : 0L);
+      this.blockStart = headerReader.previousSync();
+
+      CodecFactory codec = headerReader.getMetaString(DataFileConstants.CODEC) != null ?
+          CodecFactory.fromString(headerReader.getMetaString(DataFileConstants.CODEC)) :
+          CodecFactory.nullCodec();
+      org.apache.avro.Schema fileSchema = headerReader.getSchema();
+
+      this.readers = ThreadLocal.withInitial(() -> {
+        DatumReader<D> reader = newReader.get();
+        reader.setSchema(fileSchema);
+        return reader;
+      });
+      this.codecs = ThreadLocal.withInitial(() -> CREATE_CODEC.invoke(codec));
+
+      // the sync marker is the last part of the header and follows every block
+      stream.seek(headerEnd(headerReader));
+      readFully(sync);
+      stream.seek(blockStart);
+
+    } catch (IOException e) {
+      closeQuietly();
+      throw new RuntimeIOException(e, "Failed to open file: %s", file);
+    }
+
+    this.blockHeader = DecoderFactory.get().directBinaryDecoder(stream, null);
+  }
+
+  private long headerEnd(DataFileReader<D> reader) throws IOException {
+    reader.sync(0L);
+    return reader.previousSync() - SYNC_SIZE;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      fill();
+      if (pending.isEmpty()) {
+        return false;
+      }
+      this.current = take(pending.removeFirst()).iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public D next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  private void fill() {
+    try {
+      while (pending.size() < readAhead && hasMoreBlocks()) {
+        long count = blockHeader.readLong();
+        int size = (int) blockHeader.readLong();
+        byte[] block = new byte[size];
+        readFully(block);
+        readFully(blockSync);
+        if (!Arrays.equals(sync, blockSync)) {
+          throw new RuntimeIOException("Invalid sync marker at position %d in file: %s",
+              stream.getPos() - SYNC_SIZE, file);
+        }
+
+        this.blockStart = stream.getPos();
+        pending.addLast(workers.submit(() -> decode(block, (int) count)));
+      }
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to read block at position %d in file: %s",
+          blockStart, file);
+    }
+  }
+
+  private boolean hasMoreBlocks() {
+    // matches DataFileReader#pastSync: a block belongs to the range if its sync is before the end
+    return blockStart < length && (end == null || blockStart < end + SYNC_SIZE);
+  }
+
+  private List<D> decode(byte[] block, int count) throws IOException {
+    ByteBuffer data = codecs.get().decompress(ByteBuffer.wrap(block));
+    BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(
+        data.array(), data.arrayOffset() + data.position(), data.remaining(), null);
+
+    DatumReader<D> reader = readers.get();
+    D[] records = newArray(count);
+    for (int i = 0; i < count; i += 1) {
+      records[i] = reader.read(null, decoder);
+    }
+
+    return Arrays.asList(records);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <D> D[] newArray(int size) {
+    return (D[]) new Object[size];
+  }
+
+  private List<D> take(Future<List<D>> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw new RuntimeIOException((IOException) cause,
+            "Failed to decode block in file: %s", file);
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private void readFully(byte[] bytes) throws IOException {
+    int pos = 0;
+    while (pos < bytes.length) {
+      int bytesRead = stream.read(bytes, pos, bytes.length - pos);
+      if (bytesRead < 0) {
+        throw new IOException("Reached end of stream before reading " + bytes.length + " bytes");
+      }
+      pos += bytesRead;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    while (!pending.isEmpty()) {
+      pending.removeFirst().cancel(true);
+    }
+    this.current = Collections.emptyIterator();
+    stream.close();
+  }
+
+  private void closeQuietly() {
+    try {
+      stream.close();
+    } catch (IOException e) {
+      // ignore, the original exception is more useful
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.avro;
+
+import com.google.common.collect.Iterables;
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestAvroCodecs {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.LongType.get()),
+      required(2, "data", Types.StringType.get())
+  );
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testCodecNames() {
+    Assert.assertEquals("null", Avro.codec("null").toString());
+    Assert.assertEquals("null", Avro.codec("uncompressed").toString());
+    Assert.assertEquals("snappy", Avro.codec("SNAPPY").toString());
+    Assert.assertEquals("bzip2", Avro.codec("bzip2").toString());
+    Assert.assertEquals("deflate-1", Avro.codec("deflate-1").toString());
+    Assert.assertEquals("deflate-9", Avro.codec("deflate-9").toString());
+    Assert.assertEquals("xz-3", Avro.codec("xz-3").toString());
+  }
+
+  @Test
+  public void testInvalidCodecs() {
+    assertInvalid("lzo");
+    assertInvalid("deflate-0");
+    assertInvalid("deflate-10");
+    assertInvalid("xz-10");
+    assertInvalid("snappy-1");
+    assertInvalid("deflate-fast");
+  }
+
+  @Test
+  public void testWriteWithCodec() throws IOException {
+    for (String codec : new String[] { "null", "snappy", "deflate-1", "bzip2", "xz-1" }) {
+      File file = temp.newFile(codec + ".avro");
+      file.delete();
+
+      GenericData.Record record = new GenericData.Record(AvroSchemaUtil.convert(SCHEMA, "table"));
+      record.put("id", 34L);
+      record.put("data", "a");
+
+      FileAppender<GenericData.Record> appender = Avro.write(Files.localOutput(file))
+          .schema(SCHEMA)
+          .codec(codec)
+          .build();
+      try {
+        appender.add(record);
+      } finally {
+        appender.close();
+      }
+
+      Assert.assertEquals("Appender length should match the file length",
+          file.length(), appender.length());
+      Assert.assertEquals("Appender should count written records",
+          1L, (long) appender.metrics().recordCount());
+
+      try (DataFileReader<Object> reader = new DataFileReader<>(
+          file, new GenericDatumReader<>())) {
+        String expected = codec.contains("-") ? codec.substring(0, codec.indexOf('-')) : codec;
+        Assert.assertEquals("Should use the configured codec",
+            expected, reader.getMetaString("avro.codec"));
+      }
+
+      GenericData.Record actual = Iterables.getOnlyElement(
+          Avro.read(Files.localInput(file)).project(SCHEMA).<GenericData.Record>build());
+      Assert.assertEquals("Should read the written id", 34L, actual.get("id"));
+      Assert.assertEquals("Should read the written data", "a", actual.get("data").toString());
+    }
+  }
+
+  private static void assertInvalid(String codec) {
+    try {
+      Avro.codec(codec);
+      Assert.fail("Should reject invalid codec: " + codec);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
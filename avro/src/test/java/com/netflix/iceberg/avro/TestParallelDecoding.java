@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.avro;
+
+import com.google.common.collect.Lists;
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestParallelDecoding {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.LongType.get()),
+      optional(2, "data", Types.StringType.get())
+  );
+  private static final int NUM_RECORDS = 50000;
+  private static final ExecutorService WORKERS = Executors.newFixedThreadPool(3);
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @AfterClass
+  public static void stopWorkers() {
+    WORKERS.shutdownNow();
+  }
+
+  @Test
+  public void testParallelReadMatchesSequentialRead() throws IOException {
+    for (String codec : new String[] { "null", "snappy", "deflate-1" }) {
+      File file = writeRecords(codec);
+
+      List<Long> expected = ids(Avro.read(Files.localInput(file))
+          .project(SCHEMA)
+          .build());
+      Assert.assertEquals("Should read all records", NUM_RECORDS, expected.size());
+
+      List<Long> actual = ids(Avro.read(Files.localInput(file))
+          .project(SCHEMA)
+          .decodeWith(WORKERS)
+          .readAhead(2)
+          .build());
+      Assert.assertEquals("Parallel read should match for " + codec, expected, actual);
+    }
+  }
+
+  @Test
+  public void testParallelSplitReads() throws IOException {
+    File file = writeRecords("deflate-1");
+    long length = file.length();
+
+    List<Long> expected = ids(Avro.read(Files.localInput(file))
+        .project(SCHEMA)
+        .build());
+
+    List<Long> actual = Lists.newArrayList();
+    long splitSize = length / 5;
+    for (long start = 0; start < length; start += splitSize) {
+      long splitLength = Math.min(splitSize, length - start);
+
+      List<Long> sequential = ids(Avro.read(Files.localInput(file))
+          .project(SCHEMA)
+          .split(start, splitLength)
+          .build());
+      List<Long> parallel = ids(Avro.read(Files.localInput(file))
+          .project(SCHEMA)
+          .split(start, splitLength)
+          .decodeWith(WORKERS)
+          .build());
+
+      Assert.assertEquals("Split should match sequential read", sequential, parallel);
+      actual.addAll(parallel);
+    }
+
+    Assert.assertEquals("Splits should read every record once, in order", expected, actual);
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    File file = temp.newFile("empty.avro");
+    file.delete();
+    try (FileAppender<GenericData.Record> ignored = Avro.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .build()) {
+      // no records
+    }
+
+    List<Long> actual = ids(Avro.read(Files.localInput(file))
+        .project(SCHEMA)
+        .decodeWith(WORKERS)
+        .build());
+    Assert.assertTrue("Should not read any records", actual.isEmpty());
+  }
+
+  private File writeRecords(String codec) throws IOException {
+    File file = temp.newFile(codec + ".avro");
+    file.delete();
+
+    Random random = new Random(5213);
+    org.apache.avro.Schema avroSchema = AvroSchemaUtil.convert(SCHEMA, "table");
+    try (FileAppender<GenericData.Record> appender = Avro.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .codec(codec)
+        .build()) {
+      for (long i = 0; i < NUM_RECORDS; i += 1) {
+        GenericData.Record record = new GenericData.Record(avroSchema);
+        record.put("id", i);
+        record.put("data", random.nextInt(10) == 0 ? null : "data-" + random.nextInt());
+        appender.add(record);
+      }
+    }
+
+    return file;
+  }
+
+  private static List<Long> ids(AvroIterable<GenericData.Record> records) throws IOException {
+    List<Long> ids = Lists.newArrayList();
+    try (AvroIterable<GenericData.Record> closeable = records) {
+      for (GenericData.Record record : closeable) {
+        ids.add((Long) record.get("id"));
+      }
+    }
+    return ids;
+  }
+}
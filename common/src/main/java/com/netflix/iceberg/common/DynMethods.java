@@ -21,12 +21,20 @@ package com.netflix.iceberg.common;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -45,6 +53,8 @@ public class DynMethods {
     private final Method method;
     private final String name;
     private final int argLength;
+    private final ConcurrentMap<Class<?>, MethodHandle> boundFactories = Maps.newConcurrentMap();
+    private volatile MethodHandle handle = null; // lazily unreflected for as and bind
 
     UnboundMethod(Method method, String name) {
       this.method = method;
@@ -56,7 +66,7 @@ public class DynMethods {
     @SuppressWarnings("unchecked")
     public <R> R invokeChecked(Object target, Object... args) throws Exception {
       try {
-        if (argLength < 0) {
+        if (argLength < 0 || args.length == argLength) {
           return (R) method.invoke(target, args);
         } else {
           return (R) method.invoke(target, Arrays.copyOfRange(args, 0, argLength));
@@ -97,6 +107,165 @@ public class DynMethods {
       return new BoundMethod(this, receiver);
     }
 
+    /**
+     * Returns an implementation of a functional interface that calls this method.
+     * <p>
+     * The interface's single abstract method is called with the method's receiver as its first
+     * argument, followed by the method's arguments; for static methods, only the arguments are
+     * passed. For example, {@code String#length()} can be used as a
+     * {@code ToIntFunction<String>}.
+     * <p>
+     * Unlike {@link #invoke(Object, Object...)}, calls through the returned instance do not use
+     * reflection or allocate argument arrays. When the method and interface are public, the
+     * instance is created with {@link LambdaMetafactory}, the same way Java compiles method
+     * references, so calls can be inlined by the JIT. Otherwise, the instance is a proxy for a
+     * {@link MethodHandle}. Creating an instance is expensive, so it should be done once and
+     * reused.
+     *
+     * @param functionalInterface an interface with a single abstract method
+     * @param <I> the Java type of the interface
+     * @return an instance of the interface that calls this method
+     * @throws IllegalArgumentException if the interface's method is not compatible
+     * @throws UnsupportedOperationException if this is a constructor or a NOOP method
+     */
+    @SuppressWarnings("unchecked")
+    public <I> I as(Class<I> functionalInterface) {
+      MethodHandle target = handle();
+      MethodHandle factory = lambdaFactory(functionalInterface, target.type(), target,
+          MethodType.methodType(functionalInterface));
+      if (factory == null) {
+        return MethodHandleProxies.asInterfaceInstance(functionalInterface, target);
+      }
+
+      try {
+        return (I) factory.invoke();
+      } catch (Throwable e) {
+        throw Throwables.propagate(e);
+      }
+    }
+
+    /**
+     * Returns an implementation of a functional interface that calls this method on a receiver.
+     * <p>
+     * This is like {@link #as(Class)}, but the interface's method is called with only the method's
+     * arguments. For example, {@code List#size()} bound to a list can be used as an
+     * {@code IntSupplier}. The generated class is reused for later calls with the same interface,
+     * so binding to each new receiver is cheap.
+     *
+     * @param receiver an Object to receive the method invocation
+     * @param functionalInterface an interface with a single abstract method
+     * @param <I> the Java type of the interface
+     * @return an instance of the interface that calls this method on the receiver
+     * @throws IllegalStateException if the method is static
+     * @throws IllegalArgumentException if the receiver's class or the interface is incompatible
+     * @throws UnsupportedOperationException if this is a constructor or a NOOP method
+     */
+    @SuppressWarnings("unchecked")
+    public <I> I bind(Object receiver, Class<I> functionalInterface) {
+      Preconditions.checkNotNull(receiver, "Cannot bind to a null receiver");
+      MethodHandle target = handle();
+      Preconditions.checkState(!isStatic(),
+          "Cannot bind static method " + method.toGenericString());
+      Preconditions.checkArgument(
+          method.getDeclaringClass().isAssignableFrom(receiver.getClass()),
+          "Cannot bind " + method.toGenericString() + " to instance of " +
+              receiver.getClass());
+
+      MethodHandle factory = boundFactories.get(functionalInterface);
+      if (factory == null) {
+        MethodType invokedType = MethodType.methodType(
+            functionalInterface, method.getDeclaringClass());
+        factory = lambdaFactory(functionalInterface, target.type().dropParameterTypes(0, 1),
+            target, invokedType);
+        if (factory == null) {
+          return MethodHandleProxies.asInterfaceInstance(functionalInterface,
+              target.bindTo(receiver));
+        }
+        boundFactories.putIfAbsent(functionalInterface, factory);
+      }
+
+      try {
+        return (I) factory.invoke(receiver);
+      } catch (Throwable e) {
+        throw Throwables.propagate(e);
+      }
+    }
+
+    private MethodHandle handle() {
+      if (method == null) {
+        throw new UnsupportedOperationException("Cannot create a method handle for " + name);
+      }
+
+      if (handle == null) {
+        // a race may unreflect the method more than once, but the handles are equivalent
+        try {
+          this.handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+          throw new IllegalArgumentException("Cannot access " + method.toGenericString(), e);
+        }
+      }
+
+      return handle;
+    }
+
+    /**
+     * Returns a factory for lambda instances that call the target, or null if the lambda class
+     * would not be able to access the method or interface.
+     */
+    private MethodHandle lambdaFactory(Class<?> functionalInterface, MethodType instantiatedType,
+                                       MethodHandle target, MethodType invokedType) {
+      Method sam = singleAbstractMethod(functionalInterface);
+      if (!isPublic(functionalInterface) || !isPublic(method.getDeclaringClass()) ||
+          !Modifier.isPublic(method.getModifiers())) {
+        return null;
+      }
+
+      MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+      try {
+        return LambdaMetafactory.metafactory(MethodHandles.lookup(), sam.getName(), invokedType,
+            samType, target, instantiatedType).getTarget();
+      } catch (LambdaConversionException e) {
+        throw new IllegalArgumentException(String.format("Cannot implement %s using %s",
+            sam.toGenericString(), method.toGenericString()), e);
+      }
+    }
+
+    private static boolean isPublic(Class<?> cls) {
+      for (Class<?> current = cls; current != null; current = current.getEnclosingClass()) {
+        if (!Modifier.isPublic(current.getModifiers())) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static Method singleAbstractMethod(Class<?> functionalInterface) {
+      Preconditions.checkArgument(functionalInterface.isInterface(),
+          "Not an interface: " + functionalInterface.getName());
+
+      Method sam = null;
+      for (Method candidate : functionalInterface.getMethods()) {
+        if (Modifier.isAbstract(candidate.getModifiers()) && !isObjectMethod(candidate)) {
+          Preconditions.checkArgument(sam == null,
+              "Not a functional interface: " + functionalInterface.getName());
+          sam = candidate;
+        }
+      }
+
+      Preconditions.checkArgument(sam != null,
+          "Not a functional interface: " + functionalInterface.getName());
+      return sam;
+    }
+
+    private static boolean isObjectMethod(Method candidate) {
+      try {
+        Object.class.getMethod(candidate.getName(), candidate.getParameterTypes());
+        return true;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+
     /**
      * @return whether the method is a static method
      */
@@ -174,6 +343,18 @@ public class DynMethods {
     public <R> R invoke(Object... args) {
       return method.invoke(receiver, args);
     }
+
+    /**
+     * Returns an implementation of a functional interface that calls this method on the receiver.
+     *
+     * @param functionalInterface an interface with a single abstract method
+     * @param <I> the Java type of the interface
+     * @return an instance of the interface that calls this method
+     * @see UnboundMethod#bind(Object, Class)
+     */
+    public <I> I as(Class<I> functionalInterface) {
+      return method.bind(receiver, functionalInterface);
+    }
   }
 
   public static class StaticMethod {
@@ -190,6 +371,18 @@ public class DynMethods {
     public <R> R invoke(Object... args) {
       return method.invoke(null, args);
     }
+
+    /**
+     * Returns an implementation of a functional interface that calls this method.
+     *
+     * @param functionalInterface an interface with a single abstract method
+     * @param <I> the Java type of the interface
+     * @return an instance of the interface that calls this method
+     * @see UnboundMethod#as(Class)
+     */
+    public <I> I as(Class<I> functionalInterface) {
+      return method.as(functionalInterface);
+    }
   }
 
   /**
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.common;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+public class TestDynMethods {
+  @Test
+  public void testUnboundFunction() {
+    ToIntFunction<String> length = DynMethods.builder("length")
+        .impl(String.class)
+        .build()
+        .as(ToIntFunction.class);
+
+    Assert.assertEquals("Should call length on the argument", 5, length.applyAsInt("abcde"));
+    Assert.assertEquals("Should call length on the argument", 0, length.applyAsInt(""));
+  }
+
+  @Test
+  public void testUnboundFunctionWithArguments() {
+    BiFunction<String, String, Boolean> startsWith = DynMethods.builder("startsWith")
+        .impl(String.class, String.class)
+        .build()
+        .as(BiFunction.class);
+
+    Assert.assertTrue("Should pass the argument", startsWith.apply("iceberg", "ice"));
+    Assert.assertFalse("Should pass the argument", startsWith.apply("iceberg", "berg"));
+  }
+
+  @Test
+  public void testBoundFunction() {
+    DynMethods.UnboundMethod size = DynMethods.builder("size")
+        .impl(List.class)
+        .build();
+
+    List<String> first = Lists.newArrayList("a", "b");
+    List<String> second = Lists.newArrayList("a", "b", "c");
+    IntSupplier firstSize = size.bind(first, IntSupplier.class);
+    IntSupplier secondSize = size.bind(second).as(IntSupplier.class);
+
+    Assert.assertEquals("Should call size on the first receiver", 2, firstSize.getAsInt());
+    Assert.assertEquals("Should call size on the second receiver", 3, secondSize.getAsInt());
+
+    first.add("c");
+    Assert.assertEquals("Should call the method on each call", 3, firstSize.getAsInt());
+  }
+
+  @Test
+  public void testStaticFunction() {
+    Function<String, Integer> parse = DynMethods.builder("valueOf")
+        .impl(Integer.class, String.class)
+        .buildStatic()
+        .as(Function.class);
+
+    Assert.assertEquals("Should call the static method", 34, (int) parse.apply("34"));
+  }
+
+  @Test
+  public void testHiddenMethodFunction() {
+    ToIntFunction<Hidden> secret = DynMethods.builder("secret")
+        .hiddenImpl(Hidden.class)
+        .build()
+        .as(ToIntFunction.class);
+
+    Assert.assertEquals("Should call a hidden method", 42, secret.applyAsInt(new Hidden()));
+  }
+
+  @Test
+  public void testExceptionsArePropagated() {
+    Function<String, Integer> parse = DynMethods.builder("parseInt")
+        .impl(Integer.class, String.class)
+        .buildStatic()
+        .as(Function.class);
+
+    try {
+      parse.apply("not a number");
+      Assert.fail("Should propagate the exception");
+    } catch (NumberFormatException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testIncompatibleInterface() {
+    try {
+      DynMethods.builder("length")
+          .impl(String.class)
+          .build()
+          .as(BiFunction.class);
+      Assert.fail("Should reject an interface with the wrong number of arguments");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testBindNullReceiver() {
+    DynMethods.builder("size")
+        .impl(List.class)
+        .build()
+        .bind(null, IntSupplier.class);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testNoopFunction() {
+    DynMethods.builder("missing")
+        .impl(String.class)
+        .orNoop()
+        .build()
+        .as(Function.class);
+  }
+
+  private static class Hidden {
+    private int secret() {
+      return 42;
+    }
+  }
+}
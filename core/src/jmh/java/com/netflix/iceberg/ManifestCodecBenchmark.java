@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.iceberg.exceptions.RuntimeIOException;
+import com.netflix.iceberg.types.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+/**
+ * Measures manifest write and read throughput for each Avro codec.
+ * <p>
+ * The size of the manifest written by each codec is logged when the trial ends, so that
+ * throughput can be compared against size.
+ * <p>
+ * Run with: {@code gradlew :iceberg-core:jmh -PjmhIncludeRegex=ManifestCodecBenchmark}
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class ManifestCodecBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(ManifestCodecBenchmark.class);
+  private static final int NUM_FILES = 10000;
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.LongType.get()),
+      required(2, "data", Types.StringType.get())
+  );
+  private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA)
+      .bucket("data", 16)
+      .build();
+
+  @Param({ "null", "snappy", "deflate-1", "deflate-6", "deflate-9", "bzip2", "xz-1" })
+  private String codec;
+
+  private DataFile[] files;
+  private File writeFile;
+  private File readFile;
+
+  @Setup
+  public void setup() throws IOException {
+    this.files = new DataFile[NUM_FILES];
+    for (int i = 0; i < NUM_FILES; i += 1) {
+      files[i] = DataFiles.builder(SPEC)
+          .withPath("s3://bucket/warehouse/db/table/data/" + UUID.randomUUID() + ".parquet")
+          .withFileSizeInBytes(100000 + i)
+          .withPartitionPath("data_bucket=" + (i % 16))
+          .withMetrics(new Metrics(1000L + i,
+              ImmutableMap.of(1, 8000L + i, 2, 12000L + i), // column sizes
+              ImmutableMap.of(1, 1000L + i, 2, 1000L + i), // value counts
+              ImmutableMap.of(1, 0L, 2, (long) (i % 10)), // null value counts
+              null))
+          .build();
+    }
+
+    this.writeFile = File.createTempFile("manifest-write", ".avro");
+    this.readFile = File.createTempFile("manifest-read", ".avro");
+    write(readFile);
+  }
+
+  @TearDown
+  public void tearDown() {
+    LOG.info("Manifest size with {}: {} bytes", codec, readFile.length());
+    writeFile.delete();
+    readFile.delete();
+  }
+
+  @Benchmark
+  public void writeManifest() {
+    write(writeFile);
+  }
+
+  @Benchmark
+  public void readManifest(Blackhole blackhole) {
+    for (ManifestEntry entry : ManifestReader.read(Files.localInput(readFile)).entries()) {
+      blackhole.consume(entry.file().path());
+    }
+  }
+
+  private void write(File file) {
+    // local output files cannot be overwritten
+    file.delete();
+    try (ManifestWriter writer = new ManifestWriter(SPEC, Files.localOutput(file), 1L, codec)) {
+      for (DataFile dataFile : files) {
+        writer.add(dataFile);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to write manifest: %s", file);
+    }
+  }
+}
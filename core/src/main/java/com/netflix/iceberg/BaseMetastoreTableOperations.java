@@ -82,7 +82,8 @@ public abstract class BaseMetastoreTableOperations implements TableOperations {
       baseLocation = metadata.location();
     }
 
-    String newFilename = newTableMetadataFilename(baseLocation, version + 1);
+    String newFilename = newTableMetadataFilename(
+        baseLocation, version + 1, TableMetadataParser.getFileSuffix(metadata));
     OutputFile newMetadataLocation = HadoopOutputFile.fromPath(new Path(newFilename), conf);
 
     // write the new metadata
@@ -91,6 +92,53 @@ public abstract class BaseMetastoreTableOperations implements TableOperations {
     return newFilename;
   }
 
+  /**
+   * Commits new metadata using {@link #doCommit(TableMetadata, TableMetadata)} and then deletes
+   * metadata files that were dropped from the metadata log.
+   *
+   * @param base table metadata on which changes were based
+   * @param metadata new table metadata with updates
+   */
+  @Override
+  public void commit(TableMetadata base, TableMetadata metadata) {
+    doCommit(base, metadata);
+    deleteRemovedMetadataFiles(base, metadata);
+  }
+
+  /**
+   * Writes new metadata and atomically updates the metastore to point to it.
+   * <p>
+   * Implementations must override this method or {@link #commit(TableMetadata, TableMetadata)}.
+   * New implementations should override this method, so that old metadata files are cleaned up
+   * after the commit succeeds. This method is not abstract so that implementations written before
+   * it was added, which override commit, still compile; those must call
+   * {@link #deleteRemovedMetadataFiles(TableMetadata, TableMetadata)} themselves.
+   *
+   * @param base table metadata on which changes were based
+   * @param metadata new table metadata with updates
+   * @throws com.netflix.iceberg.exceptions.CommitFailedException if the commit fails
+   * @throws UnsupportedOperationException if neither this method nor commit is overridden
+   */
+  protected void doCommit(TableMetadata base, TableMetadata metadata) {
+    throw new UnsupportedOperationException(String.format(
+        "%s must override doCommit(TableMetadata, TableMetadata)", getClass().getName()));
+  }
+
+  /**
+   * Deletes metadata files dropped from the metadata log by a commit.
+   * <p>
+   * This is called by {@link #commit(TableMetadata, TableMetadata)} after a successful commit.
+   * Implementations that override commit should call this after the metastore has been updated to
+   * point to the new metadata location. Files are only deleted when enabled by
+   * {@link TableProperties#METADATA_DELETE_AFTER_COMMIT_ENABLED}.
+   *
+   * @param base table metadata on which changes were based
+   * @param metadata new table metadata that was committed
+   */
+  protected void deleteRemovedMetadataFiles(TableMetadata base, TableMetadata metadata) {
+    PreviousMetadataCleanup.deleteRemovedMetadataFiles(this, base, metadata);
+  }
+
   protected void refreshFromMetadataLocation(String newLocation) {
     // use null-safe equality check because new tables have a null metadata location
     if (!Objects.equal(currentMetadataLocation, newLocation)) {
@@ -129,9 +177,10 @@ public abstract class BaseMetastoreTableOperations implements TableOperations {
     return System.currentTimeMillis();
   }
 
-  private static String newTableMetadataFilename(String baseLocation, int newVersion) {
-    return String.format("%s/%s/%05d-%s.metadata.json",
-        baseLocation, METADATA_FOLDER_NAME, newVersion, UUID.randomUUID());
+  private static String newTableMetadataFilename(String baseLocation, int newVersion,
+                                                 String fileSuffix) {
+    return String.format("%s/%s/%05d-%s%s",
+        baseLocation, METADATA_FOLDER_NAME, newVersion, UUID.randomUUID(), fileSuffix);
   }
 
   private static String newMetadataLocation(String baseLocation, String filename) {
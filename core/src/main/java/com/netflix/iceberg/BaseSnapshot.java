@@ -31,7 +31,10 @@ class BaseSnapshot implements Snapshot, SnapshotIterable {
   private final TableOperations ops;
   private final long snapshotId;
   private final long timestampMillis;
-  private final List<String> manifestFiles;
+
+  // when read from table metadata, the manifest list is decoded on first access
+  private volatile String manifestsJson;
+  private volatile List<String> manifestFiles;
 
   // lazily initialized
   private List<DataFile> adds = null;
@@ -53,9 +56,21 @@ class BaseSnapshot implements Snapshot, SnapshotIterable {
     this.ops = ops;
     this.snapshotId = snapshotId;
     this.timestampMillis = timestampMillis;
+    this.manifestsJson = null;
     this.manifestFiles = manifestFiles;
   }
 
+  BaseSnapshot(TableOperations ops,
+               long snapshotId,
+               long timestampMillis,
+               String manifestsJson) {
+    this.ops = ops;
+    this.snapshotId = snapshotId;
+    this.timestampMillis = timestampMillis;
+    this.manifestsJson = manifestsJson;
+    this.manifestFiles = null;
+  }
+
   @Override
   public long snapshotId() {
     return snapshotId;
@@ -68,9 +83,24 @@ class BaseSnapshot implements Snapshot, SnapshotIterable {
 
   @Override
   public List<String> manifests() {
+    if (manifestFiles == null) {
+      synchronized (this) {
+        if (manifestFiles == null) {
+          this.manifestFiles = SnapshotParser.manifestsFromJson(manifestsJson);
+          this.manifestsJson = null;
+        }
+      }
+    }
     return manifestFiles;
   }
 
+  /**
+   * Returns the manifest list as JSON if it has not been decoded, or null.
+   */
+  String manifestsJson() {
+    return manifestsJson;
+  }
+
   @Override
   public FilteredSnapshot select(Collection<String> columns) {
     return new FilteredSnapshot(this, Expressions.alwaysTrue(), Expressions.alwaysTrue(), columns);
@@ -90,7 +120,7 @@ class BaseSnapshot implements Snapshot, SnapshotIterable {
   public Iterator<DataFile> iterator(Expression partFilter,
                                      Expression rowFilter,
                                      Collection<String> columns) {
-    return Iterables.concat(Iterables.transform(manifestFiles,
+    return Iterables.concat(Iterables.transform(manifests(),
         (Function<String, Iterable<DataFile>>) path -> ManifestReader
             .read(ops.newInputFile(path))
             .filterPartitions(partFilter)
@@ -125,7 +155,7 @@ class BaseSnapshot implements Snapshot, SnapshotIterable {
 
     // accumulate adds and deletes from all manifests.
     // because manifests can be reused in newer snapshots, filter the changes by snapshot id.
-    for (String manifest : manifestFiles) {
+    for (String manifest : manifests()) {
       ManifestReader reader = ManifestReader.read(ops.newInputFile(manifest));
       for (ManifestEntry add : reader.addedFiles()) {
         if (add.snapshotId() == snapshotId) {
@@ -148,7 +178,7 @@ class BaseSnapshot implements Snapshot, SnapshotIterable {
     return Objects.toStringHelper(this)
         .add("id", snapshotId)
         .add("timestamp_ms", timestampMillis)
-        .add("manifests", manifestFiles)
+        .add("manifests", manifests())
         .toString();
   }
 }
@@ -21,6 +21,7 @@ import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
 import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.expressions.Expressions;
+import com.netflix.iceberg.expressions.Optimizer;
 import com.netflix.iceberg.expressions.ResidualEvaluator;
 import java.util.Collection;
 import java.util.Collections;
@@ -57,22 +58,26 @@ class BaseTableScan implements TableScan {
 
   @Override
   public TableScan filter(Expression expr) {
-    return new BaseTableScan(ops, table, columns, Expressions.and(rowFilter, expr));
+    return new BaseTableScan(ops, table, columns,
+        Optimizer.optimize(Expressions.and(rowFilter, expr)));
   }
 
   @Override
   public Iterable<FileScanTask> planFiles() {
     Snapshot snapshot = ops.current().currentSnapshot();
-    if (snapshot != null) {
+    if (snapshot != null && rowFilter != Expressions.alwaysFalse()) {
+      // projections, evaluators, and serialized specs are shared by manifests with the same spec
+      ScanFilterCache filterCache = new ScanFilterCache(rowFilter);
       return Iterables.concat(Iterables.transform(
           snapshot.manifests(),
           (Function<String, Iterable<FileScanTask>>) manifest -> {
             ManifestReader reader = ManifestReader.read(ops.newInputFile(manifest));
-            String schemaString = SchemaParser.toJson(reader.spec().schema());
-            String specString = PartitionSpecParser.toJson(reader.spec());
-            ResidualEvaluator residuals = new ResidualEvaluator(reader.spec(), rowFilter);
+            ScanFilterCache.SpecFilters filters = filterCache.get(reader.spec());
+            String schemaString = filters.schemaString();
+            String specString = filters.specString();
+            ResidualEvaluator residuals = filters.residuals();
             return Iterables.transform(
-                reader.filterRows(rowFilter).select(columns),
+                filters.filter(reader, columns),
                 file -> new BaseFileScanTask(file, schemaString, specString, residuals)
             );
           }));
@@ -21,6 +21,7 @@ import com.netflix.iceberg.hadoop.HadoopInputFile;
 import com.netflix.iceberg.io.InputFile;
 import com.netflix.iceberg.types.Conversions;
 import org.apache.hadoop.fs.FileStatus;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -180,6 +181,9 @@ public class DataFiles {
     private Map<Integer, Long> valueCounts = null;
     private Map<Integer, Long> nullValueCounts = null;
     private Map<Integer, Long> distinctCounts = null;
+    private Map<Integer, ByteBuffer> lowerBounds = null;
+    private Map<Integer, ByteBuffer> upperBounds = null;
+    private Map<Integer, ByteBuffer> bloomFilters = null;
 
     public Builder() {
       this.spec = null;
@@ -206,6 +210,9 @@ public class DataFiles {
       this.valueCounts = null;
       this.nullValueCounts = null;
       this.distinctCounts = null;
+      this.lowerBounds = null;
+      this.upperBounds = null;
+      this.bloomFilters = null;
     }
 
     public Builder copy(DataFile toCopy) {
@@ -221,6 +228,9 @@ public class DataFiles {
       this.valueCounts = toCopy.valueCounts();
       this.nullValueCounts = toCopy.nullValueCounts();
       this.distinctCounts = toCopy.distinctCounts();
+      this.lowerBounds = toCopy.lowerBounds();
+      this.upperBounds = toCopy.upperBounds();
+      this.bloomFilters = toCopy.bloomFilters();
       return this;
     }
 
@@ -290,6 +300,13 @@ public class DataFiles {
       this.valueCounts = metrics.valueCounts();
       this.nullValueCounts = metrics.nullValueCounts();
       this.distinctCounts = metrics.distinctCounts();
+      this.lowerBounds = metrics.lowerBounds();
+      this.upperBounds = metrics.upperBounds();
+      return this;
+    }
+
+    public Builder withBloomFilters(Map<Integer, ByteBuffer> bloomFilters) {
+      this.bloomFilters = bloomFilters;
       return this;
     }
 
@@ -309,7 +326,9 @@ public class DataFiles {
       return new GenericDataFile(
           filePath, format, isPartitioned ? partitionData.copy() : null,
           fileSizeInBytes, blockSizeInBytes,
-          new Metrics(recordCount, columnSizes, valueCounts, nullValueCounts, distinctCounts));
+          new Metrics(recordCount, columnSizes, valueCounts, nullValueCounts, distinctCounts,
+              lowerBounds, upperBounds),
+          bloomFilters);
     }
   }
 }
@@ -77,7 +77,7 @@ class FastAppend extends SnapshotUpdate implements AppendFiles {
     if (newManifestLocation == null) {
       OutputFile out = manifestPath(0);
 
-      try (ManifestWriter writer = new ManifestWriter(spec, out, snapshotId())) {
+      try (ManifestWriter writer = newManifestWriter(spec, out)) {
 
         writer.addAll(newFiles);
 
@@ -20,6 +20,8 @@ import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.netflix.iceberg.expressions.BloomFilterEvaluator;
 import com.netflix.iceberg.expressions.Evaluator;
 import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.expressions.Expressions;
@@ -27,27 +29,48 @@ import com.netflix.iceberg.expressions.Projections;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 public class FilteredManifest implements Filterable<FilteredManifest> {
+  private static final String BLOOM_FILTERS = "bloom_filters";
+
   private final ManifestReader reader;
   private final Expression partFilter;
   private final Collection<String> columns;
+  private final BloomFilterEvaluator bloomEvaluator;
+
+  // lazily initialized, or passed in when the evaluator is shared by several manifests
+  private Evaluator evaluator;
 
   FilteredManifest(ManifestReader reader, Expression filter, Collection<String> columns) {
+    this(reader, filter, null, null, columns);
+  }
+
+  /**
+   * Creates a filtered manifest that uses an existing evaluator for its partition filter.
+   * <p>
+   * The evaluator must be bound to the reader's partition type and evaluate the same filter. If
+   * a Bloom filter evaluator is passed, files whose Bloom filters cannot match it are skipped.
+   */
+  FilteredManifest(ManifestReader reader, Expression filter, Evaluator evaluator,
+                   BloomFilterEvaluator bloomEvaluator, Collection<String> columns) {
     Preconditions.checkNotNull(reader, "ManifestReader cannot be null");
     this.reader = reader;
     this.partFilter = filter;
+    this.evaluator = evaluator;
+    this.bloomEvaluator = bloomEvaluator;
     this.columns = columns;
   }
 
   @Override
   public FilteredManifest select(Collection<String> columns) {
-    return new FilteredManifest(reader, partFilter, columns);
+    return new FilteredManifest(reader, partFilter, evaluator, bloomEvaluator, columns);
   }
 
   @Override
   public FilteredManifest filterPartitions(Expression expr) {
-    return new FilteredManifest(reader, Expressions.and(partFilter, expr), columns);
+    return new FilteredManifest(
+        reader, Expressions.and(partFilter, expr), null, bloomEvaluator, columns);
   }
 
   @Override
@@ -55,21 +78,45 @@ public class FilteredManifest implements Filterable<FilteredManifest> {
     return filterPartitions(Projections.inclusive(reader.spec()).project(expr));
   }
 
+  private Evaluator evaluator() {
+    if (evaluator == null) {
+      this.evaluator = new Evaluator(reader.spec().partitionType(), partFilter);
+    }
+    return evaluator;
+  }
+
+  /**
+   * Returns the columns to read, adding Bloom filters if they are needed to filter files.
+   */
+  private Collection<String> readColumns() {
+    if (bloomEvaluator == null || columns.contains("*") || columns.contains(BLOOM_FILTERS)) {
+      return columns;
+    }
+
+    List<String> withBloomFilters = Lists.newArrayList(columns);
+    withBloomFilters.add(BLOOM_FILTERS);
+    return withBloomFilters;
+  }
+
   @Override
   public Iterator<DataFile> iterator() {
+    Evaluator evaluator = evaluator();
+    Collection<String> readColumns = readColumns();
+    // Bloom filters that were read only to filter files are not returned to the caller
+    boolean dropBloomFilters = readColumns != columns;
     return Iterators.transform(
-        Iterators.filter(reader.iterator(partFilter, columns), new Predicate<DataFile>() {
-          private final Evaluator evaluator = new Evaluator(reader.spec().partitionType(), partFilter);
-
+        Iterators.filter(reader.iterator(partFilter, readColumns), new Predicate<DataFile>() {
           @Override
           public boolean apply(DataFile input) {
-            return input != null && evaluator.eval(input.partition());
+            return input != null && evaluator.eval(input.partition()) &&
+                (bloomEvaluator == null || bloomEvaluator.eval(input));
           }
         }), new Function<DataFile, DataFile>() {
           @Nullable
           @Override
           public DataFile apply(@Nullable DataFile input) {
-            return input.copy();
+            return dropBloomFilters ?
+                ((GenericDataFile) input).copyWithoutBloomFilters() : input.copy();
           }
         });
   }
@@ -17,14 +17,22 @@
 package com.netflix.iceberg;
 
 import com.google.common.base.Objects;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.netflix.iceberg.avro.AvroSchemaUtil;
 import com.netflix.iceberg.types.Types;
 import com.netflix.iceberg.util.Pair;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.specific.SpecificData;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +46,18 @@ class GenericDataFile
     }
   };
 
+  // Avro creates an instance for each record when containers are not reused, so the projection
+  // is computed once for each Avro schema. The position array is shared and never modified.
+  private static final LoadingCache<org.apache.avro.Schema, Pair<int[], PartitionData>> PROJECTIONS =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(new CacheLoader<org.apache.avro.Schema, Pair<int[], PartitionData>>() {
+            @Override
+            public Pair<int[], PartitionData> load(org.apache.avro.Schema avroSchema) {
+              return projection(avroSchema);
+            }
+          });
+
   private int[] fromProjectionPos;
   private Types.StructType partitionType;
 
@@ -55,10 +75,12 @@ class GenericDataFile
   private Collection<Pair<Integer, Long>> valueCounts = null;
   private Collection<Pair<Integer, Long>> nullValueCounts = null;
   private Collection<Pair<Integer, Long>> distinctCounts = null;
+  // ByteBuffer is not Serializable, so bounds are written by writeObject
+  private transient Collection<Pair<Integer, ByteBuffer>> lowerBounds = null;
+  private transient Collection<Pair<Integer, ByteBuffer>> upperBounds = null;
+  private transient Collection<Pair<Integer, ByteBuffer>> bloomFilters = null;
 
-  // TODO: add support for column min/max/hist
-  // private final Map<Integer, byte[]> mins;
-  // private final Map<Integer, byte[]> maxes;
+  // TODO: add support for column histograms
   // private final Map<Integer, byte[]> hists;
 
   // cached schema
@@ -70,12 +92,19 @@ class GenericDataFile
   public GenericDataFile(org.apache.avro.Schema avroSchema) {
     this.avroSchema = avroSchema;
 
+    Pair<int[], PartitionData> projection = PROJECTIONS.getUnchecked(avroSchema);
+    this.fromProjectionPos = projection.first();
+    this.partitionData = projection.second().copy();
+    this.partitionType = partitionData.getPartitionType();
+  }
+
+  private static Pair<int[], PartitionData> projection(org.apache.avro.Schema avroSchema) {
     Types.StructType schema = AvroSchemaUtil.convert(avroSchema).asNestedType().asStructType();
-    this.partitionType = schema.fieldType("partition").asNestedType().asStructType();
+    Types.StructType partitionType = schema.fieldType("partition").asNestedType().asStructType();
 
     List<Types.NestedField> fields = schema.fields();
     List<Types.NestedField> allFields = DataFile.getType(partitionType).fields();
-    this.fromProjectionPos = new int[fields.size()];
+    int[] fromProjectionPos = new int[fields.size()];
     for (int i = 0; i < fromProjectionPos.length; i += 1) {
       boolean found = false;
       for (int j = 0; j < allFields.size(); j += 1) {
@@ -90,7 +119,7 @@ class GenericDataFile
       }
     }
 
-    this.partitionData = new PartitionData(partitionType);
+    return Pair.of(fromProjectionPos, new PartitionData(partitionType));
   }
 
   GenericDataFile(String filePath, FileFormat format, long recordCount,
@@ -108,6 +137,9 @@ class GenericDataFile
     this.valueCounts = null;
     this.nullValueCounts = null;
     this.distinctCounts = null;
+    this.lowerBounds = null;
+    this.upperBounds = null;
+    this.bloomFilters = null;
     this.fromProjectionPos = null;
   }
 
@@ -126,11 +158,20 @@ class GenericDataFile
     this.valueCounts = null;
     this.nullValueCounts = null;
     this.distinctCounts = null;
+    this.lowerBounds = null;
+    this.upperBounds = null;
+    this.bloomFilters = null;
     this.fromProjectionPos = null;
   }
 
   GenericDataFile(String filePath, FileFormat format, PartitionData partition,
                   long fileSizeInBytes, long blockSizeInBytes, Metrics metrics) {
+    this(filePath, format, partition, fileSizeInBytes, blockSizeInBytes, metrics, null);
+  }
+
+  GenericDataFile(String filePath, FileFormat format, PartitionData partition,
+                  long fileSizeInBytes, long blockSizeInBytes, Metrics metrics,
+                  Map<Integer, ByteBuffer> bloomFilters) {
     this.filePath = filePath;
     this.format = format;
 
@@ -153,6 +194,9 @@ class GenericDataFile
     this.valueCounts = fromMap(metrics.valueCounts());
     this.nullValueCounts = fromMap(metrics.nullValueCounts());
     this.distinctCounts = fromMap(metrics.distinctCounts());
+    this.lowerBounds = fromMap(metrics.lowerBounds());
+    this.upperBounds = fromMap(metrics.upperBounds());
+    this.bloomFilters = fromMap(bloomFilters);
     this.fromProjectionPos = null;
   }
 
@@ -160,8 +204,9 @@ class GenericDataFile
    * Copy constructor.
    *
    * @param toCopy a generic data file to copy.
+   * @param withBloomFilters whether to copy the file's Bloom filters.
    */
-  private GenericDataFile(GenericDataFile toCopy) {
+  private GenericDataFile(GenericDataFile toCopy, boolean withBloomFilters) {
     this.filePath = toCopy.filePath;
     this.format = toCopy.format;
     this.partitionData = toCopy.partitionData.copy();
@@ -176,6 +221,10 @@ class GenericDataFile
     this.valueCounts = fromMap(toMap(toCopy.valueCounts));
     this.nullValueCounts = fromMap(toMap(toCopy.nullValueCounts));
     this.distinctCounts = fromMap(toMap(toCopy.distinctCounts));
+    // bound buffers may be reused by the manifest reader, so copy the bytes
+    this.lowerBounds = fromByteArrays(toByteArrays(toCopy.lowerBounds));
+    this.upperBounds = fromByteArrays(toByteArrays(toCopy.upperBounds));
+    this.bloomFilters = withBloomFilters ? fromByteArrays(toByteArrays(toCopy.bloomFilters)) : null;
     this.fromProjectionPos = toCopy.fromProjectionPos;
   }
 
@@ -245,6 +294,21 @@ class GenericDataFile
     return toMap(distinctCounts);
   }
 
+  @Override
+  public Map<Integer, ByteBuffer> lowerBounds() {
+    return toMap(lowerBounds);
+  }
+
+  @Override
+  public Map<Integer, ByteBuffer> upperBounds() {
+    return toMap(upperBounds);
+  }
+
+  @Override
+  public Map<Integer, ByteBuffer> bloomFilters() {
+    return toMap(bloomFilters);
+  }
+
   @Override
   public org.apache.avro.Schema getSchema() {
     if (avroSchema == null) {
@@ -299,6 +363,15 @@ class GenericDataFile
       case 11:
         this.distinctCounts = (Collection<Pair<Integer, Long>>) v;
         return;
+      case 12:
+        this.lowerBounds = (Collection<Pair<Integer, ByteBuffer>>) v;
+        return;
+      case 13:
+        this.upperBounds = (Collection<Pair<Integer, ByteBuffer>>) v;
+        return;
+      case 14:
+        this.bloomFilters = (Collection<Pair<Integer, ByteBuffer>>) v;
+        return;
       default:
         // ignore the object, it must be from a newer version of the format
     }
@@ -331,6 +404,12 @@ class GenericDataFile
         return nullValueCounts;
       case 11:
         return distinctCounts;
+      case 12:
+        return lowerBounds;
+      case 13:
+        return upperBounds;
+      case 14:
+        return bloomFilters;
       default:
         throw new UnsupportedOperationException("Unknown field ordinal: " + i);
     }
@@ -343,35 +422,87 @@ class GenericDataFile
         partitionType, PartitionData.class.getName()));
   }
 
-  private static Collection<Pair<Integer, Long>> fromMap(Map<Integer, Long> map) {
+  private static <V> Collection<Pair<Integer, V>> fromMap(Map<Integer, V> map) {
     if (map == null) {
       return null;
     }
 
-    List<Pair<Integer, Long>> pairs = Lists.newArrayListWithExpectedSize(map.size());
-    for (Map.Entry<Integer, Long> entry : map.entrySet()) {
+    List<Pair<Integer, V>> pairs = Lists.newArrayListWithExpectedSize(map.size());
+    for (Map.Entry<Integer, V> entry : map.entrySet()) {
       pairs.add(Pair.of(entry.getKey(), entry.getValue()));
     }
 
     return pairs;
   }
 
-  private static Map<Integer, Long> toMap(Collection<Pair<Integer, Long>> pairs) {
+  private static <V> Map<Integer, V> toMap(Collection<Pair<Integer, V>> pairs) {
     if (pairs == null) {
       return null;
     }
 
-    ImmutableMap.Builder<Integer, Long> builder = ImmutableMap.builder();
-    for (Pair<Integer, Long> pair : pairs) {
+    ImmutableMap.Builder<Integer, V> builder = ImmutableMap.builder();
+    for (Pair<Integer, V> pair : pairs) {
       builder.put(pair.first(), pair.second());
     }
 
     return builder.build();
   }
 
+  private static Map<Integer, byte[]> toByteArrays(Collection<Pair<Integer, ByteBuffer>> pairs) {
+    if (pairs == null) {
+      return null;
+    }
+
+    Map<Integer, byte[]> map = Maps.newHashMap();
+    for (Pair<Integer, ByteBuffer> pair : pairs) {
+      ByteBuffer buffer = pair.second().duplicate();
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      map.put(pair.first(), bytes);
+    }
+
+    return map;
+  }
+
+  private static Collection<Pair<Integer, ByteBuffer>> fromByteArrays(Map<Integer, byte[]> map) {
+    if (map == null) {
+      return null;
+    }
+
+    List<Pair<Integer, ByteBuffer>> pairs = Lists.newArrayListWithExpectedSize(map.size());
+    for (Map.Entry<Integer, byte[]> entry : map.entrySet()) {
+      pairs.add(Pair.of(entry.getKey(), ByteBuffer.wrap(entry.getValue())));
+    }
+
+    return pairs;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeObject(toByteArrays(lowerBounds));
+    out.writeObject(toByteArrays(upperBounds));
+    out.writeObject(toByteArrays(bloomFilters));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.lowerBounds = fromByteArrays((Map<Integer, byte[]>) in.readObject());
+    this.upperBounds = fromByteArrays((Map<Integer, byte[]>) in.readObject());
+    this.bloomFilters = fromByteArrays((Map<Integer, byte[]>) in.readObject());
+  }
+
   @Override
   public DataFile copy() {
-    return new GenericDataFile(this);
+    return new GenericDataFile(this, true);
+  }
+
+  /**
+   * Copies this data file without its Bloom filters, for readers that projected them only to
+   * filter files.
+   */
+  DataFile copyWithoutBloomFilters() {
+    return new GenericDataFile(this, false);
   }
 
   @Override
@@ -387,6 +518,9 @@ class GenericDataFile
         .add("value_counts", valueCounts)
         .add("null_value_counts", nullValueCounts)
         .add("distinct_counts", distinctCounts)
+        .add("lower_bounds", lowerBounds)
+        .add("upper_bounds", upperBounds)
+        .add("bloom_filters", bloomFilters)
         .toString();
   }
 
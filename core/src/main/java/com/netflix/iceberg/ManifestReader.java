@@ -48,6 +48,9 @@ public class ManifestReader implements Filterable<FilteredManifest> {
   private static final List<String> CHANGE_COLUNNS = Lists.newArrayList(
       "file_path", "file_format", "partition", "record_count", "file_size_in_bytes");
 
+  // manifests at least this large are decoded on a pool of threads
+  private static final long PARALLEL_DECODE_MIN_BYTES = 8 * 1024 * 1024; // 8 MB
+
   /**
    * Returns a new builder to create a {@link ManifestReader} for an {@link InputFile}.
    *
@@ -155,7 +158,7 @@ public class ManifestReader implements Filterable<FilteredManifest> {
     Schema schema = ManifestEntry.projectSchema(spec.partitionType(), columns);
     switch (format) {
       case AVRO:
-        return Avro.read(file)
+        Avro.ReadBuilder builder = Avro.read(file)
             .project(schema)
             .rename("manifest_entry", ManifestEntry.class.getName())
             .rename("partition", PartitionData.class.getName())
@@ -164,8 +167,18 @@ public class ManifestReader implements Filterable<FilteredManifest> {
             .rename("value_counts", Pair.class.getName())
             .rename("null_value_counts", Pair.class.getName())
             .rename("distinct_counts", Pair.class.getName())
-            .reuseContainers()
-            .build();
+            .rename("lower_bounds", Pair.class.getName())
+            .rename("upper_bounds", Pair.class.getName())
+            .rename("bloom_filters", Pair.class.getName())
+            .reuseContainers();
+
+        if (file.getLength() >= PARALLEL_DECODE_MIN_BYTES &&
+            Runtime.getRuntime().availableProcessors() > 1) {
+          // parallel decoding does not reuse containers, which is slower on a single core
+          builder.decodeInParallel();
+        }
+
+        return builder.build();
 
       default:
         throw new UnsupportedOperationException("Invalid format for manifest file: " + format);
@@ -37,7 +37,11 @@ class ManifestWriter implements FileAppender<DataFile> {
   private ManifestEntry reused = null;
 
   ManifestWriter(PartitionSpec spec, OutputFile file, long snapshotId) {
-    this.writer = newAppender(FileFormat.AVRO, spec, file);
+    this(spec, file, snapshotId, TableProperties.MANIFEST_COMPRESSION_DEFAULT);
+  }
+
+  ManifestWriter(PartitionSpec spec, OutputFile file, long snapshotId, String codec) {
+    this.writer = newAppender(FileFormat.AVRO, spec, file, codec);
     this.snapshotId = snapshotId;
     this.reused = new ManifestEntry(spec.partitionType());
   }
@@ -75,13 +79,23 @@ class ManifestWriter implements FileAppender<DataFile> {
     writer.add(reused.wrapAppend(snapshotId, file));
   }
 
+  @Override
+  public Metrics metrics() {
+    return writer.metrics();
+  }
+
+  @Override
+  public long length() {
+    return writer.length();
+  }
+
   @Override
   public void close() throws IOException {
     writer.close();
   }
 
   private static <D> FileAppender<D> newAppender(FileFormat format, PartitionSpec spec,
-                                                 OutputFile file) {
+                                                 OutputFile file, String codec) {
     Schema manifestSchema = ManifestEntry.getSchema(spec.partitionType());
     try {
       switch (format) {
@@ -89,6 +103,7 @@ class ManifestWriter implements FileAppender<DataFile> {
           return Avro.write(file)
               .schema(manifestSchema)
               .named("manifest_entry")
+              .codec(codec)
               .set("schema", SchemaParser.toJson(spec.schema()))
               .set("partition-spec", PartitionSpecParser.toJson(spec))
               .build();
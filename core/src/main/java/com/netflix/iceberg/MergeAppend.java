@@ -123,7 +123,7 @@ class MergeAppend extends SnapshotUpdate implements AppendFiles {
 
     OutputFile out = manifestPath(mergedManifests.size());
 
-    try (ManifestWriter writer = new ManifestWriter(spec, out, snapshotId())) {
+    try (ManifestWriter writer = newManifestWriter(spec, out)) {
 
       for (ManifestReader reader : group) {
         writer.addExisting(reader.entries());
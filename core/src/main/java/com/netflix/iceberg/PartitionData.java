@@ -18,6 +18,9 @@ package com.netflix.iceberg;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.netflix.iceberg.avro.AvroSchemaUtil;
 import com.netflix.iceberg.types.Type;
 import com.netflix.iceberg.types.Types;
@@ -35,6 +38,18 @@ class PartitionData
     return AvroSchemaUtil.convert(partitionType, PartitionData.class.getName());
   }
 
+  // Avro creates an instance for each record when containers are not reused, so each Avro schema
+  // is converted once and new instances are copied from a template
+  private static final LoadingCache<Schema, PartitionData> TEMPLATES = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build(new CacheLoader<Schema, PartitionData>() {
+        @Override
+        public PartitionData load(Schema schema) {
+          return new PartitionData(AvroSchemaUtil.convert(schema).asNestedType().asStructType(),
+              schema);
+        }
+      });
+
   private final Types.StructType partitionType;
   private final Object[] data;
   private final String stringSchema;
@@ -44,7 +59,11 @@ class PartitionData
    * Used by Avro reflection to instantiate this class when reading manifest files.
    */
   public PartitionData(Schema schema) {
-    this.partitionType = AvroSchemaUtil.convert(schema).asNestedType().asStructType();
+    this(TEMPLATES.getUnchecked(schema));
+  }
+
+  private PartitionData(Types.StructType partitionType, Schema schema) {
+    this.partitionType = partitionType;
     this.data = new Object[partitionType.fields().size()];
     this.stringSchema = schema.toString();
     this.schema = schema;
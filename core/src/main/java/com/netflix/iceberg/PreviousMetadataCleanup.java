@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.iceberg.TableMetadata.MetadataLogEntry;
+import com.netflix.iceberg.util.Tasks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.netflix.iceberg.TableProperties.METADATA_DELETE_AFTER_COMMIT_ENABLED;
+import static com.netflix.iceberg.TableProperties.METADATA_DELETE_AFTER_COMMIT_ENABLED_DEFAULT;
+
+/**
+ * Deletes metadata files that a commit dropped from the table's metadata log.
+ * <p>
+ * {@link TableOperations} implementations should call
+ * {@link #deleteRemovedMetadataFiles(TableOperations, TableMetadata, TableMetadata)} after a
+ * commit succeeds. Files are deleted in a single batch per commit on a background thread so that
+ * cleanup does not delay the commit, and failures are logged and ignored.
+ * <p>
+ * All tables share one daemon thread, so commits do not create threads and pending deletes do not
+ * keep the JVM from exiting.
+ */
+public class PreviousMetadataCleanup {
+  private static final Logger LOG = LoggerFactory.getLogger(PreviousMetadataCleanup.class);
+
+  private static final ExecutorService DELETE_POOL = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("iceberg-metadata-cleanup-%d")
+          .build());
+
+  private PreviousMetadataCleanup() {
+  }
+
+  /**
+   * Deletes metadata files tracked by base that are no longer tracked by the committed metadata.
+   * <p>
+   * This does nothing unless {@link TableProperties#METADATA_DELETE_AFTER_COMMIT_ENABLED} is set.
+   *
+   * @param ops table operations used to delete files
+   * @param base the table metadata that was replaced, or null for a new table
+   * @param metadata the table metadata that was committed
+   */
+  public static void deleteRemovedMetadataFiles(TableOperations ops,
+                                                TableMetadata base, TableMetadata metadata) {
+    if (base == null || !metadata.propertyAsBoolean(
+        METADATA_DELETE_AFTER_COMMIT_ENABLED, METADATA_DELETE_AFTER_COMMIT_ENABLED_DEFAULT)) {
+      return;
+    }
+
+    Set<MetadataLogEntry> removed = Sets.newHashSet(base.previousFiles());
+    removed.removeAll(metadata.previousFiles());
+    if (removed.isEmpty()) {
+      return;
+    }
+
+    List<String> toDelete = Lists.newArrayListWithExpectedSize(removed.size());
+    for (MetadataLogEntry entry : removed) {
+      toDelete.add(entry.file());
+    }
+
+    DELETE_POOL.submit(() -> Tasks.foreach(toDelete)
+        .noRetry()
+        .suppressFailureWhenFinished()
+        .onFailure((file, exc) -> LOG.warn("Failed to delete previous metadata file: " + file, exc))
+        .run(ops::deleteFile));
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg;
+
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.expressions.BloomFilterEvaluator;
+import com.netflix.iceberg.expressions.Evaluator;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.expressions.Projections;
+import com.netflix.iceberg.expressions.ResidualEvaluator;
+import com.netflix.iceberg.types.Types;
+import com.netflix.iceberg.util.Pair;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the expressions and evaluators that a scan derives from its row filter for each spec.
+ * <p>
+ * Manifests written with the same {@link PartitionSpec} share an inclusive partition projection,
+ * a bound partition {@link Evaluator}, a {@link BloomFilterEvaluator}, and a
+ * {@link ResidualEvaluator}. These are created once per spec instead of once per manifest, and the
+ * serialized schema and spec strings used by scan tasks are shared the same way.
+ * <p>
+ * This class is thread-safe. Cached evaluators are thread-safe and may be used by concurrent
+ * planning threads.
+ */
+class ScanFilterCache {
+  private final Expression rowFilter;
+  private final ConcurrentMap<Pair<Types.StructType, PartitionSpec>, SpecFilters> cache =
+      Maps.newConcurrentMap();
+
+  ScanFilterCache(Expression rowFilter) {
+    this.rowFilter = rowFilter;
+  }
+
+  Expression rowFilter() {
+    return rowFilter;
+  }
+
+  /**
+   * Returns the cached filters for a spec, creating them if necessary.
+   *
+   * @param spec a partition spec
+   * @return filters for the spec, shared with any other equivalent spec
+   */
+  SpecFilters get(PartitionSpec spec) {
+    // spec equality does not include the schema, but binding depends on the source column types
+    Pair<Types.StructType, PartitionSpec> key = Pair.of(spec.schema().asStruct(), spec);
+    SpecFilters filters = cache.get(key);
+    if (filters == null) {
+      // a race may create duplicate filters, which are equivalent so the first one is kept
+      SpecFilters newFilters = new SpecFilters(spec, rowFilter);
+      filters = cache.putIfAbsent(key, newFilters);
+      if (filters == null) {
+        filters = newFilters;
+      }
+    }
+    return filters;
+  }
+
+  /**
+   * Filters for one spec: the partition filter and evaluators for manifests, the residual
+   * evaluator for tasks, and the serialized schema and spec.
+   */
+  static class SpecFilters {
+    private final Expression partFilter;
+    private final Evaluator partEvaluator;
+    private final BloomFilterEvaluator bloomEvaluator;
+    private final ResidualEvaluator residuals;
+    private final String schemaString;
+    private final String specString;
+
+    private SpecFilters(PartitionSpec spec, Expression rowFilter) {
+      this.partFilter = Projections.inclusive(spec).project(rowFilter);
+      this.partEvaluator = new Evaluator(spec.partitionType(), partFilter);
+      BloomFilterEvaluator bloom = new BloomFilterEvaluator(spec.schema(), rowFilter);
+      // Bloom filters are only read from manifests when the row filter can use them
+      this.bloomEvaluator = bloom.usesBloomFilters() ? bloom : null;
+      this.residuals = new ResidualEvaluator(spec, rowFilter);
+      this.schemaString = SchemaParser.toJson(spec.schema());
+      this.specString = PartitionSpecParser.toJson(spec);
+    }
+
+    Expression partFilter() {
+      return partFilter;
+    }
+
+    Evaluator partEvaluator() {
+      return partEvaluator;
+    }
+
+    ResidualEvaluator residuals() {
+      return residuals;
+    }
+
+    String schemaString() {
+      return schemaString;
+    }
+
+    String specString() {
+      return specString;
+    }
+
+    /**
+     * Returns the manifest's files that may match the row filter, with the given columns.
+     */
+    FilteredManifest filter(ManifestReader reader, Collection<String> columns) {
+      return new FilteredManifest(reader, partFilter, partEvaluator, bloomEvaluator, columns);
+    }
+  }
+}
@@ -17,7 +17,8 @@
 package com.netflix.iceberg;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.common.base.Preconditions;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
 import com.netflix.iceberg.util.JsonUtil;
@@ -35,11 +36,21 @@ public class SnapshotParser {
     generator.writeStartObject();
     generator.writeNumberField(SNAPSHOT_ID, snapshot.snapshotId());
     generator.writeNumberField(TIMESTAMP_MS, snapshot.timestampMillis());
-    generator.writeArrayFieldStart(MANIFESTS);
-    for (String file : snapshot.manifests()) {
-      generator.writeString(file);
+    generator.writeFieldName(MANIFESTS);
+
+    String manifestsJson = snapshot instanceof BaseSnapshot ?
+        ((BaseSnapshot) snapshot).manifestsJson() : null;
+    if (manifestsJson != null) {
+      // the manifest list was never decoded, so write it back without decoding it
+      generator.writeRawValue(manifestsJson);
+    } else {
+      generator.writeStartArray();
+      for (String file : snapshot.manifests()) {
+        generator.writeString(file);
+      }
+      generator.writeEndArray();
     }
-    generator.writeEndArray();
+
     generator.writeEndObject();
   }
 
@@ -56,22 +67,62 @@ public class SnapshotParser {
     }
   }
 
-  static Snapshot fromJson(TableOperations ops, JsonNode node) {
-    Preconditions.checkArgument(node.isObject(),
-        "Cannot parse table version from a non-object: %s", node);
+  /**
+   * Reads a snapshot from a parser positioned at the snapshot's start object token.
+   * <p>
+   * The snapshot's manifest list is not decoded. It is kept as compact JSON and decoded the first
+   * time {@link Snapshot#manifests()} is called.
+   */
+  static Snapshot fromJson(TableOperations ops, JsonParser parser) throws IOException {
+    Preconditions.checkArgument(parser.getCurrentToken() == JsonToken.START_OBJECT,
+        "Cannot parse table version from a non-object: %s", parser.getCurrentToken());
 
-    long versionId = JsonUtil.getLong(SNAPSHOT_ID, node);
-    long timestamp = JsonUtil.getLong(TIMESTAMP_MS, node);
-    List<String> manifests = JsonUtil.getStringList(MANIFESTS, node);
+    Long versionId = null;
+    Long timestamp = null;
+    String manifestsJson = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case SNAPSHOT_ID:
+          versionId = JsonUtil.getLong(SNAPSHOT_ID, parser);
+          break;
+        case TIMESTAMP_MS:
+          timestamp = JsonUtil.getLong(TIMESTAMP_MS, parser);
+          break;
+        case MANIFESTS:
+          Preconditions.checkArgument(parser.getCurrentToken() == JsonToken.START_ARRAY,
+              "Cannot parse %s from non-array value: %s", MANIFESTS, parser.getCurrentToken());
+          manifestsJson = JsonUtil.copyToString(parser);
+          break;
+        default:
+          // ignore unknown fields
+          parser.skipChildren();
+      }
+    }
 
-    return new BaseSnapshot(ops, versionId, timestamp, manifests);
+    Preconditions.checkArgument(versionId != null, "Cannot parse missing int %s", SNAPSHOT_ID);
+    Preconditions.checkArgument(timestamp != null, "Cannot parse missing int %s", TIMESTAMP_MS);
+    Preconditions.checkArgument(manifestsJson != null, "Cannot parse missing list %s", MANIFESTS);
+
+    return new BaseSnapshot(ops, versionId, timestamp, manifestsJson);
   }
 
   public static Snapshot fromJson(TableOperations ops, String json) {
-    try {
-      return fromJson(ops, JsonUtil.mapper().readValue(json, JsonNode.class));
+    try (JsonParser parser = JsonUtil.factory().createParser(json)) {
+      parser.nextToken();
+      return fromJson(ops, parser);
     } catch (IOException e) {
       throw new RuntimeIOException(e, "Failed to read version from json: %s", json);
     }
   }
+
+  static List<String> manifestsFromJson(String manifestsJson) {
+    try (JsonParser parser = JsonUtil.factory().createParser(manifestsJson)) {
+      parser.nextToken();
+      return JsonUtil.getStringList(MANIFESTS, parser);
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to read manifest list from json: %s", manifestsJson);
+    }
+  }
 }
@@ -34,6 +34,8 @@ import static com.netflix.iceberg.TableProperties.COMMIT_NUM_RETRIES;
 import static com.netflix.iceberg.TableProperties.COMMIT_NUM_RETRIES_DEFAULT;
 import static com.netflix.iceberg.TableProperties.COMMIT_TOTAL_RETRY_TIME_MS;
 import static com.netflix.iceberg.TableProperties.COMMIT_TOTAL_RETRY_TIME_MS_DEFAULT;
+import static com.netflix.iceberg.TableProperties.MANIFEST_COMPRESSION;
+import static com.netflix.iceberg.TableProperties.MANIFEST_COMPRESSION_DEFAULT;
 
 abstract class SnapshotUpdate implements PendingUpdate<Snapshot> {
   private final TableOperations ops;
@@ -88,6 +90,11 @@ abstract class SnapshotUpdate implements PendingUpdate<Snapshot> {
     ops.deleteFile(path);
   }
 
+  protected ManifestWriter newManifestWriter(PartitionSpec spec, OutputFile file) {
+    return new ManifestWriter(spec, file, snapshotId(),
+        base.property(MANIFEST_COMPRESSION, MANIFEST_COMPRESSION_DEFAULT));
+  }
+
   protected OutputFile manifestPath(int i) {
     return ops.newMetadataFile(FileFormat.AVRO.addExtension(commitUUID + "-m" + i));
   }
@@ -27,7 +27,9 @@ import com.netflix.iceberg.exceptions.ValidationException;
 import com.netflix.iceberg.expressions.Evaluator;
 import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.expressions.Expressions;
+import com.netflix.iceberg.expressions.InclusiveMetricsEvaluator;
 import com.netflix.iceberg.expressions.Projections;
+import com.netflix.iceberg.expressions.StrictMetricsEvaluator;
 import com.netflix.iceberg.io.OutputFile;
 import java.io.IOException;
 import java.util.List;
@@ -37,6 +39,10 @@ import java.util.Set;
 /**
  * {@link DeleteFiles Delete} implementation that avoids loading full manifests in memory.
  * <p>
+ * Files are deleted by a row filter when the filter's strict partition projection or the file's
+ * column metrics prove that all rows match. Files are kept when the inclusive partition
+ * projection or the file's column metrics prove that no rows match.
+ * <p>
  * This implementation will attempt to commit 5 times before throwing {@link CommitFailedException}.
  */
 class StreamingDelete extends SnapshotUpdate implements DeleteFiles {
@@ -78,7 +84,7 @@ class StreamingDelete extends SnapshotUpdate implements DeleteFiles {
 
     List<String> newManifests = Lists.newArrayList();
     for (String manifest : base.currentSnapshot().manifests()) {
-      String newManifest = filterManifest(manifest);
+      String newManifest = filterManifest(base.schema(), manifest);
       if (newManifest != null) {
         newManifests.add(newManifest);
       }
@@ -100,7 +106,7 @@ class StreamingDelete extends SnapshotUpdate implements DeleteFiles {
     filteredManifests.clear();
   }
 
-  private String filterManifest(String manifest) {
+  private String filterManifest(Schema schema, String manifest) {
     if (filteredManifests.containsKey(manifest)) {
       return filteredManifests.get(manifest);
     }
@@ -118,21 +124,32 @@ class StreamingDelete extends SnapshotUpdate implements DeleteFiles {
         .project(deleteExpression);
     Evaluator strict = new Evaluator(reader.spec().partitionType(), strictExpr);
 
+    InclusiveMetricsEvaluator inclusiveMetrics =
+        new InclusiveMetricsEvaluator(schema, deleteExpression);
+    StrictMetricsEvaluator strictMetrics = new StrictMetricsEvaluator(schema, deleteExpression);
+
     // this is reused to compare file paths with the delete set
     CharSequenceWrapper wrapper = CharSequenceWrapper.wrap("");
 
     long deletedFilesCount = 0;
     long selectedFilesCount = 0;
-    try (ManifestWriter writer = new ManifestWriter(reader.spec(), filteredCopy, snapshotId())) {
+    try (ManifestWriter writer = newManifestWriter(reader.spec(), filteredCopy)) {
 
       for (ManifestEntry entry : reader.entries()) {
         DataFile file = entry.file();
         boolean fileDelete = deletePaths.contains(wrapper.set(file.path()));
-        if (fileDelete || inclusive.eval(file.partition())) {
-          ValidationException.check(fileDelete || strict.eval(file.partition()),
-              "Cannot delete file where some, but not all, rows match filter %s: %s",
-              deleteExpression, file.path());
+        if (!fileDelete && inclusive.eval(file.partition())) {
+          if (strict.eval(file.partition()) || strictMetrics.eval(file)) {
+            // all rows match the filter, so the file can be removed
+            fileDelete = true;
+          } else {
+            ValidationException.check(!inclusiveMetrics.eval(file),
+                "Cannot delete file where some, but not all, rows match filter %s: %s",
+                deleteExpression, file.path());
+          }
+        }
 
+        if (fileDelete) {
           deletedFilesCount += 1;
           writer.delete(entry);
         } else {
@@ -16,6 +16,7 @@
 
 package com.netflix.iceberg;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -34,6 +35,52 @@ import java.util.function.Predicate;
 public class TableMetadata {
   static final int TABLE_FORMAT_VERSION = 1;
 
+  /**
+   * A previous metadata file, tracked in the metadata log.
+   */
+  public static class MetadataLogEntry {
+    private final long timestampMillis;
+    private final String file;
+
+    MetadataLogEntry(long timestampMillis, String file) {
+      this.timestampMillis = timestampMillis;
+      this.file = file;
+    }
+
+    public long timestampMillis() {
+      return timestampMillis;
+    }
+
+    public String file() {
+      return file;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (other == null || getClass() != other.getClass()) {
+        return false;
+      }
+      MetadataLogEntry that = (MetadataLogEntry) other;
+      return timestampMillis == that.timestampMillis && Objects.equal(file, that.file);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(timestampMillis, file);
+    }
+
+    @Override
+    public String toString() {
+      return Objects.toStringHelper(this)
+          .add("timestamp_ms", timestampMillis)
+          .add("file", file)
+          .toString();
+    }
+  }
+
   public static TableMetadata newTableMetadata(TableOperations ops,
                                                Schema schema,
                                                PartitionSpec spec,
@@ -73,6 +120,7 @@ public class TableMetadata {
   private final long currentSnapshotId;
   private final List<Snapshot> snapshots;
   private final Map<Long, Snapshot> snapshotsById;
+  private final List<MetadataLogEntry> previousFiles;
 
   TableMetadata(TableOperations ops,
                 InputFile file,
@@ -84,6 +132,21 @@ public class TableMetadata {
                 Map<String, String> properties,
                 long currentSnapshotId,
                 List<Snapshot> snapshots) {
+    this(ops, file, location, lastUpdatedMillis, lastColumnId, schema, spec, properties,
+        currentSnapshotId, snapshots, ImmutableList.of());
+  }
+
+  TableMetadata(TableOperations ops,
+                InputFile file,
+                String location,
+                long lastUpdatedMillis,
+                int lastColumnId,
+                Schema schema,
+                PartitionSpec spec,
+                Map<String, String> properties,
+                long currentSnapshotId,
+                List<Snapshot> snapshots,
+                List<MetadataLogEntry> previousFiles) {
     this.ops = ops;
     this.file = file;
     this.location = location;
@@ -94,6 +157,7 @@ public class TableMetadata {
     this.properties = properties;
     this.currentSnapshotId = currentSnapshotId;
     this.snapshots = snapshots;
+    this.previousFiles = previousFiles;
 
     ImmutableMap.Builder<Long, Snapshot> builder = ImmutableMap.builder();
     for (Snapshot version : snapshots) {
@@ -134,6 +198,14 @@ public class TableMetadata {
     return properties;
   }
 
+  public String property(String property, String defaultValue) {
+    String value = properties.get(property);
+    if (value != null) {
+      return value;
+    }
+    return defaultValue;
+  }
+
   public int propertyAsInt(String property, int defaultValue) {
     String value = properties.get(property);
     if (value != null) {
@@ -142,6 +214,14 @@ public class TableMetadata {
     return defaultValue;
   }
 
+  public boolean propertyAsBoolean(String property, boolean defaultValue) {
+    String value = properties.get(property);
+    if (value != null) {
+      return Boolean.parseBoolean(value);
+    }
+    return defaultValue;
+  }
+
   public Snapshot snapshot(long snapshotId) {
     return snapshotsById.get(snapshotId);
   }
@@ -154,17 +234,29 @@ public class TableMetadata {
     return snapshots;
   }
 
+  /**
+   * Returns the metadata files that preceded this version, oldest first.
+   * <p>
+   * The log is limited to {@link TableProperties#METADATA_PREVIOUS_VERSIONS_MAX} entries. Files
+   * that are dropped from the log may be deleted after a commit and must not be read.
+   *
+   * @return a list of previous metadata files
+   */
+  public List<MetadataLogEntry> previousFiles() {
+    return previousFiles;
+  }
+
   public TableMetadata updateTableLocation(String newLocation) {
     return new TableMetadata(ops, null, newLocation,
         System.currentTimeMillis(), lastColumnId, schema, spec, properties, currentSnapshotId,
-        snapshots);
+        snapshots, addPreviousFile(properties));
   }
 
   public TableMetadata updateSchema(Schema schema, int lastColumnId) {
     PartitionSpec.checkCompatibility(spec, schema);
     return new TableMetadata(ops, null, location,
         System.currentTimeMillis(), lastColumnId, schema, spec, properties, currentSnapshotId,
-        snapshots);
+        snapshots, addPreviousFile(properties));
   }
 
   public TableMetadata addSnapshot(Snapshot snapshot) {
@@ -174,7 +266,7 @@ public class TableMetadata {
         .build();
     return new TableMetadata(ops, null, location,
         snapshot.timestampMillis(), lastColumnId, schema, spec, properties, snapshot.snapshotId(),
-        newSnapshots);
+        newSnapshots, addPreviousFile(properties));
   }
 
   public TableMetadata removeSnapshotsIf(Predicate<Snapshot> filter) {
@@ -192,7 +284,7 @@ public class TableMetadata {
 
     return new TableMetadata(ops, null, location,
         System.currentTimeMillis(), lastColumnId, schema, spec, properties, currentSnapshotId,
-        filtered);
+        filtered, addPreviousFile(properties));
   }
 
   public TableMetadata rollbackTo(Snapshot snapshot) {
@@ -201,13 +293,34 @@ public class TableMetadata {
 
     return new TableMetadata(ops, null, location,
         System.currentTimeMillis(), lastColumnId, schema, spec, properties, snapshot.snapshotId(),
-        snapshots);
+        snapshots, addPreviousFile(properties));
   }
 
   public TableMetadata replaceProperties(Map<String, String> newProperties) {
     ValidationException.check(newProperties != null, "Cannot set properties to null");
     return new TableMetadata(ops, null, location,
         System.currentTimeMillis(), lastColumnId, schema, spec, newProperties, currentSnapshotId,
-        snapshots);
+        snapshots, addPreviousFile(newProperties));
+  }
+
+  private List<MetadataLogEntry> addPreviousFile(Map<String, String> updatedProperties) {
+    if (file == null) {
+      // this metadata was not loaded from a file, so the log does not change
+      return previousFiles;
+    }
+
+    String maxValue = updatedProperties.get(TableProperties.METADATA_PREVIOUS_VERSIONS_MAX);
+    int maxSize = Math.max(1, maxValue != null ?
+        Integer.parseInt(maxValue) : TableProperties.METADATA_PREVIOUS_VERSIONS_MAX_DEFAULT);
+
+    List<MetadataLogEntry> newLog = Lists.newArrayListWithExpectedSize(previousFiles.size() + 1);
+    newLog.addAll(previousFiles);
+    newLog.add(new MetadataLogEntry(lastUpdatedMillis, file.location()));
+
+    if (newLog.size() > maxSize) {
+      return ImmutableList.copyOf(newLog.subList(newLog.size() - maxSize, newLog.size()));
+    }
+
+    return ImmutableList.copyOf(newLog);
   }
 }
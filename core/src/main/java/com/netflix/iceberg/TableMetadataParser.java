@@ -17,19 +17,29 @@
 package com.netflix.iceberg;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.netflix.iceberg.TableMetadata.MetadataLogEntry;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
 import com.netflix.iceberg.io.InputFile;
 import com.netflix.iceberg.io.OutputFile;
 import com.netflix.iceberg.util.JsonUtil;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.PushbackInputStream;
 import java.io.StringWriter;
-import java.util.Iterator;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class TableMetadataParser {
 
@@ -42,6 +52,59 @@ public class TableMetadataParser {
   private static final String PROPERTIES = "properties";
   private static final String CURRENT_SNAPSHOT_ID = "current-snapshot-id";
   private static final String SNAPSHOTS = "snapshots";
+  private static final String METADATA_LOG = "metadata-log";
+  private static final String TIMESTAMP_MS = "timestamp-ms";
+  private static final String METADATA_FILE = "metadata-file";
+
+  private static final String METADATA_FILE_SUFFIX = ".metadata.json";
+  private static final String GZIP_SUFFIX = ".gz";
+
+  /**
+   * Returns the metadata file suffix to use for a table, based on its compression property.
+   *
+   * @param metadata table metadata
+   * @return ".metadata.json" or ".metadata.json.gz"
+   */
+  public static String getFileSuffix(TableMetadata metadata) {
+    String codec = metadata.property(
+        TableProperties.METADATA_COMPRESSION, TableProperties.METADATA_COMPRESSION_DEFAULT);
+    switch (codec.toLowerCase(Locale.ROOT)) {
+      case "none":
+        return METADATA_FILE_SUFFIX;
+      case "gzip":
+        return METADATA_FILE_SUFFIX + GZIP_SUFFIX;
+      default:
+        throw new IllegalArgumentException("Unsupported metadata compression codec: " + codec);
+    }
+  }
+
+  private static boolean isGzip(String location) {
+    return location.endsWith(GZIP_SUFFIX);
+  }
+
+  /**
+   * Returns a stream of the file's JSON, detecting gzip by its magic number.
+   * <p>
+   * The content is checked instead of the name because Hadoop tables commit gzipped metadata
+   * with the same name as uncompressed metadata.
+   */
+  private static InputStream decompressIfGzipped(InputStream stream) throws IOException {
+    PushbackInputStream in = new PushbackInputStream(stream, 2);
+    byte[] magic = new byte[2];
+    int len = 0;
+    while (len < magic.length) {
+      int n = in.read(magic, len, magic.length - len);
+      if (n < 0) {
+        break;
+      }
+      len += n;
+    }
+    in.unread(magic, 0, len);
+
+    boolean gzipped = len == 2 && (magic[0] & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF) &&
+        (magic[1] & 0xFF) == (GZIPInputStream.GZIP_MAGIC >> 8);
+    return gzipped ? new GZIPInputStream(in) : in;
+  }
 
   public static String toJson(TableMetadata metadata) {
     StringWriter writer = new StringWriter();
@@ -56,7 +119,10 @@ public class TableMetadataParser {
   }
 
   public static void write(TableMetadata metadata, OutputFile outputFile) {
-    try (OutputStreamWriter writer = new OutputStreamWriter(outputFile.create())) {
+    OutputStream stream = outputFile.create();
+    try (OutputStreamWriter writer = new OutputStreamWriter(
+        isGzip(outputFile.location()) ? new GZIPOutputStream(stream) : stream,
+        StandardCharsets.UTF_8)) {
       JsonGenerator generator = JsonUtil.factory().createGenerator(writer);
       generator.useDefaultPrettyPrinter();
       toJson(metadata, generator);
@@ -95,46 +161,162 @@ public class TableMetadataParser {
     }
     generator.writeEndArray();
 
+    generator.writeArrayFieldStart(METADATA_LOG);
+    for (MetadataLogEntry logEntry : metadata.previousFiles()) {
+      generator.writeStartObject();
+      generator.writeNumberField(TIMESTAMP_MS, logEntry.timestampMillis());
+      generator.writeStringField(METADATA_FILE, logEntry.file());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
     generator.writeEndObject();
   }
 
   public static TableMetadata read(TableOperations ops, InputFile file) {
     try {
-      return fromJson(ops, file, JsonUtil.mapper().readValue(file.newStream(), JsonNode.class));
+      InputStream stream = file.newStream();
+      try (JsonParser parser = JsonUtil.factory().createParser(decompressIfGzipped(stream))) {
+        parser.nextToken();
+        return fromJson(ops, file, parser);
+      }
     } catch (IOException e) {
       throw new RuntimeIOException(e, "Failed to read file: %s", file);
     }
   }
 
   static TableMetadata fromJson(TableOperations ops, InputFile file, JsonNode node) {
-    Preconditions.checkArgument(node.isObject(),
-        "Cannot parse metadata from a non-object: %s", node);
-
-    int formatVersion = JsonUtil.getInt(FORMAT_VERSION, node);
-    Preconditions.checkArgument(formatVersion == TableMetadata.TABLE_FORMAT_VERSION,
-        "Cannot read unsupported version %d", formatVersion);
-
-    String location = JsonUtil.getString(LOCATION, node);
-    int lastAssignedColumnId = JsonUtil.getInt(LAST_COLUMN_ID, node);
-    Schema schema = SchemaParser.fromJson(node.get(SCHEMA));
-    PartitionSpec spec = PartitionSpecParser.fromJson(schema, node.get(PARTITION_SPEC));
-    Map<String, String> properties = JsonUtil.getStringMap(PROPERTIES, node);
-    long currentVersionId = JsonUtil.getLong(CURRENT_SNAPSHOT_ID, node);
-    long lastUpdatedMillis = JsonUtil.getLong(LAST_UPDATED_MILLIS, node);
-
-    JsonNode snapshotArray = node.get(SNAPSHOTS);
-    Preconditions.checkArgument(snapshotArray.isArray(),
-        "Cannot parse snapshots from non-array: %s", snapshotArray);
-
-    List<Snapshot> snapshots = Lists.newArrayListWithExpectedSize(snapshotArray.size());
-    Iterator<JsonNode> iterator = snapshotArray.elements();
-    while (iterator.hasNext()) {
-      snapshots.add(SnapshotParser.fromJson(ops, iterator.next()));
+    try (JsonParser parser = node.traverse(JsonUtil.mapper())) {
+      parser.nextToken();
+      return fromJson(ops, file, parser);
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to read metadata from json: %s", node);
     }
+  }
+
+  /**
+   * Reads table metadata from a parser positioned at the metadata's start object token.
+   * <p>
+   * Snapshots are read without decoding their manifest lists, so reading metadata with many
+   * snapshots does not build a JSON tree or materialize every manifest path.
+   */
+  static TableMetadata fromJson(TableOperations ops, InputFile file, JsonParser parser)
+      throws IOException {
+    Preconditions.checkArgument(parser.getCurrentToken() == JsonToken.START_OBJECT,
+        "Cannot parse metadata from a non-object: %s", parser.getCurrentToken());
+
+    Integer formatVersion = null;
+    String location = null;
+    Integer lastAssignedColumnId = null;
+    JsonNode schemaNode = null;
+    JsonNode specNode = null;
+    Map<String, String> properties = null;
+    Long currentVersionId = null;
+    Long lastUpdatedMillis = null;
+    List<Snapshot> snapshots = null;
+    List<MetadataLogEntry> previousFiles = ImmutableList.of(); // optional, added after v1
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case FORMAT_VERSION:
+          formatVersion = JsonUtil.getInt(FORMAT_VERSION, parser);
+          Preconditions.checkArgument(formatVersion == TableMetadata.TABLE_FORMAT_VERSION,
+              "Cannot read unsupported version %d", formatVersion);
+          break;
+        case LOCATION:
+          location = JsonUtil.getString(LOCATION, parser);
+          break;
+        case LAST_COLUMN_ID:
+          lastAssignedColumnId = JsonUtil.getInt(LAST_COLUMN_ID, parser);
+          break;
+        case SCHEMA:
+          schemaNode = JsonUtil.mapper().readTree(parser);
+          break;
+        case PARTITION_SPEC:
+          specNode = JsonUtil.mapper().readTree(parser);
+          break;
+        case PROPERTIES:
+          properties = JsonUtil.getStringMap(PROPERTIES, parser);
+          break;
+        case CURRENT_SNAPSHOT_ID:
+          currentVersionId = JsonUtil.getLong(CURRENT_SNAPSHOT_ID, parser);
+          break;
+        case LAST_UPDATED_MILLIS:
+          lastUpdatedMillis = JsonUtil.getLong(LAST_UPDATED_MILLIS, parser);
+          break;
+        case SNAPSHOTS:
+          Preconditions.checkArgument(parser.getCurrentToken() == JsonToken.START_ARRAY,
+              "Cannot parse snapshots from non-array: %s", parser.getCurrentToken());
+          snapshots = Lists.newArrayList();
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            snapshots.add(SnapshotParser.fromJson(ops, parser));
+          }
+          break;
+        case METADATA_LOG:
+          previousFiles = metadataLogFromJson(parser);
+          break;
+        default:
+          // ignore unknown fields
+          parser.skipChildren();
+      }
+    }
+
+    Preconditions.checkArgument(formatVersion != null,
+        "Cannot parse missing int %s", FORMAT_VERSION);
+    Preconditions.checkArgument(location != null, "Cannot parse missing string %s", LOCATION);
+    Preconditions.checkArgument(lastAssignedColumnId != null,
+        "Cannot parse missing int %s", LAST_COLUMN_ID);
+    Preconditions.checkArgument(schemaNode != null, "Cannot parse missing schema %s", SCHEMA);
+    Preconditions.checkArgument(specNode != null,
+        "Cannot parse missing partition spec %s", PARTITION_SPEC);
+    Preconditions.checkArgument(properties != null, "Cannot parse missing map %s", PROPERTIES);
+    Preconditions.checkArgument(currentVersionId != null,
+        "Cannot parse missing int %s", CURRENT_SNAPSHOT_ID);
+    Preconditions.checkArgument(lastUpdatedMillis != null,
+        "Cannot parse missing int %s", LAST_UPDATED_MILLIS);
+    Preconditions.checkArgument(snapshots != null, "Cannot parse missing list %s", SNAPSHOTS);
+
+    Schema schema = SchemaParser.fromJson(schemaNode);
+    PartitionSpec spec = PartitionSpecParser.fromJson(schema, specNode);
 
     return new TableMetadata(ops, file, location,
         lastUpdatedMillis, lastAssignedColumnId, schema, spec, properties, currentVersionId,
-        snapshots);
+        snapshots, previousFiles);
   }
 
+  private static List<MetadataLogEntry> metadataLogFromJson(JsonParser parser) throws IOException {
+    Preconditions.checkArgument(parser.getCurrentToken() == JsonToken.START_ARRAY,
+        "Cannot parse metadata log from non-array: %s", parser.getCurrentToken());
+
+    ImmutableList.Builder<MetadataLogEntry> builder = ImmutableList.builder();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      Preconditions.checkArgument(parser.getCurrentToken() == JsonToken.START_OBJECT,
+          "Cannot parse metadata log entry from non-object: %s", parser.getCurrentToken());
+
+      Long timestamp = null;
+      String file = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        switch (field) {
+          case TIMESTAMP_MS:
+            timestamp = JsonUtil.getLong(TIMESTAMP_MS, parser);
+            break;
+          case METADATA_FILE:
+            file = JsonUtil.getString(METADATA_FILE, parser);
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+
+      Preconditions.checkArgument(timestamp != null, "Cannot parse missing int %s", TIMESTAMP_MS);
+      Preconditions.checkArgument(file != null, "Cannot parse missing string %s", METADATA_FILE);
+      builder.add(new MetadataLogEntry(timestamp, file));
+    }
+
+    return builder.build();
+  }
 }
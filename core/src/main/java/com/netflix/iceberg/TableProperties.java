@@ -31,4 +31,51 @@ public class TableProperties {
 
   public static final String DEFAULT_FILE_FORMAT = "write.format.default";
   public static final String DEFAULT_FILE_FORMAT_DEFAULT = "parquet";
+
+  public static final String METADATA_COMPRESSION = "write.metadata.compression-codec";
+  public static final String METADATA_COMPRESSION_DEFAULT = "none";
+
+  public static final String MANIFEST_COMPRESSION = "write.manifest.compression-codec";
+  public static final String MANIFEST_COMPRESSION_DEFAULT = "deflate-1";
+
+  public static final String AVRO_COMPRESSION = "write.avro.compression-codec";
+  public static final String AVRO_COMPRESSION_DEFAULT = "deflate-9";
+
+  public static final String WRITE_TARGET_FILE_SIZE_BYTES = "write.target-file-size-bytes";
+  public static final long WRITE_TARGET_FILE_SIZE_BYTES_DEFAULT = 536870912L; // 512 MB
+
+  // comma-separated list of top-level columns to write Bloom filters for
+  public static final String WRITE_BLOOM_FILTER_COLUMNS = "write.bloom-filter.columns";
+
+  public static final String WRITE_BLOOM_FILTER_FPP = "write.bloom-filter.fpp";
+  public static final double WRITE_BLOOM_FILTER_FPP_DEFAULT = 0.01;
+
+  public static final String WRITE_BLOOM_FILTER_MAX_BYTES = "write.bloom-filter.max-bytes";
+  public static final int WRITE_BLOOM_FILTER_MAX_BYTES_DEFAULT = 65536; // 64 KB
+
+  public static final String METADATA_PREVIOUS_VERSIONS_MAX =
+      "write.metadata.previous-versions-max";
+  public static final int METADATA_PREVIOUS_VERSIONS_MAX_DEFAULT = 100;
+
+  public static final String METADATA_DELETE_AFTER_COMMIT_ENABLED =
+      "write.metadata.delete-after-commit.enabled";
+  public static final boolean METADATA_DELETE_AFTER_COMMIT_ENABLED_DEFAULT = false;
+
+  public static final String SPLIT_BY_BUCKET_ENABLED = "read.split.by-bucket.enabled";
+  public static final boolean SPLIT_BY_BUCKET_ENABLED_DEFAULT = false;
+
+  public static final String READ_PREFETCH_ENABLED = "read.prefetch.enabled";
+  public static final boolean READ_PREFETCH_ENABLED_DEFAULT = false;
+
+  public static final String READ_PREFETCH_BLOCK_SIZE_BYTES = "read.prefetch.block-size-bytes";
+  public static final int READ_PREFETCH_BLOCK_SIZE_BYTES_DEFAULT = 1024 * 1024; // 1 MB
+
+  public static final String READ_PREFETCH_NUM_BLOCKS = "read.prefetch.num-blocks";
+  public static final int READ_PREFETCH_NUM_BLOCKS_DEFAULT = 8;
+
+  public static final String PARQUET_VECTORIZATION_ENABLED = "read.parquet.vectorization.enabled";
+  public static final boolean PARQUET_VECTORIZATION_ENABLED_DEFAULT = false;
+
+  public static final String PARQUET_BATCH_SIZE = "read.parquet.vectorization.batch-size";
+  public static final int PARQUET_BATCH_SIZE_DEFAULT = 4096;
 }
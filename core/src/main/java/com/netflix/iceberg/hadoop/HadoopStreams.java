@@ -23,6 +23,7 @@ import com.netflix.iceberg.io.DelegatingInputStream;
 import com.netflix.iceberg.io.DelegatingOutputStream;
 import com.netflix.iceberg.io.PositionOutputStream;
 import com.netflix.iceberg.io.SeekableInputStream;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.slf4j.Logger;
@@ -104,8 +105,12 @@ class HadoopStreams {
       return stream.read(b, off, len);
     }
 
+    @Override
     public int read(ByteBuffer buf) throws IOException {
-      return stream.read(buf);
+      if (stream.getWrappedStream() instanceof ByteBufferReadable) {
+        return stream.read(buf);
+      }
+      return super.read(buf);
     }
   }
 
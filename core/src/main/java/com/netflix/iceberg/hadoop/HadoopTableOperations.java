@@ -16,6 +16,7 @@
 
 package com.netflix.iceberg.hadoop;
 
+import com.netflix.iceberg.PreviousMetadataCleanup;
 import com.netflix.iceberg.TableMetadata;
 import com.netflix.iceberg.TableMetadataParser;
 import com.netflix.iceberg.TableOperations;
@@ -26,6 +27,7 @@ import com.netflix.iceberg.io.InputFile;
 import com.netflix.iceberg.io.OutputFile;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
@@ -34,6 +36,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * TableOperations implementation for file systems that support atomic rename.
@@ -42,6 +46,9 @@ import java.util.UUID;
  */
 class HadoopTableOperations implements TableOperations {
   private static final Logger LOG = LoggerFactory.getLogger(HadoopTableOperations.class);
+  private static final String[] METADATA_FILE_SUFFIXES = {".metadata.json", ".metadata.json.gz"};
+  private static final Pattern VERSION_PATTERN =
+      Pattern.compile("v([0-9]+)\\.metadata\\.json(\\.gz)?");
 
   private final Configuration conf;
   private final Path location;
@@ -61,21 +68,30 @@ class HadoopTableOperations implements TableOperations {
   @Override
   public TableMetadata refresh() {
     int ver = version != null ? version : readVersionHint();
-    Path metadataFile = metadataFile(ver);
-    FileSystem fs = Util.getFS(metadataFile, conf);
+    Path metadataFile = null;
     try {
-      // don't check if the file exists if version is non-null because it was already checked
-      if (version == null && !fs.exists(metadataFile)) {
-        if (ver == 0) {
+      metadataFile = getMetadataFile(ver);
+      if (metadataFile == null) {
+        if (version == null && ver == 0) {
           // no v0 metadata means the table doesn't exist yet
           return null;
         }
-        throw new ValidationException("Metadata file is missing: %s", metadataFile);
+
+        // the version may have been deleted by metadata cleanup after newer versions were
+        // committed, so find the latest version instead of reading an old one
+        int latestVersion = findLatestVersion();
+        metadataFile = latestVersion > ver ? getMetadataFile(latestVersion) : null;
+        if (metadataFile == null) {
+          throw new ValidationException("Metadata file is missing: %s",
+              metadataFile(ver, METADATA_FILE_SUFFIXES[0]));
+        }
+        ver = latestVersion;
       }
 
-      while (fs.exists(metadataFile(ver + 1))) {
+      Path nextMetadataFile;
+      while ((nextMetadataFile = getMetadataFile(ver + 1)) != null) {
         ver += 1;
-        metadataFile = metadataFile(ver);
+        metadataFile = nextMetadataFile;
       }
 
     } catch (IOException e) {
@@ -98,15 +114,18 @@ class HadoopTableOperations implements TableOperations {
       return;
     }
 
-    Path tempMetadataFile = metadataPath(UUID.randomUUID().toString() + ".metadata.json");
+    String fileSuffix = TableMetadataParser.getFileSuffix(metadata);
+    Path tempMetadataFile = metadataPath(UUID.randomUUID().toString() + fileSuffix);
     TableMetadataParser.write(metadata, HadoopOutputFile.fromPath(tempMetadataFile, conf));
 
+    // every codec commits to the same name, so concurrent writers that use different codecs
+    // conflict on the rename. the parser detects gzipped content when the file is read.
     int nextVersion = (version != null ? version : 0) + 1;
-    Path finalMetadataFile = metadataFile(nextVersion);
+    Path finalMetadataFile = metadataFile(nextVersion, METADATA_FILE_SUFFIXES[0]);
     FileSystem fs = Util.getFS(tempMetadataFile, conf);
 
     try {
-      if (fs.exists(finalMetadataFile)) {
+      if (getMetadataFile(nextVersion) != null) {
         throw new CommitFailedException(
             "Version %d already exists: %s", nextVersion, finalMetadataFile);
       }
@@ -129,6 +148,9 @@ class HadoopTableOperations implements TableOperations {
     // update the best-effort version pointer
     writeVersionHint(nextVersion);
 
+    // the hint already points to the new version, so versions dropped from the log are not needed
+    PreviousMetadataCleanup.deleteRemovedMetadataFiles(this, base, metadata);
+
     refresh();
   }
 
@@ -158,14 +180,47 @@ class HadoopTableOperations implements TableOperations {
     return System.currentTimeMillis();
   }
 
-  private Path metadataFile(int version) {
-    return metadataPath("v" + version + ".metadata.json");
+  private Path metadataFile(int version, String fileSuffix) {
+    return metadataPath("v" + version + fileSuffix);
+  }
+
+  /**
+   * Returns the path of an existing metadata file for a version, or null if there is none.
+   * <p>
+   * Versions are committed as vN.metadata.json whether or not the content is gzipped. Versions
+   * named vN.metadata.json.gz, which earlier commits of gzipped metadata created, are still read.
+   */
+  private Path getMetadataFile(int version) throws IOException {
+    for (String fileSuffix : METADATA_FILE_SUFFIXES) {
+      Path metadataFile = metadataFile(version, fileSuffix);
+      if (Util.getFS(metadataFile, conf).exists(metadataFile)) {
+        return metadataFile;
+      }
+    }
+
+    return null;
   }
 
   private Path metadataPath(String filename) {
     return new Path(new Path(location, "metadata"), filename);
   }
 
+  /**
+   * Lists the metadata folder to find the latest version, or returns 0 if there is none.
+   */
+  private int findLatestVersion() throws IOException {
+    Path metadataFolder = new Path(location, "metadata");
+    FileSystem fs = Util.getFS(metadataFolder, conf);
+    int latestVersion = 0;
+    for (FileStatus status : fs.listStatus(metadataFolder)) {
+      Matcher match = VERSION_PATTERN.matcher(status.getPath().getName());
+      if (match.matches()) {
+        latestVersion = Math.max(latestVersion, Integer.parseInt(match.group(1)));
+      }
+    }
+    return latestVersion;
+  }
+
   private Path versionHintFile() {
     return metadataPath("version-hint.text");
   }
@@ -17,11 +17,16 @@
 package com.netflix.iceberg.util;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -101,4 +106,73 @@ public class JsonUtil {
     }
     return builder.build();
   }
+
+  // streaming accessors: these read the value at the parser's current token, after its field name
+
+  public static int getInt(String property, JsonParser parser) throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    Preconditions.checkArgument(token != null && token.isNumeric(),
+        "Cannot parse %s from non-numeric value: %s", property, token);
+    return parser.getIntValue();
+  }
+
+  public static long getLong(String property, JsonParser parser) throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    Preconditions.checkArgument(token != null && token.isNumeric(),
+        "Cannot parse %s from non-numeric value: %s", property, token);
+    return parser.getLongValue();
+  }
+
+  public static String getString(String property, JsonParser parser) throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    Preconditions.checkArgument(token == JsonToken.VALUE_STRING,
+        "Cannot parse %s from non-string value: %s", property, token);
+    return parser.getText();
+  }
+
+  public static Map<String, String> getStringMap(String property, JsonParser parser)
+      throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    Preconditions.checkArgument(token == JsonToken.START_OBJECT,
+        "Cannot parse %s from non-object value: %s", property, token);
+
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      builder.put(field, getString(field, parser));
+    }
+    return builder.build();
+  }
+
+  public static List<String> getStringList(String property, JsonParser parser) throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    Preconditions.checkArgument(token == JsonToken.START_ARRAY,
+        "Cannot parse %s from non-array value: %s", property, token);
+
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      Preconditions.checkArgument(token == JsonToken.VALUE_STRING,
+          "Cannot parse string from non-text value: %s", token);
+      builder.add(parser.getText());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Copies the value at the parser's current token to a compact JSON string.
+   * <p>
+   * This is used to keep large values in serialized form until they are needed.
+   *
+   * @param parser a JsonParser positioned at the start of a value
+   * @return the value as compact JSON
+   * @throws IOException if the value cannot be read
+   */
+  public static String copyToString(JsonParser parser) throws IOException {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+      generator.copyCurrentStructure(parser);
+    }
+    return writer.toString();
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg;
+
+import com.netflix.iceberg.types.Types;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestBaseMetastoreTableOperations {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.IntegerType.get())
+  );
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testCommitDeletesPreviousMetadataFiles() throws Exception {
+    File location = temp.newFolder();
+    InMemoryMetastoreOperations ops = new InMemoryMetastoreOperations(new Configuration());
+    ops.commit(null, TableMetadata.newTableMetadata(
+        ops, SCHEMA, PartitionSpec.unpartitioned(), location.toString()));
+
+    Table table = new BaseTable(ops, "test");
+    table.updateProperties()
+        .set(TableProperties.METADATA_PREVIOUS_VERSIONS_MAX, "1")
+        .set(TableProperties.METADATA_DELETE_AFTER_COMMIT_ENABLED, "true")
+        .commit();
+    table.updateProperties().set("a", "1").commit();
+    table.updateProperties().set("b", "2").commit();
+
+    // deletes run in the background
+    long deadline = System.currentTimeMillis() + 10000;
+    File[] metadataFiles = listMetadataFiles(location);
+    while (metadataFiles.length > 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+      metadataFiles = listMetadataFiles(location);
+    }
+
+    Assert.assertEquals("Should keep the current and one previous metadata file",
+        2, metadataFiles.length);
+    Assert.assertEquals("Metadata log should contain 1 previous version",
+        1, ops.current().previousFiles().size());
+  }
+
+  @Test
+  public void testDoCommitRequired() {
+    BaseMetastoreTableOperations ops = new BaseMetastoreTableOperations(new Configuration()) {
+      @Override
+      public TableMetadata refresh() {
+        return null;
+      }
+    };
+
+    AssertHelpers.assertThrows("Should name the method to override",
+        UnsupportedOperationException.class, "must override doCommit",
+        () -> ops.commit(null, null));
+  }
+
+  private static File[] listMetadataFiles(File location) {
+    File[] metadataFiles = new File(location, "metadata")
+        .listFiles((dir, name) -> name.endsWith(".metadata.json"));
+    Assert.assertNotNull("Should list metadata files", metadataFiles);
+    return metadataFiles;
+  }
+
+  private static class InMemoryMetastoreOperations extends BaseMetastoreTableOperations {
+    private String metadataLocation = null;
+
+    private InMemoryMetastoreOperations(Configuration conf) {
+      super(conf);
+    }
+
+    @Override
+    public TableMetadata refresh() {
+      refreshFromMetadataLocation(metadataLocation);
+      return current();
+    }
+
+    @Override
+    protected void doCommit(TableMetadata base, TableMetadata metadata) {
+      this.metadataLocation = writeNewMetadata(metadata, currentVersion());
+      refresh();
+    }
+  }
+}
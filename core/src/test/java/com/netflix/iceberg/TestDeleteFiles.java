@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.netflix.iceberg.exceptions.ValidationException;
+import com.netflix.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.Set;
+
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.types.Conversions.toByteBuffer;
+
+public class TestDeleteFiles extends TableTestBase {
+  private DataFile file(String path, int lower, int upper) {
+    // column ids are reassigned when the table is created
+    int id = table.schema().findField("id").fieldId();
+    return DataFiles.builder(table.spec())
+        .withPath(path)
+        .withFileSizeInBytes(10)
+        .withPartitionPath("data_bucket=0")
+        .withMetrics(new Metrics(100L,
+            null, // no column sizes
+            ImmutableMap.of(id, 100L), // value counts
+            ImmutableMap.of(id, 0L), // null value counts
+            null, // no distinct counts
+            ImmutableMap.of(id, toByteBuffer(Types.IntegerType.get(), lower)),
+            ImmutableMap.of(id, toByteBuffer(Types.IntegerType.get(), upper))))
+        .build();
+  }
+
+  @Test
+  public void testDeleteFilesByColumnMetrics() {
+    DataFile lowIds = file("/path/to/low-ids.parquet", 0, 49);
+    DataFile highIds = file("/path/to/high-ids.parquet", 50, 99);
+
+    table.newAppend()
+        .appendFile(lowIds)
+        .appendFile(highIds)
+        .commit();
+
+    table.newDelete()
+        .deleteFromRowFilter(greaterThanOrEqual("id", 50))
+        .commit();
+
+    Assert.assertEquals("Should keep only the file with low ids",
+        Sets.newHashSet(lowIds.path().toString()), livePaths());
+  }
+
+  @Test
+  public void testDeletePartialFileFails() {
+    table.newAppend()
+        .appendFile(file("/path/to/low-ids.parquet", 0, 49))
+        .appendFile(file("/path/to/all-ids.parquet", 0, 99))
+        .commit();
+
+    AssertHelpers.assertThrows("Should reject a delete that matches part of a file",
+        ValidationException.class, "some, but not all, rows match",
+        () -> table.newDelete()
+            .deleteFromRowFilter(greaterThanOrEqual("id", 50))
+            .commit());
+  }
+
+  @Test
+  public void testDeleteFilesWithoutMetricsFails() {
+    table.newAppend()
+        .appendFile(DataFiles.builder(table.spec())
+            .withPath("/path/to/no-metrics.parquet")
+            .withFileSizeInBytes(10)
+            .withPartitionPath("data_bucket=0")
+            .withRecordCount(100)
+            .build())
+        .commit();
+
+    AssertHelpers.assertThrows("Should reject a delete that cannot be proven by metrics",
+        ValidationException.class, "some, but not all, rows match",
+        () -> table.newDelete()
+            .deleteFromRowFilter(greaterThanOrEqual("id", 50))
+            .commit());
+  }
+
+  @Test
+  public void testDeleteByStringMetricsAboveSurrogates() {
+    // column ids are reassigned when the table is created
+    int data = table.schema().findField("data").fieldId();
+    DataFile replacementChars = DataFiles.builder(table.spec())
+        .withPath("/path/to/replacement-chars.parquet")
+        .withFileSizeInBytes(10)
+        .withPartitionPath("data_bucket=0")
+        .withMetrics(new Metrics(100L,
+            null, // no column sizes
+            ImmutableMap.of(data, 100L), // value counts
+            ImmutableMap.of(data, 0L), // null value counts
+            null, // no distinct counts
+            ImmutableMap.of(data, toByteBuffer(Types.StringType.get(), "\uFFFD")),
+            ImmutableMap.of(data, toByteBuffer(Types.StringType.get(), "\uFFFD"))))
+        .build();
+
+    table.newAppend()
+        .appendFile(replacementChars)
+        .commit();
+
+    // U+FFFD is not < U+1F600 in UTF-16 order, so the file must not be deleted as all-matching
+    AssertHelpers.assertThrows("Should not prove a delete with code point order",
+        ValidationException.class, "some, but not all, rows match",
+        () -> table.newDelete()
+            .deleteFromRowFilter(lessThan("data", "\ud83d\ude00"))
+            .commit());
+
+    Assert.assertEquals("Should keep the file",
+        Sets.newHashSet(replacementChars.path().toString()), livePaths());
+  }
+
+  private Set<String> livePaths() {
+    Set<String> paths = Sets.newHashSet();
+    for (String manifest : table.currentSnapshot().manifests()) {
+      for (ManifestEntry entry : ManifestReader.read(Files.localInput(manifest)).entries()) {
+        if (entry.status() != ManifestEntry.Status.DELETED) {
+          paths.add(entry.file().path().toString());
+        }
+      }
+    }
+    return paths;
+  }
+}
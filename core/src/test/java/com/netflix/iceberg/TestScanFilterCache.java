@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.expressions.Expressions;
+import com.netflix.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.List;
+import java.util.Set;
+
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestScanFilterCache extends TableTestBase {
+  @Test
+  public void testFiltersSharedByEquivalentSpecs() {
+    ScanFilterCache cache = new ScanFilterCache(Expressions.equal("data", "abc"));
+    PartitionSpec parsed = PartitionSpecParser.fromJson(SCHEMA, PartitionSpecParser.toJson(SPEC));
+
+    ScanFilterCache.SpecFilters filters = cache.get(SPEC);
+    Assert.assertSame("Should reuse filters for the same spec", filters, cache.get(SPEC));
+    Assert.assertSame("Should reuse filters for an equivalent spec", filters, cache.get(parsed));
+  }
+
+  @Test
+  public void testFiltersNotSharedAcrossSchemas() {
+    Schema promoted = new Schema(
+        required(3, "id", Types.LongType.get()),
+        required(4, "data", Types.StringType.get())
+    );
+    PartitionSpec spec = PartitionSpec.builderFor(promoted).bucket("data", 16).build();
+
+    ScanFilterCache cache = new ScanFilterCache(Expressions.equal("data", "abc"));
+    Assert.assertNotSame("Should not share filters when source types differ",
+        cache.get(SPEC), cache.get(spec));
+  }
+
+  @Test
+  public void testPlanWithSharedFilters() {
+    table.newFastAppend()
+        .appendFile(FILE_A)
+        .commit();
+    table.newFastAppend()
+        .appendFile(FILE_B)
+        .appendFile(FILE_C)
+        .commit();
+
+    Expression filter = Expressions.notNull("data");
+    List<String> planned = Lists.newArrayList();
+    for (FileScanTask task : table.newScan().filter(filter).planFiles()) {
+      planned.add(task.file().path().toString());
+      Assert.assertEquals("Residual should be satisfied by the partition",
+          Expressions.alwaysTrue(), task.residual());
+    }
+
+    Assert.assertEquals("Should plan files from both manifests",
+        Sets.newHashSet(FILE_A.path(), FILE_B.path(), FILE_C.path()), Sets.newHashSet(planned));
+  }
+
+  @Test
+  public void testPlanWithBloomFilters() {
+    // the table reassigns column ids when it is created
+    int idField = table.schema().findField("id").fieldId();
+    BloomFilter ids = BloomFilter.create(0.01, 1024);
+    for (int id = 0; id < 100; id += 1) {
+      ids.add(BloomFilter.hash(Types.IntegerType.get(), id));
+    }
+
+    DataFile withFilter = DataFiles.builder(SPEC)
+        .copy(FILE_A)
+        .withPath("/path/to/data-with-filter.parquet")
+        .withBloomFilters(ImmutableMap.of(idField, ids.toByteBuffer()))
+        .build();
+
+    table.newFastAppend()
+        .appendFile(withFilter)
+        .appendFile(FILE_B)
+        .commit();
+
+    Assert.assertEquals("Should plan both files for a contained id",
+        Sets.newHashSet(withFilter.path(), FILE_B.path()),
+        plannedPaths(Expressions.equal("id", 34)));
+    Assert.assertEquals("Should skip the filtered file for a missing id",
+        Sets.newHashSet(FILE_B.path()),
+        plannedPaths(Expressions.in("id", 1000, 2000)));
+    Assert.assertEquals("Should not use the filter for a range predicate",
+        Sets.newHashSet(withFilter.path(), FILE_B.path()),
+        plannedPaths(Expressions.greaterThan("id", 1000)));
+    Assert.assertEquals("Should read Bloom filters for a scan that does not select them",
+        Sets.newHashSet(FILE_B.path()),
+        plannedPaths(table.newScan().select("file_path", "partition")
+            .filter(Expressions.equal("id", 1000))));
+
+    ManifestReader reader = ManifestReader.read(
+        table.ops().newInputFile(table.currentSnapshot().manifests().get(0)));
+    FilteredManifest filtered = new ScanFilterCache(Expressions.equal("id", 1000))
+        .get(reader.spec())
+        .filter(reader, Lists.newArrayList("file_path", "partition"))
+        .filterRows(Expressions.notNull("data"));
+    List<CharSequence> paths = Lists.newArrayList();
+    for (DataFile file : filtered) {
+      paths.add(file.path().toString());
+    }
+    Assert.assertEquals("Should keep Bloom filters after filtering rows",
+        Lists.newArrayList(FILE_B.path()), paths);
+  }
+
+  @Test
+  public void testBloomFiltersOnlyReturnedWhenSelected() {
+    int idField = table.schema().findField("id").fieldId();
+    BloomFilter ids = BloomFilter.create(0.01, 1024);
+    ids.add(BloomFilter.hash(Types.IntegerType.get(), 34));
+
+    table.newFastAppend()
+        .appendFile(DataFiles.builder(SPEC)
+            .copy(FILE_A)
+            .withBloomFilters(ImmutableMap.of(idField, ids.toByteBuffer()))
+            .build())
+        .commit();
+
+    Expression filter = Expressions.equal("id", 34);
+    DataFile projected = onlyFile(table.newScan()
+        .select("file_path", "partition")
+        .filter(filter));
+    Assert.assertNull("Should not return Bloom filters that were only read to filter files",
+        projected.bloomFilters());
+
+    DataFile selected = onlyFile(table.newScan()
+        .select("file_path", "partition", "bloom_filters")
+        .filter(filter));
+    Assert.assertEquals("Should return Bloom filters that were selected",
+        ImmutableMap.of(idField, ids.toByteBuffer()), selected.bloomFilters());
+
+    DataFile all = onlyFile(table.newScan().filter(filter));
+    Assert.assertEquals("Should return Bloom filters when all columns are selected",
+        ImmutableMap.of(idField, ids.toByteBuffer()), all.bloomFilters());
+  }
+
+  private DataFile onlyFile(TableScan scan) {
+    List<FileScanTask> tasks = Lists.newArrayList(scan.planFiles());
+    Assert.assertEquals("Should plan one file", 1, tasks.size());
+    return tasks.get(0).file();
+  }
+
+  private Set<CharSequence> plannedPaths(Expression filter) {
+    return plannedPaths(table.newScan().filter(filter));
+  }
+
+  private Set<CharSequence> plannedPaths(TableScan scan) {
+    Set<CharSequence> planned = Sets.newHashSet();
+    for (FileScanTask task : scan.planFiles()) {
+      planned.add(task.file().path().toString());
+    }
+    return planned;
+  }
+}
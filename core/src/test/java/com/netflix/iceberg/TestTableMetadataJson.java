@@ -17,22 +17,35 @@
 package com.netflix.iceberg;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.netflix.iceberg.TableMetadata.MetadataLogEntry;
 import com.netflix.iceberg.types.Types;
 import com.netflix.iceberg.util.JsonUtil;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 public class TestTableMetadataJson {
+  private static final Schema SCHEMA = new Schema(
+      Types.NestedField.required(1, "x", Types.LongType.get()),
+      Types.NestedField.required(2, "y", Types.LongType.get()),
+      Types.NestedField.required(3, "z", Types.LongType.get())
+  );
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
   @Test
   public void testJsonConversion() throws Exception {
-    Schema schema = new Schema(
-        Types.NestedField.required(1, "x", Types.LongType.get()),
-        Types.NestedField.required(2, "y", Types.LongType.get()),
-        Types.NestedField.required(3, "z", Types.LongType.get())
-    );
+    Schema schema = SCHEMA;
 
     PartitionSpec spec = PartitionSpec.builderFor(schema).build();
 
@@ -69,4 +82,90 @@ public class TestTableMetadataJson {
         previousSnapshot.manifests(),
         metadata.snapshot(previousSnapshotId).manifests());
   }
+
+  @Test
+  public void testMetadataLog() throws Exception {
+    long snapshotId = System.currentTimeMillis();
+    Snapshot snapshot = new BaseSnapshot(null, snapshotId, "file:/tmp/manfiest.1.avro");
+    List<MetadataLogEntry> previousFiles = ImmutableList.of(
+        new MetadataLogEntry(snapshotId - 200, "file:/tmp/v1.metadata.json"),
+        new MetadataLogEntry(snapshotId - 100, "file:/tmp/v2.metadata.json"));
+
+    TableMetadata expected = new TableMetadata(null, null, "s3://bucket/test/location",
+        System.currentTimeMillis(), 3, SCHEMA, PartitionSpec.unpartitioned(),
+        ImmutableMap.of(TableProperties.METADATA_PREVIOUS_VERSIONS_MAX, "2"),
+        snapshotId, Arrays.asList(snapshot), previousFiles);
+
+    String asJson = TableMetadataParser.toJson(expected);
+    TableMetadata metadata = TableMetadataParser.fromJson(null, null,
+        JsonUtil.mapper().readValue(asJson, JsonNode.class));
+
+    Assert.assertEquals("Metadata log should match",
+        previousFiles, metadata.previousFiles());
+
+    File file = new File(temp.getRoot(), "v3.metadata.json");
+    TableMetadataParser.write(metadata, Files.localOutput(file));
+    TableMetadata loaded = TableMetadataParser.read(null, Files.localInput(file));
+
+    TableMetadata updated = loaded.replaceProperties(loaded.properties());
+    Assert.assertEquals("Should drop the oldest file when the log is full",
+        ImmutableList.of(
+            previousFiles.get(1),
+            new MetadataLogEntry(loaded.lastUpdatedMillis(), file.toString())),
+        updated.previousFiles());
+  }
+
+  @Test
+  public void testLazySnapshotManifests() throws Exception {
+    long snapshotId = System.currentTimeMillis();
+    Snapshot snapshot = new BaseSnapshot(null, snapshotId,
+        "file:/tmp/manfiest.1.avro", "file:/tmp/manfiest.2.avro");
+    TableMetadata expected = new TableMetadata(null, null, "s3://bucket/test/location",
+        System.currentTimeMillis(), 3, SCHEMA, PartitionSpec.unpartitioned(),
+        ImmutableMap.of(), snapshotId, Arrays.asList(snapshot));
+
+    String asJson = TableMetadataParser.toJson(expected);
+    TableMetadata metadata = TableMetadataParser.fromJson(null, null,
+        JsonUtil.mapper().readValue(asJson, JsonNode.class));
+
+    BaseSnapshot lazy = (BaseSnapshot) metadata.snapshot(snapshotId);
+    Assert.assertNotNull("Should not decode manifests when reading metadata",
+        lazy.manifestsJson());
+    Assert.assertEquals("Should write undecoded manifests unchanged",
+        asJson, TableMetadataParser.toJson(metadata));
+
+    Assert.assertEquals("Decoded manifests should match",
+        snapshot.manifests(), lazy.manifests());
+    Assert.assertNull("Should drop the encoded manifests after decoding",
+        lazy.manifestsJson());
+    Assert.assertEquals("Should write decoded manifests unchanged",
+        asJson, TableMetadataParser.toJson(metadata));
+  }
+
+  @Test
+  public void testGzipMetadataFile() throws Exception {
+    long snapshotId = System.currentTimeMillis();
+    Snapshot snapshot = new BaseSnapshot(null, snapshotId, "file:/tmp/manfiest.1.avro");
+    TableMetadata expected = new TableMetadata(null, null, "s3://bucket/test/location",
+        System.currentTimeMillis(), 3, SCHEMA, PartitionSpec.unpartitioned(),
+        ImmutableMap.of("property", "value"), snapshotId, Arrays.asList(snapshot));
+
+    File file = new File(temp.getRoot(), "v1.metadata.json.gz");
+    TableMetadataParser.write(expected, Files.localOutput(file));
+
+    try (InputStream in = new FileInputStream(file)) {
+      Assert.assertEquals("Should write gzip magic byte 1", 0x1f, in.read());
+      Assert.assertEquals("Should write gzip magic byte 2", 0x8b, in.read());
+    }
+
+    TableMetadata metadata = TableMetadataParser.read(null, Files.localInput(file));
+    Assert.assertEquals("Table location should match",
+        expected.location(), metadata.location());
+    Assert.assertEquals("Schema should match",
+        expected.schema().asStruct(), metadata.schema().asStruct());
+    Assert.assertEquals("Properties should match",
+        expected.properties(), metadata.properties());
+    Assert.assertEquals("Current snapshot files should match",
+        snapshot.manifests(), metadata.currentSnapshot().manifests());
+  }
 }
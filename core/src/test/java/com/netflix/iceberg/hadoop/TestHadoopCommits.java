@@ -17,18 +17,28 @@
 package com.netflix.iceberg.hadoop;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.netflix.iceberg.AssertHelpers;
 import com.netflix.iceberg.FileScanTask;
 import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.Table;
 import com.netflix.iceberg.TableMetadata;
+import com.netflix.iceberg.TableProperties;
 import com.netflix.iceberg.UpdateSchema;
 import com.netflix.iceberg.exceptions.CommitFailedException;
 import com.netflix.iceberg.types.Types;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.junit.Assert;
 import org.junit.Test;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 public class TestHadoopCommits extends HadoopTableTestBase {
 
@@ -236,4 +246,154 @@ public class TestHadoopCommits extends HadoopTableTestBase {
     Assert.assertEquals("Current snapshot should contain 1 merged manifest",
         1, metadata.currentSnapshot().manifests().size());
   }
+
+  @Test
+  public void testGzipMetadata() throws Exception {
+    table.updateProperties()
+        .set(TableProperties.METADATA_COMPRESSION, "gzip")
+        .commit();
+
+    Assert.assertTrue("Should create v2 for the update",
+        version(2).exists() && version(2).isFile());
+    Assert.assertTrue("Should gzip v2", isGzipped(version(2)));
+    Assert.assertFalse("Should not use a different name for gzipped v2",
+        new File(metadataDir, "v2.metadata.json.gz").exists());
+
+    table.newFastAppend()
+        .appendFile(FILE_A)
+        .commit();
+
+    Assert.assertTrue("Should gzip v3 for the update", isGzipped(version(3)));
+    Assert.assertEquals("Should write the current version to the hint file",
+        3, readVersionHint());
+
+    Table reloaded = TABLES.load(tableLocation);
+    Assert.assertEquals("Should read the compression property from gzipped metadata",
+        "gzip", reloaded.properties().get(TableProperties.METADATA_COMPRESSION));
+
+    List<FileScanTask> tasks = Lists.newArrayList(reloaded.newScan().planFiles());
+    Assert.assertEquals("Should scan 1 file", 1, tasks.size());
+
+    // versions written with a .gz suffix by older commits are still read
+    new File(metadataDir, ".v3.metadata.json.crc").delete();
+    Assert.assertTrue("Should rename v3 to the legacy gzip name",
+        version(3).renameTo(new File(metadataDir, "v3.metadata.json.gz")));
+
+    Table legacy = TABLES.load(tableLocation);
+    Assert.assertEquals("Should read legacy gzipped metadata",
+        1, Lists.newArrayList(legacy.newScan().planFiles()).size());
+  }
+
+  @Test
+  public void testConcurrentCommitsWithMixedCompression() throws Exception {
+    int numThreads = 4;
+    int commitsPerThread = 5;
+    List<Throwable> failures = Collections.synchronizedList(Lists.newArrayList());
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<Thread> threads = Lists.newArrayList();
+    for (int i = 0; i < numThreads; i += 1) {
+      String codec = (i % 2 == 0) ? "gzip" : "none";
+      HadoopTableOperations ops = new HadoopTableOperations(
+          new Path(tableLocation), new Configuration());
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          for (int j = 0; j < commitsPerThread; j += 1) {
+            TableMetadata base = ops.refresh();
+            Map<String, String> properties = Maps.newHashMap(base.properties());
+            properties.put(TableProperties.METADATA_COMPRESSION, codec);
+            try {
+              ops.commit(base, base.replaceProperties(properties));
+            } catch (CommitFailedException e) {
+              // another writer committed this version; the assertions only check file naming
+            }
+          }
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals("Should not fail with errors other than commit conflicts: " + failures,
+        0, failures.size());
+    for (File file : listMetadataFiles("gz")) {
+      Assert.assertFalse("Should not create any version with a .gz suffix: " + file,
+          file.getName().startsWith("v"));
+    }
+
+    int currentVersion = readVersionHint();
+    Assert.assertTrue("Should commit at least one version", currentVersion > 1);
+    for (int v = 1; v <= currentVersion; v += 1) {
+      Assert.assertTrue("Should create exactly one file for version " + v, version(v).exists());
+    }
+
+    Table reloaded = TABLES.load(tableLocation);
+    Assert.assertNotNull("Should read the codec after concurrent commits",
+        reloaded.properties().get(TableProperties.METADATA_COMPRESSION));
+  }
+
+  private static boolean isGzipped(File file) throws IOException {
+    try (InputStream in = new FileInputStream(file)) {
+      return in.read() == 0x1f && in.read() == 0x8b;
+    }
+  }
+
+  @Test
+  public void testDeletePreviousMetadataFiles() throws Exception {
+    table.updateProperties()
+        .set(TableProperties.METADATA_PREVIOUS_VERSIONS_MAX, "2")
+        .set(TableProperties.METADATA_DELETE_AFTER_COMMIT_ENABLED, "true")
+        .commit();
+
+    table.newFastAppend().appendFile(FILE_A).commit();
+    table.newFastAppend().appendFile(FILE_B).commit();
+    table.newFastAppend().appendFile(FILE_C).commit();
+
+    Assert.assertEquals("Should write the current version to the hint file",
+        5, readVersionHint());
+
+    // deletes run in the background
+    long deadline = System.currentTimeMillis() + 10000;
+    while ((version(1).exists() || version(2).exists()) &&
+        System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    Assert.assertFalse("Should delete v1", version(1).exists());
+    Assert.assertFalse("Should delete v2", version(2).exists());
+    Assert.assertTrue("Should keep v3", version(3).exists());
+    Assert.assertTrue("Should keep v4", version(4).exists());
+    Assert.assertTrue("Should keep v5", version(5).exists());
+
+    TableMetadata metadata = readMetadataVersion(5);
+    Assert.assertEquals("Metadata log should contain 2 previous versions",
+        2, metadata.previousFiles().size());
+
+    Table reloaded = TABLES.load(tableLocation);
+    List<FileScanTask> tasks = Lists.newArrayList(reloaded.newScan().planFiles());
+    Assert.assertEquals("Should scan 3 files", 3, tasks.size());
+  }
+
+  @Test
+  public void testRefreshWithDeletedHintVersion() throws Exception {
+    table.newFastAppend().appendFile(FILE_A).commit();
+    table.newFastAppend().appendFile(FILE_B).commit();
+
+    // simulate a stale hint that points to a version removed by cleanup
+    replaceVersionHint(1);
+    version(1).delete();
+    version(2).delete();
+
+    Table reloaded = TABLES.load(tableLocation);
+    List<FileScanTask> tasks = Lists.newArrayList(reloaded.newScan().planFiles());
+    Assert.assertEquals("Should load the latest version and scan 2 files", 2, tasks.size());
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.io.api.Binary;
+
+/**
+ * Iterator over the (repetition level, definition level, value) triples of a Parquet column.
+ * <p>
+ * The current levels describe the next triple, which has not been consumed. When the column is
+ * exhausted, the current repetition level is 0 so that repeated readers stop.
+ */
+public class ColumnIterator {
+  private final ColumnDescriptor desc;
+  private final int maxDefinitionLevel;
+  private ColumnReader column = null;
+  private long triplesCount = 0L;
+  private long triplesRead = 0L;
+
+  public ColumnIterator(ColumnDescriptor desc) {
+    this.desc = desc;
+    this.maxDefinitionLevel = desc.getMaxDefinitionLevel();
+  }
+
+  public ColumnDescriptor descriptor() {
+    return desc;
+  }
+
+  public void setColumnStore(ColumnReadStore store) {
+    this.column = store.getColumnReader(desc);
+    this.triplesCount = column.getTotalValueCount();
+    this.triplesRead = 0L;
+  }
+
+  public boolean hasNext() {
+    return triplesRead < triplesCount;
+  }
+
+  public int currentDefinitionLevel() {
+    return column.getCurrentDefinitionLevel();
+  }
+
+  public int currentRepetitionLevel() {
+    if (!hasNext()) {
+      return 0;
+    }
+    return column.getCurrentRepetitionLevel();
+  }
+
+  /**
+   * Returns whether the current triple has a value, as opposed to a null at some level.
+   */
+  public boolean isValue() {
+    return column.getCurrentDefinitionLevel() == maxDefinitionLevel;
+  }
+
+  public boolean nextBoolean() {
+    boolean value = column.getBoolean();
+    advance();
+    return value;
+  }
+
+  public int nextInteger() {
+    int value = column.getInteger();
+    advance();
+    return value;
+  }
+
+  public long nextLong() {
+    long value = column.getLong();
+    advance();
+    return value;
+  }
+
+  public float nextFloat() {
+    float value = column.getFloat();
+    advance();
+    return value;
+  }
+
+  public double nextDouble() {
+    double value = column.getDouble();
+    advance();
+    return value;
+  }
+
+  public Binary nextBinary() {
+    Binary value = column.getBinary();
+    advance();
+    return value;
+  }
+
+  /**
+   * Consumes a triple that has no value and returns null.
+   */
+  public <N> N nextNull() {
+    advance();
+    return null;
+  }
+
+  private void advance() {
+    triplesRead += 1;
+    column.consume();
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.avro.Conversions;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.specific.SpecificData;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.avro.AvroReadSupport;
 import org.apache.parquet.avro.AvroWriteSupport;
 import org.apache.parquet.hadoop.ParquetFileReader;
@@ -38,10 +39,13 @@ import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.schema.MessageType;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Map;
+import java.util.function.Function;
 
 public class Parquet {
   private Parquet() {
@@ -113,14 +117,19 @@ public class Parquet {
       config("parquet.avro.write-old-list-structure", "false");
       MessageType type = ParquetSchemaUtil.convert(schema, name);
 
-      return new ParquetWriteAdapter<>(new ParquetWriteBuilder<D>(ParquetIO.file(file))
+      ParquetIO.LengthTrackingOutputFile parquetFile =
+          new ParquetIO.LengthTrackingOutputFile(ParquetIO.file(file));
+
+      ParquetWriter<D> writer = new ParquetWriteBuilder<D>(parquetFile)
           .setType(type)
           .setConfig(config)
           .setKeyValueMetadata(metadata)
           .setWriteSupport(getWriteSupport(type))
           .withCompressionCodec(CompressionCodecName.GZIP) // TODO: support codecs
           .withWriteMode(ParquetFileWriter.Mode.OVERWRITE) // TODO: support modes
-          .build());
+          .build();
+
+      return new ParquetWriteAdapter<>(writer, parquetFile);
     }
   }
 
@@ -182,6 +191,10 @@ public class Parquet {
     private boolean filterRecords = true;
     private Map<String, String> properties = Maps.newHashMap();
     private boolean callInit = false;
+    private Function<MessageType, ParquetValueReader<?>> readerFunc = null;
+    private Function<MessageType, ParquetBatchReader<?>> batchedReaderFunc = null;
+    private int recordsPerBatch = 4096;
+    private boolean reuseContainers = false;
 
     private ReadBuilder(InputFile file) {
       this.file = file;
@@ -230,8 +243,65 @@ public class Parquet {
       return this;
     }
 
+    /**
+     * Reads rows using {@link ParquetValueReader value readers} instead of a {@link ReadSupport}.
+     * <p>
+     * The function is passed the file schema, pruned to the projected columns by field id. Filters
+     * are used to skip row groups using stats and dictionaries, but records are not filtered.
+     *
+     * @param readerFunction a function that builds a value reader for a projected file schema
+     * @return this builder for method chaining
+     */
+    public ReadBuilder createReaderFunc(Function<MessageType, ParquetValueReader<?>> readerFunction) {
+      this.readerFunc = readerFunction;
+      return this;
+    }
+
+    /**
+     * Reads batches of rows using a {@link ParquetBatchReader} instead of a {@link ReadSupport}.
+     * <p>
+     * The function is passed the file schema, pruned to the projected columns by field id. Filters
+     * are used to skip row groups using stats and dictionaries, but records are not filtered.
+     *
+     * @param readerFunction a function that builds a batch reader for a projected file schema
+     * @return this builder for method chaining
+     */
+    public ReadBuilder createBatchedReaderFunc(
+        Function<MessageType, ParquetBatchReader<?>> readerFunction) {
+      this.batchedReaderFunc = readerFunction;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of rows in each batch produced by a batched reader.
+     *
+     * @param numRows the maximum number of rows in a batch
+     * @return this builder for method chaining
+     */
+    public ReadBuilder recordsPerBatch(int numRows) {
+      this.recordsPerBatch = numRows;
+      return this;
+    }
+
+    public ReadBuilder reuseContainers() {
+      this.reuseContainers = true;
+      return this;
+    }
+
+    public ReadBuilder reuseContainers(boolean shouldReuse) {
+      this.reuseContainers = shouldReuse;
+      return this;
+    }
+
     @SuppressWarnings("unchecked")
     public <D> ParquetIterable<D> build() {
+      if (readerFunc != null || batchedReaderFunc != null) {
+        Preconditions.checkArgument(readerFunc == null || batchedReaderFunc == null,
+            "Cannot use both a value reader and a batched reader");
+        Preconditions.checkNotNull(schema, "Schema is required when using value readers");
+        return buildWithValueReaders();
+      }
+
       ParquetReadBuilder<D> builder = new ParquetReadBuilder<>(ParquetIO.file(file));
 
       builder.project(schema);
@@ -252,19 +322,17 @@ public class Parquet {
       }
 
       if (filter != null) {
-        // TODO: should not need to get the schema to push down before opening the file.
-        // Parquet should allow setting a filter inside its read support
-        MessageType type;
-        try {
-          type = ParquetFileReader.open(ParquetIO.file(file)).getFileMetaData().getSchema();
-        } catch (IOException e) {
-          throw new RuntimeIOException(e);
+        // Parquet's reader cannot be passed a footer, so this is the only footer read when no row
+        // groups can match. Otherwise, the reader reads it again.
+        MessageType fileSchema = fileSchemaIfRowGroupsMatch();
+        if (fileSchema == null) {
+          return new ParquetIterable<>(Collections::emptyIterator);
         }
-        Schema fileSchema = ParquetSchemaUtil.convert(type);
+
         builder.useStatsFilter()
             .useDictionaryFilter()
             .useRecordFilter(filterRecords)
-            .withFilter(ParquetFilters.convert(fileSchema, filter));
+            .withFilter(ParquetFilters.convert(ParquetSchemaUtil.convert(fileSchema), filter));
       } else {
         // turn off filtering
         builder.useStatsFilter(false)
@@ -282,6 +350,71 @@ public class Parquet {
 
       return new ParquetIterable<>(builder);
     }
+
+    private <D> ParquetIterable<D> buildWithValueReaders() {
+      ParquetReadOptions.Builder optionsBuilder = ParquetReadOptions.builder();
+
+      for (Map.Entry<String, String> entry : properties.entrySet()) {
+        optionsBuilder.set(entry.getKey(), entry.getValue());
+      }
+
+      // row groups are selected by ReadConf using the footer it reads, so Parquet's filters are off
+      optionsBuilder.useStatsFilter(false)
+          .useDictionaryFilter(false)
+          .useRecordFilter(false);
+
+      if (start != null) {
+        optionsBuilder.withRange(start, start + length);
+      }
+
+      ParquetReadOptions options = optionsBuilder.build();
+      Schema expectedSchema = schema;
+      Expression rowGroupFilter = filter;
+      boolean reuse = reuseContainers;
+
+      if (batchedReaderFunc != null) {
+        Function<MessageType, ParquetBatchReader<?>> createReader = batchedReaderFunc;
+        int batchSize = recordsPerBatch;
+        return new ParquetIterable<>(() -> new ParquetBatchIterator<>(
+            file, options, expectedSchema, rowGroupFilter, createReader, batchSize, reuse));
+      }
+
+      Function<MessageType, ParquetValueReader<?>> createReader = readerFunc;
+      return new ParquetIterable<>(() -> new ParquetValueIterator<>(
+          file, options, expectedSchema, rowGroupFilter, createReader, reuse));
+    }
+
+    /**
+     * Reads the file footer and returns the file schema, or null if no row groups in this read's
+     * range can contain rows that match the filter.
+     * <p>
+     * Only footer stats are checked and the check stops at the first row group that may match.
+     * Parquet's reader applies the stats and dictionary filters to every row group, so reading
+     * dictionaries here would read them twice.
+     */
+    private MessageType fileSchemaIfRowGroupsMatch() {
+      ParquetReadOptions.Builder optionsBuilder = ParquetReadOptions.builder();
+      if (start != null) {
+        optionsBuilder.withRange(start, start + length);
+      }
+
+      try (ParquetFileReader reader = ParquetFileReader.open(
+          ParquetIO.file(file), optionsBuilder.build())) {
+        MessageType fileSchema = reader.getFileMetaData().getSchema();
+        ParquetMetricsRowGroupFilter statsFilter = new ParquetMetricsRowGroupFilter(
+            ParquetSchemaUtil.convert(fileSchema), filter);
+        for (BlockMetaData rowGroup : reader.getRowGroups()) {
+          if (statsFilter.shouldRead(fileSchema, rowGroup)) {
+            return fileSchema;
+          }
+        }
+
+        return null;
+
+      } catch (IOException e) {
+        throw new RuntimeIOException(e, "Failed to open Parquet file: %s", file.location());
+      }
+    }
   }
 
   private static class ParquetReadBuilder<T> extends ParquetReader.Builder<T> {
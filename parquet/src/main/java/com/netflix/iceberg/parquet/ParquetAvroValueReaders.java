@@ -0,0 +1,331 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.avro.AvroSchemaUtil;
+import com.netflix.iceberg.parquet.ParquetValueReaders.FloatAsDoubleReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.IntAsLongReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.PrimitiveReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.RepeatedKeyValueReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.RepeatedReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.StructReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.UnboxedReader;
+import com.netflix.iceberg.types.Type.TypeID;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData.Fixed;
+import org.apache.avro.generic.GenericData.Record;
+import org.apache.avro.util.Utf8;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.schema.DecimalMetadata;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import static com.netflix.iceberg.parquet.ParquetValueReaders.option;
+
+/**
+ * Builds {@link ParquetValueReader value readers} that produce Avro generic records.
+ * <p>
+ * Values use the same representations as Avro generic records read with Iceberg's Avro data model:
+ * strings are {@link Utf8}, decimals are {@link BigDecimal}, and binary is {@link ByteBuffer}.
+ */
+public class ParquetAvroValueReaders {
+  private ParquetAvroValueReaders() {
+  }
+
+  @SuppressWarnings("unchecked")
+  public static ParquetValueReader<Record> buildReader(Schema expectedSchema,
+                                                       MessageType fileSchema) {
+    return (ParquetValueReader<Record>) TypeWithSchemaVisitor.visit(
+        expectedSchema.asStruct(), fileSchema, new ReadBuilder(expectedSchema, fileSchema));
+  }
+
+  private static class ReadBuilder extends TypeWithSchemaVisitor<ParquetValueReader<?>> {
+    private final MessageType type;
+    private final Map<com.netflix.iceberg.types.Type, org.apache.avro.Schema> avroSchemas;
+
+    ReadBuilder(Schema expectedSchema, MessageType type) {
+      this.type = type;
+      this.avroSchemas = AvroSchemaUtil.convertTypes(expectedSchema.asStruct(), type.getName());
+    }
+
+    @Override
+    public ParquetValueReader<?> message(Types.StructType expected, MessageType message,
+                                         List<ParquetValueReader<?>> fieldReaders) {
+      return struct(expected, message.asGroupType(), fieldReaders);
+    }
+
+    @Override
+    public ParquetValueReader<?> struct(Types.StructType expected, GroupType struct,
+                                        List<ParquetValueReader<?>> fieldReaders) {
+      if (expected == null) {
+        // the struct is not projected and its reader will not be used
+        return ParquetValueReaders.nulls();
+      }
+
+      Map<Integer, ParquetValueReader<?>> readersById = Maps.newHashMap();
+      List<Type> fields = struct.getFields();
+      for (int i = 0; i < fields.size(); i += 1) {
+        Type fieldType = fields.get(i);
+        Types.NestedField field = expectedField(expected, fieldType);
+        if (field != null) {
+          int fieldD = type.getMaxDefinitionLevel(path(fieldType.getName())) - 1;
+          readersById.put(field.fieldId(), option(fieldType, fieldD, fieldReaders.get(i)));
+        }
+      }
+
+      // readers are ordered by the expected struct and fields missing from the file are null
+      List<Types.NestedField> expectedFields = expected.fields();
+      List<ParquetValueReader<?>> reorderedFields = Lists.newArrayListWithExpectedSize(
+          expectedFields.size());
+      for (Types.NestedField field : expectedFields) {
+        ParquetValueReader<?> reader = readersById.get(field.fieldId());
+        reorderedFields.add(reader != null ? reader : ParquetValueReaders.nulls());
+      }
+
+      return new RecordReader(reorderedFields, avroSchemas.get(expected));
+    }
+
+    @Override
+    public ParquetValueReader<?> list(Types.ListType expectedList, GroupType array,
+                                      ParquetValueReader<?> elementReader) {
+      GroupType repeated = array.getFields().get(0).asGroupType();
+      String[] repeatedPath = currentPath();
+
+      int repeatedD = type.getMaxDefinitionLevel(repeatedPath) - 1;
+      int repeatedR = type.getMaxRepetitionLevel(repeatedPath) - 1;
+
+      Type elementType = repeated.getType(0);
+      int elementD = type.getMaxDefinitionLevel(path(elementType.getName())) - 1;
+
+      return new ListReader<>(repeatedD, repeatedR, option(elementType, elementD, elementReader));
+    }
+
+    @Override
+    public ParquetValueReader<?> map(Types.MapType expectedMap, GroupType map,
+                                     ParquetValueReader<?> keyReader,
+                                     ParquetValueReader<?> valueReader) {
+      GroupType repeatedKeyValue = map.getFields().get(0).asGroupType();
+      String[] repeatedPath = currentPath();
+
+      int repeatedD = type.getMaxDefinitionLevel(repeatedPath) - 1;
+      int repeatedR = type.getMaxRepetitionLevel(repeatedPath) - 1;
+
+      Type keyType = repeatedKeyValue.getType(0);
+      int keyD = type.getMaxDefinitionLevel(path(keyType.getName())) - 1;
+      Type valueType = repeatedKeyValue.getType(1);
+      int valueD = type.getMaxDefinitionLevel(path(valueType.getName())) - 1;
+
+      return new MapReader<>(repeatedD, repeatedR,
+          option(keyType, keyD, keyReader), option(valueType, valueD, valueReader));
+    }
+
+    @Override
+    public ParquetValueReader<?> primitive(com.netflix.iceberg.types.Type.PrimitiveType expected,
+                                           PrimitiveType primitive) {
+      ColumnDescriptor desc = type.getColumnDescription(currentPath());
+
+      if (primitive.getOriginalType() != null) {
+        switch (primitive.getOriginalType()) {
+          case ENUM:
+          case JSON:
+          case UTF8:
+            return new StringReader(desc);
+          case DECIMAL:
+            DecimalMetadata decimal = primitive.getDecimalMetadata();
+            return new DecimalReader(desc, decimal.getScale());
+          case BSON:
+            return new BytesReader(desc);
+          default:
+            // other annotations use the primitive representation
+        }
+      }
+
+      switch (primitive.getPrimitiveTypeName()) {
+        case FIXED_LEN_BYTE_ARRAY:
+          return new FixedReader(desc, expected != null ? avroSchemas.get(expected) : null);
+        case BINARY:
+          return new BytesReader(desc);
+        case INT32:
+          if (expected != null && expected.typeId() == TypeID.LONG) {
+            return new IntAsLongReader(desc);
+          }
+          return new UnboxedReader<>(desc);
+        case FLOAT:
+          if (expected != null && expected.typeId() == TypeID.DOUBLE) {
+            return new FloatAsDoubleReader(desc);
+          }
+          return new UnboxedReader<>(desc);
+        case BOOLEAN:
+        case INT64:
+        case DOUBLE:
+          return new UnboxedReader<>(desc);
+        default:
+          throw new UnsupportedOperationException("Unsupported type: " + primitive);
+      }
+    }
+  }
+
+  static class StringReader extends PrimitiveReader<Utf8> {
+    StringReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public Utf8 read(Utf8 ignored) {
+      return new Utf8(column.nextBinary().getBytes());
+    }
+  }
+
+  static class BytesReader extends PrimitiveReader<ByteBuffer> {
+    BytesReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public ByteBuffer read(ByteBuffer ignored) {
+      return ByteBuffer.wrap(column.nextBinary().getBytes());
+    }
+  }
+
+  static class FixedReader extends PrimitiveReader<Fixed> {
+    private final org.apache.avro.Schema schema;
+
+    FixedReader(ColumnDescriptor desc, org.apache.avro.Schema schema) {
+      super(desc);
+      this.schema = schema;
+    }
+
+    @Override
+    public Fixed read(Fixed ignored) {
+      return new Fixed(schema, column.nextBinary().getBytes());
+    }
+  }
+
+  static class DecimalReader extends PrimitiveReader<BigDecimal> {
+    private final int scale;
+
+    DecimalReader(ColumnDescriptor desc, int scale) {
+      super(desc);
+      this.scale = scale;
+    }
+
+    @Override
+    public BigDecimal read(BigDecimal ignored) {
+      switch (desc.getType()) {
+        case INT32:
+          return BigDecimal.valueOf(column.nextInteger(), scale);
+        case INT64:
+          return BigDecimal.valueOf(column.nextLong(), scale);
+        default:
+          return new BigDecimal(new BigInteger(column.nextBinary().getBytes()), scale);
+      }
+    }
+  }
+
+  static class ListReader<E> extends RepeatedReader<List<E>, List<E>, E> {
+    ListReader(int definitionLevel, int repetitionLevel, ParquetValueReader<E> reader) {
+      super(definitionLevel, repetitionLevel, reader);
+    }
+
+    @Override
+    protected List<E> newListData(List<E> reuse) {
+      if (reuse != null) {
+        reuse.clear();
+        return reuse;
+      }
+      return Lists.newArrayList();
+    }
+
+    @Override
+    protected void addElement(List<E> list, E element) {
+      list.add(element);
+    }
+
+    @Override
+    protected List<E> buildList(List<E> list) {
+      return list;
+    }
+  }
+
+  static class MapReader<K, V> extends RepeatedKeyValueReader<Map<K, V>, Map<K, V>, K, V> {
+    MapReader(int definitionLevel, int repetitionLevel,
+              ParquetValueReader<K> keyReader, ParquetValueReader<V> valueReader) {
+      super(definitionLevel, repetitionLevel, keyReader, valueReader);
+    }
+
+    @Override
+    protected Map<K, V> newMapData(Map<K, V> reuse) {
+      if (reuse != null) {
+        reuse.clear();
+        return reuse;
+      }
+      return Maps.newLinkedHashMap();
+    }
+
+    @Override
+    protected void addPair(Map<K, V> map, K key, V value) {
+      map.put(key, value);
+    }
+
+    @Override
+    protected Map<K, V> buildMap(Map<K, V> map) {
+      return map;
+    }
+  }
+
+  static class RecordReader extends StructReader<Record, Record> {
+    private final org.apache.avro.Schema schema;
+
+    RecordReader(List<ParquetValueReader<?>> readers, org.apache.avro.Schema schema) {
+      super(readers);
+      this.schema = schema;
+    }
+
+    @Override
+    protected Record newStructData(Record reuse) {
+      if (reuse != null) {
+        return reuse;
+      }
+      return new Record(schema);
+    }
+
+    @Override
+    protected Object getField(Record struct, int pos) {
+      return struct.get(pos);
+    }
+
+    @Override
+    protected void set(Record struct, int pos, Object value) {
+      struct.put(pos, value);
+    }
+
+    @Override
+    protected Record buildStruct(Record struct) {
+      return struct;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import org.apache.parquet.column.ColumnReadStore;
+
+/**
+ * Reads batches of rows from Parquet columns, for example into column vectors.
+ *
+ * @param <T> Java type of a batch
+ */
+public interface ParquetBatchReader<T> {
+  /**
+   * Reads the next batch of rows. Batches never span row groups.
+   *
+   * @param reuse a batch that may be reused, or null
+   * @param numRows the number of rows to read, which is always available in the current row group
+   * @return a batch of rows
+   */
+  T read(T reuse, int numRows);
+
+  /**
+   * Sets the columns for the next row group.
+   *
+   * @param store a store of column readers for a row group
+   */
+  void setColumnStore(ColumnReadStore store);
+}
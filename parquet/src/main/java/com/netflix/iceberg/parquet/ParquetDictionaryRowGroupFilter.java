@@ -0,0 +1,406 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.exceptions.RuntimeIOException;
+import com.netflix.iceberg.expressions.Binder;
+import com.netflix.iceberg.expressions.BoundReference;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.expressions.ExpressionVisitors;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.expressions.Literal;
+import com.netflix.iceberg.expressions.Optimizer;
+import com.netflix.iceberg.types.Type.TypeID;
+import com.netflix.iceberg.types.Types;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.EncodingStats;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.DictionaryPageReadStore;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates an {@link Expression} on the dictionaries of a Parquet row group to test whether rows
+ * in the group may match.
+ * <p>
+ * This evaluation is inclusive: it returns true if a row group may match and false if it cannot.
+ * Only {@code eq}, {@code notEq}, {@code in}, {@code notIn}, {@code startsWith}, and
+ * {@code notStartsWith} are evaluated, and only for column chunks with a dictionary page that are
+ * entirely dictionary-encoded. All other predicates are treated as unknown.
+ * <p>
+ * Like {@link com.netflix.iceberg.expressions.InclusiveMetricsEvaluator}, a chunk that may
+ * contain nulls may match {@code notEq}, {@code notIn}, and {@code notStartsWith}.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ParquetDictionaryRowGroupFilter {
+  private static final boolean ROWS_MIGHT_MATCH = true;
+  private static final boolean ROWS_CANNOT_MATCH = false;
+  private static final Joiner DOT = Joiner.on('.');
+
+  private final Schema schema;
+  private final Expression expr;
+  private final ThreadLocal<EvalVisitor> visitors = ThreadLocal.withInitial(EvalVisitor::new);
+
+  /**
+   * Creates a filter for files with the given schema.
+   *
+   * @param schema an Iceberg schema converted from the Parquet file schema
+   * @param unbound an unbound filter expression
+   */
+  public ParquetDictionaryRowGroupFilter(Schema schema, Expression unbound) {
+    this.schema = schema;
+    this.expr = Binder.bind(schema.asStruct(), Optimizer.optimize(unbound));
+  }
+
+  /**
+   * Test whether the dictionaries for a row group may contain records that match the expression.
+   *
+   * @param fileSchema schema for the Parquet file
+   * @param rowGroup metadata for the row group
+   * @param dictionaries a dictionary page read store for the row group
+   * @return false if the row group cannot contain rows that match the expression, true otherwise.
+   */
+  public boolean shouldRead(MessageType fileSchema, BlockMetaData rowGroup,
+                            DictionaryPageReadStore dictionaries) {
+    return visitors.get().eval(fileSchema, rowGroup, dictionaries);
+  }
+
+  private class EvalVisitor extends BoundExpressionVisitor<Boolean> {
+    private DictionaryPageReadStore dictionaries = null;
+    private Map<Integer, ColumnDescriptor> cols = null;
+    private Map<Integer, ColumnChunkMetaData> chunks = null;
+    private Map<Integer, Set<?>> dictCache = null;
+
+    private boolean eval(MessageType fileSchema, BlockMetaData rowGroup,
+                         DictionaryPageReadStore dictionaries) {
+      this.dictionaries = dictionaries;
+      this.cols = Maps.newHashMap();
+      this.chunks = Maps.newHashMap();
+      this.dictCache = Maps.newHashMap();
+
+      Map<ColumnPath, ColumnChunkMetaData> chunksByPath = Maps.newHashMap();
+      for (ColumnChunkMetaData chunk : rowGroup.getColumns()) {
+        chunksByPath.put(chunk.getPath(), chunk);
+      }
+
+      // the expression was bound by name to the converted file schema, so match columns by name
+      for (ColumnDescriptor desc : fileSchema.getColumns()) {
+        if (desc.getMaxRepetitionLevel() > 0) {
+          // values in repeated columns are not compared directly
+          continue;
+        }
+
+        Types.NestedField field = schema.findField(DOT.join(desc.getPath()));
+        ColumnChunkMetaData chunk = chunksByPath.get(ColumnPath.get(desc.getPath()));
+        if (field != null && chunk != null) {
+          cols.put(field.fieldId(), desc);
+          chunks.put(field.fieldId(), chunk);
+        }
+      }
+
+      return ExpressionVisitors.visit(expr, this);
+    }
+
+    @Override
+    public Boolean alwaysTrue() {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public Boolean alwaysFalse() {
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public Boolean not(Boolean result) {
+      throw new UnsupportedOperationException("Not should be rewritten: " + expr);
+    }
+
+    @Override
+    public Boolean and(Boolean leftResult, Boolean rightResult) {
+      return leftResult && rightResult;
+    }
+
+    @Override
+    public Boolean or(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public <T> Boolean isNull(BoundReference<T> ref) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notNull(BoundReference<T> ref) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean lt(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean ltEq(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gt(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gtEq(BoundReference<T> ref, Literal<T> lit) {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean eq(BoundReference<T> ref, Literal<T> lit) {
+      Set<T> dictionary = dict(ref);
+      if (dictionary == null) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      Comparator<T> cmp = lit.comparator();
+      for (T value : dictionary) {
+        if (cmp.compare(value, lit.value()) == 0) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notEq(BoundReference<T> ref, Literal<T> lit) {
+      Set<T> dictionary = dict(ref);
+      if (dictionary == null || mayContainNulls(ref.fieldId())) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      Comparator<T> cmp = lit.comparator();
+      for (T value : dictionary) {
+        if (cmp.compare(value, lit.value()) != 0) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean in(BoundReference<T> ref, Set<T> literalSet) {
+      Set<T> dictionary = dict(ref);
+      if (dictionary == null) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      for (T value : dictionary) {
+        if (literalSet.contains(value)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notIn(BoundReference<T> ref, Set<T> literalSet) {
+      Set<T> dictionary = dict(ref);
+      if (dictionary == null || mayContainNulls(ref.fieldId())) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      for (T value : dictionary) {
+        if (!literalSet.contains(value)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean startsWith(BoundReference<T> ref, Literal<T> lit) {
+      Set<T> dictionary = dict(ref);
+      if (dictionary == null) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      String prefix = lit.value().toString();
+      for (T value : dictionary) {
+        if (value.toString().startsWith(prefix)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      Set<T> dictionary = dict(ref);
+      if (dictionary == null || mayContainNulls(ref.fieldId())) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      String prefix = lit.value().toString();
+      for (T value : dictionary) {
+        if (!value.toString().startsWith(prefix)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+
+      return ROWS_CANNOT_MATCH;
+    }
+
+    private boolean mayContainNulls(int id) {
+      Statistics<?> stats = chunks.get(id).getStatistics();
+      return stats == null || !stats.isNumNullsSet() || stats.getNumNulls() > 0;
+    }
+
+    /**
+     * Returns the set of values in a column chunk, or null if the values are unknown.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Set<T> dict(BoundReference<T> ref) {
+      int id = ref.fieldId();
+      if (dictCache.containsKey(id)) {
+        return (Set<T>) dictCache.get(id);
+      }
+
+      Set<T> dictSet = null;
+      ColumnDescriptor desc = cols.get(id);
+      if (desc != null && !hasNonDictionaryPages(chunks.get(id))) {
+        dictSet = (Set<T>) readDictionary(ref, desc);
+      }
+
+      dictCache.put(id, dictSet);
+
+      return dictSet;
+    }
+
+    private Set<?> readDictionary(BoundReference<?> ref, ColumnDescriptor desc) {
+      DictionaryPage page = dictionaries.readDictionaryPage(desc);
+      if (page == null) {
+        return null;
+      }
+
+      Dictionary dict;
+      try {
+        dict = page.getEncoding().initDictionary(desc, page);
+      } catch (IOException e) {
+        throw new RuntimeIOException(e, "Failed to read dictionary for column: %s", ref);
+      }
+
+      PrimitiveType primitive = desc.getPrimitiveType();
+      if (primitive.getOriginalType() != null) {
+        switch (primitive.getOriginalType()) {
+          case UTF8:
+          case DATE:
+          case TIME_MICROS:
+          case TIMESTAMP_MICROS:
+          case INT_8:
+          case INT_16:
+          case INT_32:
+          case INT_64:
+            break;
+          default:
+            // other annotated types, like decimals, are not converted
+            return null;
+        }
+      }
+
+      Set<Object> values = Sets.newHashSet();
+      for (int i = 0; i <= dict.getMaxId(); i += 1) {
+        switch (primitive.getPrimitiveTypeName()) {
+          case BINARY:
+            if (ref.type().typeId() != TypeID.STRING) {
+              return null;
+            }
+            values.add(dict.decodeToBinary(i).toStringUsingUTF8());
+            break;
+          case INT32:
+            if (ref.type().typeId() == TypeID.LONG) {
+              values.add((long) dict.decodeToInt(i));
+            } else {
+              values.add(dict.decodeToInt(i));
+            }
+            break;
+          case INT64:
+            values.add(dict.decodeToLong(i));
+            break;
+          case FLOAT:
+            if (ref.type().typeId() == TypeID.DOUBLE) {
+              values.add((double) dict.decodeToFloat(i));
+            } else {
+              values.add(dict.decodeToFloat(i));
+            }
+            break;
+          case DOUBLE:
+            values.add(dict.decodeToDouble(i));
+            break;
+          default:
+            return null;
+        }
+      }
+
+      return values;
+    }
+  }
+
+  /**
+   * Returns whether a column chunk may contain data pages that are not dictionary-encoded.
+   * <p>
+   * Writers fall back to plain encoding when a dictionary grows too large, so a chunk's dictionary
+   * only contains all of its values if every data page uses the dictionary.
+   */
+  private static boolean hasNonDictionaryPages(ColumnChunkMetaData meta) {
+    EncodingStats stats = meta.getEncodingStats();
+    if (stats != null) {
+      return stats.hasNonDictionaryEncodedPages();
+    }
+
+    // without encoding stats, only v1 pages can be checked. PLAIN_DICTIONARY is used for both
+    // dictionary and data pages, and RLE and BIT_PACKED are used for levels.
+    Set<Encoding> encodings = Sets.newHashSet(meta.getEncodings());
+    if (encodings.remove(Encoding.PLAIN_DICTIONARY)) {
+      encodings.remove(Encoding.RLE);
+      encodings.remove(Encoding.BIT_PACKED);
+      return !encodings.isEmpty();
+    }
+
+    return true;
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.netflix.iceberg.parquet;
 
+import com.google.common.collect.Lists;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.expressions.BoundPredicate;
 import com.netflix.iceberg.expressions.BoundReference;
@@ -24,35 +25,46 @@ import com.netflix.iceberg.expressions.Expression.Operation;
 import com.netflix.iceberg.expressions.ExpressionVisitors.ExpressionVisitor;
 import com.netflix.iceberg.expressions.Expressions;
 import com.netflix.iceberg.expressions.Literal;
+import com.netflix.iceberg.expressions.Optimizer;
 import com.netflix.iceberg.expressions.UnboundPredicate;
 import com.netflix.iceberg.types.Types;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.filter.RecordFilter;
+import org.apache.parquet.filter.UnboundRecordFilter;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
 import org.apache.parquet.io.api.Binary;
 
+import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static com.netflix.iceberg.expressions.ExpressionVisitors.visit;
 
 class ParquetFilters {
 
   static FilterCompat.Filter convert(Schema schema, Expression expr) {
-    FilterPredicate pred = visit(expr, new ConvertFilterToParquet(schema));
-    // TODO: handle AlwaysFalse.INSTANCE
-    if (pred != null && pred != AlwaysTrue.INSTANCE) {
-      // FilterCompat will apply LogicalInverseRewriter
-      return FilterCompat.get(pred);
-    } else {
-      return FilterCompat.NOOP;
-    }
+    FilterPredicate pred = visit(Optimizer.optimize(expr), new ConvertFilterToParquet(schema));
+    return toFilter(pred);
   }
 
   static FilterCompat.Filter convertColumnFilter(Schema schema, String column, Expression expr) {
-    FilterPredicate pred = visit(expr, new ConvertColumnFilterToParquet(schema, column));
-    // TODO: handle AlwaysFalse.INSTANCE
-    if (pred != null && pred != AlwaysTrue.INSTANCE) {
+    FilterPredicate pred = visit(Optimizer.optimize(expr),
+        new ConvertColumnFilterToParquet(schema, column));
+    return toFilter(pred);
+  }
+
+  private static FilterCompat.Filter toFilter(FilterPredicate pred) {
+    if (pred == AlwaysFalse.INSTANCE) {
+      // Parquet has no false predicate. Readers skip files when no row group can match, so this
+      // is only used to drop rows if a file is read anyway.
+      return FilterCompat.get(NoRecords.INSTANCE);
+    } else if (pred != null && pred != AlwaysTrue.INSTANCE) {
       // FilterCompat will apply LogicalInverseRewriter
       return FilterCompat.get(pred);
     } else {
@@ -113,48 +125,98 @@ class ParquetFilters {
 
     @Override
     public <T> FilterPredicate predicate(BoundPredicate<T> pred) {
-      Operation op = pred.op();
-      BoundReference<T> ref = pred.ref();
+      if (pred.literalSet() != null) {
+        return setPredicate(pred);
+      }
+
       Literal<T> lit = pred.literal();
+      FilterPredicate result = predicate(pred.op(), pred.ref(), lit != null ? lit.value() : null);
+      if (result == null) {
+        throw new UnsupportedOperationException("Cannot convert to Parquet filter: " + pred);
+      }
+      return result;
+    }
+
+    private <T> FilterPredicate setPredicate(BoundPredicate<T> pred) {
+      // Parquet has no set predicate, so IN is converted to a disjunction of equality predicates
+      // and NOT_IN to a conjunction of inequality predicates. The tree is balanced to keep its
+      // depth logarithmic in the number of values.
+      Operation op = pred.op() == Operation.IN ? Operation.EQ : Operation.NOT_EQ;
+      List<FilterPredicate> preds = Lists.newArrayListWithExpectedSize(pred.literalSet().size());
+      for (T value : pred.literalSet()) {
+        FilterPredicate valuePred = predicate(op, pred.ref(), value);
+        if (valuePred == null) {
+          throw new UnsupportedOperationException("Cannot convert to Parquet filter: " + pred);
+        }
+        preds.add(valuePred);
+      }
+
+      while (preds.size() > 1) {
+        List<FilterPredicate> combined = Lists.newArrayListWithExpectedSize(preds.size() / 2 + 1);
+        for (int i = 0; i < preds.size(); i += 2) {
+          if (i + 1 < preds.size()) {
+            combined.add(op == Operation.EQ ?
+                FilterApi.or(preds.get(i), preds.get(i + 1)) :
+                FilterApi.and(preds.get(i), preds.get(i + 1)));
+          } else {
+            combined.add(preds.get(i));
+          }
+        }
+        preds = combined;
+      }
+
+      return preds.get(0);
+    }
+
+    private <T> FilterPredicate predicate(Operation op, BoundReference<T> ref, Object value) {
       String path = schema.idToAlias(ref.fieldId());
 
       switch (ref.type().typeId()) {
         case BOOLEAN:
-          Operators.BooleanColumn col = FilterApi.booleanColumn(schema.idToAlias(ref.fieldId()));
+          Operators.BooleanColumn col = FilterApi.booleanColumn(path);
           switch (op) {
             case EQ:
-              return FilterApi.eq(col, getParquetPrimitive(lit));
+              return FilterApi.eq(col, getParquetPrimitive(value));
             case NOT_EQ:
-              return FilterApi.eq(col, getParquetPrimitive(lit));
+              return FilterApi.notEq(col, getParquetPrimitive(value));
+            default:
+              return null;
           }
 
         case INTEGER:
-          return pred(op, FilterApi.intColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.intColumn(path), getParquetPrimitive(value));
         case LONG:
-          return pred(op, FilterApi.longColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.longColumn(path), getParquetPrimitive(value));
         case FLOAT:
-          return pred(op, FilterApi.floatColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.floatColumn(path), getParquetPrimitive(value));
         case DOUBLE:
-          return pred(op, FilterApi.doubleColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.doubleColumn(path), getParquetPrimitive(value));
         case DATE:
-          return pred(op, FilterApi.intColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.intColumn(path), getParquetPrimitive(value));
         case TIME:
-          return pred(op, FilterApi.longColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.longColumn(path), getParquetPrimitive(value));
         case TIMESTAMP:
-          return pred(op, FilterApi.longColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.longColumn(path), getParquetPrimitive(value));
         case STRING:
-          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(lit));
+          if (op == Operation.STARTS_WITH) {
+            return FilterApi.userDefined(FilterApi.binaryColumn(path),
+                new StartsWith(value.toString()));
+          } else if (op == Operation.NOT_STARTS_WITH) {
+            return FilterApi.not(FilterApi.userDefined(FilterApi.binaryColumn(path),
+                new StartsWith(value.toString())));
+          }
+          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(value));
         case UUID:
-          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(value));
         case FIXED:
-          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(value));
         case BINARY:
-          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(value));
         case DECIMAL:
-          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(lit));
+          return pred(op, FilterApi.binaryColumn(path), getParquetPrimitive(value));
       }
 
-      throw new UnsupportedOperationException("Cannot convert to Parquet filter: " + pred);
+      return null;
     }
 
     protected Expression bind(UnboundPredicate<?> pred) {
@@ -216,15 +278,14 @@ class ParquetFilters {
   }
 
   @SuppressWarnings("unchecked")
-  private static <C extends Comparable<C>> C getParquetPrimitive(Literal<?> lit) {
-    if (lit == null) {
+  private static <C extends Comparable<C>> C getParquetPrimitive(Object value) {
+    if (value == null) {
       return null;
     }
 
     // TODO: this needs to convert to handle BigDecimal and UUID
-    Object value = lit.value();
-    if (value instanceof Number) {
-      return (C) lit.value();
+    if (value instanceof Number || value instanceof Boolean) {
+      return (C) value;
     } else if (value instanceof CharSequence) {
       return (C) Binary.fromString(value.toString());
     } else if (value instanceof ByteBuffer) {
@@ -234,6 +295,75 @@ class ParquetFilters {
         "Type not supported yet: " + value.getClass().getName());
   }
 
+  /**
+   * Matches strings that start with a prefix, using min/max stats to drop row groups.
+   * <p>
+   * Values are compared as unsigned UTF-8 bytes, which is the order Parquet uses for strings.
+   */
+  static class StartsWith extends UserDefinedPredicate<Binary> implements Serializable {
+    private final String prefix;
+    private transient byte[] prefixBytes = null;
+
+    StartsWith(String prefix) {
+      this.prefix = prefix;
+    }
+
+    private byte[] prefixBytes() {
+      if (prefixBytes == null) {
+        this.prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+      }
+      return prefixBytes;
+    }
+
+    @Override
+    public boolean keep(Binary value) {
+      return value != null && comparePrefix(value) == 0;
+    }
+
+    @Override
+    public boolean canDrop(Statistics<Binary> statistics) {
+      Binary min = statistics.getMin();
+      Binary max = statistics.getMax();
+      if (min == null || max == null) {
+        return false;
+      }
+
+      // values that start with the prefix sort between min and max, so the group can be
+      // dropped if max's prefix sorts before it or min's prefix sorts after it
+      return comparePrefix(max) < 0 || comparePrefix(min) > 0;
+    }
+
+    @Override
+    public boolean inverseCanDrop(Statistics<Binary> statistics) {
+      // null values do not start with the prefix, but the stats passed to user-defined predicates
+      // do not include null counts, so a group with matching min and max may contain nulls.
+      return false;
+    }
+
+    /**
+     * Compares the first prefix-length bytes of a value to the prefix.
+     */
+    private int comparePrefix(Binary value) {
+      byte[] prefixBytes = prefixBytes();
+      ByteBuffer buffer = value.toByteBuffer();
+      int pos = buffer.position();
+      int len = Math.min(buffer.remaining(), prefixBytes.length);
+      for (int i = 0; i < len; i += 1) {
+        int cmp = Integer.compare(buffer.get(pos + i) & 0xFF, prefixBytes[i] & 0xFF);
+        if (cmp != 0) {
+          return cmp;
+        }
+      }
+      // a value shorter than the prefix sorts before it
+      return buffer.remaining() < prefixBytes.length ? -1 : 0;
+    }
+
+    @Override
+    public String toString() {
+      return "startsWith(\"" + prefix + "\")";
+    }
+  }
+
   private static class AlwaysTrue implements FilterPredicate {
     static final AlwaysTrue INSTANCE = new AlwaysTrue();
 
@@ -243,6 +373,23 @@ class ParquetFilters {
     }
   }
 
+  /**
+   * A record filter that does not match any record.
+   */
+  private static class NoRecords implements UnboundRecordFilter, RecordFilter {
+    static final NoRecords INSTANCE = new NoRecords();
+
+    @Override
+    public RecordFilter bind(Iterable<ColumnReader> readers) {
+      return this;
+    }
+
+    @Override
+    public boolean isMatch() {
+      return false;
+    }
+  }
+
   private static class AlwaysFalse implements FilterPredicate {
     static final AlwaysFalse INSTANCE = new AlwaysFalse();
 
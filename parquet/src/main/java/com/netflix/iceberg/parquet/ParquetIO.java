@@ -16,6 +16,7 @@
 
 package com.netflix.iceberg.parquet;
 
+import com.google.common.base.Preconditions;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
 import com.netflix.iceberg.hadoop.HadoopInputFile;
 import com.netflix.iceberg.hadoop.HadoopOutputFile;
@@ -58,6 +59,15 @@ class ParquetIO {
     return new ParquetInputFile(file);
   }
 
+  /**
+   * Returns a Parquet input file that returns an already open stream from the first call to
+   * newStream, so that the caller can keep a reference to the stream that Parquet reads.
+   */
+  static InputFile file(com.netflix.iceberg.io.InputFile file,
+                        com.netflix.iceberg.io.SeekableInputStream openStream) {
+    return new OpenStreamInputFile(file, openStream);
+  }
+
   static OutputFile file(com.netflix.iceberg.io.OutputFile file) {
     if (file instanceof HadoopOutputFile) {
       HadoopOutputFile hfile = (HadoopOutputFile) file;
@@ -90,6 +100,68 @@ class ParquetIO {
     return new ParquetOutputStreamAdapter(stream);
   }
 
+  /**
+   * Wraps a Parquet output file to record the final position of the stream when it is closed.
+   * <p>
+   * The position at close is the length of the written file, which avoids a status call to the
+   * file system after the file is written.
+   */
+  static class LengthTrackingOutputFile implements OutputFile {
+    private final OutputFile file;
+    private Long length = null;
+
+    LengthTrackingOutputFile(OutputFile file) {
+      this.file = file;
+    }
+
+    long length() {
+      Preconditions.checkState(length != null, "Cannot return length: stream is not closed");
+      return length;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) throws IOException {
+      return new LengthTrackingStream(file.create(blockSizeHint));
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
+      return new LengthTrackingStream(file.createOrOverwrite(blockSizeHint));
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+      return file.supportsBlockSize();
+    }
+
+    @Override
+    public long defaultBlockSize() {
+      return file.defaultBlockSize();
+    }
+
+    private class LengthTrackingStream extends DelegatingPositionOutputStream {
+      private final PositionOutputStream delegate;
+
+      private LengthTrackingStream(PositionOutputStream delegate) {
+        super(delegate);
+        this.delegate = delegate;
+      }
+
+      @Override
+      public long getPos() throws IOException {
+        return delegate.getPos();
+      }
+
+      @Override
+      public void close() throws IOException {
+        if (length == null) {
+          length = delegate.getPos();
+        }
+        super.close();
+      }
+    }
+  }
+
   private static class ParquetInputStreamAdapter extends DelegatingSeekableInputStream {
     private final com.netflix.iceberg.io.SeekableInputStream delegate;
 
@@ -168,4 +240,30 @@ class ParquetIO {
       return stream(file.newStream());
     }
   }
+
+  private static class OpenStreamInputFile implements InputFile {
+    private final com.netflix.iceberg.io.InputFile file;
+    private com.netflix.iceberg.io.SeekableInputStream openStream;
+
+    private OpenStreamInputFile(com.netflix.iceberg.io.InputFile file,
+                                com.netflix.iceberg.io.SeekableInputStream openStream) {
+      this.file = file;
+      this.openStream = openStream;
+    }
+
+    @Override
+    public long getLength() throws IOException {
+      return file.getLength();
+    }
+
+    @Override
+    public SeekableInputStream newStream() throws IOException {
+      if (openStream != null) {
+        com.netflix.iceberg.io.SeekableInputStream stream = openStream;
+        this.openStream = null;
+        return stream(stream);
+      }
+      return stream(file.newStream());
+    }
+  }
 }
@@ -24,17 +24,33 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 public class ParquetIterable<T> implements Iterable<T>, Closeable {
   private final List<Closeable> closeables = Lists.newArrayList();
   private final ParquetReader.Builder<T> builder;
+  private final Supplier<? extends Iterator<T>> iterators;
 
   ParquetIterable(ParquetReader.Builder<T> builder) {
     this.builder = builder;
+    this.iterators = null;
+  }
+
+  ParquetIterable(Supplier<? extends Iterator<T>> iterators) {
+    this.builder = null;
+    this.iterators = iterators;
   }
 
   @Override
   public Iterator<T> iterator() {
+    if (iterators != null) {
+      Iterator<T> iter = iterators.get();
+      if (iter instanceof Closeable) {
+        closeables.add((Closeable) iter);
+      }
+      return iter;
+    }
+
     try {
       ParquetReader<T> reader = builder.build();
       closeables.add(reader);
@@ -22,14 +22,20 @@ import com.netflix.iceberg.Metrics;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
 import com.netflix.iceberg.io.InputFile;
+import com.netflix.iceberg.types.Conversions;
+import com.netflix.iceberg.types.Type;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,6 +58,8 @@ public class ParquetMetrics implements Serializable {
     Map<Integer, Long> valueCounts = Maps.newHashMap();
     Map<Integer, Long> nullValueCounts = Maps.newHashMap();
     Set<Integer> missingStats = Sets.newHashSet();
+    Map<Integer, Statistics<?>> boundStats = Maps.newHashMap();
+    Set<Integer> missingBounds = Sets.newHashSet();
 
     MessageType parquetType = metadata.getFileMetaData().getSchema();
     Schema fileSchema = ParquetSchemaUtil.convert(parquetType);
@@ -67,8 +75,13 @@ public class ParquetMetrics implements Serializable {
         Statistics stats = column.getStatistics();
         if (stats == null) {
           missingStats.add(fieldId);
+          missingBounds.add(fieldId);
         } else if (!stats.isEmpty()) {
           increment(nullValueCounts, fieldId, stats.getNumNulls());
+          mergeBounds(boundStats, missingBounds, fieldId, column, stats);
+        } else if (column.getValueCount() > 0) {
+          // the stats were not written or were discarded when the footer was read
+          missingBounds.add(fieldId);
         }
       }
     }
@@ -78,8 +91,81 @@ public class ParquetMetrics implements Serializable {
       nullValueCounts.remove(fieldId);
     }
 
+    Map<Integer, ByteBuffer> lowerBounds = Maps.newHashMap();
+    Map<Integer, ByteBuffer> upperBounds = Maps.newHashMap();
+    for (Map.Entry<Integer, Statistics<?>> entry : boundStats.entrySet()) {
+      int fieldId = entry.getKey();
+      Statistics<?> stats = entry.getValue();
+      if (!missingBounds.contains(fieldId) && stats.hasNonNullValue()) {
+        Type type = fileSchema.findType(fieldId);
+        lowerBounds.put(fieldId, toBound(type, stats.genericGetMin()));
+        upperBounds.put(fieldId, toBound(type, stats.genericGetMax()));
+      }
+    }
+
     return new Metrics(
-        rowCount, columnSizes, valueCounts, nullValueCounts, null);
+        rowCount, columnSizes, valueCounts, nullValueCounts, null, lowerBounds, upperBounds);
+  }
+
+  /**
+   * Merges a column chunk's min and max into the file-level stats for the column.
+   * <p>
+   * Bounds are kept only for types whose Parquet ordering matches Iceberg's ordering. Floating
+   * point columns are skipped because NaN values are not reflected in Parquet min and max.
+   */
+  private static void mergeBounds(Map<Integer, Statistics<?>> boundStats,
+                                  Set<Integer> missingBounds, int fieldId,
+                                  ColumnChunkMetaData column, Statistics<?> stats) {
+    if (missingBounds.contains(fieldId)) {
+      return;
+    }
+
+    if (!hasComparableBounds(column.getPrimitiveType())) {
+      missingBounds.add(fieldId);
+      return;
+    }
+
+    if (!stats.hasNonNullValue()) {
+      if (stats.getNumNulls() < column.getValueCount()) {
+        // there are non-null values, but min and max were discarded
+        missingBounds.add(fieldId);
+      }
+      return;
+    }
+
+    Statistics<?> merged = boundStats.get(fieldId);
+    if (merged == null) {
+      merged = Statistics.createStats(column.getPrimitiveType());
+      boundStats.put(fieldId, merged);
+    }
+    merged.mergeStatistics(stats);
+  }
+
+  private static boolean hasComparableBounds(PrimitiveType type) {
+    OriginalType original = type.getOriginalType();
+    switch (type.getPrimitiveTypeName()) {
+      case INT32:
+        return original == null || original == OriginalType.DATE ||
+            original == OriginalType.INT_8 || original == OriginalType.INT_16 ||
+            original == OriginalType.INT_32;
+      case INT64:
+        return original == null || original == OriginalType.INT_64 ||
+            original == OriginalType.TIME_MICROS || original == OriginalType.TIMESTAMP_MICROS;
+      case BINARY:
+        return original == null || original == OriginalType.UTF8;
+      case FIXED_LEN_BYTE_ARRAY:
+        return original == null;
+      default:
+        return false;
+    }
+  }
+
+  private static ByteBuffer toBound(Type type, Object value) {
+    if (value instanceof Binary) {
+      // strings, binary, and fixed are stored as their bytes
+      return ByteBuffer.wrap(((Binary) value).getBytes());
+    }
+    return Conversions.toByteBuffer(type, value);
   }
 
   private static void increment(Map<Integer, Long> columns, int fieldId, long amount) {
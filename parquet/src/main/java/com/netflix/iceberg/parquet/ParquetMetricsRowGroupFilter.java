@@ -0,0 +1,427 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.expressions.Binder;
+import com.netflix.iceberg.expressions.BoundReference;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.expressions.ExpressionVisitors;
+import com.netflix.iceberg.expressions.ExpressionVisitors.BoundExpressionVisitor;
+import com.netflix.iceberg.expressions.Literal;
+import com.netflix.iceberg.expressions.Optimizer;
+import com.netflix.iceberg.types.Type.TypeID;
+import com.netflix.iceberg.types.Types;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveComparator;
+import org.apache.parquet.schema.PrimitiveType;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates an {@link Expression} on the column statistics of a Parquet row group to test whether
+ * rows in the group may match.
+ * <p>
+ * This evaluation is inclusive: it returns true if a row group may match and false if it cannot.
+ * It uses the min, max, and null count of each column chunk in the group's footer metadata;
+ * missing statistics and columns with types that are not converted are treated as unknown.
+ * <p>
+ * Strings are compared as unsigned UTF-8 bytes, which is the order Parquet uses for statistics.
+ * Like {@link com.netflix.iceberg.expressions.InclusiveMetricsEvaluator}, a chunk with nulls may
+ * match {@code lt}, {@code ltEq}, {@code notEq}, {@code notIn}, and {@code notStartsWith}.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ParquetMetricsRowGroupFilter {
+  private static final boolean ROWS_MIGHT_MATCH = true;
+  private static final boolean ROWS_CANNOT_MATCH = false;
+  private static final Joiner DOT = Joiner.on('.');
+
+  private final Schema schema;
+  private final Expression expr;
+  private final ThreadLocal<MetricsEvalVisitor> visitors =
+      ThreadLocal.withInitial(MetricsEvalVisitor::new);
+
+  /**
+   * Creates a filter for files with the given schema.
+   *
+   * @param schema an Iceberg schema converted from the Parquet file schema
+   * @param unbound an unbound filter expression
+   */
+  public ParquetMetricsRowGroupFilter(Schema schema, Expression unbound) {
+    this.schema = schema;
+    this.expr = Binder.bind(schema.asStruct(), Optimizer.optimize(unbound));
+  }
+
+  /**
+   * Test whether the row group may contain records that match the expression.
+   *
+   * @param fileSchema schema for the Parquet file
+   * @param rowGroup metadata for the row group
+   * @return false if the row group cannot contain rows that match the expression, true otherwise.
+   */
+  public boolean shouldRead(MessageType fileSchema, BlockMetaData rowGroup) {
+    return visitors.get().eval(fileSchema, rowGroup);
+  }
+
+  private class MetricsEvalVisitor extends BoundExpressionVisitor<Boolean> {
+    private Map<Integer, PrimitiveType> types = null;
+    private Map<Integer, ColumnChunkMetaData> chunks = null;
+
+    private boolean eval(MessageType fileSchema, BlockMetaData rowGroup) {
+      if (rowGroup.getRowCount() <= 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      this.types = Maps.newHashMap();
+      this.chunks = Maps.newHashMap();
+
+      Map<ColumnPath, ColumnChunkMetaData> chunksByPath = Maps.newHashMap();
+      for (ColumnChunkMetaData chunk : rowGroup.getColumns()) {
+        chunksByPath.put(chunk.getPath(), chunk);
+      }
+
+      // the expression was bound by name to the converted file schema, so match columns by name
+      for (ColumnDescriptor desc : fileSchema.getColumns()) {
+        if (desc.getMaxRepetitionLevel() > 0) {
+          // stats for repeated columns describe elements, not rows
+          continue;
+        }
+
+        Types.NestedField field = schema.findField(DOT.join(desc.getPath()));
+        ColumnChunkMetaData chunk = chunksByPath.get(ColumnPath.get(desc.getPath()));
+        if (field != null && chunk != null) {
+          types.put(field.fieldId(), desc.getPrimitiveType());
+          chunks.put(field.fieldId(), chunk);
+        }
+      }
+
+      return ExpressionVisitors.visit(expr, this);
+    }
+
+    @Override
+    public Boolean alwaysTrue() {
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public Boolean alwaysFalse() {
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public Boolean not(Boolean result) {
+      throw new UnsupportedOperationException("Not should be rewritten: " + expr);
+    }
+
+    @Override
+    public Boolean and(Boolean leftResult, Boolean rightResult) {
+      return leftResult && rightResult;
+    }
+
+    @Override
+    public Boolean or(Boolean leftResult, Boolean rightResult) {
+      return leftResult || rightResult;
+    }
+
+    @Override
+    public <T> Boolean isNull(BoundReference<T> ref) {
+      Statistics<?> stats = stats(ref);
+      if (stats != null && stats.getNumNulls() == 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notNull(BoundReference<T> ref) {
+      return allNulls(ref) ? ROWS_CANNOT_MATCH : ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean lt(BoundReference<T> ref, Literal<T> lit) {
+      Object lower = lower(ref);
+      if (lower != null && compare(ref, lower, lit.value()) >= 0) {
+        return mayHaveNulls(ref) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean ltEq(BoundReference<T> ref, Literal<T> lit) {
+      Object lower = lower(ref);
+      if (lower != null && compare(ref, lower, lit.value()) > 0) {
+        return mayHaveNulls(ref) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gt(BoundReference<T> ref, Literal<T> lit) {
+      if (allNulls(ref)) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      Object upper = upper(ref);
+      if (upper != null && compare(ref, upper, lit.value()) <= 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean gtEq(BoundReference<T> ref, Literal<T> lit) {
+      if (allNulls(ref)) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      Object upper = upper(ref);
+      if (upper != null && compare(ref, upper, lit.value()) < 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean eq(BoundReference<T> ref, Literal<T> lit) {
+      if (allNulls(ref)) {
+        return ROWS_CANNOT_MATCH;
+      }
+      return inBounds(ref, lit.value()) ? ROWS_MIGHT_MATCH : ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notEq(BoundReference<T> ref, Literal<T> lit) {
+      if (mayHaveNulls(ref)) {
+        return ROWS_MIGHT_MATCH;
+      }
+      return allEqual(ref, lit.value()) ? ROWS_CANNOT_MATCH : ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean in(BoundReference<T> ref, Set<T> literalSet) {
+      if (allNulls(ref)) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      for (T value : literalSet) {
+        if (inBounds(ref, value)) {
+          return ROWS_MIGHT_MATCH;
+        }
+      }
+      return ROWS_CANNOT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notIn(BoundReference<T> ref, Set<T> literalSet) {
+      if (mayHaveNulls(ref)) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      for (T value : literalSet) {
+        if (allEqual(ref, value)) {
+          return ROWS_CANNOT_MATCH;
+        }
+      }
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean startsWith(BoundReference<T> ref, Literal<T> lit) {
+      if (allNulls(ref)) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      Binary prefix = Binary.fromString(lit.value().toString());
+      Binary lower = (Binary) lower(ref);
+      if (lower != null && comparePrefix(lower, prefix) > 0) {
+        // all values sort after every string that starts with the prefix
+        return ROWS_CANNOT_MATCH;
+      }
+
+      Binary upper = (Binary) upper(ref);
+      if (upper != null && comparePrefix(upper, prefix) < 0) {
+        // all values sort before every string that starts with the prefix
+        return ROWS_CANNOT_MATCH;
+      }
+
+      return ROWS_MIGHT_MATCH;
+    }
+
+    @Override
+    public <T> Boolean notStartsWith(BoundReference<T> ref, Literal<T> lit) {
+      if (mayHaveNulls(ref)) {
+        return ROWS_MIGHT_MATCH;
+      }
+
+      // if both bounds start with the prefix, every value in between does
+      Binary prefix = Binary.fromString(lit.value().toString());
+      Binary lower = (Binary) lower(ref);
+      Binary upper = (Binary) upper(ref);
+      if (lower != null && upper != null &&
+          comparePrefix(lower, prefix) == 0 && comparePrefix(upper, prefix) == 0) {
+        return ROWS_CANNOT_MATCH;
+      }
+
+      return ROWS_MIGHT_MATCH;
+    }
+
+    private boolean inBounds(BoundReference<?> ref, Object value) {
+      Object lower = lower(ref);
+      if (lower != null && compare(ref, lower, value) > 0) {
+        return false;
+      }
+
+      Object upper = upper(ref);
+      if (upper != null && compare(ref, upper, value) < 0) {
+        return false;
+      }
+
+      return true;
+    }
+
+    private boolean allEqual(BoundReference<?> ref, Object value) {
+      Object lower = lower(ref);
+      Object upper = upper(ref);
+      return lower != null && upper != null &&
+          compare(ref, lower, value) == 0 &&
+          compare(ref, upper, value) == 0;
+    }
+
+    private boolean allNulls(BoundReference<?> ref) {
+      Statistics<?> stats = stats(ref);
+      return stats != null && !stats.hasNonNullValue() &&
+          stats.getNumNulls() == chunks.get(ref.fieldId()).getValueCount();
+    }
+
+    private boolean mayHaveNulls(BoundReference<?> ref) {
+      Statistics<?> stats = stats(ref);
+      return stats == null || stats.getNumNulls() != 0;
+    }
+
+    /**
+     * Returns statistics for a column, or null if the column has no stats or null counts.
+     */
+    private Statistics<?> stats(BoundReference<?> ref) {
+      ColumnChunkMetaData chunk = chunks.get(ref.fieldId());
+      if (chunk == null) {
+        return null;
+      }
+
+      Statistics<?> stats = chunk.getStatistics();
+      if (stats == null || stats.isEmpty() || !stats.isNumNullsSet()) {
+        return null;
+      }
+
+      return stats;
+    }
+
+    private Object lower(BoundReference<?> ref) {
+      Statistics<?> stats = stats(ref);
+      if (stats == null || !stats.hasNonNullValue()) {
+        return null;
+      }
+      return fromParquet(ref, stats.genericGetMin());
+    }
+
+    private Object upper(BoundReference<?> ref) {
+      Statistics<?> stats = stats(ref);
+      if (stats == null || !stats.hasNonNullValue()) {
+        return null;
+      }
+      return fromParquet(ref, stats.genericGetMax());
+    }
+
+    /**
+     * Converts a Parquet stats value to the representation compared by {@link #compare}, or null
+     * if values of the column's type are not compared.
+     */
+    private Object fromParquet(BoundReference<?> ref, Object value) {
+      PrimitiveType primitive = types.get(ref.fieldId());
+      if (primitive.getOriginalType() != null) {
+        switch (primitive.getOriginalType()) {
+          case UTF8:
+          case DATE:
+          case TIME_MICROS:
+          case TIMESTAMP_MICROS:
+          case INT_8:
+          case INT_16:
+          case INT_32:
+          case INT_64:
+            break;
+          default:
+            // other annotated types, like decimals and unsigned ints, are not converted
+            return null;
+        }
+      }
+
+      TypeID typeId = ref.type().typeId();
+      switch (primitive.getPrimitiveTypeName()) {
+        case BINARY:
+          // strings are compared in Parquet's binary order
+          return typeId == TypeID.STRING ? value : null;
+        case INT32:
+          return typeId == TypeID.LONG ? (Object) ((Integer) value).longValue() : value;
+        case INT64:
+          return value;
+        case FLOAT:
+          return typeId == TypeID.DOUBLE ? (Object) ((Float) value).doubleValue() : value;
+        case DOUBLE:
+          return value;
+        default:
+          return null;
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(BoundReference<?> ref, Object statsValue, Object value) {
+      if (ref.type().typeId() == TypeID.STRING) {
+        return PrimitiveComparator.UNSIGNED_LEXICOGRAPHICAL_BINARY_COMPARATOR.compare(
+            (Binary) statsValue, Binary.fromString(value.toString()));
+      }
+      return ((Comparable<Object>) statsValue).compareTo(value);
+    }
+  }
+
+  /**
+   * Compares the first prefix-length bytes of a value to a prefix, as unsigned bytes.
+   */
+  private static int comparePrefix(Binary value, Binary prefix) {
+    ByteBuffer valueBuf = value.toByteBuffer();
+    ByteBuffer prefixBuf = prefix.toByteBuffer();
+    int len = Math.min(valueBuf.remaining(), prefixBuf.remaining());
+    for (int i = 0; i < len; i += 1) {
+      int cmp = Integer.compare(
+          valueBuf.get(valueBuf.position() + i) & 0xFF,
+          prefixBuf.get(prefixBuf.position() + i) & 0xFF);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    // a value shorter than the prefix sorts before it
+    return valueBuf.remaining() < prefixBuf.remaining() ? -1 : 0;
+  }
+}
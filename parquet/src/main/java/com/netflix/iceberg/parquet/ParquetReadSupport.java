@@ -26,8 +26,6 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
-import org.apache.parquet.schema.Type;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -54,9 +52,8 @@ class ParquetReadSupport<T> extends ReadSupport<T> {
     // matching to the file's columns by full path, so this must select columns by using the path
     // in the file's schema.
 
-    List<Type> fileFields = fileSchema.getFields();
     MessageType projection;
-    if (fileFields.size() > 0 && fileFields.get(0).getId() != null) {
+    if (ParquetSchemaUtil.hasIds(fileSchema)) {
       projection = ParquetSchemaUtil.pruneColumns(fileSchema, expectedSchema);
     } else {
       // the file was written without field IDs
@@ -23,6 +23,7 @@ import com.netflix.iceberg.types.Types;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
 import org.apache.parquet.schema.Types.MessageTypeBuilder;
+import java.util.List;
 import java.util.Set;
 
 public class ParquetSchemaUtil {
@@ -74,4 +75,36 @@ public class ParquetSchemaUtil {
 
     return builder.named(fileSchema.getName());
   }
+
+  /**
+   * Returns whether a Parquet file schema has field ids.
+   *
+   * @param fileSchema schema from a Parquet file
+   * @return true if the top-level fields have ids, false otherwise
+   */
+  public static boolean hasIds(MessageType fileSchema) {
+    List<Type> fields = fileSchema.getFields();
+    return fields.size() > 0 && fields.get(0).getId() != null;
+  }
+
+  /**
+   * Assigns ids to the top-level fields of a Parquet file schema that was written without ids.
+   * <p>
+   * Ids are assigned by position, starting at 1, to match {@link #pruneColumnsFallback}. Nested
+   * fields are left without ids and are matched to the expected schema by name.
+   *
+   * @param fileSchema schema from a Parquet file that does not have field ids.
+   * @return a parquet schema with ids for the top-level fields
+   */
+  public static MessageType addFallbackIds(MessageType fileSchema) {
+    MessageTypeBuilder builder = org.apache.parquet.schema.Types.buildMessage();
+
+    int ordinal = 1;
+    for (Type type : fileSchema.getFields()) {
+      builder.addField(type.withId(ordinal));
+      ordinal += 1;
+    }
+
+    return builder.named(fileSchema.getName());
+  }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.io.InputFile;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.schema.MessageType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Iterator that reads rows from a Parquet file using a {@link ParquetValueReader}.
+ *
+ * @param <T> Java type produced by the value reader
+ */
+class ParquetValueIterator<T> implements Iterator<T>, Closeable {
+  private final ReadConf conf;
+  private final ParquetValueReader<T> model;
+  private final long totalValues;
+  private final boolean reuseContainers;
+  private long nextRowGroupStart = 0L;
+  private long valuesRead = 0L;
+  private T last = null;
+
+  @SuppressWarnings("unchecked")
+  ParquetValueIterator(InputFile file, ParquetReadOptions options, Schema expectedSchema,
+                       Expression filter, Function<MessageType, ParquetValueReader<?>> readerFunc,
+                       boolean reuseContainers) {
+    this.conf = new ReadConf(file, options, expectedSchema, filter);
+    this.model = (ParquetValueReader<T>) readerFunc.apply(conf.projection());
+    this.totalValues = conf.totalRows();
+    this.reuseContainers = reuseContainers;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return valuesRead < totalValues;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    if (valuesRead >= nextRowGroupStart) {
+      advance();
+    }
+
+    if (reuseContainers) {
+      this.last = model.read(last);
+    } else {
+      this.last = model.read(null);
+    }
+    valuesRead += 1;
+
+    return last;
+  }
+
+  private void advance() {
+    PageReadStore pages = conf.readNextRowGroup();
+    nextRowGroupStart += pages.getRowCount();
+    model.setColumnStore(conf.columnStore(pages));
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Remove is not supported");
+  }
+
+  @Override
+  public void close() throws IOException {
+    conf.close();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import org.apache.parquet.column.ColumnReadStore;
+import java.util.List;
+
+/**
+ * Reads values of a Parquet field directly from column triples.
+ *
+ * @param <T> Java type produced by this reader
+ */
+public interface ParquetValueReader<T> {
+  /**
+   * Reads the next value.
+   *
+   * @param reuse a value that may be reused, or null
+   * @return the next value
+   */
+  T read(T reuse);
+
+  /**
+   * Returns the first column read by this reader, used to check the levels of the next triple.
+   */
+  ColumnIterator column();
+
+  /**
+   * Returns all of the columns read by this reader.
+   */
+  List<ColumnIterator> columns();
+
+  /**
+   * Sets the columns for the next row group.
+   *
+   * @param store a store of column readers for a row group
+   */
+  void setColumnStore(ColumnReadStore store);
+}
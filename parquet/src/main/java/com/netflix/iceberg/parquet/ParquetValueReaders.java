@@ -0,0 +1,406 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.schema.Type;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Base {@link ParquetValueReader} implementations that are used to build readers for engines.
+ * <p>
+ * Definition and repetition levels passed to readers are the levels at which the value is null or
+ * the list is finished: one less than the max levels of the optional or repeated field.
+ */
+public class ParquetValueReaders {
+  private ParquetValueReaders() {
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> ParquetValueReader<T> nulls() {
+    return (ParquetValueReader<T>) NullReader.INSTANCE;
+  }
+
+  public static <T> ParquetValueReader<T> option(Type type, int definitionLevel,
+                                                 ParquetValueReader<T> reader) {
+    if (type.isRepetition(Type.Repetition.OPTIONAL)) {
+      return new OptionReader<>(definitionLevel, reader);
+    }
+    return reader;
+  }
+
+  private static class NullReader<T> implements ParquetValueReader<T> {
+    private static final NullReader<Void> INSTANCE = new NullReader<>();
+
+    private NullReader() {
+    }
+
+    @Override
+    public T read(T reuse) {
+      return null;
+    }
+
+    @Override
+    public ColumnIterator column() {
+      return null;
+    }
+
+    @Override
+    public List<ColumnIterator> columns() {
+      return emptyList();
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+    }
+  }
+
+  public abstract static class PrimitiveReader<T> implements ParquetValueReader<T> {
+    protected final ColumnDescriptor desc;
+    protected final ColumnIterator column;
+    private final List<ColumnIterator> children;
+
+    protected PrimitiveReader(ColumnDescriptor desc) {
+      this.desc = desc;
+      this.column = new ColumnIterator(desc);
+      this.children = ImmutableList.of(column);
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      column.setColumnStore(store);
+    }
+
+    @Override
+    public ColumnIterator column() {
+      return column;
+    }
+
+    @Override
+    public List<ColumnIterator> columns() {
+      return children;
+    }
+  }
+
+  /**
+   * Reads boxed Java values for boolean, int, long, float, and double columns.
+   */
+  public static class UnboxedReader<T> extends PrimitiveReader<T> {
+    public UnboxedReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(T ignored) {
+      switch (desc.getType()) {
+        case BOOLEAN:
+          return (T) (Boolean) column.nextBoolean();
+        case INT32:
+          return (T) (Integer) column.nextInteger();
+        case INT64:
+          return (T) (Long) column.nextLong();
+        case FLOAT:
+          return (T) (Float) column.nextFloat();
+        case DOUBLE:
+          return (T) (Double) column.nextDouble();
+        default:
+          throw new UnsupportedOperationException("Cannot read boxed values of " + desc);
+      }
+    }
+  }
+
+  public static class IntAsLongReader extends PrimitiveReader<Long> {
+    public IntAsLongReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public Long read(Long ignored) {
+      return (long) column.nextInteger();
+    }
+  }
+
+  public static class FloatAsDoubleReader extends PrimitiveReader<Double> {
+    public FloatAsDoubleReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public Double read(Double ignored) {
+      return (double) column.nextFloat();
+    }
+  }
+
+  public static class OptionReader<T> implements ParquetValueReader<T> {
+    private final int definitionLevel;
+    private final ParquetValueReader<T> reader;
+    private final ColumnIterator column;
+    private final List<ColumnIterator> children;
+
+    public OptionReader(int definitionLevel, ParquetValueReader<T> reader) {
+      this.definitionLevel = definitionLevel;
+      this.reader = reader;
+      this.column = reader.column();
+      this.children = reader.columns();
+    }
+
+    @Override
+    public T read(T reuse) {
+      if (column.currentDefinitionLevel() > definitionLevel) {
+        return reader.read(reuse);
+      }
+
+      // the value is null, so each column has a single null triple
+      for (ColumnIterator child : children) {
+        child.nextNull();
+      }
+
+      return null;
+    }
+
+    @Override
+    public ColumnIterator column() {
+      return column;
+    }
+
+    @Override
+    public List<ColumnIterator> columns() {
+      return children;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      reader.setColumnStore(store);
+    }
+  }
+
+  /**
+   * Reads repeated values into a list.
+   *
+   * @param <T> Java type of the list
+   * @param <I> Java type of the intermediate list data
+   * @param <E> Java type of the elements
+   */
+  public abstract static class RepeatedReader<T, I, E> implements ParquetValueReader<T> {
+    private final int definitionLevel;
+    private final int repetitionLevel;
+    private final ParquetValueReader<E> reader;
+    private final ColumnIterator column;
+    private final List<ColumnIterator> children;
+
+    protected RepeatedReader(int definitionLevel, int repetitionLevel,
+                             ParquetValueReader<E> reader) {
+      this.definitionLevel = definitionLevel;
+      this.repetitionLevel = repetitionLevel;
+      this.reader = reader;
+      this.column = reader.column();
+      this.children = reader.columns();
+    }
+
+    @Override
+    public T read(T reuse) {
+      I list = newListData(reuse);
+
+      do {
+        if (column.currentDefinitionLevel() > definitionLevel) {
+          addElement(list, reader.read(null));
+
+        } else {
+          // the list is empty, so each column has a single null triple
+          for (ColumnIterator child : children) {
+            child.nextNull();
+          }
+          break;
+        }
+      } while (column.currentRepetitionLevel() > repetitionLevel);
+
+      return buildList(list);
+    }
+
+    @Override
+    public ColumnIterator column() {
+      return column;
+    }
+
+    @Override
+    public List<ColumnIterator> columns() {
+      return children;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      reader.setColumnStore(store);
+    }
+
+    protected abstract I newListData(T reuse);
+
+    protected abstract void addElement(I list, E element);
+
+    protected abstract T buildList(I list);
+  }
+
+  /**
+   * Reads repeated key/value pairs into a map.
+   *
+   * @param <M> Java type of the map
+   * @param <I> Java type of the intermediate map data
+   * @param <K> Java type of the keys
+   * @param <V> Java type of the values
+   */
+  public abstract static class RepeatedKeyValueReader<M, I, K, V>
+      implements ParquetValueReader<M> {
+    private final int definitionLevel;
+    private final int repetitionLevel;
+    private final ParquetValueReader<K> keyReader;
+    private final ParquetValueReader<V> valueReader;
+    private final ColumnIterator column;
+    private final List<ColumnIterator> children;
+
+    protected RepeatedKeyValueReader(int definitionLevel, int repetitionLevel,
+                                     ParquetValueReader<K> keyReader,
+                                     ParquetValueReader<V> valueReader) {
+      this.definitionLevel = definitionLevel;
+      this.repetitionLevel = repetitionLevel;
+      this.keyReader = keyReader;
+      this.valueReader = valueReader;
+      this.column = keyReader.column();
+      this.children = ImmutableList.<ColumnIterator>builder()
+          .addAll(keyReader.columns())
+          .addAll(valueReader.columns())
+          .build();
+    }
+
+    @Override
+    public M read(M reuse) {
+      I map = newMapData(reuse);
+
+      do {
+        if (column.currentDefinitionLevel() > definitionLevel) {
+          K key = keyReader.read(null);
+          V value = valueReader.read(null);
+          addPair(map, key, value);
+
+        } else {
+          // the map is empty, so each column has a single null triple
+          for (ColumnIterator child : children) {
+            child.nextNull();
+          }
+          break;
+        }
+      } while (column.currentRepetitionLevel() > repetitionLevel);
+
+      return buildMap(map);
+    }
+
+    @Override
+    public ColumnIterator column() {
+      return column;
+    }
+
+    @Override
+    public List<ColumnIterator> columns() {
+      return children;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      keyReader.setColumnStore(store);
+      valueReader.setColumnStore(store);
+    }
+
+    protected abstract I newMapData(M reuse);
+
+    protected abstract void addPair(I map, K key, V value);
+
+    protected abstract M buildMap(I map);
+  }
+
+  /**
+   * Reads a struct using one reader for each field in the expected struct.
+   *
+   * @param <T> Java type of the struct
+   * @param <I> Java type of the intermediate struct data
+   */
+  public abstract static class StructReader<T, I> implements ParquetValueReader<T> {
+    private final ParquetValueReader<?>[] readers;
+    private final ColumnIterator column;
+    private final List<ColumnIterator> children;
+
+    protected StructReader(List<ParquetValueReader<?>> readers) {
+      this.readers = readers.toArray(new ParquetValueReader<?>[readers.size()]);
+
+      ColumnIterator first = null;
+      ImmutableList.Builder<ColumnIterator> columns = ImmutableList.builder();
+      for (ParquetValueReader<?> reader : readers) {
+        if (first == null) {
+          first = reader.column();
+        }
+        columns.addAll(reader.columns());
+      }
+
+      this.column = first;
+      this.children = columns.build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final T read(T reuse) {
+      I struct = newStructData(reuse);
+
+      for (int i = 0; i < readers.length; i += 1) {
+        set(struct, i, ((ParquetValueReader<Object>) readers[i]).read(getField(struct, i)));
+      }
+
+      return buildStruct(struct);
+    }
+
+    @Override
+    public ColumnIterator column() {
+      return column;
+    }
+
+    @Override
+    public List<ColumnIterator> columns() {
+      return children;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      for (ParquetValueReader<?> reader : readers) {
+        reader.setColumnStore(store);
+      }
+    }
+
+    protected abstract I newStructData(T reuse);
+
+    /**
+     * Returns the current value of a field that may be reused, or null.
+     */
+    protected Object getField(I struct, int pos) {
+      return null;
+    }
+
+    protected abstract void set(I struct, int pos, Object value);
+
+    protected abstract T buildStruct(I struct);
+  }
+}
@@ -16,16 +16,34 @@
 
 package com.netflix.iceberg.parquet;
 
+import com.google.common.base.Preconditions;
+import com.netflix.iceberg.Metrics;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
 import com.netflix.iceberg.io.FileAppender;
 import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import java.io.IOException;
 
 public class ParquetWriteAdapter<D> implements FileAppender<D> {
+  private final ParquetIO.LengthTrackingOutputFile file;
   private ParquetWriter<D> writer = null;
+  private ParquetMetadata footer = null;
 
+  /**
+   * Creates an appender for a writer that was not created by {@link Parquet#write}.
+   * <p>
+   * The appender cannot track the output file, so {@link #length()} is an estimate while it is
+   * open and is not supported after it is closed.
+   *
+   * @param writer a Parquet writer
+   */
   public ParquetWriteAdapter(ParquetWriter<D> writer) throws IOException {
+    this(writer, null);
+  }
+
+  ParquetWriteAdapter(ParquetWriter<D> writer, ParquetIO.LengthTrackingOutputFile file) {
     this.writer = writer;
+    this.file = file;
   }
 
   @Override
@@ -41,7 +59,29 @@ public class ParquetWriteAdapter<D> implements FileAppender<D> {
   public void close() throws IOException {
     if (writer != null) {
       writer.close();
+      this.footer = writer.getFooter();
       this.writer = null;
     }
   }
+
+  @Override
+  public Metrics metrics() {
+    Preconditions.checkState(footer != null, "Cannot return metrics: appender is not closed");
+    return ParquetMetrics.fromMetadata(footer);
+  }
+
+  @Override
+  public long length() {
+    if (writer != null) {
+      // includes row group data that is buffered in memory
+      return writer.getDataSize();
+    }
+
+    if (file == null) {
+      throw new UnsupportedOperationException(
+          "Cannot return length: output file is not tracked");
+    }
+
+    return file.length();
+  }
 }
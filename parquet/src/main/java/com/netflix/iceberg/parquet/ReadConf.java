@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.collect.Sets;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.exceptions.RuntimeIOException;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.io.InputFile;
+import com.netflix.iceberg.io.PrefetchingInputFile;
+import com.netflix.iceberg.io.PrefetchingInputStream;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An open Parquet file with its columns projected by Iceberg field id.
+ * <p>
+ * Files written without field ids are read by assigning ids to top-level columns by position, the
+ * same as {@link ParquetSchemaUtil#pruneColumnsFallback}.
+ * <p>
+ * If a filter is passed, row groups that cannot match it are selected using {@link RowGroupFilter}
+ * from the same footer, and skipped without reading their data pages.
+ * <p>
+ * If the file is a {@link PrefetchingInputFile}, the projected column chunks of the selected row
+ * groups are passed to its stream as prefetch hints, in the order they will be read.
+ */
+class ReadConf implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ReadConf.class);
+
+  private final String location;
+  private final PrefetchingInputStream prefetcher;
+  private final ParquetFileReader reader;
+  private final MessageType projection;
+  private final GroupConverter converter;
+  private final String createdBy;
+  private final long totalRows;
+  private final boolean[] shouldSkip;
+  private int nextRowGroup = 0;
+
+  ReadConf(InputFile file, ParquetReadOptions options, Schema expectedSchema, Expression filter) {
+    this.location = file.location();
+
+    org.apache.parquet.io.InputFile parquetFile;
+    if (file instanceof PrefetchingInputFile) {
+      this.prefetcher = ((PrefetchingInputFile) file).newStream();
+      // footer and dictionary reads are not sequential, so only fetch hinted column chunks
+      prefetcher.setReadAhead(false);
+      parquetFile = ParquetIO.file(file, prefetcher);
+    } else {
+      this.prefetcher = null;
+      parquetFile = ParquetIO.file(file);
+    }
+
+    try {
+      this.reader = ParquetFileReader.open(parquetFile, options);
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to open Parquet file: %s", file.location());
+    }
+
+    MessageType fileSchema = reader.getFileMetaData().getSchema();
+    if (ParquetSchemaUtil.hasIds(fileSchema)) {
+      this.projection = ParquetSchemaUtil.pruneColumns(fileSchema, expectedSchema);
+    } else {
+      this.projection = ParquetSchemaUtil.pruneColumnsFallback(
+          ParquetSchemaUtil.addFallbackIds(fileSchema), expectedSchema);
+    }
+
+    reader.setRequestedSchema(projection);
+
+    this.converter = new NoOpGroupConverter(projection);
+    this.createdBy = reader.getFileMetaData().getCreatedBy();
+
+    List<BlockMetaData> rowGroups = reader.getRowGroups();
+    if (filter != null) {
+      this.shouldSkip = new RowGroupFilter(fileSchema, filter).shouldSkip(reader);
+    } else {
+      this.shouldSkip = new boolean[rowGroups.size()];
+    }
+
+    long rows = 0L;
+    for (int i = 0; i < shouldSkip.length; i += 1) {
+      if (!shouldSkip[i]) {
+        rows += rowGroups.get(i).getRowCount();
+      }
+    }
+
+    this.totalRows = rows;
+
+    if (prefetcher != null) {
+      prefetchColumnChunks(rowGroups);
+    }
+  }
+
+  private void prefetchColumnChunks(List<BlockMetaData> rowGroups) {
+    Set<ColumnPath> projected = Sets.newHashSet();
+    for (ColumnDescriptor desc : projection.getColumns()) {
+      projected.add(ColumnPath.get(desc.getPath()));
+    }
+
+    for (int i = 0; i < shouldSkip.length; i += 1) {
+      if (!shouldSkip[i]) {
+        for (ColumnChunkMetaData chunk : rowGroups.get(i).getColumns()) {
+          if (projected.contains(chunk.getPath())) {
+            prefetcher.prefetch(chunk.getStartingPos(), chunk.getTotalSize());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the file schema pruned to the projected columns, with field ids.
+   */
+  MessageType projection() {
+    return projection;
+  }
+
+  /**
+   * Returns the number of rows in the row groups that will be read.
+   */
+  long totalRows() {
+    return totalRows;
+  }
+
+  /**
+   * Reads the pages of the next row group.
+   *
+   * @return the pages of the next row group
+   * @throws RuntimeIOException if there are no more row groups or the read fails
+   */
+  PageReadStore readNextRowGroup() {
+    while (nextRowGroup < shouldSkip.length && shouldSkip[nextRowGroup]) {
+      reader.skipNextRowGroup();
+      nextRowGroup += 1;
+    }
+
+    PageReadStore pages;
+    try {
+      pages = reader.readNextRowGroup();
+      nextRowGroup += 1;
+    } catch (IOException e) {
+      throw new RuntimeIOException(e);
+    }
+
+    if (pages == null) {
+      throw new RuntimeIOException("Missing row group: expected %d rows", totalRows);
+    }
+
+    return pages;
+  }
+
+  /**
+   * Returns column readers for the projected columns of a row group.
+   */
+  ColumnReadStore columnStore(PageReadStore pages) {
+    return new ColumnReadStoreImpl(pages, converter, projection, createdBy);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (prefetcher != null) {
+      LOG.debug("Prefetch hit rate for {}: {} ({} hits, {} misses)",
+          location, prefetcher.hitRate(), prefetcher.hits(), prefetcher.misses());
+    }
+    reader.close();
+  }
+
+  /**
+   * Converter tree required by {@link ColumnReadStoreImpl}. Values are read directly from column
+   * readers, so these converters are never called.
+   */
+  private static class NoOpGroupConverter extends GroupConverter {
+    private static final PrimitiveConverter NO_OP_PRIMITIVE = new PrimitiveConverter() {
+    };
+
+    private final Converter[] children;
+
+    NoOpGroupConverter(GroupType group) {
+      this.children = new Converter[group.getFieldCount()];
+      for (int i = 0; i < children.length; i += 1) {
+        Type field = group.getType(i);
+        if (field.isPrimitive()) {
+          children[i] = NO_OP_PRIMITIVE;
+        } else {
+          children[i] = new NoOpGroupConverter(field.asGroupType());
+        }
+      }
+    }
+
+    @Override
+    public Converter getConverter(int fieldIndex) {
+      return children[fieldIndex];
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void end() {
+    }
+  }
+}
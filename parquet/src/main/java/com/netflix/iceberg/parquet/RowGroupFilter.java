@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.expressions.Expression;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.schema.MessageType;
+import java.util.List;
+
+/**
+ * Selects the row groups of an open Parquet file that may contain rows matching a filter.
+ * <p>
+ * Row groups are checked with {@link ParquetMetricsRowGroupFilter} using footer metadata, then
+ * with {@link ParquetDictionaryRowGroupFilter}, which reads dictionary pages but no data pages.
+ */
+class RowGroupFilter {
+  private final MessageType fileSchema;
+  private final ParquetMetricsRowGroupFilter metricsFilter;
+  private final ParquetDictionaryRowGroupFilter dictFilter;
+
+  RowGroupFilter(MessageType fileSchema, Expression filter) {
+    Schema schema = ParquetSchemaUtil.convert(fileSchema);
+    this.fileSchema = fileSchema;
+    this.metricsFilter = new ParquetMetricsRowGroupFilter(schema, filter);
+    this.dictFilter = new ParquetDictionaryRowGroupFilter(schema, filter);
+  }
+
+  /**
+   * Returns which of the reader's row groups cannot match the filter.
+   *
+   * @param reader an open file reader
+   * @return an array with true for each row group in {@link ParquetFileReader#getRowGroups()} that
+   *         should be skipped
+   */
+  boolean[] shouldSkip(ParquetFileReader reader) {
+    List<BlockMetaData> rowGroups = reader.getRowGroups();
+    boolean[] shouldSkip = new boolean[rowGroups.size()];
+    for (int i = 0; i < shouldSkip.length; i += 1) {
+      BlockMetaData rowGroup = rowGroups.get(i);
+      boolean shouldRead = metricsFilter.shouldRead(fileSchema, rowGroup) &&
+          dictFilter.shouldRead(fileSchema, rowGroup, reader.getDictionaryReader(rowGroup));
+      shouldSkip[i] = !shouldRead;
+    }
+
+    return shouldSkip;
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.netflix.iceberg.types.Types;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.apache.parquet.schema.Type.Repetition.REPEATED;
+
+/**
+ * Visitor for a Parquet file schema that also passes the corresponding expected Iceberg type.
+ * <p>
+ * Fields are matched to the expected type by field id, or by name if the Parquet field has no id.
+ * The Iceberg type passed to the visitor is null if the field is not in the expected schema.
+ *
+ * @param <T> the type returned by the visitor
+ */
+public class TypeWithSchemaVisitor<T> {
+  protected LinkedList<String> fieldNames = Lists.newLinkedList();
+
+  public static <T> T visit(com.netflix.iceberg.types.Type iType, Type type,
+                            TypeWithSchemaVisitor<T> visitor) {
+    if (type instanceof MessageType) {
+      Types.StructType struct = iType != null ? iType.asNestedType().asStructType() : null;
+      return visitor.message(struct, (MessageType) type,
+          visitFields(struct, type.asGroupType(), visitor));
+
+    } else if (type.isPrimitive()) {
+      com.netflix.iceberg.types.Type.PrimitiveType iPrimitive = iType != null ?
+          iType.asPrimitiveType() : null;
+      return visitor.primitive(iPrimitive, type.asPrimitiveType());
+
+    } else {
+      // if not a primitive, the typeId must be a group
+      GroupType group = type.asGroupType();
+      OriginalType annotation = group.getOriginalType();
+      if (annotation != null) {
+        switch (annotation) {
+          case LIST:
+            Preconditions.checkArgument(!group.isRepetition(REPEATED),
+                "Invalid list: top-level group is repeated: " + group);
+            Preconditions.checkArgument(group.getFieldCount() == 1,
+                "Invalid list: does not contain single repeated field: " + group);
+
+            GroupType repeatedElement = group.getFields().get(0).asGroupType();
+            Preconditions.checkArgument(repeatedElement.isRepetition(REPEATED),
+                "Invalid list: inner group is not repeated");
+            Preconditions.checkArgument(repeatedElement.getFieldCount() <= 1,
+                "Invalid list: repeated group is not a single field: " + group);
+
+            Types.ListType list = iType != null ? iType.asNestedType().asListType() : null;
+
+            visitor.fieldNames.push(repeatedElement.getName());
+            try {
+              T elementResult = null;
+              if (repeatedElement.getFieldCount() > 0) {
+                elementResult = visitField(
+                    list != null ? list.elementType() : null, repeatedElement.getType(0), visitor);
+              }
+
+              return visitor.list(list, group, elementResult);
+
+            } finally {
+              visitor.fieldNames.pop();
+            }
+
+          case MAP:
+            Preconditions.checkArgument(!group.isRepetition(REPEATED),
+                "Invalid map: top-level group is repeated: " + group);
+            Preconditions.checkArgument(group.getFieldCount() == 1,
+                "Invalid map: does not contain single repeated field: " + group);
+
+            GroupType repeatedKeyValue = group.getType(0).asGroupType();
+            Preconditions.checkArgument(repeatedKeyValue.isRepetition(REPEATED),
+                "Invalid map: inner group is not repeated");
+            Preconditions.checkArgument(repeatedKeyValue.getFieldCount() == 2,
+                "Invalid map: repeated group does not have 2 fields");
+
+            Types.MapType map = iType != null ? iType.asNestedType().asMapType() : null;
+
+            visitor.fieldNames.push(repeatedKeyValue.getName());
+            try {
+              T keyResult = visitField(
+                  map != null ? map.keyType() : null, repeatedKeyValue.getType(0), visitor);
+              T valueResult = visitField(
+                  map != null ? map.valueType() : null, repeatedKeyValue.getType(1), visitor);
+
+              return visitor.map(map, group, keyResult, valueResult);
+
+            } finally {
+              visitor.fieldNames.pop();
+            }
+
+          default:
+        }
+      }
+
+      Types.StructType struct = iType != null ? iType.asNestedType().asStructType() : null;
+      return visitor.struct(struct, group, visitFields(struct, group, visitor));
+    }
+  }
+
+  /**
+   * Returns the expected field that corresponds to a Parquet field, or null if it is not expected.
+   *
+   * @param struct an expected struct type, or null
+   * @param field a field from the corresponding Parquet group
+   * @return the field in the expected struct with the same id, or the same name if there is no id
+   */
+  protected static Types.NestedField expectedField(Types.StructType struct, Type field) {
+    if (struct == null) {
+      return null;
+    } else if (field.getId() != null) {
+      return struct.field(field.getId().intValue());
+    } else {
+      return struct.field(field.getName());
+    }
+  }
+
+  private static <T> T visitField(com.netflix.iceberg.types.Type iType, Type field,
+                                  TypeWithSchemaVisitor<T> visitor) {
+    visitor.fieldNames.push(field.getName());
+    try {
+      return visit(iType, field, visitor);
+    } finally {
+      visitor.fieldNames.pop();
+    }
+  }
+
+  private static <T> List<T> visitFields(Types.StructType struct, GroupType group,
+                                         TypeWithSchemaVisitor<T> visitor) {
+    List<T> results = Lists.newArrayListWithExpectedSize(group.getFieldCount());
+    for (Type field : group.getFields()) {
+      Types.NestedField iField = expectedField(struct, field);
+      results.add(visitField(iField != null ? iField.type() : null, field, visitor));
+    }
+
+    return results;
+  }
+
+  /**
+   * Returns the path of the field that is being visited, from the root of the message.
+   */
+  protected String[] currentPath() {
+    String[] path = new String[fieldNames.size()];
+    Iterator<String> iter = fieldNames.descendingIterator();
+    for (int i = 0; iter.hasNext(); i += 1) {
+      path[i] = iter.next();
+    }
+
+    return path;
+  }
+
+  /**
+   * Returns the path of a child of the field that is being visited.
+   */
+  protected String[] path(String name) {
+    String[] path = new String[fieldNames.size() + 1];
+    Iterator<String> iter = fieldNames.descendingIterator();
+    for (int i = 0; iter.hasNext(); i += 1) {
+      path[i] = iter.next();
+    }
+    path[path.length - 1] = name;
+
+    return path;
+  }
+
+  public T message(Types.StructType iStruct, MessageType message, List<T> fields) {
+    return null;
+  }
+
+  public T struct(Types.StructType iStruct, GroupType struct, List<T> fields) {
+    return null;
+  }
+
+  public T list(Types.ListType iList, GroupType array, T element) {
+    return null;
+  }
+
+  public T map(Types.MapType iMap, GroupType map, T key, T value) {
+    return null;
+  }
+
+  public T primitive(com.netflix.iceberg.types.Type.PrimitiveType iPrimitive,
+                     PrimitiveType primitive) {
+    return null;
+  }
+}
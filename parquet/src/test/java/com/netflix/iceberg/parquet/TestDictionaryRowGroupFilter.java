@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.collect.Lists;
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.avro.AvroSchemaUtil;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData.Record;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.not;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notIn;
+import static com.netflix.iceberg.expressions.Expressions.notStartsWith;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestDictionaryRowGroupFilter {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "bucket", Types.IntegerType.get()),
+      required(2, "country", Types.StringType.get()),
+      required(3, "constant", Types.StringType.get()),
+      optional(4, "constant_with_nulls", Types.StringType.get()),
+      required(5, "id", Types.LongType.get())
+  );
+
+  private static final String[] COUNTRIES = new String[] { "US", "CA", "MX" };
+
+  @ClassRule
+  public static final TemporaryFolder TEMP = new TemporaryFolder();
+
+  private static File file = null;
+  private static MessageType fileSchema = null;
+  private static BlockMetaData rowGroup = null;
+  private static ParquetFileReader reader = null;
+
+  @BeforeClass
+  public static void writeTestFile() throws IOException {
+    file = TEMP.newFile();
+    Assert.assertTrue("Delete should succeed", file.delete());
+
+    org.apache.avro.Schema avroSchema = AvroSchemaUtil.convert(SCHEMA.asStruct(), "table");
+    try (FileAppender<Record> appender = Parquet.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .build()) {
+      for (int i = 0; i < 100; i += 1) {
+        Record record = new Record(avroSchema);
+        record.put("bucket", i % 5);
+        record.put("country", COUNTRIES[i % COUNTRIES.length]);
+        record.put("constant", "abc");
+        record.put("constant_with_nulls", i % 10 == 0 ? null : "abc");
+        record.put("id", (long) i);
+        appender.add(record);
+      }
+    }
+
+    reader = ParquetFileReader.open(ParquetIO.file(Files.localInput(file)));
+    fileSchema = reader.getFileMetaData().getSchema();
+    Assert.assertEquals("Should write one row group", 1, reader.getRowGroups().size());
+    rowGroup = reader.getRowGroups().get(0);
+  }
+
+  private static boolean shouldRead(Expression expr) {
+    return new ParquetDictionaryRowGroupFilter(SCHEMA, expr)
+        .shouldRead(fileSchema, rowGroup, reader.getDictionaryReader(rowGroup));
+  }
+
+  @Test
+  public void testEq() {
+    Assert.assertTrue("Should read: US is in the dictionary", shouldRead(equal("country", "US")));
+    Assert.assertFalse("Should skip: FR is not in the dictionary",
+        shouldRead(equal("country", "FR")));
+    Assert.assertFalse("Should skip: 5 is not in the dictionary", shouldRead(equal("bucket", 5)));
+    Assert.assertTrue("Should read: 4 is in the dictionary", shouldRead(equal("bucket", 4)));
+  }
+
+  @Test
+  public void testNotEq() {
+    Assert.assertTrue("Should read: other countries are in the dictionary",
+        shouldRead(notEqual("country", "US")));
+    Assert.assertFalse("Should skip: all values are abc", shouldRead(notEqual("constant", "abc")));
+    Assert.assertTrue("Should read: null values may match",
+        shouldRead(notEqual("constant_with_nulls", "abc")));
+  }
+
+  @Test
+  public void testIn() {
+    Assert.assertFalse("Should skip: no values are in the dictionary",
+        shouldRead(in("country", "FR", "DE", "JP")));
+    Assert.assertTrue("Should read: CA is in the dictionary",
+        shouldRead(in("country", "FR", "CA")));
+    Assert.assertFalse("Should skip: all values are in the set",
+        shouldRead(notIn("country", "US", "CA", "MX")));
+    Assert.assertTrue("Should read: MX is not in the set",
+        shouldRead(notIn("country", "US", "CA")));
+    Assert.assertTrue("Should read: null values may match",
+        shouldRead(notIn("constant_with_nulls", "abc")));
+  }
+
+  @Test
+  public void testStartsWith() {
+    Assert.assertFalse("Should skip: no values start with F",
+        shouldRead(startsWith("country", "F")));
+    Assert.assertTrue("Should read: MX starts with M", shouldRead(startsWith("country", "M")));
+    Assert.assertFalse("Should skip: all values start with ab",
+        shouldRead(notStartsWith("constant", "ab")));
+    Assert.assertTrue("Should read: null values may match",
+        shouldRead(notStartsWith("constant_with_nulls", "ab")));
+  }
+
+  @Test
+  public void testPlainEncodedColumn() {
+    // unique values are larger with a dictionary, so the writer falls back to plain encoding
+    Assert.assertTrue("Should read: values are not dictionary-encoded",
+        shouldRead(equal("id", 1000L)));
+  }
+
+  @Test
+  public void testUnsupportedPredicates() {
+    Assert.assertTrue("Should read: range predicates are not evaluated",
+        shouldRead(lessThan("country", "AA")));
+  }
+
+  @Test
+  public void testAndOrNot() {
+    Assert.assertFalse("Should skip: one side cannot match",
+        shouldRead(and(equal("country", "US"), equal("constant", "xyz"))));
+    Assert.assertTrue("Should read: one side may match",
+        shouldRead(or(equal("country", "FR"), equal("constant", "abc"))));
+    Assert.assertFalse("Should skip: not(notEq) is eq",
+        shouldRead(not(notEqual("country", "FR"))));
+  }
+
+  @Test
+  public void testSkippedRowGroupsAreNotRead() {
+    List<Record> rows = Lists.newArrayList(Parquet.read(Files.localInput(file))
+        .project(SCHEMA)
+        .filter(in("country", "FR", "DE"))
+        .createReaderFunc(type -> ParquetAvroValueReaders.buildReader(SCHEMA, type))
+        .build());
+    Assert.assertEquals("Should skip the only row group", 0, rows.size());
+
+    rows = Lists.newArrayList(Parquet.read(Files.localInput(file))
+        .project(SCHEMA)
+        .filter(in("country", "FR", "MX"))
+        .createReaderFunc(type -> ParquetAvroValueReaders.buildReader(SCHEMA, type))
+        .build());
+    Assert.assertEquals("Should read all rows in the row group", 100, rows.size());
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.collect.Lists;
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.avro.AvroSchemaUtil;
+import com.netflix.iceberg.expressions.Expression;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData.Record;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static com.netflix.iceberg.expressions.Expressions.alwaysFalse;
+import static com.netflix.iceberg.expressions.Expressions.and;
+import static com.netflix.iceberg.expressions.Expressions.equal;
+import static com.netflix.iceberg.expressions.Expressions.greaterThan;
+import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
+import static com.netflix.iceberg.expressions.Expressions.isNull;
+import static com.netflix.iceberg.expressions.Expressions.lessThan;
+import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.notEqual;
+import static com.netflix.iceberg.expressions.Expressions.notNull;
+import static com.netflix.iceberg.expressions.Expressions.notStartsWith;
+import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestMetricsRowGroupFilter {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.IntegerType.get()),
+      optional(2, "all_nulls", Types.IntegerType.get()),
+      optional(3, "some_nulls", Types.StringType.get()),
+      required(4, "str", Types.StringType.get()),
+      required(5, "ts", Types.LongType.get())
+  );
+
+  @ClassRule
+  public static final TemporaryFolder TEMP = new TemporaryFolder();
+
+  private static File file = null;
+  private static MessageType fileSchema = null;
+  private static BlockMetaData rowGroup = null;
+
+  @BeforeClass
+  public static void writeTestFile() throws IOException {
+    file = TEMP.newFile();
+    Assert.assertTrue("Delete should succeed", file.delete());
+
+    org.apache.avro.Schema avroSchema = AvroSchemaUtil.convert(SCHEMA.asStruct(), "table");
+    try (FileAppender<Record> appender = Parquet.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .build()) {
+      // ids range from 30 to 79 and strings from "abc-30" to "abc-79"
+      for (int i = 30; i < 80; i += 1) {
+        Record record = new Record(avroSchema);
+        record.put("id", i);
+        record.put("all_nulls", null);
+        record.put("some_nulls", i % 2 == 0 ? null : "some");
+        record.put("str", "abc-" + i);
+        record.put("ts", 1000L * i);
+        appender.add(record);
+      }
+    }
+
+    try (ParquetFileReader reader = ParquetFileReader.open(ParquetIO.file(Files.localInput(file)))) {
+      fileSchema = reader.getFileMetaData().getSchema();
+      Assert.assertEquals("Should write one row group", 1, reader.getRowGroups().size());
+      rowGroup = reader.getRowGroups().get(0);
+    }
+  }
+
+  private static boolean shouldRead(Expression expr) {
+    return new ParquetMetricsRowGroupFilter(ParquetSchemaUtil.convert(fileSchema), expr)
+        .shouldRead(fileSchema, rowGroup);
+  }
+
+  @Test
+  public void testAllNulls() {
+    Assert.assertFalse("Should skip: no non-null value", shouldRead(notNull("all_nulls")));
+    Assert.assertTrue("Should read: some values are not null", shouldRead(notNull("some_nulls")));
+    Assert.assertFalse("Should skip: no non-null value", shouldRead(equal("all_nulls", 1)));
+  }
+
+  @Test
+  public void testNoNulls() {
+    Assert.assertFalse("Should skip: no null values", shouldRead(isNull("str")));
+    Assert.assertTrue("Should read: some values are null", shouldRead(isNull("some_nulls")));
+  }
+
+  @Test
+  public void testIntegerRanges() {
+    Assert.assertFalse("Should skip: id range is above 30", shouldRead(lessThan("id", 30)));
+    Assert.assertTrue("Should read: 30 is in range", shouldRead(lessThanOrEqual("id", 30)));
+    Assert.assertFalse("Should skip: id range is below 79", shouldRead(greaterThan("id", 79)));
+    Assert.assertTrue("Should read: 79 is in range", shouldRead(greaterThanOrEqual("id", 79)));
+    Assert.assertFalse("Should skip: 80 is above the range", shouldRead(equal("id", 80)));
+    Assert.assertTrue("Should read: 50 is in range", shouldRead(equal("id", 50)));
+    Assert.assertFalse("Should skip: no values in range", shouldRead(in("id", 1, 2, 100)));
+    Assert.assertTrue("Should read: 31 is in range", shouldRead(in("id", 1, 31)));
+    Assert.assertTrue("Should read: not all values are 30", shouldRead(notEqual("id", 30)));
+  }
+
+  @Test
+  public void testLongRanges() {
+    Assert.assertFalse("Should skip: ts range is above 1000", shouldRead(lessThan("ts", 1000L)));
+    Assert.assertTrue("Should read: 30000 is in range", shouldRead(equal("ts", 30000L)));
+  }
+
+  @Test
+  public void testStringRanges() {
+    Assert.assertFalse("Should skip: abc-8 sorts after abc-79", shouldRead(equal("str", "abc-8")));
+    Assert.assertTrue("Should read: abc-5 is in range", shouldRead(equal("str", "abc-5")));
+    Assert.assertFalse("Should skip: no value starts with abd", shouldRead(startsWith("str", "abd")));
+    Assert.assertFalse("Should skip: no value starts with abb", shouldRead(startsWith("str", "abb")));
+    Assert.assertTrue("Should read: values start with abc-4", shouldRead(startsWith("str", "abc-4")));
+    Assert.assertFalse("Should skip: all values start with abc",
+        shouldRead(notStartsWith("str", "abc")));
+    Assert.assertTrue("Should read: values do not start with abc-3",
+        shouldRead(notStartsWith("str", "abc-3")));
+  }
+
+  @Test
+  public void testAndOr() {
+    Assert.assertFalse("Should skip: one side cannot match",
+        shouldRead(and(equal("id", 50), equal("id", 100))));
+    Assert.assertTrue("Should read: one side may match",
+        shouldRead(or(equal("id", 50), equal("id", 100))));
+  }
+
+  @Test
+  public void testAlwaysFalseReadsNoRows() {
+    Assert.assertFalse("Should skip: alwaysFalse cannot match", shouldRead(alwaysFalse()));
+
+    List<Record> rows = Lists.newArrayList(Parquet.read(Files.localInput(file))
+        .project(SCHEMA)
+        .filter(alwaysFalse())
+        .build());
+    Assert.assertEquals("Should not read rows with the read support", 0, rows.size());
+
+    rows = Lists.newArrayList(Parquet.read(Files.localInput(file))
+        .project(SCHEMA)
+        .filter(alwaysFalse())
+        .createReaderFunc(type -> ParquetAvroValueReaders.buildReader(SCHEMA, type))
+        .build());
+    Assert.assertEquals("Should not read rows with value readers", 0, rows.size());
+  }
+
+  @Test
+  public void testSkippedFileReadsNoRows() {
+    List<Record> rows = Lists.newArrayList(Parquet.read(Files.localInput(file))
+        .project(SCHEMA)
+        .filter(greaterThan("id", 100))
+        .build());
+    Assert.assertEquals("Should not read rows with the read support", 0, rows.size());
+
+    rows = Lists.newArrayList(Parquet.read(Files.localInput(file))
+        .project(SCHEMA)
+        .filter(equal("id", 40))
+        .createReaderFunc(type -> ParquetAvroValueReaders.buildReader(SCHEMA, type))
+        .build());
+    Assert.assertEquals("Should read all rows in the matching row group", 50, rows.size());
+  }
+}
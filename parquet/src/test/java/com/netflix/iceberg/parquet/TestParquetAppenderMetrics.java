@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Metrics;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.avro.AvroSchemaUtil;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData.Record;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestParquetAppenderMetrics {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.LongType.get()),
+      optional(2, "data", Types.StringType.get())
+  );
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testMetricsMatchFooter() throws IOException {
+    File file = temp.newFile();
+    Assert.assertTrue("Delete should succeed", file.delete());
+
+    org.apache.avro.Schema avroSchema = AvroSchemaUtil.convert(SCHEMA.asStruct(), "table");
+    FileAppender<Record> appender = Parquet.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .build();
+    try {
+      for (long i = 0; i < 100; i += 1) {
+        Record record = new Record(avroSchema);
+        record.put("id", i);
+        record.put("data", i % 3 == 0 ? null : "data-" + i);
+        appender.add(record);
+      }
+    } finally {
+      appender.close();
+    }
+
+    Assert.assertEquals("Appender length should match the file length",
+        file.length(), appender.length());
+
+    Metrics expected = ParquetMetrics.fromInputFile(Files.localInput(file));
+    Metrics actual = appender.metrics();
+    Assert.assertEquals("Record count should match", 100L, (long) actual.recordCount());
+    Assert.assertEquals("Record count should match footer",
+        expected.recordCount(), actual.recordCount());
+    Assert.assertEquals("Column sizes should match footer",
+        expected.columnSizes(), actual.columnSizes());
+    Assert.assertEquals("Value counts should match footer",
+        expected.valueCounts(), actual.valueCounts());
+    Assert.assertEquals("Null counts should match footer",
+        expected.nullValueCounts(), actual.nullValueCounts());
+    Assert.assertEquals("Lower bounds should match footer",
+        expected.lowerBounds(), actual.lowerBounds());
+    Assert.assertEquals("Upper bounds should match footer",
+        expected.upperBounds(), actual.upperBounds());
+    Assert.assertEquals("Should count nulls in data", 34L, (long) actual.nullValueCounts().get(2));
+  }
+
+  @Test
+  public void testMetricsRequireClose() throws IOException {
+    File file = temp.newFile();
+    Assert.assertTrue("Delete should succeed", file.delete());
+
+    FileAppender<Record> appender = Parquet.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .build();
+    try {
+      appender.metrics();
+      Assert.fail("Should not return metrics before the appender is closed");
+    } catch (IllegalStateException e) {
+      // expected
+    } finally {
+      appender.close();
+    }
+  }
+}
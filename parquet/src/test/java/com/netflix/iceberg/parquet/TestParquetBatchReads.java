@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.parquet;
+
+import com.google.common.collect.Lists;
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.avro.AvroSchemaUtil;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.io.InputFile;
+import com.netflix.iceberg.io.PrefetchingInputFile;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData.Record;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestParquetBatchReads {
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.LongType.get()),
+      optional(2, "data", Types.StringType.get())
+  );
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testBatchSizes() throws IOException {
+    File file = writeRecords(2500);
+
+    List<Long[]> batches = readIds(file, 1000);
+
+    Assert.assertEquals("Should produce 3 batches", 3, batches.size());
+    Assert.assertEquals("First batch should be full", 1000, batches.get(0).length);
+    Assert.assertEquals("Second batch should be full", 1000, batches.get(1).length);
+    Assert.assertEquals("Last batch should have remaining rows", 500, batches.get(2).length);
+
+    long expected = 0L;
+    for (Long[] batch : batches) {
+      for (Long id : batch) {
+        Assert.assertEquals("Should read ids in order", expected, (long) id);
+        expected += 1;
+      }
+    }
+  }
+
+  @Test
+  public void testPrefetchedReads() throws IOException {
+    File file = writeRecords(2500);
+
+    // use small blocks so that the column chunk is fetched in several blocks
+    InputFile prefetching = new PrefetchingInputFile(Files.localInput(file), 512, 2);
+    List<Long[]> batches = readIds(prefetching, 1000);
+
+    Assert.assertEquals("Should produce 3 batches", 3, batches.size());
+    long expected = 0L;
+    for (Long[] batch : batches) {
+      for (Long id : batch) {
+        Assert.assertEquals("Should read ids in order", expected, (long) id);
+        expected += 1;
+      }
+    }
+    Assert.assertEquals("Should read all ids", 2500L, expected);
+  }
+
+  @Test
+  public void testNullValues() throws IOException {
+    File file = writeRecords(100);
+
+    List<String[]> batches = Lists.newArrayList();
+    Iterable<String[]> iterable = Parquet.read(Files.localInput(file))
+        .project(SCHEMA.select("data"))
+        .createBatchedReaderFunc(StringBatchReader::new)
+        .recordsPerBatch(64)
+        .build();
+    for (String[] batch : iterable) {
+      batches.add(batch);
+    }
+
+    Assert.assertEquals("Should produce 2 batches", 2, batches.size());
+    for (int i = 0; i < 100; i += 1) {
+      String value = batches.get(i / 64)[i % 64];
+      if (i % 3 == 0) {
+        Assert.assertNull("Should read null data", value);
+      } else {
+        Assert.assertEquals("Should read data", "data-" + i, value);
+      }
+    }
+  }
+
+  private File writeRecords(int numRecords) throws IOException {
+    File file = temp.newFile();
+    Assert.assertTrue("Delete should succeed", file.delete());
+
+    org.apache.avro.Schema avroSchema = AvroSchemaUtil.convert(SCHEMA.asStruct(), "table");
+    try (FileAppender<Record> writer = Parquet.write(Files.localOutput(file))
+        .schema(SCHEMA)
+        .build()) {
+      for (int i = 0; i < numRecords; i += 1) {
+        Record record = new Record(avroSchema);
+        record.put("id", (long) i);
+        record.put("data", i % 3 == 0 ? null : "data-" + i);
+        writer.add(record);
+      }
+    }
+
+    return file;
+  }
+
+  private List<Long[]> readIds(File file, int batchSize) {
+    return readIds(Files.localInput(file), batchSize);
+  }
+
+  private List<Long[]> readIds(InputFile file, int batchSize) {
+    List<Long[]> batches = Lists.newArrayList();
+    Iterable<Long[]> iterable = Parquet.read(file)
+        .project(SCHEMA.select("id"))
+        .createBatchedReaderFunc(LongBatchReader::new)
+        .recordsPerBatch(batchSize)
+        .build();
+    for (Long[] batch : iterable) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private static class LongBatchReader implements ParquetBatchReader<Long[]> {
+    private final ColumnIterator column;
+
+    LongBatchReader(MessageType fileSchema) {
+      this.column = new ColumnIterator(fileSchema.getColumns().get(0));
+    }
+
+    @Override
+    public Long[] read(Long[] reuse, int numRows) {
+      Long[] batch = new Long[numRows];
+      for (int i = 0; i < numRows; i += 1) {
+        batch[i] = column.nextLong();
+      }
+      return batch;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      column.setColumnStore(store);
+    }
+  }
+
+  private static class StringBatchReader implements ParquetBatchReader<String[]> {
+    private final ColumnIterator column;
+
+    StringBatchReader(MessageType fileSchema) {
+      this.column = new ColumnIterator(fileSchema.getColumns().get(0));
+    }
+
+    @Override
+    public String[] read(String[] reuse, int numRows) {
+      String[] batch = new String[numRows];
+      for (int i = 0; i < numRows; i += 1) {
+        if (column.isValue()) {
+          batch[i] = column.nextBinary().toStringUsingUTF8();
+        } else {
+          batch[i] = column.nextNull();
+        }
+      }
+      return batch;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      column.setColumnStore(store);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.spark.source;
+
+import com.netflix.iceberg.PartitionSpec;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.Table;
+import com.netflix.iceberg.TableProperties;
+import com.netflix.iceberg.common.DynMethods;
+import com.netflix.iceberg.hadoop.HadoopTables;
+import com.netflix.iceberg.types.Types;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.catalyst.expressions.UnsafeProjection;
+import org.apache.spark.sql.catalyst.expressions.UnsafeRow;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.apache.spark.unsafe.types.UTF8String;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+import static org.apache.spark.sql.functions.col;
+import static org.apache.spark.sql.functions.length;
+import static org.apache.spark.sql.functions.max;
+import static org.apache.spark.sql.functions.sum;
+
+/**
+ * Measures the cost of projecting rows to {@link UnsafeRow} in {@link Reader}.
+ * <p>
+ * {@code readPartitionedTable} scans a table partitioned by identity, so that each row is joined
+ * with its partition values and projected. Vectorized reads are disabled so that rows are read
+ * by {@code Reader.ScanTask}. The {@code project} benchmarks isolate the projection call, using
+ * reflection or a compiled {@link DynMethods} function.
+ * <p>
+ * Run with: {@code gradlew :iceberg-spark:jmh -PjmhIncludeRegex=PartitionedReadBenchmark}
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class PartitionedReadBenchmark {
+  private static final int NUM_ROWS = 1000000;
+  private static final int NUM_PROJECTED_ROWS = 10000;
+  private static final Schema SCHEMA = new Schema(
+      required(1, "id", Types.LongType.get()),
+      optional(2, "data", Types.StringType.get()),
+      optional(3, "category", Types.StringType.get())
+  );
+  private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA)
+      .identity("category")
+      .build();
+  private static final StructType ROW_TYPE = new StructType()
+      .add("id", DataTypes.LongType, false)
+      .add("data", DataTypes.StringType, true);
+
+  private static final DynMethods.UnboundMethod APPLY = DynMethods.builder("apply")
+      .impl(UnsafeProjection.class, InternalRow.class)
+      .build();
+
+  private SparkSession spark;
+  private File location;
+  private UnsafeProjection projection;
+  private InternalRow[] rows;
+  private DynMethods.BoundMethod reflectiveApply;
+  private BiFunction<UnsafeProjection, InternalRow, UnsafeRow> compiledApply;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() throws IOException {
+    this.spark = SparkSession.builder().master("local[2]").getOrCreate();
+    this.location = Files.createTempDirectory("partitioned-read").toFile();
+
+    Table table = new HadoopTables(new Configuration()).create(SCHEMA, SPEC, location.toString());
+    table.updateProperties()
+        .set(TableProperties.PARQUET_VECTORIZATION_ENABLED, "false")
+        .commit();
+
+    spark.range(NUM_ROWS)
+        .selectExpr("id", "concat('data-', id) AS data", "concat('category-', id % 16) AS category")
+        .sortWithinPartitions("category")
+        .write()
+        .format("iceberg")
+        .mode("append")
+        .save(location.toString());
+
+    this.projection = UnsafeProjection.create(ROW_TYPE);
+    this.rows = new InternalRow[NUM_PROJECTED_ROWS];
+    for (int i = 0; i < NUM_PROJECTED_ROWS; i += 1) {
+      rows[i] = new GenericInternalRow(new Object[] {
+          (long) i, UTF8String.fromString("data-" + i) });
+    }
+
+    this.reflectiveApply = APPLY.bind(projection);
+    this.compiledApply = APPLY.as(BiFunction.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    spark.stop();
+    deleteRecursively(location);
+  }
+
+  @Benchmark
+  public void readPartitionedTable(Blackhole blackhole) {
+    List<Row> result = spark.read()
+        .format("iceberg")
+        .load(location.toString())
+        .agg(sum(col("id")), max(length(col("data"))), max(col("category")))
+        .collectAsList();
+    blackhole.consume(result);
+  }
+
+  @Benchmark
+  public void projectReflective(Blackhole blackhole) {
+    for (InternalRow row : rows) {
+      blackhole.consume((UnsafeRow) reflectiveApply.invoke(row));
+    }
+  }
+
+  @Benchmark
+  public void projectCompiled(Blackhole blackhole) {
+    for (InternalRow row : rows) {
+      blackhole.consume(compiledApply.apply(projection, row));
+    }
+  }
+
+  private static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -17,6 +17,7 @@
 package com.netflix.iceberg.spark;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.expressions.Binder;
 import com.netflix.iceberg.expressions.BoundReference;
@@ -42,20 +43,24 @@ import org.apache.spark.sql.sources.LessThan;
 import org.apache.spark.sql.sources.LessThanOrEqual;
 import org.apache.spark.sql.sources.Not;
 import org.apache.spark.sql.sources.Or;
+import org.apache.spark.sql.sources.StringStartsWith;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.netflix.iceberg.expressions.ExpressionVisitors.visit;
-import static com.netflix.iceberg.expressions.Expressions.alwaysFalse;
 import static com.netflix.iceberg.expressions.Expressions.and;
 import static com.netflix.iceberg.expressions.Expressions.equal;
 import static com.netflix.iceberg.expressions.Expressions.greaterThan;
 import static com.netflix.iceberg.expressions.Expressions.greaterThanOrEqual;
+import static com.netflix.iceberg.expressions.Expressions.in;
 import static com.netflix.iceberg.expressions.Expressions.isNull;
 import static com.netflix.iceberg.expressions.Expressions.lessThan;
 import static com.netflix.iceberg.expressions.Expressions.lessThanOrEqual;
 import static com.netflix.iceberg.expressions.Expressions.not;
 import static com.netflix.iceberg.expressions.Expressions.notNull;
 import static com.netflix.iceberg.expressions.Expressions.or;
+import static com.netflix.iceberg.expressions.Expressions.startsWith;
 
 public class SparkFilters {
 
@@ -68,6 +73,7 @@ public class SparkFilters {
       .put(LessThan.class, Operation.LT)
       .put(LessThanOrEqual.class, Operation.LT_EQ)
       .put(In.class, Operation.IN)
+      .put(StringStartsWith.class, Operation.STARTS_WITH)
       .put(IsNull.class, Operation.IS_NULL)
       .put(IsNotNull.class, Operation.NOT_NULL)
       .put(And.class, Operation.AND)
@@ -115,11 +121,20 @@ public class SparkFilters {
 
         case IN:
           In inFilter = (In) filter;
-          Expression in = alwaysFalse();
+          List<Object> values = Lists.newArrayListWithExpectedSize(inFilter.values().length);
           for (Object value : inFilter.values()) {
-            in = or(in, equal(inFilter.attribute(), value));
+            // with a null value, IN is null instead of false when there is no match. dropping the
+            // null would be incorrect under NOT, so the filter is not pushed down
+            if (value == null) {
+              return null;
+            }
+            values.add(value);
           }
-          return in;
+          return in(inFilter.attribute(), values);
+
+        case STARTS_WITH:
+          StringStartsWith startsWithFilter = (StringStartsWith) filter;
+          return startsWith(startsWithFilter.attribute(), startsWithFilter.value());
 
         case NOT:
           Not notFilter = (Not) filter;
@@ -247,14 +262,26 @@ public class SparkFilters {
 
     @Override
     public <T> org.apache.spark.sql.catalyst.expressions.Expression in(
-        BoundReference<T> ref, Literal<T> lit) {
-      throw new UnsupportedOperationException("Not implemented: in");
+        BoundReference<T> ref, Set<T> literalSet) {
+      return column(ref).isin(literalSet.toArray()).expr();
     }
 
     @Override
     public <T> org.apache.spark.sql.catalyst.expressions.Expression notIn(
+        BoundReference<T> ref, Set<T> literalSet) {
+      return Not$.MODULE$.apply(in(ref, literalSet));
+    }
+
+    @Override
+    public <T> org.apache.spark.sql.catalyst.expressions.Expression startsWith(
+        BoundReference<T> ref, Literal<T> lit) {
+      return column(ref).startsWith(lit.value().toString()).expr();
+    }
+
+    @Override
+    public <T> org.apache.spark.sql.catalyst.expressions.Expression notStartsWith(
         BoundReference<T> ref, Literal<T> lit) {
-      throw new UnsupportedOperationException("Not implemented: notIn");
+      return Not$.MODULE$.apply(startsWith(ref, lit));
     }
 
     private Column column(BoundReference ref) {
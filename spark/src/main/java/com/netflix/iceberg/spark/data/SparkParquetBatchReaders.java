@@ -0,0 +1,404 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.spark.data;
+
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.parquet.ColumnIterator;
+import com.netflix.iceberg.parquet.ParquetBatchReader;
+import com.netflix.iceberg.types.Type.TypeID;
+import com.netflix.iceberg.types.Types;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.schema.DecimalMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.execution.vectorized.ColumnVectorUtils;
+import org.apache.spark.sql.execution.vectorized.OnHeapColumnVector;
+import org.apache.spark.sql.execution.vectorized.WritableColumnVector;
+import org.apache.spark.sql.types.Decimal;
+import org.apache.spark.sql.types.StructType;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
+import java.util.List;
+import java.util.Map;
+
+import static com.netflix.iceberg.spark.SparkSchemaUtil.convert;
+
+/**
+ * Builds {@link ParquetBatchReader batch readers} that read flat Parquet columns into Spark's
+ * {@link ColumnarBatch}.
+ * <p>
+ * Identity partition columns are filled once as constant vectors and columns that are missing
+ * from the file are constant null vectors.
+ */
+public class SparkParquetBatchReaders {
+  private SparkParquetBatchReaders() {
+  }
+
+  /**
+   * Returns whether a projected schema can be read into column vectors.
+   *
+   * @param schema a projected schema
+   * @return true if all columns are primitive types that have vector readers
+   */
+  public static boolean isSupported(Schema schema) {
+    for (Types.NestedField field : schema.columns()) {
+      switch (field.type().typeId()) {
+        case BOOLEAN:
+        case INTEGER:
+        case LONG:
+        case FLOAT:
+        case DOUBLE:
+        case DATE:
+        case TIMESTAMP:
+        case STRING:
+        case FIXED:
+        case BINARY:
+        case DECIMAL:
+          break;
+        default:
+          return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Builds a batch reader for the expected schema.
+   *
+   * @param expectedSchema the schema of batches, which must be {@link #isSupported supported}
+   * @param fileSchema the projected Parquet file schema, with field ids
+   * @param partitionSchema columns of the expected schema that are filled from partition data
+   * @param partition partition values for the partition schema's columns
+   * @param batchSize the maximum number of rows in a batch
+   * @return a batch reader that produces {@link ColumnarBatch}
+   */
+  public static ParquetBatchReader<ColumnarBatch> buildReader(
+      Schema expectedSchema, MessageType fileSchema, Schema partitionSchema, InternalRow partition,
+      int batchSize) {
+    Map<Integer, Type> fileFields = Maps.newHashMap();
+    for (Type field : fileSchema.getFields()) {
+      fileFields.put(field.getId().intValue(), field);
+    }
+
+    Map<Integer, Integer> partitionPositions = Maps.newHashMap();
+    List<Types.NestedField> partitionColumns = partitionSchema.columns();
+    for (int i = 0; i < partitionColumns.size(); i += 1) {
+      partitionPositions.put(partitionColumns.get(i).fieldId(), i);
+    }
+
+    List<Types.NestedField> columns = expectedSchema.columns();
+    VectorReader[] readers = new VectorReader[columns.size()];
+    int[] constantPositions = new int[columns.size()];
+    for (int i = 0; i < readers.length; i += 1) {
+      Types.NestedField field = columns.get(i);
+      Integer partitionPos = partitionPositions.get(field.fieldId());
+      Type fileField = fileFields.get(field.fieldId());
+
+      if (partitionPos != null) {
+        constantPositions[i] = partitionPos;
+      } else if (fileField != null) {
+        constantPositions[i] = -1;
+        ColumnDescriptor desc = fileSchema.getColumnDescription(new String[] {fileField.getName()});
+        readers[i] = newReader(field.type(), fileField.asPrimitiveType(), desc);
+      } else {
+        // the column is not in the file, so it is always null
+        constantPositions[i] = -1;
+      }
+    }
+
+    return new ColumnarBatchReader(
+        convert(expectedSchema), readers, constantPositions, partition, batchSize);
+  }
+
+  private static VectorReader newReader(com.netflix.iceberg.types.Type expected,
+                                        PrimitiveType primitive, ColumnDescriptor desc) {
+    if (primitive.getOriginalType() != null) {
+      switch (primitive.getOriginalType()) {
+        case TIMESTAMP_MILLIS:
+          return new TimestampMillisReader(desc);
+        case DECIMAL:
+          DecimalMetadata decimal = primitive.getDecimalMetadata();
+          switch (primitive.getPrimitiveTypeName()) {
+            case BINARY:
+            case FIXED_LEN_BYTE_ARRAY:
+              return new BinaryDecimalReader(desc, decimal.getPrecision());
+            case INT64:
+              return new LongReader(desc);
+            case INT32:
+              return new IntegerReader(desc);
+            default:
+              throw new UnsupportedOperationException(
+                  "Unsupported base type for decimal: " + primitive.getPrimitiveTypeName());
+          }
+        default:
+          // other annotations use the primitive representation
+      }
+    }
+
+    switch (primitive.getPrimitiveTypeName()) {
+      case FIXED_LEN_BYTE_ARRAY:
+      case BINARY:
+        return new BinaryReader(desc);
+      case INT32:
+        if (expected.typeId() == TypeID.LONG) {
+          return new IntAsLongReader(desc);
+        }
+        return new IntegerReader(desc);
+      case FLOAT:
+        if (expected.typeId() == TypeID.DOUBLE) {
+          return new FloatAsDoubleReader(desc);
+        }
+        return new FloatReader(desc);
+      case BOOLEAN:
+        return new BooleanReader(desc);
+      case INT64:
+        return new LongReader(desc);
+      case DOUBLE:
+        return new DoubleReader(desc);
+      default:
+        throw new UnsupportedOperationException("Unsupported type: " + primitive);
+    }
+  }
+
+  private static class ColumnarBatchReader implements ParquetBatchReader<ColumnarBatch> {
+    private final VectorReader[] readers;
+    private final WritableColumnVector[] vectors;
+    private final ColumnarBatch batch;
+
+    private ColumnarBatchReader(StructType sparkType, VectorReader[] readers,
+                                int[] constantPositions, InternalRow partition, int batchSize) {
+      this.readers = readers;
+      this.vectors = OnHeapColumnVector.allocateColumns(batchSize, sparkType);
+
+      for (int i = 0; i < readers.length; i += 1) {
+        if (readers[i] == null) {
+          if (constantPositions[i] >= 0) {
+            ColumnVectorUtils.populate(vectors[i], partition, constantPositions[i]);
+          } else {
+            vectors[i].putNulls(0, batchSize);
+          }
+          // constant vectors are not cleared when the batch is reset
+          vectors[i].setIsConstant();
+        }
+      }
+
+      this.batch = new ColumnarBatch(vectors);
+    }
+
+    @Override
+    public ColumnarBatch read(ColumnarBatch ignored, int numRows) {
+      for (int i = 0; i < readers.length; i += 1) {
+        if (readers[i] != null) {
+          vectors[i].reset();
+          readers[i].read(vectors[i], numRows);
+        }
+      }
+
+      batch.setNumRows(numRows);
+
+      return batch;
+    }
+
+    @Override
+    public void setColumnStore(ColumnReadStore store) {
+      for (VectorReader reader : readers) {
+        if (reader != null) {
+          reader.setColumnStore(store);
+        }
+      }
+    }
+  }
+
+  private abstract static class VectorReader {
+    protected final ColumnIterator column;
+    private final boolean isOptional;
+
+    VectorReader(ColumnDescriptor desc) {
+      this.column = new ColumnIterator(desc);
+      this.isOptional = desc.getMaxDefinitionLevel() > 0;
+    }
+
+    void setColumnStore(ColumnReadStore store) {
+      column.setColumnStore(store);
+    }
+
+    void read(WritableColumnVector vector, int numRows) {
+      if (isOptional) {
+        for (int rowId = 0; rowId < numRows; rowId += 1) {
+          if (column.isValue()) {
+            readValue(vector, rowId);
+          } else {
+            column.nextNull();
+            vector.putNull(rowId);
+          }
+        }
+
+      } else {
+        for (int rowId = 0; rowId < numRows; rowId += 1) {
+          readValue(vector, rowId);
+        }
+      }
+    }
+
+    protected abstract void readValue(WritableColumnVector vector, int rowId);
+  }
+
+  private static class BooleanReader extends VectorReader {
+    BooleanReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putBoolean(rowId, column.nextBoolean());
+    }
+  }
+
+  private static class IntegerReader extends VectorReader {
+    IntegerReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putInt(rowId, column.nextInteger());
+    }
+  }
+
+  private static class IntAsLongReader extends VectorReader {
+    IntAsLongReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putLong(rowId, column.nextInteger());
+    }
+  }
+
+  private static class LongReader extends VectorReader {
+    LongReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putLong(rowId, column.nextLong());
+    }
+  }
+
+  private static class TimestampMillisReader extends VectorReader {
+    TimestampMillisReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      // adjust to microseconds
+      vector.putLong(rowId, column.nextLong() * 1000L);
+    }
+  }
+
+  private static class FloatReader extends VectorReader {
+    FloatReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putFloat(rowId, column.nextFloat());
+    }
+  }
+
+  private static class FloatAsDoubleReader extends VectorReader {
+    FloatAsDoubleReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putDouble(rowId, column.nextFloat());
+    }
+  }
+
+  private static class DoubleReader extends VectorReader {
+    DoubleReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      vector.putDouble(rowId, column.nextDouble());
+    }
+  }
+
+  private static class BinaryReader extends VectorReader {
+    BinaryReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      // the vector copies the bytes, so there is no need to copy them here
+      vector.putByteArray(rowId, column.nextBinary().getBytesUnsafe());
+    }
+  }
+
+  /**
+   * Reads binary decimals using Spark's vector representation: unscaled ints for precision up to
+   * 9, unscaled longs for precision up to 18, and unscaled bytes otherwise.
+   */
+  private static class BinaryDecimalReader extends VectorReader {
+    private final int precision;
+
+    BinaryDecimalReader(ColumnDescriptor desc, int precision) {
+      super(desc);
+      this.precision = precision;
+    }
+
+    @Override
+    protected void readValue(WritableColumnVector vector, int rowId) {
+      byte[] bytes = column.nextBinary().getBytesUnsafe();
+      if (precision <= Decimal.MAX_INT_DIGITS()) {
+        vector.putInt(rowId, (int) unscaledLong(bytes));
+      } else if (precision <= Decimal.MAX_LONG_DIGITS()) {
+        vector.putLong(rowId, unscaledLong(bytes));
+      } else {
+        vector.putByteArray(rowId, bytes);
+      }
+    }
+
+    private static long unscaledLong(byte[] bytes) {
+      long unscaled = 0L;
+      for (byte b : bytes) {
+        unscaled = (unscaled << 8) | (b & 0xFF);
+      }
+
+      int bits = 8 * bytes.length;
+      if (bits < 64) {
+        // sign-extend the two's complement value
+        unscaled = (unscaled << (64 - bits)) >> (64 - bits);
+      }
+
+      return unscaled;
+    }
+  }
+}
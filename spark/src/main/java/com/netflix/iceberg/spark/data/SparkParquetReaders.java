@@ -0,0 +1,390 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.spark.data;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.parquet.ParquetValueReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders;
+import com.netflix.iceberg.parquet.ParquetValueReaders.FloatAsDoubleReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.IntAsLongReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.PrimitiveReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.RepeatedKeyValueReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.RepeatedReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.StructReader;
+import com.netflix.iceberg.parquet.ParquetValueReaders.UnboxedReader;
+import com.netflix.iceberg.parquet.TypeWithSchemaVisitor;
+import com.netflix.iceberg.types.Type.TypeID;
+import com.netflix.iceberg.types.Types;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.schema.DecimalMetadata;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.catalyst.util.ArrayBasedMapData;
+import org.apache.spark.sql.catalyst.util.ArrayData;
+import org.apache.spark.sql.catalyst.util.GenericArrayData;
+import org.apache.spark.sql.catalyst.util.MapData;
+import org.apache.spark.sql.types.Decimal;
+import org.apache.spark.unsafe.types.UTF8String;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static com.netflix.iceberg.parquet.ParquetValueReaders.option;
+
+/**
+ * Builds {@link ParquetValueReader value readers} that produce Spark's internal row format.
+ * <p>
+ * Values are read directly into {@link GenericInternalRow}, {@link UTF8String}, {@link Decimal},
+ * and array and map data, without intermediate records.
+ */
+public class SparkParquetReaders {
+  private SparkParquetReaders() {
+  }
+
+  @SuppressWarnings("unchecked")
+  public static ParquetValueReader<InternalRow> buildReader(Schema expectedSchema,
+                                                            MessageType fileSchema) {
+    return (ParquetValueReader<InternalRow>) TypeWithSchemaVisitor.visit(
+        expectedSchema.asStruct(), fileSchema, new ReadBuilder(fileSchema));
+  }
+
+  private static class ReadBuilder extends TypeWithSchemaVisitor<ParquetValueReader<?>> {
+    private final MessageType type;
+
+    ReadBuilder(MessageType type) {
+      this.type = type;
+    }
+
+    @Override
+    public ParquetValueReader<?> message(Types.StructType expected, MessageType message,
+                                         List<ParquetValueReader<?>> fieldReaders) {
+      return struct(expected, message.asGroupType(), fieldReaders);
+    }
+
+    @Override
+    public ParquetValueReader<?> struct(Types.StructType expected, GroupType struct,
+                                        List<ParquetValueReader<?>> fieldReaders) {
+      if (expected == null) {
+        // the struct is not projected and its reader will not be used
+        return ParquetValueReaders.nulls();
+      }
+
+      Map<Integer, ParquetValueReader<?>> readersById = Maps.newHashMap();
+      List<Type> fields = struct.getFields();
+      for (int i = 0; i < fields.size(); i += 1) {
+        Type fieldType = fields.get(i);
+        Types.NestedField field = expectedField(expected, fieldType);
+        if (field != null) {
+          int fieldD = type.getMaxDefinitionLevel(path(fieldType.getName())) - 1;
+          readersById.put(field.fieldId(), option(fieldType, fieldD, fieldReaders.get(i)));
+        }
+      }
+
+      // readers are ordered by the expected struct and fields missing from the file are null
+      List<Types.NestedField> expectedFields = expected.fields();
+      List<ParquetValueReader<?>> reorderedFields = Lists.newArrayListWithExpectedSize(
+          expectedFields.size());
+      for (Types.NestedField field : expectedFields) {
+        ParquetValueReader<?> reader = readersById.get(field.fieldId());
+        reorderedFields.add(reader != null ? reader : ParquetValueReaders.nulls());
+      }
+
+      return new InternalRowReader(reorderedFields);
+    }
+
+    @Override
+    public ParquetValueReader<?> list(Types.ListType expectedList, GroupType array,
+                                      ParquetValueReader<?> elementReader) {
+      GroupType repeated = array.getFields().get(0).asGroupType();
+      String[] repeatedPath = currentPath();
+
+      int repeatedD = type.getMaxDefinitionLevel(repeatedPath) - 1;
+      int repeatedR = type.getMaxRepetitionLevel(repeatedPath) - 1;
+
+      Type elementType = repeated.getType(0);
+      int elementD = type.getMaxDefinitionLevel(path(elementType.getName())) - 1;
+
+      return new ArrayReader<>(repeatedD, repeatedR, option(elementType, elementD, elementReader));
+    }
+
+    @Override
+    public ParquetValueReader<?> map(Types.MapType expectedMap, GroupType map,
+                                     ParquetValueReader<?> keyReader,
+                                     ParquetValueReader<?> valueReader) {
+      GroupType repeatedKeyValue = map.getFields().get(0).asGroupType();
+      String[] repeatedPath = currentPath();
+
+      int repeatedD = type.getMaxDefinitionLevel(repeatedPath) - 1;
+      int repeatedR = type.getMaxRepetitionLevel(repeatedPath) - 1;
+
+      Type keyType = repeatedKeyValue.getType(0);
+      int keyD = type.getMaxDefinitionLevel(path(keyType.getName())) - 1;
+      Type valueType = repeatedKeyValue.getType(1);
+      int valueD = type.getMaxDefinitionLevel(path(valueType.getName())) - 1;
+
+      return new MapDataReader<>(repeatedD, repeatedR,
+          option(keyType, keyD, keyReader), option(valueType, valueD, valueReader));
+    }
+
+    @Override
+    public ParquetValueReader<?> primitive(com.netflix.iceberg.types.Type.PrimitiveType expected,
+                                           PrimitiveType primitive) {
+      ColumnDescriptor desc = type.getColumnDescription(currentPath());
+
+      if (primitive.getOriginalType() != null) {
+        switch (primitive.getOriginalType()) {
+          case ENUM:
+          case JSON:
+          case UTF8:
+            return new StringReader(desc);
+          case TIMESTAMP_MILLIS:
+            return new TimestampMillisReader(desc);
+          case DECIMAL:
+            DecimalMetadata decimal = primitive.getDecimalMetadata();
+            switch (primitive.getPrimitiveTypeName()) {
+              case BINARY:
+              case FIXED_LEN_BYTE_ARRAY:
+                return new BinaryDecimalReader(desc, decimal.getPrecision(), decimal.getScale());
+              case INT64:
+                return new LongDecimalReader(desc, decimal.getPrecision(), decimal.getScale());
+              case INT32:
+                return new IntegerDecimalReader(desc, decimal.getPrecision(), decimal.getScale());
+              default:
+                throw new UnsupportedOperationException(
+                    "Unsupported base type for decimal: " + primitive.getPrimitiveTypeName());
+            }
+          case BSON:
+            return new BytesReader(desc);
+          default:
+            // other annotations use the primitive representation
+        }
+      }
+
+      switch (primitive.getPrimitiveTypeName()) {
+        case FIXED_LEN_BYTE_ARRAY:
+        case BINARY:
+          return new BytesReader(desc);
+        case INT32:
+          if (expected != null && expected.typeId() == TypeID.LONG) {
+            return new IntAsLongReader(desc);
+          }
+          return new UnboxedReader<>(desc);
+        case FLOAT:
+          if (expected != null && expected.typeId() == TypeID.DOUBLE) {
+            return new FloatAsDoubleReader(desc);
+          }
+          return new UnboxedReader<>(desc);
+        case BOOLEAN:
+        case INT64:
+        case DOUBLE:
+          return new UnboxedReader<>(desc);
+        default:
+          throw new UnsupportedOperationException("Unsupported type: " + primitive);
+      }
+    }
+  }
+
+  private static class StringReader extends PrimitiveReader<UTF8String> {
+    StringReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public UTF8String read(UTF8String ignored) {
+      return UTF8String.fromBytes(column.nextBinary().getBytes());
+    }
+  }
+
+  private static class BytesReader extends PrimitiveReader<byte[]> {
+    BytesReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public byte[] read(byte[] ignored) {
+      return column.nextBinary().getBytes();
+    }
+  }
+
+  private static class TimestampMillisReader extends PrimitiveReader<Long> {
+    TimestampMillisReader(ColumnDescriptor desc) {
+      super(desc);
+    }
+
+    @Override
+    public Long read(Long ignored) {
+      // adjust to microseconds
+      return column.nextLong() * 1000L;
+    }
+  }
+
+  private static class BinaryDecimalReader extends PrimitiveReader<Decimal> {
+    private final int precision;
+    private final int scale;
+
+    BinaryDecimalReader(ColumnDescriptor desc, int precision, int scale) {
+      super(desc);
+      this.precision = precision;
+      this.scale = scale;
+    }
+
+    @Override
+    public Decimal read(Decimal ignored) {
+      byte[] bytes = column.nextBinary().getBytes();
+      if (precision <= Decimal.MAX_LONG_DIGITS()) {
+        // the unscaled value fits in a long, so avoid allocating a BigInteger
+        long unscaled = 0L;
+        for (byte b : bytes) {
+          unscaled = (unscaled << 8) | (b & 0xFF);
+        }
+        int bits = 8 * bytes.length;
+        if (bits < 64) {
+          // sign-extend the two's complement value
+          unscaled = (unscaled << (64 - bits)) >> (64 - bits);
+        }
+        return Decimal.apply(unscaled, precision, scale);
+      }
+
+      return Decimal.apply(new BigDecimal(new BigInteger(bytes), scale), precision, scale);
+    }
+  }
+
+  private static class IntegerDecimalReader extends PrimitiveReader<Decimal> {
+    private final int precision;
+    private final int scale;
+
+    IntegerDecimalReader(ColumnDescriptor desc, int precision, int scale) {
+      super(desc);
+      this.precision = precision;
+      this.scale = scale;
+    }
+
+    @Override
+    public Decimal read(Decimal ignored) {
+      return Decimal.apply(column.nextInteger(), precision, scale);
+    }
+  }
+
+  private static class LongDecimalReader extends PrimitiveReader<Decimal> {
+    private final int precision;
+    private final int scale;
+
+    LongDecimalReader(ColumnDescriptor desc, int precision, int scale) {
+      super(desc);
+      this.precision = precision;
+      this.scale = scale;
+    }
+
+    @Override
+    public Decimal read(Decimal ignored) {
+      return Decimal.apply(column.nextLong(), precision, scale);
+    }
+  }
+
+  private static class ArrayReader<E> extends RepeatedReader<ArrayData, List<Object>, E> {
+    private final List<Object> reusedList = Lists.newArrayList();
+
+    ArrayReader(int definitionLevel, int repetitionLevel, ParquetValueReader<E> reader) {
+      super(definitionLevel, repetitionLevel, reader);
+    }
+
+    @Override
+    protected List<Object> newListData(ArrayData reuse) {
+      reusedList.clear();
+      return reusedList;
+    }
+
+    @Override
+    protected void addElement(List<Object> list, E element) {
+      list.add(element);
+    }
+
+    @Override
+    protected ArrayData buildList(List<Object> list) {
+      return new GenericArrayData(list.toArray());
+    }
+  }
+
+  private static class MapDataReader<K, V>
+      extends RepeatedKeyValueReader<MapData, KeyValueBuffer, K, V> {
+    private final KeyValueBuffer reusedBuffer = new KeyValueBuffer();
+
+    MapDataReader(int definitionLevel, int repetitionLevel,
+                  ParquetValueReader<K> keyReader, ParquetValueReader<V> valueReader) {
+      super(definitionLevel, repetitionLevel, keyReader, valueReader);
+    }
+
+    @Override
+    protected KeyValueBuffer newMapData(MapData reuse) {
+      reusedBuffer.keys.clear();
+      reusedBuffer.values.clear();
+      return reusedBuffer;
+    }
+
+    @Override
+    protected void addPair(KeyValueBuffer map, K key, V value) {
+      map.keys.add(key);
+      map.values.add(value);
+    }
+
+    @Override
+    protected MapData buildMap(KeyValueBuffer map) {
+      return new ArrayBasedMapData(
+          new GenericArrayData(map.keys.toArray()),
+          new GenericArrayData(map.values.toArray()));
+    }
+  }
+
+  private static class KeyValueBuffer {
+    private final List<Object> keys = Lists.newArrayList();
+    private final List<Object> values = Lists.newArrayList();
+  }
+
+  private static class InternalRowReader extends StructReader<InternalRow, GenericInternalRow> {
+    private final int numFields;
+
+    InternalRowReader(List<ParquetValueReader<?>> readers) {
+      super(readers);
+      this.numFields = readers.size();
+    }
+
+    @Override
+    protected GenericInternalRow newStructData(InternalRow reuse) {
+      if (reuse instanceof GenericInternalRow) {
+        return (GenericInternalRow) reuse;
+      }
+      return new GenericInternalRow(numFields);
+    }
+
+    @Override
+    protected void set(GenericInternalRow row, int pos, Object value) {
+      row.update(pos, value);
+    }
+
+    @Override
+    protected InternalRow buildStruct(GenericInternalRow row) {
+      return row;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.spark.source;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.netflix.iceberg.BloomFilter;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.types.Type;
+import com.netflix.iceberg.types.Types;
+import org.apache.spark.sql.catalyst.InternalRow;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link BloomFilter Bloom filters} for top-level columns of the rows in a data file.
+ */
+class BloomFilterCollector {
+  private final int[] ordinals;
+  private final int[] fieldIds;
+  private final Type.TypeID[] typeIds;
+  private final double fpp;
+  private final int maxBytes;
+  private BloomFilter[] filters = null;
+
+  BloomFilterCollector(Schema schema, List<String> columns, double fpp, int maxBytes) {
+    List<Types.NestedField> fields = schema.columns();
+    this.ordinals = new int[columns.size()];
+    this.fieldIds = new int[columns.size()];
+    this.typeIds = new Type.TypeID[columns.size()];
+    this.fpp = fpp;
+    this.maxBytes = maxBytes;
+
+    for (int i = 0; i < ordinals.length; i += 1) {
+      String name = columns.get(i);
+      Types.NestedField field = schema.findField(name);
+      Preconditions.checkArgument(field != null && fields.contains(field),
+          "Cannot write Bloom filter for %s: not a top-level column", name);
+      Preconditions.checkArgument(isSupported(field.type()),
+          "Cannot write Bloom filter for %s: unsupported type %s", name, field.type());
+
+      ordinals[i] = fields.indexOf(field);
+      fieldIds[i] = field.fieldId();
+      typeIds[i] = field.type().typeId();
+    }
+  }
+
+  /**
+   * Discards any collected values and starts filters for a new data file.
+   */
+  void reset() {
+    this.filters = new BloomFilter[ordinals.length];
+    for (int i = 0; i < filters.length; i += 1) {
+      filters[i] = BloomFilter.create(fpp, maxBytes);
+    }
+  }
+
+  void add(InternalRow row) {
+    for (int i = 0; i < ordinals.length; i += 1) {
+      int ordinal = ordinals[i];
+      if (row.isNullAt(ordinal)) {
+        continue;
+      }
+
+      switch (typeIds[i]) {
+        case INTEGER:
+        case DATE:
+          filters[i].add(BloomFilter.hashLong(row.getInt(ordinal)));
+          break;
+        case LONG:
+        case TIMESTAMP:
+          filters[i].add(BloomFilter.hashLong(row.getLong(ordinal)));
+          break;
+        case STRING:
+          filters[i].add(BloomFilter.hashBytes(row.getUTF8String(ordinal).getBytes()));
+          break;
+        case FIXED:
+        case BINARY:
+          filters[i].add(BloomFilter.hashBytes(row.getBinary(ordinal)));
+          break;
+        default:
+          throw new UnsupportedOperationException("Unsupported type: " + typeIds[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the serialized filters for the current data file, keyed by field id.
+   */
+  Map<Integer, ByteBuffer> filters() {
+    Map<Integer, ByteBuffer> serialized = Maps.newHashMap();
+    for (int i = 0; i < filters.length; i += 1) {
+      serialized.put(fieldIds[i], filters[i].toByteBuffer());
+    }
+    return serialized;
+  }
+
+  private static boolean isSupported(Type type) {
+    switch (type.typeId()) {
+      case INTEGER:
+      case DATE:
+      case LONG:
+      case TIMESTAMP:
+      case STRING:
+      case FIXED:
+      case BINARY:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
@@ -22,15 +22,21 @@ import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.StructLike;
 import com.netflix.iceberg.transforms.Transform;
+import com.netflix.iceberg.transforms.TransformKernels;
 import com.netflix.iceberg.types.Type;
 import com.netflix.iceberg.types.TypeUtil;
 import com.netflix.iceberg.types.Types;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.types.DataType;
+import org.apache.spark.unsafe.Platform;
+import org.apache.spark.unsafe.types.UTF8String;
 import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
 
 import static com.netflix.iceberg.spark.SparkSchemaUtil.convert;
 
@@ -38,8 +44,7 @@ class PartitionKey implements StructLike {
 
   private final PartitionSpec spec;
   private final Object[] partitionTuple;
-  private final Transform[] transforms;
-  private final Accessor<InternalRow>[] accessors;
+  private final Accessor<InternalRow>[] partitionFuncs;
 
   @SuppressWarnings("unchecked")
   PartitionKey(PartitionSpec spec) {
@@ -48,8 +53,7 @@ class PartitionKey implements StructLike {
     List<PartitionField> fields = spec.fields();
     int numFields = fields.size();
     this.partitionTuple = new Object[numFields];
-    this.transforms = new Transform[numFields];
-    this.accessors = (Accessor<InternalRow>[]) Array.newInstance(Accessor.class, numFields);// new Object[numFields];
+    this.partitionFuncs = (Accessor<InternalRow>[]) Array.newInstance(Accessor.class, numFields);
 
     Schema schema = spec.schema();
     Map<Integer, Accessor<InternalRow>> accessors = buildAccessors(schema);
@@ -60,16 +64,22 @@ class PartitionKey implements StructLike {
         throw new RuntimeException(
             "Cannot build accessor for field: " + schema.findField(field.sourceId()));
       }
-      this.accessors[i] = accessor;
-      this.transforms[i] = field.transform();
+      this.partitionFuncs[i] = partitionFunc(
+          field.transform(), accessor, schema.findType(field.sourceId()));
     }
   }
 
   private PartitionKey(PartitionKey toCopy) {
     this.spec = toCopy.spec;
     this.partitionTuple = Arrays.copyOf(toCopy.partitionTuple, toCopy.partitionTuple.length);
-    this.transforms = toCopy.transforms;
-    this.accessors = toCopy.accessors;
+    this.partitionFuncs = toCopy.partitionFuncs;
+
+    // strings from unsafe rows point into a buffer that is reused, so the copy owns its strings
+    for (int i = 0; i < partitionTuple.length; i += 1) {
+      if (partitionTuple[i] instanceof UTF8String) {
+        partitionTuple[i] = ((UTF8String) partitionTuple[i]).clone();
+      }
+    }
   }
 
   PartitionKey copy() {
@@ -80,12 +90,102 @@ class PartitionKey implements StructLike {
     return spec.partitionToPath(this);
   }
 
-  @SuppressWarnings("unchecked")
   void partition(InternalRow row) {
     for (int i = 0; i < partitionTuple.length; i += 1) {
-      Transform<Object, Object> transform = transforms[i];
-      partitionTuple[i] = transform.apply(accessors[i].get(row));
+      partitionTuple[i] = partitionFuncs[i].get(row);
+    }
+  }
+
+  /**
+   * Returns a function that produces a partition value from a row.
+   * <p>
+   * Transforms of top-level int, date, long, and timestamp columns read primitives from the row
+   * and use the primitive transform kernels. String transforms work on the UTF-8 bytes of Spark's
+   * {@link UTF8String} without decoding. Other transforms apply the boxed transform to the value
+   * returned by the accessor.
+   * <p>
+   * String values may point into the row's buffer and are only copied by {@link #copy()}.
+   */
+  @SuppressWarnings("unchecked")
+  private static Accessor<InternalRow> partitionFunc(Transform<?, ?> transform,
+                                                     Accessor<InternalRow> accessor,
+                                                     Type sourceType) {
+    if (accessor instanceof PositionAccessor) {
+      int p = ((PositionAccessor) accessor).p;
+      switch (sourceType.typeId()) {
+        case INTEGER:
+        case DATE:
+          IntUnaryOperator intKernel = TransformKernels.intKernel(transform);
+          if (intKernel != null) {
+            return row -> row.isNullAt(p) ? null : intKernel.applyAsInt(row.getInt(p));
+          }
+          break;
+        case LONG:
+        case TIME:
+        case TIMESTAMP:
+          LongToIntFunction longToIntKernel = TransformKernels.longToIntKernel(transform);
+          if (longToIntKernel != null) {
+            return row -> row.isNullAt(p) ? null : longToIntKernel.applyAsInt(row.getLong(p));
+          }
+          LongUnaryOperator longKernel = TransformKernels.longKernel(transform);
+          if (longKernel != null) {
+            return row -> row.isNullAt(p) ? null : longKernel.applyAsLong(row.getLong(p));
+          }
+          break;
+      }
     }
+
+    if (sourceType.typeId() == Type.TypeID.STRING) {
+      TransformKernels.Utf8ToIntFunction bucketKernel =
+          TransformKernels.utf8BucketKernel(transform);
+      if (bucketKernel != null) {
+        return row -> {
+          UTF8String value = (UTF8String) accessor.get(row);
+          return value != null ? applyUtf8(bucketKernel, value) : null;
+        };
+      }
+
+      TransformKernels.Utf8ToIntFunction truncateKernel =
+          TransformKernels.utf8TruncateKernel(transform);
+      if (truncateKernel != null) {
+        Transform<CharSequence, CharSequence> truncate =
+            (Transform<CharSequence, CharSequence>) transform;
+        return row -> {
+          UTF8String value = (UTF8String) accessor.get(row);
+          return value != null ? truncateUtf8(truncateKernel, truncate, value) : null;
+        };
+      }
+    }
+
+    Transform<Object, Object> boxed = (Transform<Object, Object>) transform;
+    return row -> boxed.apply(accessor.get(row));
+  }
+
+  private static int applyUtf8(TransformKernels.Utf8ToIntFunction kernel, UTF8String value) {
+    Object base = value.getBaseObject();
+    if (base instanceof byte[]) {
+      int offset = (int) (value.getBaseOffset() - Platform.BYTE_ARRAY_OFFSET);
+      return kernel.applyAsInt((byte[]) base, offset, value.numBytes());
+    }
+
+    // off-heap strings must be copied
+    byte[] bytes = value.getBytes();
+    return kernel.applyAsInt(bytes, 0, bytes.length);
+  }
+
+  private static Object truncateUtf8(TransformKernels.Utf8ToIntFunction kernel,
+                                     Transform<CharSequence, CharSequence> truncate,
+                                     UTF8String value) {
+    int length = applyUtf8(kernel, value);
+    if (length == value.numBytes()) {
+      return value;
+    } else if (length < 0) {
+      // the cut splits a surrogate pair, which only a decoded string can hold
+      return truncate.apply(value.toString());
+    }
+
+    // the truncated string is a prefix of the same bytes
+    return UTF8String.fromAddress(value.getBaseObject(), value.getBaseOffset(), length);
   }
 
   @Override
@@ -21,6 +21,7 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.netflix.iceberg.DataFile;
+import com.netflix.iceberg.FileFormat;
 import com.netflix.iceberg.FileScanTask;
 import com.netflix.iceberg.PartitionField;
 import com.netflix.iceberg.PartitionSpec;
@@ -28,6 +29,7 @@ import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.SchemaParser;
 import com.netflix.iceberg.StructLike;
 import com.netflix.iceberg.Table;
+import com.netflix.iceberg.TableProperties;
 import com.netflix.iceberg.TableScan;
 import com.netflix.iceberg.avro.Avro;
 import com.netflix.iceberg.common.DynMethods;
@@ -35,13 +37,17 @@ import com.netflix.iceberg.expressions.Evaluator;
 import com.netflix.iceberg.expressions.Expression;
 import com.netflix.iceberg.hadoop.HadoopInputFile;
 import com.netflix.iceberg.io.InputFile;
+import com.netflix.iceberg.io.PrefetchingInputFile;
 import com.netflix.iceberg.parquet.Parquet;
 import com.netflix.iceberg.spark.SparkFilters;
 import com.netflix.iceberg.spark.SparkSchemaUtil;
 import com.netflix.iceberg.spark.data.SparkAvroReader;
+import com.netflix.iceberg.spark.data.SparkParquetBatchReaders;
+import com.netflix.iceberg.spark.data.SparkParquetReaders;
 import com.netflix.iceberg.types.TypeUtil;
 import com.netflix.iceberg.types.Types;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.sql.Row;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.catalyst.analysis.UnresolvedAttribute;
 import org.apache.spark.sql.catalyst.expressions.Attribute;
@@ -50,16 +56,20 @@ import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
 import org.apache.spark.sql.catalyst.expressions.JoinedRow;
 import org.apache.spark.sql.catalyst.expressions.UnsafeProjection;
 import org.apache.spark.sql.catalyst.expressions.UnsafeRow;
-import org.apache.spark.sql.execution.datasources.parquet.ParquetReadSupport;
 import org.apache.spark.sql.functions;
 import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.v2.reader.ClusteredDistribution;
 import org.apache.spark.sql.sources.v2.reader.DataReader;
 import org.apache.spark.sql.sources.v2.reader.DataSourceV2Reader;
+import org.apache.spark.sql.sources.v2.reader.Distribution;
+import org.apache.spark.sql.sources.v2.reader.Partitioning;
 import org.apache.spark.sql.sources.v2.reader.ReadTask;
 import org.apache.spark.sql.sources.v2.reader.Statistics;
 import org.apache.spark.sql.sources.v2.reader.SupportsPushDownFilters;
 import org.apache.spark.sql.sources.v2.reader.SupportsPushDownRequiredColumns;
+import org.apache.spark.sql.sources.v2.reader.SupportsReportPartitioning;
 import org.apache.spark.sql.sources.v2.reader.SupportsReportStatistics;
+import org.apache.spark.sql.sources.v2.reader.SupportsScanColumnarBatch;
 import org.apache.spark.sql.sources.v2.reader.SupportsScanUnsafeRow;
 import org.apache.spark.sql.types.BinaryType;
 import org.apache.spark.sql.types.DataType;
@@ -68,6 +78,7 @@ import org.apache.spark.sql.types.DecimalType;
 import org.apache.spark.sql.types.StringType;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
 import org.apache.spark.unsafe.types.UTF8String;
 import org.apache.spark.util.SerializableConfiguration;
 import scala.collection.Seq;
@@ -76,10 +87,14 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static com.google.common.collect.Iterators.transform;
 import static com.netflix.iceberg.spark.SparkSchemaUtil.convert;
@@ -87,9 +102,11 @@ import static com.netflix.iceberg.spark.SparkSchemaUtil.prune;
 import static scala.collection.JavaConverters.asScalaBufferConverter;
 import static scala.collection.JavaConverters.seqAsJavaListConverter;
 
-class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
-    SupportsPushDownRequiredColumns, SupportsPushDownFilters, SupportsReportStatistics {
+class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow, SupportsScanColumnarBatch,
+    SupportsPushDownRequiredColumns, SupportsPushDownFilters, SupportsReportStatistics,
+    SupportsReportPartitioning {
   private static final Filter[] NO_FILTERS = new Filter[0];
+  private static final Pattern BUCKET = Pattern.compile("bucket\\[(\\d+)\\]");
   private static final List<String> SNAPSHOT_COLUMNS = ImmutableList.of(
       "snapshot_id", "file_path", "file_ordinal", "file_format", "block_size_in_bytes",
       "file_size_in_bytes", "record_count", "partition"
@@ -105,6 +122,8 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
   private Schema schema = null;
   private StructType type = null; // cached because Spark accesses it multiple times
   private List<FileScanTask> tasks = null; // lazy cache of tasks
+  private BucketLayout bucketLayout = null; // lazy layout of tasks, NONE if not bucketed
+  private Boolean readBatches = null; // lazy check whether tasks can produce columnar batches
 
   Reader(Table table, Configuration conf) {
     this.table = table;
@@ -135,23 +154,139 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
     return lazyType();
   }
 
+  @Override
+  public List<ReadTask<Row>> createReadTasks() {
+    // both SupportsScanUnsafeRow and SupportsScanColumnarBatch define this method
+    throw new IllegalStateException("Cannot create Row read tasks, use UnsafeRow or batches");
+  }
+
   @Override
   public List<ReadTask<UnsafeRow>> createUnsafeRowReadTasks() {
     String tableSchemaString = SchemaParser.toJson(table.schema());
     String expectedSchemaString = SchemaParser.toJson(lazySchema());
 
-    List<ReadTask<UnsafeRow>> readTasks = Lists.newArrayList();
+    int prefetchBlockSize = prefetchBlockSize();
+    int prefetchBlocks = prefetchBlocks();
+
+    return planReadTasks(fileTask ->
+        new ScanTask(fileTask, tableSchemaString, expectedSchemaString, conf,
+            prefetchBlockSize, prefetchBlocks));
+  }
+
+  @Override
+  public List<ReadTask<ColumnarBatch>> createBatchReadTasks() {
+    String expectedSchemaString = SchemaParser.toJson(lazySchema());
+    int batchSize = Integer.parseInt(table.properties().getOrDefault(
+        TableProperties.PARQUET_BATCH_SIZE,
+        String.valueOf(TableProperties.PARQUET_BATCH_SIZE_DEFAULT)));
+    int prefetchBlockSize = prefetchBlockSize();
+    int prefetchBlocks = prefetchBlocks();
+
+    return planReadTasks(fileTask ->
+        new BatchScanTask(fileTask, expectedSchemaString, conf, batchSize,
+            prefetchBlockSize, prefetchBlocks));
+  }
+
+  private int prefetchBlockSize() {
+    return Integer.parseInt(table.properties().getOrDefault(
+        TableProperties.READ_PREFETCH_BLOCK_SIZE_BYTES,
+        String.valueOf(TableProperties.READ_PREFETCH_BLOCK_SIZE_BYTES_DEFAULT)));
+  }
+
+  /**
+   * Returns the number of blocks each task should prefetch, or 0 if prefetching is disabled.
+   */
+  private int prefetchBlocks() {
+    boolean enabled = Boolean.parseBoolean(table.properties().getOrDefault(
+        TableProperties.READ_PREFETCH_ENABLED,
+        String.valueOf(TableProperties.READ_PREFETCH_ENABLED_DEFAULT)));
+    if (!enabled) {
+      return 0;
+    }
+
+    return Integer.parseInt(table.properties().getOrDefault(
+        TableProperties.READ_PREFETCH_NUM_BLOCKS,
+        String.valueOf(TableProperties.READ_PREFETCH_NUM_BLOCKS_DEFAULT)));
+  }
+
+  /**
+   * Returns whether scan tasks will produce {@link ColumnarBatch columnar batches}.
+   * <p>
+   * Batches are used when all files are Parquet, all projected columns are primitives, and no
+   * rows need to be filtered by a residual, because batch readers cannot filter rows.
+   */
+  @Override
+  public boolean enableBatchRead() {
+    if (readBatches == null) {
+      this.readBatches = canReadBatches();
+    }
+    return readBatches;
+  }
+
+  private boolean canReadBatches() {
+    boolean enabled = Boolean.parseBoolean(table.properties().getOrDefault(
+        TableProperties.PARQUET_VECTORIZATION_ENABLED,
+        String.valueOf(TableProperties.PARQUET_VECTORIZATION_ENABLED_DEFAULT)));
+    if (!enabled || !SparkParquetBatchReaders.isSupported(lazySchema())) {
+      return false;
+    }
+
+    for (FileScanTask task : tasks()) {
+      if (task.file().format() != FileFormat.PARQUET ||
+          task.residual().op() != Expression.Operation.TRUE) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private <T> List<ReadTask<T>> planReadTasks(Function<FileScanTask, ReadTask<T>> newTask) {
+    BucketLayout layout = bucketLayout();
+    if (layout != BucketLayout.NONE) {
+      // create one read task per bucket so that Spark partition i contains only bucket i
+      List<List<ReadTask<T>>> buckets = Lists.newArrayListWithExpectedSize(layout.numBuckets);
+      for (int i = 0; i < layout.numBuckets; i += 1) {
+        buckets.add(Lists.newArrayList());
+      }
+
+      for (FileScanTask fileTask : tasks()) {
+        Integer bucket = fileTask.file().partition().get(layout.position, Integer.class);
+        // null values are not hashed, so files with a null bucket are read with bucket 0
+        buckets.get(bucket != null ? bucket : 0).add(newTask.apply(fileTask));
+      }
+
+      List<ReadTask<T>> readTasks = Lists.newArrayListWithExpectedSize(buckets.size());
+      for (List<ReadTask<T>> bucketTasks : buckets) {
+        readTasks.add(new BucketScanTask<>(bucketTasks));
+      }
+
+      return readTasks;
+    }
+
+    List<ReadTask<T>> readTasks = Lists.newArrayList();
     for (FileScanTask fileTask : tasks()) {
-      readTasks.add(new ScanTask(fileTask, tableSchemaString, expectedSchemaString, conf));
+      readTasks.add(newTask.apply(fileTask));
     }
 
     return readTasks;
   }
 
+  @Override
+  public Partitioning outputPartitioning() {
+    BucketLayout layout = bucketLayout();
+    if (layout != BucketLayout.NONE) {
+      return new BucketPartitioning(layout.numBuckets, layout.column);
+    }
+    return new UnknownPartitioning(tasks().size());
+  }
+
   @Override
   public Filter[] pushFilters(Filter[] filters) {
     // TODO: this needs to add filter columns to the projection
     this.tasks = null; // invalidate cached tasks, if present
+    this.bucketLayout = null;
+    this.readBatches = null;
 
     List<Expression> expressions = Lists.newArrayListWithExpectedSize(filters.length);
     List<Filter> pushed = Lists.newArrayListWithExpectedSize(filters.length);
@@ -189,6 +324,8 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
     // invalidate the schema that will be projected
     this.schema = null;
     this.type = null;
+    this.bucketLayout = null;
+    this.readBatches = null;
   }
 
   @Override
@@ -220,6 +357,114 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
     return tasks;
   }
 
+  /**
+   * Returns how tasks are bucketed, or {@link BucketLayout#NONE} if they cannot be grouped.
+   * <p>
+   * Tasks are grouped by bucket when all of them use the same spec and the spec buckets a
+   * top-level column that is projected, so Spark can refer to the column by name.
+   */
+  private BucketLayout bucketLayout() {
+    if (bucketLayout == null) {
+      this.bucketLayout = findBucketLayout();
+    }
+    return bucketLayout;
+  }
+
+  private BucketLayout findBucketLayout() {
+    boolean enabled = Boolean.parseBoolean(table.properties().getOrDefault(
+        TableProperties.SPLIT_BY_BUCKET_ENABLED,
+        String.valueOf(TableProperties.SPLIT_BY_BUCKET_ENABLED_DEFAULT)));
+    List<FileScanTask> fileTasks = tasks();
+    if (!enabled || fileTasks.isEmpty()) {
+      return BucketLayout.NONE;
+    }
+
+    PartitionSpec spec = fileTasks.get(0).spec();
+    for (FileScanTask task : fileTasks) {
+      if (!spec.equals(task.spec())) {
+        return BucketLayout.NONE;
+      }
+    }
+
+    Schema projected = lazySchema();
+    List<PartitionField> fields = spec.fields();
+    for (int i = 0; i < fields.size(); i += 1) {
+      PartitionField field = fields.get(i);
+      Matcher bucket = BUCKET.matcher(field.transform().toString());
+      if (bucket.matches()) {
+        String column = spec.schema().findColumnName(field.sourceId());
+        Types.NestedField projectedField = projected.asStruct().field(column);
+        if (projectedField != null && projectedField.fieldId() == field.sourceId()) {
+          return new BucketLayout(column, Integer.parseInt(bucket.group(1)), i);
+        }
+      }
+    }
+
+    return BucketLayout.NONE;
+  }
+
+  private static class BucketLayout {
+    private static final BucketLayout NONE = new BucketLayout(null, 0, -1);
+
+    private final String column;
+    private final int numBuckets;
+    private final int position;
+
+    private BucketLayout(String column, int numBuckets, int position) {
+      this.column = column;
+      this.numBuckets = numBuckets;
+      this.position = position;
+    }
+  }
+
+  /**
+   * Partitioning of read tasks by the bucket of a column.
+   * <p>
+   * Rows with equal values for the column are in the same bucket, so the data is clustered by any
+   * set of columns that includes it.
+   */
+  private static class BucketPartitioning implements Partitioning {
+    private final int numBuckets;
+    private final String column;
+
+    private BucketPartitioning(int numBuckets, String column) {
+      this.numBuckets = numBuckets;
+      this.column = column;
+    }
+
+    @Override
+    public int numPartitions() {
+      return numBuckets;
+    }
+
+    @Override
+    public boolean satisfy(Distribution distribution) {
+      if (distribution instanceof ClusteredDistribution) {
+        return Arrays.asList(((ClusteredDistribution) distribution).clusteredColumns)
+            .contains(column);
+      }
+      return false;
+    }
+  }
+
+  private static class UnknownPartitioning implements Partitioning {
+    private final int numPartitions;
+
+    private UnknownPartitioning(int numPartitions) {
+      this.numPartitions = numPartitions;
+    }
+
+    @Override
+    public int numPartitions() {
+      return numPartitions;
+    }
+
+    @Override
+    public boolean satisfy(Distribution distribution) {
+      return false;
+    }
+  }
+
   @Override
   public String toString() {
     return String.format(
@@ -227,32 +472,62 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
         table, lazySchema().asStruct(), filterExpressions);
   }
 
+  private static Set<Integer> identitySourceIds(PartitionSpec spec) {
+    Set<Integer> sourceIds = Sets.newHashSet();
+    List<PartitionField> fields = spec.fields();
+    for (int i = 0; i < fields.size(); i += 1) {
+      PartitionField field = fields.get(i);
+      if ("identity".equals(field.transform().toString())) {
+        sourceIds.add(field.sourceId());
+      }
+    }
+
+    return sourceIds;
+  }
+
+  private static InputFile inputFile(DataFile file, SerializableConfiguration conf,
+                                     int prefetchBlockSize, int prefetchBlocks) {
+    InputFile location = HadoopInputFile.fromLocation(file.path(), conf.value());
+    if (prefetchBlocks > 0) {
+      return new PrefetchingInputFile(location, prefetchBlockSize, prefetchBlocks);
+    }
+    return location;
+  }
+
   private static class ScanTask implements ReadTask<UnsafeRow>, Serializable {
-    // for some reason, the apply method can't be called from Java without reflection
-    private static final DynMethods.UnboundMethod APPLY_PROJECTION = DynMethods.builder("apply")
-        .impl(UnsafeProjection.class, InternalRow.class)
-        .build();
+    // for some reason, the apply method can't be called from Java without reflection. the method
+    // is compiled to a lambda so that projecting each row is a direct call, not Method.invoke
+    @SuppressWarnings("unchecked")
+    private static final BiFunction<UnsafeProjection, InternalRow, UnsafeRow> APPLY_PROJECTION =
+        DynMethods.builder("apply")
+            .impl(UnsafeProjection.class, InternalRow.class)
+            .build()
+            .as(BiFunction.class);
 
     private final FileScanTask task;
     private final String tableSchemaString;
     private final String expectedSchemaString;
     private final SerializableConfiguration conf;
+    private final int prefetchBlockSize;
+    private final int prefetchBlocks;
 
     private transient Schema tableSchema = null;
     private transient Schema expectedSchema = null;
 
     private ScanTask(FileScanTask task, String tableSchemaString, String expectedSchemaString,
-                     SerializableConfiguration conf) {
+                     SerializableConfiguration conf, int prefetchBlockSize, int prefetchBlocks) {
       this.task = task;
       this.tableSchemaString = tableSchemaString;
       this.expectedSchemaString = expectedSchemaString;
       this.conf = conf;
+      this.prefetchBlockSize = prefetchBlockSize;
+      this.prefetchBlocks = prefetchBlocks;
     }
 
     @Override
     public DataReader<UnsafeRow> createDataReader() {
       DataFile file = task.file();
-      InputFile location = HadoopInputFile.fromLocation(file.path(), conf.value());
+      InputFile location = inputFile(file, conf, prefetchBlockSize, prefetchBlocks);
 
       // schema or rows returned by readers
       Schema finalSchema = lazyExpectedSchema();
@@ -264,81 +539,47 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
       boolean hasJoinedPartitionColumns = !idColumns.isEmpty();
       boolean hasExtraFilterColumns = requiredSchema.columns().size() != finalSchema.columns().size();
 
-      Iterator<UnsafeRow> unsafeRowIterator;
-      switch (file.format()) {
-        case PARQUET:
-          if (hasJoinedPartitionColumns) {
-            // schema used to read data files
-            Schema readSchema = TypeUtil.selectNot(requiredSchema, idColumns);
-            Schema partitionSchema = TypeUtil.select(requiredSchema, idColumns);
-            Schema joinedSchema = TypeUtil.join(readSchema, partitionSchema);
-            PartitionRowConverter convertToRow = new PartitionRowConverter(partitionSchema, spec);
-            JoinedRow joined = new JoinedRow();
-
-            InternalRow partition = convertToRow.apply(file.partition());
-            joined.withRight(partition);
-
-            // create joined rows and project from the joined schema to the final schema
-            Iterator<InternalRow> joinedIter = transform(
-                newParquetIterator(location, task, readSchema), joined::withLeft);
-
-            unsafeRowIterator = transform(joinedIter,
-                APPLY_PROJECTION.bind(projection(finalSchema, joinedSchema))::invoke);
-
-          } else if (hasExtraFilterColumns) {
-            // add projection to the final schema
-            unsafeRowIterator = transform(newParquetIterator(location, task, requiredSchema),
-                APPLY_PROJECTION.bind(projection(finalSchema, requiredSchema))::invoke);
-
-          } else {
-            // return the base iterator
-            unsafeRowIterator = newParquetIterator(location, task, finalSchema);
-          }
-          break;
+      Schema iterSchema;
+      Iterator<InternalRow> iter;
 
-        case AVRO:
-          Schema iterSchema;
-          Iterator<InternalRow> iter;
-          if (hasJoinedPartitionColumns) {
-            Schema readSchema = TypeUtil.selectNot(requiredSchema, idColumns);
-            Schema partitionSchema = TypeUtil.select(requiredSchema, idColumns);
-
-            PartitionRowConverter convertToRow = new PartitionRowConverter(partitionSchema, spec);
-            JoinedRow joined = new JoinedRow();
-            InternalRow partition = convertToRow.apply(file.partition());
-            joined.withRight(partition);
-
-            // create joined rows and project from the joined schema to the final schema
-            iterSchema = TypeUtil.join(readSchema, partitionSchema);
-            iter = transform(newParquetIterator(location, task, readSchema), joined::withLeft);
-
-          } else if (hasExtraFilterColumns) {
-            // add projection to the final schema
-            iterSchema = requiredSchema;
-            iter = newAvroIterator(location, task, iterSchema);
-
-          } else {
-            // return the base iterator
-            iterSchema = finalSchema;
-            iter = newAvroIterator(location, task, iterSchema);
-          }
+      if (hasJoinedPartitionColumns) {
+        // schema used to read data files
+        Schema readSchema = TypeUtil.selectNot(requiredSchema, idColumns);
+        Schema partitionSchema = TypeUtil.select(requiredSchema, idColumns);
+        PartitionRowConverter convertToRow = new PartitionRowConverter(partitionSchema, spec);
+        JoinedRow joined = new JoinedRow();
 
-          Expression residual = task.residual();
-          if (residual.op() != Expression.Operation.TRUE) {
-            Evaluator eval = new Evaluator(iterSchema.asStruct(), residual);
-            StructLikeInternalRow wrapper = new StructLikeInternalRow(convert(iterSchema));
-            iter = Iterators.filter(iter, input -> eval.eval(wrapper.setRow(input)));
-          }
+        InternalRow partition = convertToRow.apply(file.partition());
+        joined.withRight(partition);
 
-          unsafeRowIterator = transform(iter,
-              APPLY_PROJECTION.bind(projection(finalSchema, iterSchema))::invoke);
-          break;
+        // create joined rows and project from the joined schema to the final schema
+        iterSchema = TypeUtil.join(readSchema, partitionSchema);
+        iter = transform(open(location, file.format(), readSchema), joined::withLeft);
 
-        default:
-          throw new UnsupportedOperationException("Cannot read unknown format: " + file.format());
+      } else if (hasExtraFilterColumns) {
+        // add projection to the final schema
+        iterSchema = requiredSchema;
+        iter = open(location, file.format(), requiredSchema);
+
+      } else {
+        // return the base iterator
+        iterSchema = finalSchema;
+        iter = open(location, file.format(), finalSchema);
       }
 
-      return new IteratorReader(unsafeRowIterator);
+      // readers do not filter records, so apply the residual to each row
+      Expression residual = task.residual();
+      if (residual.op() != Expression.Operation.TRUE) {
+        Evaluator eval = new Evaluator(iterSchema.asStruct(), residual);
+        StructLikeInternalRow wrapper = new StructLikeInternalRow(convert(iterSchema));
+        iter = Iterators.filter(iter, input -> eval.eval(wrapper.setRow(input)));
+      }
+
+      UnsafeProjection projection = projection(finalSchema, iterSchema);
+      Iterator<UnsafeRow> unsafeRowIterator = transform(iter,
+          row -> APPLY_PROJECTION.apply(projection, row));
+
+      return new IteratorReader<>(unsafeRowIterator);
     }
 
     private Schema lazyTableSchema() {
@@ -377,17 +618,18 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
           asScalaBufferConverter(attrs).asScala().toSeq());
     }
 
-    private static Set<Integer> identitySourceIds(PartitionSpec spec) {
-      Set<Integer> sourceIds = Sets.newHashSet();
-      List<PartitionField> fields = spec.fields();
-      for (int i = 0; i < fields.size(); i += 1) {
-        PartitionField field = fields.get(i);
-        if ("identity".equals(field.transform().toString())) {
-          sourceIds.add(field.sourceId());
-        }
-      }
+    private Iterator<InternalRow> open(InputFile location, FileFormat format,
+                                       Schema readSchema) {
+      switch (format) {
+        case PARQUET:
+          return newParquetIterator(location, task, readSchema);
 
-      return sourceIds;
+        case AVRO:
+          return newAvroIterator(location, task, readSchema);
+
+        default:
+          throw new UnsupportedOperationException("Cannot read unknown format: " + format);
+      }
     }
 
     private Iterator<InternalRow> newAvroIterator(InputFile location,
@@ -402,21 +644,137 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
           .iterator();
     }
 
-    private <R extends InternalRow> Iterator<R> newParquetIterator(InputFile location,
-                                                                   FileScanTask task,
-                                                                   Schema readSchema) {
-      StructType readType = convert(readSchema);
+    private Iterator<InternalRow> newParquetIterator(InputFile location,
+                                                     FileScanTask task,
+                                                     Schema readSchema) {
       return Parquet.read(location)
+          .reuseContainers()
           .project(readSchema)
           .split(task.start(), task.length())
-          .readSupport(new ParquetReadSupport())
+          .createReaderFunc(fileSchema -> SparkParquetReaders.buildReader(readSchema, fileSchema))
           .filter(task.residual())
-          .set("org.apache.spark.sql.parquet.row.requested_schema", readType.json())
-          .set("spark.sql.parquet.binaryAsString", "false")
-          .set("spark.sql.parquet.int96AsTimestamp", "false")
-          .callInit()
-          .<R>build()
+          .<InternalRow>build()
+          .iterator();
+    }
+  }
+
+  /**
+   * Reads Parquet files into {@link ColumnarBatch columnar batches}.
+   * <p>
+   * Identity partition values are filled in as constant columns and the residual filter is not
+   * applied, so these tasks are only used when all residuals are true.
+   */
+  private static class BatchScanTask implements ReadTask<ColumnarBatch>, Serializable {
+    private final FileScanTask task;
+    private final String expectedSchemaString;
+    private final SerializableConfiguration conf;
+    private final int batchSize;
+    private final int prefetchBlockSize;
+    private final int prefetchBlocks;
+
+    private transient Schema expectedSchema = null;
+
+    private BatchScanTask(FileScanTask task, String expectedSchemaString,
+                          SerializableConfiguration conf, int batchSize,
+                          int prefetchBlockSize, int prefetchBlocks) {
+      this.task = task;
+      this.expectedSchemaString = expectedSchemaString;
+      this.conf = conf;
+      this.batchSize = batchSize;
+      this.prefetchBlockSize = prefetchBlockSize;
+      this.prefetchBlocks = prefetchBlocks;
+    }
+
+    @Override
+    public DataReader<ColumnarBatch> createDataReader() {
+      DataFile file = task.file();
+      InputFile location = inputFile(file, conf, prefetchBlockSize, prefetchBlocks);
+
+      Schema expected = lazyExpectedSchema();
+      PartitionSpec spec = task.spec();
+      Set<Integer> idColumns = identitySourceIds(spec);
+
+      Schema readSchema = TypeUtil.selectNot(expected, idColumns);
+      Schema partitionSchema = TypeUtil.select(expected, idColumns);
+      InternalRow partition = new PartitionRowConverter(partitionSchema, spec)
+          .apply(file.partition());
+
+      Iterator<ColumnarBatch> batches = Parquet.read(location)
+          .reuseContainers()
+          .project(readSchema)
+          .split(task.start(), task.length())
+          .createBatchedReaderFunc(fileSchema -> SparkParquetBatchReaders.buildReader(
+              expected, fileSchema, partitionSchema, partition, batchSize))
+          .recordsPerBatch(batchSize)
+          .<ColumnarBatch>build()
           .iterator();
+
+      return new IteratorReader<>(batches);
+    }
+
+    private Schema lazyExpectedSchema() {
+      if (expectedSchema == null) {
+        this.expectedSchema = SchemaParser.fromJson(expectedSchemaString);
+      }
+      return expectedSchema;
+    }
+  }
+
+  /**
+   * Reads the files in one bucket, one after another.
+   */
+  private static class BucketScanTask<T> implements ReadTask<T>, Serializable {
+    private final List<ReadTask<T>> tasks;
+
+    private BucketScanTask(List<ReadTask<T>> tasks) {
+      this.tasks = tasks;
+    }
+
+    @Override
+    public DataReader<T> createDataReader() {
+      return new ChainedReader<>(tasks.iterator());
+    }
+  }
+
+  private static class ChainedReader<T> implements DataReader<T> {
+    private final Iterator<ReadTask<T>> tasks;
+    private DataReader<T> current = null;
+
+    private ChainedReader(Iterator<ReadTask<T>> tasks) {
+      this.tasks = tasks;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+      while (true) {
+        if (current != null && current.next()) {
+          return true;
+        }
+
+        if (current != null) {
+          current.close();
+          this.current = null;
+        }
+
+        if (!tasks.hasNext()) {
+          return false;
+        }
+
+        this.current = tasks.next().createDataReader();
+      }
+    }
+
+    @Override
+    public T get() {
+      return current.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (current != null) {
+        current.close();
+        this.current = null;
+      }
     }
   }
 
@@ -509,12 +867,12 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
     }
   }
 
-  private static class IteratorReader implements DataReader<UnsafeRow> {
-    private final Iterator<UnsafeRow> rows;
+  private static class IteratorReader<T> implements DataReader<T> {
+    private final Iterator<T> rows;
     private final Closeable closeable;
-    private UnsafeRow current = null;
+    private T current = null;
 
-    private IteratorReader(Iterator<UnsafeRow> rows) {
+    private IteratorReader(Iterator<T> rows) {
       this.rows = rows;
       this.closeable = (rows instanceof Closeable) ? (Closeable) rows : null;
     }
@@ -529,7 +887,7 @@ class Reader implements DataSourceV2Reader, SupportsScanUnsafeRow,
     }
 
     @Override
-    public UnsafeRow get() {
+    public T get() {
       return current;
     }
 
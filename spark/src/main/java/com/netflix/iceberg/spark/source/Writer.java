@@ -16,8 +16,9 @@
 
 package com.netflix.iceberg.spark.source;
 
-import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -25,19 +26,15 @@ import com.netflix.iceberg.AppendFiles;
 import com.netflix.iceberg.DataFile;
 import com.netflix.iceberg.DataFiles;
 import com.netflix.iceberg.FileFormat;
-import com.netflix.iceberg.Metrics;
 import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.Table;
 import com.netflix.iceberg.avro.Avro;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
-import com.netflix.iceberg.hadoop.HadoopInputFile;
 import com.netflix.iceberg.hadoop.HadoopOutputFile;
 import com.netflix.iceberg.io.FileAppender;
-import com.netflix.iceberg.io.InputFile;
 import com.netflix.iceberg.io.OutputFile;
 import com.netflix.iceberg.parquet.Parquet;
-import com.netflix.iceberg.parquet.ParquetMetrics;
 import com.netflix.iceberg.spark.data.SparkAvroWriter;
 import com.netflix.iceberg.util.Tasks;
 import org.apache.hadoop.conf.Configuration;
@@ -51,7 +48,6 @@ import org.apache.spark.sql.sources.v2.writer.DataWriterFactory;
 import org.apache.spark.sql.sources.v2.writer.SupportsWriteInternalRow;
 import org.apache.spark.sql.sources.v2.writer.WriterCommitMessage;
 import org.apache.spark.util.SerializableConfiguration;
-import java.io.Closeable;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
@@ -61,6 +57,8 @@ import java.util.UUID;
 
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Iterables.transform;
+import static com.netflix.iceberg.TableProperties.AVRO_COMPRESSION;
+import static com.netflix.iceberg.TableProperties.AVRO_COMPRESSION_DEFAULT;
 import static com.netflix.iceberg.TableProperties.COMMIT_MAX_RETRY_WAIT_MS;
 import static com.netflix.iceberg.TableProperties.COMMIT_MAX_RETRY_WAIT_MS_DEFAULT;
 import static com.netflix.iceberg.TableProperties.COMMIT_MIN_RETRY_WAIT_MS;
@@ -69,6 +67,13 @@ import static com.netflix.iceberg.TableProperties.COMMIT_NUM_RETRIES;
 import static com.netflix.iceberg.TableProperties.COMMIT_NUM_RETRIES_DEFAULT;
 import static com.netflix.iceberg.TableProperties.COMMIT_TOTAL_RETRY_TIME_MS;
 import static com.netflix.iceberg.TableProperties.COMMIT_TOTAL_RETRY_TIME_MS_DEFAULT;
+import static com.netflix.iceberg.TableProperties.WRITE_BLOOM_FILTER_COLUMNS;
+import static com.netflix.iceberg.TableProperties.WRITE_BLOOM_FILTER_FPP;
+import static com.netflix.iceberg.TableProperties.WRITE_BLOOM_FILTER_FPP_DEFAULT;
+import static com.netflix.iceberg.TableProperties.WRITE_BLOOM_FILTER_MAX_BYTES;
+import static com.netflix.iceberg.TableProperties.WRITE_BLOOM_FILTER_MAX_BYTES_DEFAULT;
+import static com.netflix.iceberg.TableProperties.WRITE_TARGET_FILE_SIZE_BYTES;
+import static com.netflix.iceberg.TableProperties.WRITE_TARGET_FILE_SIZE_BYTES_DEFAULT;
 import static com.netflix.iceberg.spark.SparkSchemaUtil.convert;
 
 // TODO: parameterize DataSourceV2Writer with subclass of WriterCommitMessage
@@ -85,7 +90,7 @@ class Writer implements DataSourceV2Writer, SupportsWriteInternalRow {
 
   @Override
   public DataWriterFactory<InternalRow> createInternalRowWriterFactory() {
-    return new WriterFactory(table.spec(), format, dataLocation(), conf);
+    return new WriterFactory(table.spec(), format, dataLocation(), table.properties(), conf);
   }
 
   @Override
@@ -178,27 +183,51 @@ class Writer implements DataSourceV2Writer, SupportsWriteInternalRow {
     private final PartitionSpec spec;
     private final FileFormat format;
     private final String dataLocation;
+    private final Map<String, String> properties;
     private final SerializableConfiguration conf;
+    private final long targetFileSize;
+    private final List<String> bloomFilterColumns;
+    private final double bloomFilterFpp;
+    private final int bloomFilterMaxBytes;
     private final String uuid = UUID.randomUUID().toString();
 
     private transient Path dataPath = null;
 
-    WriterFactory(PartitionSpec spec, FileFormat format, String dataLocation, Configuration conf) {
+    WriterFactory(PartitionSpec spec, FileFormat format, String dataLocation,
+                  Map<String, String> properties, Configuration conf) {
       this.spec = spec;
       this.format = format;
       this.dataLocation = dataLocation;
+      this.properties = ImmutableMap.copyOf(properties);
       this.conf = new SerializableConfiguration(conf);
+      this.targetFileSize = Long.parseLong(properties.getOrDefault(
+          WRITE_TARGET_FILE_SIZE_BYTES, String.valueOf(WRITE_TARGET_FILE_SIZE_BYTES_DEFAULT)));
+      this.bloomFilterColumns = ImmutableList.copyOf(Splitter.on(',')
+          .trimResults()
+          .omitEmptyStrings()
+          .split(properties.getOrDefault(WRITE_BLOOM_FILTER_COLUMNS, "")));
+      this.bloomFilterFpp = Double.parseDouble(properties.getOrDefault(
+          WRITE_BLOOM_FILTER_FPP, String.valueOf(WRITE_BLOOM_FILTER_FPP_DEFAULT)));
+      this.bloomFilterMaxBytes = Integer.parseInt(properties.getOrDefault(
+          WRITE_BLOOM_FILTER_MAX_BYTES, String.valueOf(WRITE_BLOOM_FILTER_MAX_BYTES_DEFAULT)));
     }
 
     @Override
     public DataWriter<InternalRow> createDataWriter(int partitionId, int attemptNumber) {
       String filename = String.format("%05d-%s", partitionId, uuid);
       AppenderFactory<InternalRow> factory = new SparkAppenderFactory<>();
+      BloomFilterCollector bloomFilters = null;
+      if (!bloomFilterColumns.isEmpty()) {
+        bloomFilters = new BloomFilterCollector(
+            spec.schema(), bloomFilterColumns, bloomFilterFpp, bloomFilterMaxBytes);
+      }
+
       if (spec.fields().isEmpty()) {
-        return new UnpartitionedWriter(lazyDataPath(), filename, format, conf.value(), factory);
+        return new UnpartitionedWriter(spec, lazyDataPath(), filename, format, conf.value(),
+            factory, targetFileSize, bloomFilters);
       } else {
-        return new PartitionedWriter(
-            spec, lazyDataPath(), filename, format, conf.value(), factory);
+        return new PartitionedWriter(spec, lazyDataPath(), filename, format, conf.value(),
+            factory, targetFileSize, bloomFilters);
       }
     }
 
@@ -231,6 +260,7 @@ class Writer implements DataSourceV2Writer, SupportsWriteInternalRow {
                   .createWriterFunc(ignored -> new SparkAvroWriter(schema))
                   .schema(schema)
                   .named("table")
+                  .codec(properties.getOrDefault(AVRO_COMPRESSION, AVRO_COMPRESSION_DEFAULT))
                   .build();
 
             default:
@@ -247,73 +277,13 @@ class Writer implements DataSourceV2Writer, SupportsWriteInternalRow {
     FileAppender<T> newAppender(OutputFile file, FileFormat format);
   }
 
-  private static class UnpartitionedWriter implements DataWriter<InternalRow>, Closeable {
-    private final Path file;
-    private final FileFormat format;
-    private final Configuration conf;
-    private long numRecords = 0L;
-    private FileAppender<InternalRow> appender = null;
-
-    UnpartitionedWriter(Path dataPath, String filename, FileFormat format,
-                        Configuration conf, AppenderFactory<InternalRow> factory) {
-      this.file = new Path(dataPath, format.addExtension(filename));
-      this.format = format;
-      this.appender = factory.newAppender(HadoopOutputFile.fromPath(file, conf), format);
-      this.conf = conf;
-    }
-
-    @Override
-    public void write(InternalRow record) throws IOException {
-      numRecords += 1;
-      appender.add(record);
-    }
-
-    @Override
-    public WriterCommitMessage commit() throws IOException {
-      Preconditions.checkArgument(appender != null, "Commit called on a closed writer: %s", this);
-
-      close();
-
-      if (numRecords == 0) {
-        FileSystem fs = file.getFileSystem(conf);
-        fs.delete(file, false);
-        return new TaskCommit();
-      }
-
-      // TODO: Get Parquet metrics directly from the writer
-      InputFile inFile = HadoopInputFile.fromPath(file, conf);
-      DataFile file;
-      if (format == FileFormat.PARQUET) {
-        Metrics metrics = ParquetMetrics.fromInputFile(inFile);
-        file = DataFiles.fromParquetInputFile(inFile, null, metrics);
-      } else {
-        file = DataFiles.fromInputFile(inFile, numRecords);
-      }
-
-      return new TaskCommit(file);
-    }
-
-    @Override
-    public void abort() throws IOException {
-      Preconditions.checkArgument(appender != null, "Abort called on a closed writer: %s", this);
-
-      close();
+  /**
+   * Base writer that rolls to a new data file when the current file reaches a target size.
+   */
+  private abstract static class BaseWriter implements DataWriter<InternalRow> {
+    // checking the appender length is not free, so only check it every few rows
+    private static final int ROWS_DIVISOR = 1000;
 
-      FileSystem fs = file.getFileSystem(conf);
-      fs.delete(file, false);
-    }
-
-    @Override
-    public void close() throws IOException {
-      if (this.appender != null) {
-        this.appender.close();
-        this.appender = null;
-      }
-    }
-  }
-
-  private static class PartitionedWriter implements DataWriter<InternalRow> {
-    private final Set<PartitionKey> completedPartitions = Sets.newHashSet();
     private final List<DataFile> completedFiles = Lists.newArrayList();
     private final PartitionSpec spec;
     private final Path dataPath;
@@ -321,45 +291,49 @@ class Writer implements DataSourceV2Writer, SupportsWriteInternalRow {
     private final FileFormat format;
     private final Configuration conf;
     private final AppenderFactory<InternalRow> factory;
-    private final PartitionKey key;
+    private final long targetFileSize;
+    private final BloomFilterCollector bloomFilters;
 
-    private PartitionKey currentKey = null;
+    private PartitionKey currentPartition = null;
     private FileAppender<InternalRow> currentAppender = null;
     private Path currentPath = null;
-    private long currentRecordCount = 0L;
+    private long currentRows = 0L;
+    private int fileCount = 0;
 
-    PartitionedWriter(PartitionSpec spec, Path dataPath, String filename, FileFormat format,
-                      Configuration conf, AppenderFactory<InternalRow> factory) {
+    BaseWriter(PartitionSpec spec, Path dataPath, String filename, FileFormat format,
+               Configuration conf, AppenderFactory<InternalRow> factory, long targetFileSize,
+               BloomFilterCollector bloomFilters) {
       this.spec = spec;
       this.dataPath = dataPath;
-      this.filename = format.addExtension(filename);
+      this.filename = filename;
       this.format = format;
       this.conf = conf;
       this.factory = factory;
-      this.key = new PartitionKey(spec);
+      this.targetFileSize = targetFileSize;
+      this.bloomFilters = bloomFilters;
     }
 
-    @Override
-    public void write(InternalRow row) throws IOException {
-      key.partition(row);
-
-      if (!key.equals(currentKey)) {
-        closeCurrent();
+    /**
+     * Adds a row to the current file, opening a new file for the partition if necessary.
+     *
+     * @param partition a partition key that will not be modified, or null if unpartitioned
+     * @param row the row to write
+     */
+    protected void writeRow(PartitionKey partition, InternalRow row) throws IOException {
+      if (currentAppender == null) {
+        openCurrent(partition);
+      }
 
-        if (completedPartitions.contains(key)) {
-          // if rows are not correctly grouped, detect and fail the write
-          throw new IllegalStateException(
-              "Already closed file for partition: " + spec.partitionToPath(key));
-        }
+      currentAppender.add(row);
+      currentRows += 1;
 
-        this.currentKey = key.copy();
-        this.currentPath = new Path(new Path(dataPath, currentKey.toPath()), filename);
-        OutputFile file = HadoopOutputFile.fromPath(currentPath, conf);
-        this.currentAppender = factory.newAppender(file, format);
-        this.currentRecordCount = 0L;
+      if (bloomFilters != null) {
+        bloomFilters.add(row);
       }
 
-      currentAppender.add(row);
+      if (currentRows % ROWS_DIVISOR == 0 && currentAppender.length() >= targetFileSize) {
+        closeCurrent();
+      }
     }
 
     @Override
@@ -377,42 +351,109 @@ class Writer implements DataSourceV2Writer, SupportsWriteInternalRow {
           .throwFailureWhenFinished()
           .noRetry()
           .run(
-              file -> fs.delete(new Path(file.path().toString())),
+              file -> fs.delete(new Path(file.path().toString()), false /* not recursive */ ),
               IOException.class);
 
       if (currentAppender != null) {
         currentAppender.close();
         this.currentAppender = null;
-        fs.delete(currentPath);
+        fs.delete(currentPath, false /* not recursive */ );
       }
     }
 
-    private void closeCurrent() throws IOException {
+    protected void closeCurrent() throws IOException {
       if (currentAppender != null) {
         currentAppender.close();
-        this.currentAppender = null;
 
-        // TODO: Get Parquet metrics directly from the writer
-        InputFile inFile = HadoopInputFile.fromPath(currentPath, conf);
-        DataFile file;
-        if (format == FileFormat.PARQUET) {
-          Metrics metrics = ParquetMetrics.fromInputFile(inFile);
-          file = DataFiles.builder(spec)
-              .withInputFile(inFile)
-              .withPartition(currentKey)
-              .withMetrics(metrics)
-              .build();
+        DataFiles.Builder builder;
+        if (currentPartition != null) {
+          builder = DataFiles.builder(spec).withPartition(currentPartition);
         } else {
-          file = DataFiles.builder(spec)
-              .withInputFile(inFile)
-              .withPartition(currentKey)
-              .withRecordCount(currentRecordCount)
-              .build();
+          builder = new DataFiles.Builder();
         }
 
-        completedPartitions.add(currentKey);
+        if (bloomFilters != null) {
+          builder.withBloomFilters(bloomFilters.filters());
+        }
+
+        DataFile file = builder
+            .withPath(currentPath.toString())
+            .withFormat(format)
+            .withFileSizeInBytes(currentAppender.length())
+            .withMetrics(currentAppender.metrics())
+            .build();
+
+        this.currentAppender = null;
         completedFiles.add(file);
       }
     }
+
+    private void openCurrent(PartitionKey partition) {
+      Path location = partition != null ? new Path(dataPath, partition.toPath()) : dataPath;
+      String rolledName = String.format("%s-%05d", filename, fileCount);
+
+      this.currentPartition = partition;
+      this.currentPath = new Path(location, format.addExtension(rolledName));
+      this.currentAppender = factory.newAppender(
+          HadoopOutputFile.fromPath(currentPath, conf), format);
+      this.currentRows = 0L;
+      this.fileCount += 1;
+
+      if (bloomFilters != null) {
+        bloomFilters.reset();
+      }
+    }
+  }
+
+  private static class UnpartitionedWriter extends BaseWriter {
+    UnpartitionedWriter(PartitionSpec spec, Path dataPath, String filename, FileFormat format,
+                        Configuration conf, AppenderFactory<InternalRow> factory,
+                        long targetFileSize, BloomFilterCollector bloomFilters) {
+      super(spec, dataPath, filename, format, conf, factory, targetFileSize, bloomFilters);
+    }
+
+    @Override
+    public void write(InternalRow record) throws IOException {
+      writeRow(null, record);
+    }
+  }
+
+  private static class PartitionedWriter extends BaseWriter {
+    private final Set<PartitionKey> completedPartitions = Sets.newHashSet();
+    private final PartitionSpec spec;
+    private final PartitionKey key;
+
+    private PartitionKey currentKey = null;
+
+    PartitionedWriter(PartitionSpec spec, Path dataPath, String filename, FileFormat format,
+                      Configuration conf, AppenderFactory<InternalRow> factory,
+                      long targetFileSize, BloomFilterCollector bloomFilters) {
+      super(spec, dataPath, filename, format, conf, factory, targetFileSize, bloomFilters);
+      this.spec = spec;
+      this.key = new PartitionKey(spec);
+    }
+
+    @Override
+    public void write(InternalRow row) throws IOException {
+      key.partition(row);
+
+      if (!key.equals(currentKey)) {
+        closeCurrent();
+
+        if (currentKey != null) {
+          completedPartitions.add(currentKey);
+        }
+
+        if (completedPartitions.contains(key)) {
+          // if rows are not correctly grouped, detect and fail the write
+          throw new IllegalStateException(
+              "Already closed file for partition: " + spec.partitionToPath(key));
+        }
+
+        this.currentKey = key.copy();
+      }
+
+      writeRow(currentKey, row);
+    }
   }
 }
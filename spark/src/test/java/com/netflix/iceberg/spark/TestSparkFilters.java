@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.iceberg.spark;
+
+import com.netflix.iceberg.expressions.Expression;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.In;
+import org.apache.spark.sql.sources.Not;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSparkFilters {
+  @Test
+  public void testInWithoutNulls() {
+    Expression converted = SparkFilters.convert(new In("id", new Object[] { 1, 2 }));
+    Assert.assertNotNull("Should convert IN without null values", converted);
+    Assert.assertEquals("Should convert to IN", Expression.Operation.IN, converted.op());
+  }
+
+  @Test
+  public void testInWithNullIsNotPushed() {
+    Filter in = new In("id", new Object[] { 1, null });
+    Assert.assertNull("Should not convert IN with a null value", SparkFilters.convert(in));
+  }
+
+  @Test
+  public void testNotInWithNullIsNotPushed() {
+    // NOT (id IN (1, null)) is never true, so it must not become id NOT IN (1)
+    Filter notIn = new Not(new In("id", new Object[] { 1, null }));
+    Assert.assertNull("Should not convert NOT IN with a null value", SparkFilters.convert(notIn));
+  }
+
+  @Test
+  public void testNotInAllNullsIsNotPushed() {
+    Filter notIn = new Not(new In("id", new Object[] { null }));
+    Assert.assertNull("Should not convert NOT IN with only null values",
+        SparkFilters.convert(notIn));
+  }
+}
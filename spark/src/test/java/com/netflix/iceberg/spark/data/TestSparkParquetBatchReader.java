@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.iceberg.spark.data;
+
+import com.netflix.iceberg.Files;
+import com.netflix.iceberg.Schema;
+import com.netflix.iceberg.io.FileAppender;
+import com.netflix.iceberg.parquet.Parquet;
+import com.netflix.iceberg.parquet.ParquetIterable;
+import com.netflix.iceberg.types.Types;
+import org.apache.avro.generic.GenericData.Record;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static com.netflix.iceberg.spark.data.TestHelpers.assertEqualsUnsafe;
+import static com.netflix.iceberg.types.Types.NestedField.optional;
+import static com.netflix.iceberg.types.Types.NestedField.required;
+
+public class TestSparkParquetBatchReader {
+  private static final Schema SCHEMA = new Schema(
+      required(100, "id", Types.LongType.get()),
+      optional(101, "data", Types.StringType.get()),
+      required(102, "b", Types.BooleanType.get()),
+      optional(103, "i", Types.IntegerType.get()),
+      required(104, "l", Types.LongType.get()),
+      optional(105, "f", Types.FloatType.get()),
+      required(106, "d", Types.DoubleType.get()),
+      optional(107, "date", Types.DateType.get()),
+      required(108, "ts", Types.TimestampType.withZone()),
+      required(110, "s", Types.StringType.get()),
+      optional(113, "bytes", Types.BinaryType.get()),
+      required(116, "dec_38_10", Types.DecimalType.of(38, 10))
+  );
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testBatchReads() throws IOException {
+    List<Record> expected = RandomData.generate(SCHEMA, 2500, 0L);
+    File testFile = writeFile(expected);
+
+    Schema empty = new Schema();
+    int rowId = 0;
+    int numBatches = 0;
+    try (ParquetIterable<ColumnarBatch> reader = Parquet.read(Files.localInput(testFile))
+        .project(SCHEMA)
+        .createBatchedReaderFunc(type -> SparkParquetBatchReaders.buildReader(
+            SCHEMA, type, empty, new GenericInternalRow(0), 1000))
+        .recordsPerBatch(1000)
+        .build()) {
+      for (ColumnarBatch batch : reader) {
+        numBatches += 1;
+        // batches are reused, so rows must be validated before reading the next batch
+        for (int i = 0; i < batch.numRows(); i += 1) {
+          assertEqualsUnsafe(SCHEMA.asStruct(), expected.get(rowId), batch.getRow(i));
+          rowId += 1;
+        }
+      }
+    }
+
+    Assert.assertEquals("Should read all rows", expected.size(), rowId);
+    Assert.assertEquals("Should read 3 batches", 3, numBatches);
+  }
+
+  @Test
+  public void testConstantColumns() throws IOException {
+    List<Record> expected = RandomData.generate(SCHEMA, 100, 1L);
+    File testFile = writeFile(expected);
+
+    Schema partitionSchema = SCHEMA.select("l");
+    GenericInternalRow partition = new GenericInternalRow(new Object[] { 34L });
+    Schema readSchema = new Schema(
+        SCHEMA.findField("id"),
+        SCHEMA.findField("l"),
+        optional(200, "missing", Types.IntegerType.get()));
+
+    int rowId = 0;
+    try (ParquetIterable<ColumnarBatch> reader = Parquet.read(Files.localInput(testFile))
+        .project(SCHEMA.select("id"))
+        .createBatchedReaderFunc(type -> SparkParquetBatchReaders.buildReader(
+            readSchema, type, partitionSchema, partition, 64))
+        .recordsPerBatch(64)
+        .build()) {
+      for (ColumnarBatch batch : reader) {
+        for (int i = 0; i < batch.numRows(); i += 1) {
+          Assert.assertEquals("Should read id from the file",
+              expected.get(rowId).get("id"), batch.getRow(i).getLong(0));
+          Assert.assertEquals("Should use the partition value", 34L, batch.getRow(i).getLong(1));
+          Assert.assertTrue("Missing column should be null", batch.getRow(i).isNullAt(2));
+          rowId += 1;
+        }
+      }
+    }
+
+    Assert.assertEquals("Should read all rows", expected.size(), rowId);
+  }
+
+  private File writeFile(List<Record> records) throws IOException {
+    File testFile = temp.newFile();
+    Assert.assertTrue("Delete should succeed", testFile.delete());
+
+    try (FileAppender<Record> writer = Parquet.write(Files.localOutput(testFile))
+        .schema(SCHEMA)
+        .named("test")
+        .build()) {
+      for (Record rec : records) {
+        writer.add(rec);
+      }
+    }
+
+    return testFile;
+  }
+}
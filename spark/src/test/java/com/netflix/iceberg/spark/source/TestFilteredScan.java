@@ -25,6 +25,7 @@ import com.netflix.iceberg.FileFormat;
 import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.Table;
+import com.netflix.iceberg.TableProperties;
 import com.netflix.iceberg.avro.Avro;
 import com.netflix.iceberg.avro.AvroSchemaUtil;
 import com.netflix.iceberg.exceptions.RuntimeIOException;
@@ -50,13 +51,17 @@ import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.sources.GreaterThan;
 import org.apache.spark.sql.sources.LessThan;
 import org.apache.spark.sql.sources.v2.DataSourceV2Options;
+import org.apache.spark.sql.sources.v2.reader.ClusteredDistribution;
 import org.apache.spark.sql.sources.v2.reader.DataReader;
 import org.apache.spark.sql.sources.v2.reader.DataSourceV2Reader;
+import org.apache.spark.sql.sources.v2.reader.Partitioning;
 import org.apache.spark.sql.sources.v2.reader.ReadTask;
 import org.apache.spark.sql.sources.v2.reader.SupportsPushDownFilters;
 import org.apache.spark.sql.sources.v2.reader.SupportsPushDownRequiredColumns;
+import org.apache.spark.sql.sources.v2.reader.SupportsReportPartitioning;
 import org.apache.spark.sql.sources.v2.reader.SupportsScanUnsafeRow;
 import org.apache.spark.sql.types.IntegerType$;
+import org.apache.spark.sql.types.StructType;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Before;
@@ -262,6 +267,88 @@ public class TestFilteredScan {
     }
   }
 
+  @Test
+  public void testBucketGroupedTasks() {
+    File location = buildPartitionedTable("bucketed_by_id", BUCKET_BY_ID, "bucket4", "id");
+    TABLES.load(location.toString()).updateProperties()
+        .set(TableProperties.SPLIT_BY_BUCKET_ENABLED, "true")
+        .commit();
+
+    DataSourceV2Options options = new DataSourceV2Options(ImmutableMap.of(
+        "path", location.toString())
+    );
+
+    IcebergSource source = new IcebergSource();
+    Transform<Long, Integer> bucket4 = Transforms.bucket(Types.LongType.get(), 4);
+
+    {
+      DataSourceV2Reader reader = source.createReader(options);
+
+      List<ReadTask<UnsafeRow>> tasks = planTasks(reader);
+      Assert.assertEquals("Should create one task per bucket", 4, tasks.size());
+
+      for (int i = 0; i < tasks.size(); i += 1) {
+        for (UnsafeRow row : read(tasks.get(i))) {
+          Assert.assertEquals("Task should contain only rows from its bucket",
+              i, (int) bucket4.apply(row.getLong(0)));
+        }
+      }
+
+      Assert.assertEquals("Should read all rows", records.size(), read(tasks).size());
+    }
+
+    {
+      DataSourceV2Reader reader = source.createReader(options);
+
+      pushFilters(reader, EqualTo.apply("id", 3));
+
+      List<ReadTask<UnsafeRow>> tasks = planTasks(reader);
+      Assert.assertEquals("Should create a task for every bucket", 4, tasks.size());
+
+      int bucket = bucket4.apply(3L);
+      for (int i = 0; i < tasks.size(); i += 1) {
+        List<UnsafeRow> rows = read(tasks.get(i));
+        Assert.assertEquals("Only the matching bucket should contain rows",
+            i == bucket ? 1 : 0, rows.size());
+      }
+    }
+  }
+
+  @Test
+  public void testBucketPartitioning() {
+    File location = buildPartitionedTable("bucketed_by_id", BUCKET_BY_ID, "bucket4", "id");
+
+    DataSourceV2Options options = new DataSourceV2Options(ImmutableMap.of(
+        "path", location.toString())
+    );
+
+    IcebergSource source = new IcebergSource();
+
+    Partitioning unknown = outputPartitioning(source.createReader(options));
+    Assert.assertEquals("Should report one partition per file", 4, unknown.numPartitions());
+    Assert.assertFalse("Should not satisfy clustering by default",
+        unknown.satisfy(new ClusteredDistribution(new String[] { "id" })));
+
+    TABLES.load(location.toString()).updateProperties()
+        .set(TableProperties.SPLIT_BY_BUCKET_ENABLED, "true")
+        .commit();
+
+    Partitioning bucketed = outputPartitioning(source.createReader(options));
+    Assert.assertEquals("Should report one partition per bucket", 4, bucketed.numPartitions());
+    Assert.assertTrue("Should satisfy clustering by the bucketed column",
+        bucketed.satisfy(new ClusteredDistribution(new String[] { "id" })));
+    Assert.assertTrue("Should satisfy clustering by columns that include the bucketed column",
+        bucketed.satisfy(new ClusteredDistribution(new String[] { "data", "id" })));
+    Assert.assertFalse("Should not satisfy clustering by other columns",
+        bucketed.satisfy(new ClusteredDistribution(new String[] { "data" })));
+
+    DataSourceV2Reader pruned = source.createReader(options);
+    pruneColumns(pruned, SparkSchemaUtil.convert(SCHEMA.select("ts", "data")));
+    Partitioning notProjected = outputPartitioning(pruned);
+    Assert.assertFalse("Should not report bucketing by a column that is not projected",
+        notProjected.satisfy(new ClusteredDistribution(new String[] { "id" })));
+  }
+
   @Test
   public void testDayPartitionedTimestampFilters() {
     File location = buildPartitionedTable("partitioned_by_day", PARTITION_BY_DAY, "ts_day", "ts");
@@ -425,6 +512,17 @@ public class TestFilteredScan {
     filterable.pushFilters(filters);
   }
 
+  private void pruneColumns(DataSourceV2Reader reader, StructType requestedSchema) {
+    Assert.assertTrue(reader instanceof SupportsPushDownRequiredColumns);
+    SupportsPushDownRequiredColumns prunable = (SupportsPushDownRequiredColumns) reader;
+    prunable.pruneColumns(requestedSchema);
+  }
+
+  private Partitioning outputPartitioning(DataSourceV2Reader reader) {
+    Assert.assertTrue(reader instanceof SupportsReportPartitioning);
+    return ((SupportsReportPartitioning) reader).outputPartitioning();
+  }
+
   private List<ReadTask<UnsafeRow>> planTasks(DataSourceV2Reader reader) {
     Assert.assertTrue(reader instanceof SupportsScanUnsafeRow);
     SupportsScanUnsafeRow unsafeReader = (SupportsScanUnsafeRow) reader;
@@ -17,10 +17,14 @@
 package com.netflix.iceberg.spark.source;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.netflix.iceberg.DataFile;
 import com.netflix.iceberg.PartitionSpec;
 import com.netflix.iceberg.Schema;
 import com.netflix.iceberg.Table;
+import com.netflix.iceberg.TableProperties;
+import com.netflix.iceberg.expressions.Expressions;
 import com.netflix.iceberg.hadoop.HadoopTables;
 import com.netflix.iceberg.types.Types;
 import org.apache.hadoop.conf.Configuration;
@@ -28,6 +32,14 @@ import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Encoders;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.catalyst.expressions.UnsafeRow;
+import org.apache.spark.sql.sources.EqualTo;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.v2.DataSourceV2Options;
+import org.apache.spark.sql.sources.v2.reader.DataSourceV2Reader;
+import org.apache.spark.sql.sources.v2.reader.ReadTask;
+import org.apache.spark.sql.sources.v2.reader.SupportsPushDownFilters;
+import org.apache.spark.sql.sources.v2.reader.SupportsScanUnsafeRow;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -37,6 +49,7 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.netflix.iceberg.types.Types.NestedField.optional;
@@ -148,4 +161,131 @@ public class TestParquetWrite {
     Assert.assertEquals("Number of rows should match", expected.size(), actual.size());
     Assert.assertEquals("Result rows should match", expected, actual);
   }
+
+  @Test
+  public void testWriteRollsFiles() throws IOException {
+    File parent = temp.newFolder("parquet");
+    File location = new File(parent, "test");
+    location.mkdirs();
+
+    HadoopTables tables = new HadoopTables(CONF);
+    Table table = tables.create(SCHEMA, PartitionSpec.unpartitioned(), location.toString());
+    table.updateProperties()
+        .set(TableProperties.WRITE_TARGET_FILE_SIZE_BYTES, "1")
+        .commit();
+
+    List<Record> expected = Lists.newArrayList();
+    for (int i = 0; i < 5000; i += 1) {
+      expected.add(new Record(i, "data-" + i));
+    }
+
+    Dataset<Row> df = spark.createDataFrame(expected, Record.class);
+
+    df.select("id", "data").coalesce(1).write()
+        .format("iceberg")
+        .mode("append")
+        .save(location.toString());
+
+    table.refresh();
+
+    List<DataFile> files = Lists.newArrayList(table.currentSnapshot().addedFiles());
+    Assert.assertEquals("Should roll to a new file after each checked batch of rows",
+        5, files.size());
+    for (DataFile file : files) {
+      Assert.assertEquals("Each file should contain one batch of rows", 1000, file.recordCount());
+    }
+
+    Dataset<Row> result = spark.read()
+        .format("iceberg")
+        .load(location.toString());
+
+    List<Record> actual = result.orderBy("id").as(Encoders.bean(Record.class)).collectAsList();
+
+    Assert.assertEquals("Number of rows should match", expected.size(), actual.size());
+    Assert.assertEquals("Result rows should match", expected, actual);
+  }
+
+  @Test
+  public void testWriteBloomFilters() throws IOException {
+    File parent = temp.newFolder("parquet");
+    File location = new File(parent, "test");
+    location.mkdirs();
+
+    HadoopTables tables = new HadoopTables(CONF);
+    Table table = tables.create(SCHEMA, PartitionSpec.unpartitioned(), location.toString());
+    table.updateProperties()
+        .set(TableProperties.WRITE_BLOOM_FILTER_COLUMNS, "id")
+        .commit();
+
+    List<Record> expected = Lists.newArrayList();
+    for (int i = 0; i < 100; i += 1) {
+      expected.add(new Record(i, "data-" + i));
+    }
+
+    Dataset<Row> df = spark.createDataFrame(expected, Record.class);
+
+    df.select("id", "data").coalesce(1).write()
+        .format("iceberg")
+        .mode("append")
+        .save(location.toString());
+
+    table.refresh();
+
+    int idField = table.schema().findField("id").fieldId();
+    for (DataFile file : table.currentSnapshot().addedFiles()) {
+      Assert.assertNotNull("Should write a Bloom filter for id",
+          file.bloomFilters().get(idField));
+    }
+
+    Assert.assertTrue("Should plan the file for a written id",
+        table.newScan().filter(Expressions.equal("id", 34)).planFiles().iterator().hasNext());
+    Assert.assertFalse("Should skip the file for a missing id",
+        table.newScan().filter(Expressions.equal("id", 1000)).planFiles().iterator().hasNext());
+  }
+
+  @Test
+  public void testBloomFiltersSkipFilesInSparkScan() throws IOException {
+    File parent = temp.newFolder("parquet");
+    File location = new File(parent, "test");
+    location.mkdirs();
+
+    HadoopTables tables = new HadoopTables(CONF);
+    Table table = tables.create(SCHEMA, PartitionSpec.unpartitioned(), location.toString());
+    table.updateProperties()
+        .set(TableProperties.WRITE_BLOOM_FILTER_COLUMNS, "id")
+        .commit();
+
+    // even and odd ids are in separate files with the same bounds, so only Bloom filters can
+    // tell the files apart
+    List<Record> evens = Lists.newArrayList();
+    List<Record> odds = Lists.newArrayList();
+    for (int i = 0; i < 100; i += 1) {
+      (i % 2 == 0 ? evens : odds).add(new Record(i, "data-" + i));
+    }
+    evens.add(new Record(99, "data-99"));
+    odds.add(new Record(0, "data-0"));
+
+    for (List<Record> records : Arrays.asList(evens, odds)) {
+      spark.createDataFrame(records, Record.class).select("id", "data").coalesce(1).write()
+          .format("iceberg")
+          .mode("append")
+          .save(location.toString());
+    }
+
+    DataSourceV2Options options = new DataSourceV2Options(ImmutableMap.of(
+        "path", location.toString()));
+    DataSourceV2Reader reader = new IcebergSource().createReader(options);
+    ((SupportsPushDownFilters) reader).pushFilters(new Filter[] { EqualTo.apply("id", 34) });
+
+    List<ReadTask<UnsafeRow>> tasks = ((SupportsScanUnsafeRow) reader).createUnsafeRowReadTasks();
+    Assert.assertEquals("Should skip the file of odd ids", 1, tasks.size());
+
+    List<Row> rows = spark.read()
+        .format("iceberg")
+        .load(location.toString())
+        .filter("id = 34")
+        .collectAsList();
+    Assert.assertEquals("Should read the matching row", 1, rows.size());
+    Assert.assertEquals("Should read the matching row", 34, rows.get(0).getInt(0));
+  }
 }